@@ -0,0 +1,37 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import dev.fireatom.FABI.App;
+import dev.fireatom.FABI.utils.file.FileManager;
+
+/**
+ * Files used by benchmarks. Language files are copied to the data folder, same as the bot does on start.
+ */
+final class BenchmarkFiles {
+	private BenchmarkFiles() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	static FileManager languages() {
+		return new FileManager()
+			.addLang("en-GB")
+			.addLang("ru");
+	}
+
+	/**
+	 * @return Temporary copy of the database from resources
+	 */
+	static Path databaseCopy() throws IOException {
+		Path file = Files.createTempFile("fabi-bench", ".db");
+		try (InputStream in = App.class.getResourceAsStream("/server.db")) {
+			if (in == null) throw new IOException("Database is missing in resources");
+			Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return file;
+	}
+}
@@ -0,0 +1,88 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.FixedCache;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Lookup pattern of the managers: check cache, on miss load the value and put it.
+ * <p>
+ * Keys are spread over twice the cache size with Zipf distribution, so few guilds are looked up often
+ * and most rarely, like with real activity. Sequence is generated with fixed seed, same for both caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheBenchmark {
+
+	private static final int KEYS = Constants.DEFAULT_CACHE_SIZE * 2;
+	private static final int SEQUENCE = 1 << 16; // power of two
+	private static final double ZIPF_EXPONENT = 1.0;
+	private static final long SEED = 42;
+
+	private final Long[] sequence = new Long[SEQUENCE];
+	private final Object value = new Object();
+
+	private FixedCache<Long, Object> fixedCache;
+	private Cache<Long, Object> caffeine;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		// Cumulative probability of key ranks
+		double[] cdf = new double[KEYS];
+		double sum = 0;
+		for (int i = 0; i < KEYS; i++) {
+			sum += 1 / Math.pow(i+1, ZIPF_EXPONENT);
+			cdf[i] = sum;
+		}
+		Random random = new Random(SEED);
+		for (int i = 0; i < SEQUENCE; i++) {
+			int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+			if (rank < 0) rank = -rank-1;
+			sequence[i] = 1_100_000_000_000_000L + Math.min(rank, KEYS-1)*7919L;
+		}
+		fixedCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+		caffeine = Caffeine.newBuilder()
+			.maximumSize(Constants.DEFAULT_CACHE_SIZE)
+			.build();
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next = 0;
+	}
+
+	@Benchmark
+	public Object fixedCache(Cursor cursor) {
+		Long key = sequence[cursor.next++ & (SEQUENCE-1)];
+		if (fixedCache.contains(key)) return fixedCache.get(key);
+		fixedCache.put(key, value);
+		return value;
+	}
+
+	@Benchmark
+	public Object caffeine(Cursor cursor) {
+		Long key = sequence[cursor.next++ & (SEQUENCE-1)];
+		return caffeine.get(key, k -> value);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object fixedCacheContended(Cursor cursor) {
+		return fixedCache(cursor);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object caffeineContended(Cursor cursor) {
+		return caffeine(cursor);
+	}
+
+}
@@ -0,0 +1,176 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import dev.fireatom.FABI.objects.CaseType;
+import dev.fireatom.FABI.objects.ExpType;
+import dev.fireatom.FABI.utils.database.DBUtil;
+import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+import dev.fireatom.FABI.utils.database.managers.LevelManager.TopInfo;
+import dev.fireatom.FABI.utils.database.storage.H2Backend;
+import dev.fireatom.FABI.utils.database.storage.MemoryBackend;
+import dev.fireatom.FABI.utils.database.storage.SqliteBackend;
+import dev.fireatom.FABI.utils.database.storage.StorageBackend;
+import dev.fireatom.FABI.utils.file.FileManager;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Query patterns of the managers on a seeded database, for each storage backend.
+ * Guilds have few very active users, as on real servers, so the first user has many cases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DatabaseBenchmark {
+
+	private static final int GUILDS = 50;
+	private static final int USERS = 2_000;
+	private static final long GUILD_BASE = 1_100_000_000_000_000L;
+	private static final long USER_BASE = 1_200_000_000_000_000L;
+	private static final long MOD_ID = 1_300_000_000_000_000L;
+	private static final CaseType[] TYPES = {CaseType.STRIKE_1, CaseType.MUTE, CaseType.KICK, CaseType.BAN};
+	private static final String[] WORDS = {"spam", "links", "raid", "toxic", "flood", "caps", "advertising", "alt", "nsfw", "threats"};
+
+	@Param({"sqlite", "memory", "h2"})
+	public String backend;
+
+	// Larger seed for search ranking over the whole table
+	@Param({"50000", "200000"})
+	public int cases;
+
+	private Path file;
+	private Path h2Dir;
+	private DBUtil db;
+	private final long guildId = GUILD_BASE;
+	private final long userId = USER_BASE;
+	private int casesInGuild;
+	private int next = 0;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		file = BenchmarkFiles.databaseCopy();
+		StorageBackend storage = switch (backend) {
+			case "memory" -> {
+				MemoryBackend memory = new MemoryBackend("bench");
+				memory.load(file);
+				yield memory;
+			}
+			case "sqlite" -> new SqliteBackend(file);
+			case "h2" -> {
+				h2Dir = Files.createTempDirectory("fabi-bench-h2");
+				yield new H2Backend(h2Dir.resolve("server"));
+			}
+			default -> throw new IllegalArgumentException("Unknown backend "+backend);
+		};
+		db = new DBUtil(new FileManager(), storage);
+		seed(storage);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		db.close();
+		Files.deleteIfExists(file);
+		if (h2Dir != null) {
+			try (Stream<Path> files = Files.list(h2Dir)) {
+				for (Path path : files.toList()) Files.deleteIfExists(path);
+			}
+			Files.deleteIfExists(h2Dir);
+		}
+	}
+
+	private void seed(StorageBackend storage) throws Exception {
+		final Random random = new Random(42);
+		final long now = Instant.now().getEpochSecond();
+		int[] localIds = new int[GUILDS];
+		try (Connection conn = storage.getConnection()) {
+			conn.setAutoCommit(false);
+			try (PreparedStatement st = conn.prepareStatement(
+				"INSERT INTO cases(localId, type, targetId, targetTag, modId, modTag, guildId, reason, timeStart, duration, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+				for (int i = 0; i < cases; i++) {
+					int guild = random.nextInt(GUILDS);
+					// Skewed to first users
+					int user = (int) (Math.pow(random.nextDouble(), 3) * USERS);
+					CaseType type = TYPES[random.nextInt(TYPES.length)];
+					st.setInt(1, ++localIds[guild]);
+					st.setInt(2, type.getValue());
+					st.setLong(3, USER_BASE+user);
+					st.setString(4, "user"+user);
+					st.setLong(5, MOD_ID);
+					st.setString(6, "moderator");
+					st.setLong(7, GUILD_BASE+guild);
+					st.setString(8, WORDS[random.nextInt(WORDS.length)]+" "+WORDS[random.nextInt(WORDS.length)]);
+					st.setLong(9, now-random.nextInt(90*86400));
+					st.setLong(10, type == CaseType.MUTE ? 3600 : 0);
+					st.setInt(11, random.nextInt(4) == 0 ? 1 : 0);
+					st.addBatch();
+				}
+				st.executeBatch();
+			}
+			try (PreparedStatement st = conn.prepareStatement(
+				"INSERT INTO levelPlayers(guildId, userId, textExp, voiceExp, globalExp, lastUpdate) VALUES (?, ?, ?, ?, ?, ?)")) {
+				for (int guild = 0; guild < GUILDS; guild++) {
+					for (int user = 0; user < USERS; user++) {
+						long exp = random.nextInt(200_000);
+						st.setLong(1, GUILD_BASE+guild);
+						st.setLong(2, USER_BASE+user);
+						st.setLong(3, exp);
+						st.setLong(4, random.nextInt(50_000));
+						st.setLong(5, exp);
+						st.setLong(6, now);
+						st.addBatch();
+					}
+				}
+				st.executeBatch();
+			}
+			conn.commit();
+		}
+		casesInGuild = localIds[0];
+	}
+
+	@Benchmark
+	public CaseData caseByLocalId() {
+		next = next % casesInGuild + 1;
+		return db.cases.getInfo(guildId, next);
+	}
+
+	@Benchmark
+	public List<CaseData> userCasesPage() {
+		return db.cases.getGuildUser(guildId, userId, 1);
+	}
+
+	@Benchmark
+	public int countActiveCases() {
+		return db.cases.countCases(guildId, userId, true);
+	}
+
+	@Benchmark
+	public List<CaseData> searchCases() {
+		return db.cases.search(guildId, "spam lin", 10);
+	}
+
+	@Benchmark
+	public CaseData addCase() throws Exception {
+		return db.cases.add(CaseType.STRIKE_1, userId, "user0", MOD_ID, "moderator", guildId, "benchmark", Instant.now(), Duration.ZERO);
+	}
+
+	@Benchmark
+	public Integer serverRank() {
+		return db.levels.getServerRank(guildId, userId, ExpType.TEXT);
+	}
+
+	@Benchmark
+	public TopInfo serverTop() {
+		return db.levels.getServerTop(guildId, ExpType.TEXT, 10);
+	}
+
+}
@@ -0,0 +1,77 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.utils.imagegen.FontCache;
+import dev.fireatom.FABI.utils.imagegen.Fonts;
+import dev.fireatom.FABI.utils.imagegen.TextMetrics;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Text work of one profile render: fitting the name, truncating and measuring labels.
+ * {@code derived} derives fonts and measures on each call, as renders did before {@link FontCache},
+ * {@code cached} uses {@link FontCache} and {@link TextMetrics}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FontCacheBenchmark {
+
+	private static final String NAME = "A very long display name of the member";
+	private static final String[] LABELS = {"Level", "Rank", "Server rank", "Total XP", "640/1100 XP", "#12", "25300", "Joined 01/02/2024"};
+
+	private Graphics2D g;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		g = new BufferedImage(420, 360, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		g.dispose();
+	}
+
+	@Benchmark
+	public int derived() {
+		// Fit by size
+		int fontSize = 28;
+		Font font = Fonts.Montserrat.medium.deriveFont(Font.PLAIN, fontSize);
+		while (fontSize >= 20) {
+			g.setFont(font);
+			if (g.getFontMetrics().stringWidth(NAME) <= 260) break;
+			fontSize--;
+			font = Fonts.Montserrat.medium.deriveFont(Font.PLAIN, fontSize);
+		}
+		// Truncate char by char
+		FontMetrics fm = g.getFontMetrics();
+		StringBuilder text = new StringBuilder();
+		for (char c : NAME.toCharArray()) {
+			if (fm.stringWidth(text.toString()+c) > 260-fm.stringWidth("...")) break;
+			text.append(c);
+		}
+		int width = text.length();
+		for (String label : LABELS) {
+			g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 16F));
+			width += g.getFontMetrics().stringWidth(label);
+		}
+		return width;
+	}
+
+	@Benchmark
+	public int cached() {
+		Font font = TextMetrics.fitFont(Fonts.Montserrat.medium, Font.PLAIN, NAME, 260, 20, 28);
+		int width = TextMetrics.truncate(font, NAME, 260).length();
+		Font labelFont = FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 16F);
+		for (String label : LABELS) {
+			width += TextMetrics.stringWidth(labelFont, label);
+		}
+		return width;
+	}
+
+}
@@ -0,0 +1,60 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.utils.file.FileManager;
+import dev.fireatom.FABI.utils.file.lang.LangUtil;
+import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+
+import net.dv8tion.jda.api.interactions.DiscordLocale;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Localized string lookup, and placeholder replacement with compiled templates against chained {@link String#replace}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LangBenchmark {
+
+	private static final String PATH = "bot.ticketing.listener.close_auto";
+
+	@Param({"en-GB", "ru"})
+	public String lang;
+
+	private LangUtil langUtil;
+	private LocaleUtil localeUtil;
+	private DiscordLocale locale;
+	private final Map<String, String> args = Map.of(
+		"user", "<@1200000000000000000>",
+		"time", "<t:1760000000:R>"
+	);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		FileManager fileManager = BenchmarkFiles.languages();
+		langUtil = new LangUtil(fileManager);
+		localeUtil = new LocaleUtil(fileManager, DiscordLocale.ENGLISH_UK);
+		locale = DiscordLocale.from(lang);
+	}
+
+	@Benchmark
+	public String getString() {
+		return langUtil.getString(lang, PATH);
+	}
+
+	@Benchmark
+	public String templateRender() {
+		return localeUtil.getLocalized(locale, PATH, args);
+	}
+
+	@Benchmark
+	public String stringReplace() {
+		return langUtil.getString(lang, PATH)
+			.replace("{user}", args.get("user"))
+			.replace("{time}", args.get("time"));
+	}
+
+}
@@ -0,0 +1,40 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.utils.level.LevelUtil;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LevelBenchmark {
+
+	private static final int SIZE = 1024; // power of two
+
+	// Only level formulas are used, they do not need the bot
+	private final LevelUtil levelUtil = new LevelUtil(null);
+	private final long[] experience = new long[SIZE];
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		for (int i = 0; i < SIZE; i++) {
+			experience[i] = random.nextLong(LevelUtil.getHardCap());
+		}
+	}
+
+	@Benchmark
+	public int levelFromExperience() {
+		return levelUtil.getLevelFromExperience(experience[next++ & (SIZE-1)]);
+	}
+
+	@Benchmark
+	public long experienceFromLevel() {
+		return levelUtil.getExperienceFromLevel((int) (experience[next++ & (SIZE-1)] & 0x3FF));
+	}
+
+}
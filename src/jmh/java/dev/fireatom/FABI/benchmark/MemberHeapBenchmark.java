@@ -0,0 +1,130 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.services.MemberService;
+import dev.fireatom.FABI.utils.database.DBUtil;
+import dev.fireatom.FABI.utils.database.storage.MemoryBackend;
+import dev.fireatom.FABI.utils.file.FileManager;
+
+import net.dv8tion.jda.api.utils.data.DataArray;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.entities.GuildImpl;
+import net.dv8tion.jda.internal.utils.config.AuthorizationConfig;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Heap retained by the member cache per 1000 guild members, for each member cache mode.
+ * <p>
+ * Both modes receive the same member payloads, JDA builds members from them and the cache policy
+ * of {@link MemberService} decides, which of them stay cached. Results are in secondary counters
+ * {@code bytesPer1kMembers} and {@code cachedMembers}, run with one fork and compare single iterations,
+ * as the values are measured after a full GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class MemberHeapBenchmark {
+
+	private static final long GUILD_ID = 1_100_000_000_000_000L;
+	private static final long USER_BASE = 1_200_000_000_000_000L;
+
+	@Param({"ALL", "LEAN"})
+	public MemberService.Mode mode;
+
+	@Param({"10000", "100000"})
+	public int members;
+
+	private Path file;
+	private DBUtil db;
+	private MemberService memberService;
+	private List<DataObject> payloads;
+
+	private JDAImpl api;
+	private GuildImpl guild;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Heap {
+		public long bytesPer1kMembers;
+		public long cachedMembers;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytesPer1kMembers = 0;
+			cachedMembers = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		file = BenchmarkFiles.databaseCopy();
+		MemoryBackend storage = new MemoryBackend("bench");
+		storage.load(file);
+		db = new DBUtil(new FileManager(), storage);
+		memberService = new MemberService(mode);
+
+		payloads = new ArrayList<>(members);
+		for (int i = 0; i < members; i++) {
+			payloads.add(member(USER_BASE+i));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		db.close();
+		Files.deleteIfExists(file);
+	}
+
+	@Setup(Level.Invocation)
+	public void createGuild() {
+		api = new JDAImpl(new AuthorizationConfig("benchmark"));
+		api.setMemberCachePolicy(memberService.getCachePolicy(db));
+		guild = new GuildImpl(api, GUILD_ID);
+	}
+
+	@Benchmark
+	public Object cacheMembers(Heap heap) {
+		final long before = usedHeap();
+		for (DataObject payload : payloads) {
+			api.getEntityBuilder().createMember(guild, payload);
+		}
+		final long after = usedHeap();
+
+		heap.cachedMembers = guild.getMemberCache().size();
+		heap.bytesPer1kMembers = (after - before) * 1000 / members;
+		return guild;
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) System.gc();
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static DataObject member(long userId) {
+		return DataObject.empty()
+			.put("user", DataObject.empty()
+				.put("id", Long.toString(userId))
+				.put("username", "user"+userId)
+				.put("global_name", "User "+userId)
+				.put("discriminator", "0")
+				.put("avatar", Long.toHexString(userId)+"0123456789abcdef")
+				.put("bot", false))
+			.put("roles", DataArray.empty())
+			.put("joined_at", "2024-01-01T00:00:00.000000+00:00")
+			.put("deaf", false)
+			.put("mute", false)
+			.put("flags", 0)
+			.put("pending", false);
+	}
+
+}
@@ -0,0 +1,63 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import dev.fireatom.FABI.utils.imagegen.PngEncoder;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * PNG encoding of a report-like image (flat colors, table lines and text):
+ * plain {@link ImageIO#write} against {@link PngEncoder} with each compression level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PngEncoderBenchmark {
+
+	@Param({"imageio", "SPEED", "BALANCED", "SIZE", "SIZE-indexed"})
+	public String encoder;
+
+	private BufferedImage image;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		image = new BufferedImage(900, 600, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g.setColor(new Color(49, 51, 56));
+		g.fillRect(0, 0, 900, 600);
+		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+		for (int row = 0; row < 20; row++) {
+			g.setColor(row % 2 == 0 ? new Color(43, 45, 49) : new Color(56, 58, 64));
+			g.fillRect(20, 60+row*26, 860, 26);
+			g.setColor(new Color(198, 198, 198));
+			g.drawString("Moderator %d".formatted(row), 30, 80+row*26);
+			for (int col = 0; col < 6; col++) {
+				g.drawString(String.valueOf((row*7+col*3) % 50), 360+col*85, 80+row*26);
+			}
+		}
+		g.dispose();
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return switch (encoder) {
+			case "imageio" -> {
+				ByteArrayOutputStream output = new ByteArrayOutputStream();
+				ImageIO.write(image, "png", output);
+				yield output.toByteArray();
+			}
+			case "SIZE-indexed" -> PngEncoder.encode(image, PngEncoder.Compression.SIZE, true);
+			default -> PngEncoder.encode(image, PngEncoder.Compression.valueOf(encoder), false);
+		};
+	}
+
+}
@@ -0,0 +1,120 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.objects.CaseType;
+import dev.fireatom.FABI.objects.ReportData;
+import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+import dev.fireatom.FABI.utils.imagegen.UserBackground;
+import dev.fireatom.FABI.utils.imagegen.UserBackgroundHandler;
+import dev.fireatom.FABI.utils.imagegen.UserBackgroundLoader;
+import dev.fireatom.FABI.utils.imagegen.renders.ModReportRender;
+import dev.fireatom.FABI.utils.imagegen.renders.ModStatsRender;
+import dev.fireatom.FABI.utils.imagegen.renders.Renderer;
+import dev.fireatom.FABI.utils.imagegen.renders.UserProfileRender;
+
+import net.dv8tion.jda.api.interactions.DiscordLocale;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Full render of each renderer, including PNG encoding, without the render cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RenderBenchmark {
+
+	@Param({"profile-color", "profile-image", "modstats", "modreport"})
+	public String render;
+
+	private Renderer renderer;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		final LocaleUtil lu = new LocaleUtil(BenchmarkFiles.languages(), DiscordLocale.ENGLISH_UK);
+		final DiscordLocale locale = DiscordLocale.ENGLISH_UK;
+		renderer = switch (render) {
+			case "profile-color" -> profile(lu, locale, background(0));
+			case "profile-image" -> profile(lu, locale, background(2));
+			case "modstats" -> new ModStatsRender(locale, lu, "moderator",
+				counts(120), counts(30), counts(7), 40, 12, 3);
+			case "modreport" -> {
+				List<ReportData> data = new ArrayList<>();
+				for (int i = 0; i < ModReportRender.ROWS_PER_PAGE; i++) {
+					data.add(new ReportData("Moderator "+i, "moderator"+i, i, counts(i*3)));
+				}
+				LocalDateTime now = LocalDateTime.now();
+				yield new ModReportRender(locale, lu, now.minusDays(7), now, data);
+			}
+			default -> throw new IllegalArgumentException("Unknown render "+render);
+		};
+	}
+
+	@Benchmark
+	public byte[] renderToBytes() throws IOException {
+		return renderer.renderToBytes();
+	}
+
+	private static UserProfileRender profile(LocaleUtil lu, DiscordLocale locale, UserBackground background) {
+		OffsetDateTime now = OffsetDateTime.now();
+		return new UserProfileRender("Benchmark User", "benchmark", now.minusYears(3), now.minusMonths(5),
+			"https://cdn.discordapp.com/embed/avatars/0.png", CompletableFuture.completedFuture(avatar()))
+			.setLocale(lu, locale)
+			.setBackground(background)
+			.setLevel(42, 17)
+			.setXpDiff(1_100, 700)
+			.setTotalExperience(25_300, 6_200)
+			.setCurrentLevelExperience(640, 210)
+			.setPercentage(58.2, 30.0)
+			.setServerRank("12", "48")
+			.setGlobalExperience(31_500);
+	}
+
+	private static BufferedImage avatar() {
+		final int size = UserProfileRender.getAvatarSize();
+		BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, new Color(88, 101, 242), size, size, new Color(235, 69, 158)));
+		g.fillRect(0, 0, size, size);
+		g.dispose();
+		return image;
+	}
+
+	private static UserBackground background(int id) throws IOException {
+		// Copies background images to the data folder
+		UserBackgroundHandler.getInstance();
+		try (InputStream in = RenderBenchmark.class.getResourceAsStream("/backgrounds/index.json")) {
+			if (in == null) throw new IOException("Background index is missing in resources");
+			JSONArray themes = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8)).getJSONArray("themes");
+			for (int i = 0; i < themes.length(); i++) {
+				JSONObject theme = themes.getJSONObject(i);
+				if (theme.getInt("id") == id) return new UserBackgroundLoader(theme).getUserBackground();
+			}
+		}
+		throw new IllegalArgumentException("Unknown background "+id);
+	}
+
+	private static Map<Integer, Integer> counts(int total) {
+		return Map.of(
+			CaseType.STRIKE_1.getValue(), total/2,
+			CaseType.MUTE.getValue(), total/4,
+			CaseType.KICK.getValue(), total/8,
+			CaseType.BAN.getValue(), total/8
+		);
+	}
+
+}
@@ -0,0 +1,59 @@
+package dev.fireatom.FABI.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.base.command.CooldownScope;
+import dev.fireatom.FABI.objects.logs.MessageData;
+import dev.fireatom.FABI.utils.transcripts.Formatter;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * String work done on each message or command: transcript formatting, edit diffs and cooldown keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextBenchmark {
+
+	private static final String MESSAGE = """
+		**Ticket** for <@123456789012345678>: _please_ check the ~~old~~ __new__ rules in `#rules`
+		> Quoted line from the previous message
+		```
+		code block with *stars*
+		```
+		[Masked link](https://example.com/page) and https://example.com/plain <:emote:123456789012345678>""";
+
+	private static final String OLD_CONTENT = """
+		Hello everyone, the event starts at 18:00 UTC in the main voice channel.
+		Bring your friends and read the rules before joining.
+		Prizes will be announced later today.""";
+	private static final String NEW_CONTENT = """
+		Hello everyone, the event starts at 19:00 UTC in the stage channel.
+		Bring your friends and read the rules before joining.
+		Prizes are announced: three nitro codes!""";
+
+	private final long userId = 1_200_000_000_000_000L;
+	private final long guildId = 1_100_000_000_000_000L;
+
+	@Benchmark
+	public String formatTranscript() {
+		return Formatter.format(MESSAGE);
+	}
+
+	@Benchmark
+	public MessageData.DiffData diffContent() {
+		return MessageData.getDiffContent(OLD_CONTENT, NEW_CONTENT);
+	}
+
+	@Benchmark
+	public String cooldownKeyUser() {
+		return CooldownScope.USER.genKey("ban", userId);
+	}
+
+	@Benchmark
+	public String cooldownKeyUserGuild() {
+		return CooldownScope.USER_GUILD.genKey("ban", userId, guildId);
+	}
+
+}
@@ -1,7 +1,9 @@
 package dev.fireatom.FABI;
 
+import java.io.IOException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -38,12 +40,24 @@ import dev.fireatom.FABI.menus.ActiveModlogsMenu;
 import dev.fireatom.FABI.menus.ModlogsMenu;
 import dev.fireatom.FABI.menus.ReportMenu;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.services.BulkRoleService;
+import dev.fireatom.FABI.services.ClusterService;
 import dev.fireatom.FABI.services.CountingThreadFactory;
+import dev.fireatom.FABI.services.EventPoolProvider;
+import dev.fireatom.FABI.services.ExpirationScheduler;
+import dev.fireatom.FABI.services.MemberService;
 import dev.fireatom.FABI.services.ScheduledCheck;
+import dev.fireatom.FABI.services.ShardStats;
+import dev.fireatom.FABI.services.metrics.MetricsRegistry;
+import dev.fireatom.FABI.services.metrics.MetricsServer;
 import dev.fireatom.FABI.utils.*;
 import dev.fireatom.FABI.utils.database.DBUtil;
+import dev.fireatom.FABI.utils.database.QueryStats;
+import dev.fireatom.FABI.utils.database.ShardScope;
 import dev.fireatom.FABI.utils.file.FileManager;
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+import dev.fireatom.FABI.utils.imagegen.AvatarService;
+import dev.fireatom.FABI.utils.imagegen.RenderService;
 import dev.fireatom.FABI.utils.imagegen.UserBackgroundHandler;
 import dev.fireatom.FABI.utils.level.LevelUtil;
 import dev.fireatom.FABI.utils.logs.GuildLogger;
@@ -51,15 +65,15 @@ import dev.fireatom.FABI.utils.logs.LogEmbedUtil;
 import dev.fireatom.FABI.utils.message.EmbedUtil;
 
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Activity;
 import net.dv8tion.jda.api.exceptions.ErrorResponseException;
 import net.dv8tion.jda.api.exceptions.InvalidTokenException;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.requests.GatewayIntent;
-import net.dv8tion.jda.api.utils.ChunkingFilter;
-import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.MiscUtil;
 import net.dv8tion.jda.api.utils.cache.CacheFlag;
 
 import org.slf4j.LoggerFactory;
@@ -77,8 +91,13 @@ public class App {
 
 	public final String VERSION = Optional.ofNullable(App.class.getPackage().getImplementationVersion()).map(v -> "v"+v).orElse("DEVELOPMENT");
 
-	public final JDA JDA;
+	private final ShardManager shardManager;
+	private final ShardStats shardStats = new ShardStats();
+	private final MetricsRegistry metrics = new MetricsRegistry();
+	private final QueryStats queryStats;
+	private MetricsServer metricsServer;
 	private final CommandClient commandClient;
+	private final EventWaiter waiter;
 
 	private final FileManager fileManager = new FileManager();
 
@@ -93,14 +112,22 @@ public class App {
 	private final GroupHelper groupHelper;
 	private final ModerationUtil moderationUtil;
 	private final LevelUtil levelUtil;
+	private final AvatarService avatarService;
+	private final RenderService renderService;
+	private final ExpirationScheduler expirationScheduler;
+	private final BulkRoleService bulkRoleService;
+	private final MemberService memberService;
+	private final ClusterService cluster;
 
 	@SuppressWarnings("BusyWait")
 	public App() {
 		App.instance = this;
 
 		try {
-			fileManager.addFile("config", "/config.json", Constants.DATA_PATH + "config.json")
-				.addFile("database", "/server.db", Constants.DATA_PATH + "server.db")
+			fileManager.addFile("config", "/config.json", Constants.DATA_PATH + "config.json");
+			// Processes with different shard ranges may share one database
+			final String databasePath = fileManager.getNullableString("config", "database-path");
+			fileManager.addFile("database", "/server.db", databasePath==null ? Constants.DATA_PATH + "server.db" : databasePath)
 				.addFileUpdate("backgrounds", "/backgrounds/index.json", Constants.DATA_PATH+"backgrounds"+Constants.SEPAR+"main.json")
 				.addLang("en-GB")
 				.addLang("ru");
@@ -108,28 +135,54 @@ public class App {
 			System.out.println(ex.getMessage());
 			System.exit(0);
 		}
+		fileManager.startWatching();
 
 		final long ownerId = parseLong(fileManager.getString("config", "owner-id"));
 		
+		final int shardsTotal = configInt("shards", -1);
+		ShardScope shardScope = ShardScope.ALL;
+		try {
+			shardScope = ShardScope.parse(fileManager.getNullableString("config", "shard-range"), shardsTotal);
+		} catch (IllegalArgumentException ex) {
+			log.error("Invalid shard config: {}", ex.getMessage());
+			System.exit(0);
+		}
+
 		// Define for default
 		dbUtil		= new DBUtil(getFileManager());
-		localeUtil	= new LocaleUtil(this, DiscordLocale.ENGLISH_UK);
+		dbUtil.setShardScope(shardScope);
+		queryStats	= new QueryStats(configInt("slow-query-ms", 250));
+		dbUtil.setQueryListener((manager, sql, nanos) -> {
+			metrics.histogram("fabi_db_query_duration_seconds", "Database statement duration", "manager", manager).record(nanos);
+			queryStats.onQuery(manager, sql, nanos);
+		});
+		cluster		= new ClusterService(dbUtil, shardScope, fileManager.getNullableString("config", "node-id"));
+		if (cluster.isClustered() && !dbUtil.getBackend().isPersistent())
+			log.warn("Storage '{}' is not shared with other processes of the shard range", dbUtil.getBackend().getName());
+		if (cluster.isClustered())
+			FixedCache.setMaxAge(TimeUnit.SECONDS.toMillis(ClusterService.CACHE_MAX_AGE));
+		localeUtil	= new LocaleUtil(fileManager, DiscordLocale.ENGLISH_UK);
 		embedUtil	= new EmbedUtil(localeUtil);
 		checkUtil	= new CheckUtil(this, ownerId);
 		ticketUtil	= new TicketUtil(this);
 		moderationUtil = new ModerationUtil(dbUtil, localeUtil);
 		levelUtil	= new LevelUtil(this);
+		avatarService = new AvatarService();
+		renderService = new RenderService();
+		bulkRoleService = new BulkRoleService();
+		memberService = new MemberService(MemberService.Mode.of(fileManager.getNullableString("config", "member-cache")));
 
 		logEmbedUtil	= new LogEmbedUtil();
 		guildLogger		= new GuildLogger(this, logEmbedUtil);
-		groupHelper		= new GroupHelper(this);
 
-		EventWaiter WAITER = new EventWaiter();
+		// Shards may shut down and restart separately, shared executors are shut down with the bot
+		waiter = new EventWaiter(Executors.newSingleThreadScheduledExecutor(), false);
 
 		CommandListener commandListener = new CommandListener(localeUtil);
-		InteractionListener interactionListener = new InteractionListener(this, WAITER);
+		InteractionListener interactionListener = new InteractionListener(this, waiter);
 
 		ScheduledExecutorService scheduledExecutor = new ScheduledThreadPoolExecutor(3, new CountingThreadFactory("VOTL", "Scheduler", false));
+		groupHelper = new GroupHelper(this, scheduledExecutor);
 
 		GuildListener guildListener = new GuildListener(this);
 		VoiceListener voiceListener = new VoiceListener(this, scheduledExecutor);
@@ -139,13 +192,25 @@ public class App {
 		MessageListener messageListener = new MessageListener(this);
 
 		ScheduledCheck scheduledCheck = new ScheduledCheck(this);
+		metrics.gauge("fabi_case_expiry_backlog", "Expired bans waiting to be lifted", scheduledCheck.getCaseExpiry()::getBacklogSize);
+		metrics.gauge("fabi_case_expiry_drain_rate", "Unbans per minute since the last backlog report", scheduledCheck.getCaseExpiry()::getDrainRate);
 		scheduledExecutor.scheduleWithFixedDelay(scheduledCheck::regularChecks, 2, 3, TimeUnit.MINUTES);
 		scheduledExecutor.scheduleWithFixedDelay(scheduledCheck::irregularChecks, 3, 10, TimeUnit.MINUTES);
+		scheduledExecutor.scheduleAtFixedRate(shardStats::sample, 1, 1, TimeUnit.MINUTES);
+		scheduledExecutor.scheduleAtFixedRate(queryStats::rotate, 1, 1, TimeUnit.HOURS);
+		scheduledExecutor.scheduleAtFixedRate(metrics.timed("heartbeat", cluster::heartbeat), 0, ClusterService.HEARTBEAT, TimeUnit.SECONDS);
+
+		expirationScheduler = new ExpirationScheduler(scheduledExecutor, metrics);
+		scheduledCheck.registerDeadlines(expirationScheduler);
+		dbUtil.setDeadlineListener(expirationScheduler);
+		// First run loads deadlines after startup, then reconciles in case some change was missed
+		scheduledExecutor.scheduleWithFixedDelay(metrics.timed("expire-reconcile", expirationScheduler::reconcile), 1, 30, TimeUnit.MINUTES);
 
 		// Define a command client
 		commandClient = new CommandClientBuilder()
 			.setOwnerId(ownerId)
 			.setScheduleExecutor(scheduledExecutor)
+			.setShutdownAutomatically(false)
 			.setStatus(OnlineStatus.ONLINE)
 			.setActivity(Activity.customStatus("/help"))
 			.addSlashCommands(
@@ -153,7 +218,7 @@ public class App {
 				new AccessCmd(),
 				new AutopunishCmd(),
 				new LogsCmd(),
-				new ModuleCmd(WAITER),
+				new ModuleCmd(waiter),
 				new SetupCmd(),
 				new PersistentRoleCmd(),
 				// moderation
@@ -161,17 +226,18 @@ public class App {
 				new BlacklistCmd(),
 				new CaseCmd(),
 				new DurationCmd(),
-				new GroupCmd(WAITER),
+				new GroupCmd(waiter),
 				new KickCmd(),
 				new MuteCmd(),
 				new ModLogsCmd(),
 				new ModStatsCmd(),
 				new ReasonCmd(),
-				new SyncCmd(WAITER),
+				new SyncCmd(waiter),
 				new UnbanCmd(),
 				new UnmuteCmd(),
 				new PurgeCmd(),
 				new ModReportCmd(),
+				new SearchCmd(),
 				// other
 				new AboutCmd(),
 				new HelpCmd(),
@@ -188,12 +254,13 @@ public class App {
 				new CheckAccessCmd(),
 				new BotBlacklist(),
 				new ExperienceCmd(),
+				new QueryStatsCmd(),
 				// role
 				new RoleCmd(),
 				new TempRoleCmd(),
 				// strike
 				new ClearStrikesCmd(),
-				new DeleteStrikeCmd(WAITER),
+				new DeleteStrikeCmd(waiter),
 				new StrikeCmd(),
 				new StrikesCmd(),
 				// ticketing
@@ -257,26 +324,34 @@ public class App {
 			CacheFlag.SCHEDULED_EVENTS
 		);
 
-		JDABuilder mainBuilder = JDABuilder.create(fileManager.getString("config", "bot-token"), intents)
-			.setMemberCachePolicy(MemberCachePolicy.ALL)	// cache all members
-			.setChunkingFilter(ChunkingFilter.ALL)			// enable chunking
+		DefaultShardManagerBuilder mainBuilder = DefaultShardManagerBuilder.create(fileManager.getString("config", "bot-token"), intents)
+			.setShardsTotal(shardsTotal)	// -1 - recommended by Discord
+			.setEventPoolProvider(new EventPoolProvider(configInt("event-threads", 1), metrics))
+			.setMemberCachePolicy(memberService.getCachePolicy(dbUtil))	// all or only required members
+			.setChunkingFilter(memberService.getChunkingFilter(dbUtil))
 			.enableCache(enabledCacheFlags)
 			.disableCache(disabledCacheFlags)
 			.setBulkDeleteSplittingEnabled(false)
 			.addEventListeners(
-				commandClient, WAITER, acListener, interactionListener,
+				commandClient, waiter, acListener, interactionListener,
 				guildListener, voiceListener, moderationListener, messageListener,
-				auditListener, memberListener
+				auditListener, memberListener, shardStats
 			);
 			
-		JDA tempJda;
+		// Only own range of shards
+		if (!shardScope.isAll()) {
+			mainBuilder.setShards(shardScope.first(), shardScope.last());
+			log.info("Starting node '{}' with shards {}", cluster.getNodeId(), shardScope);
+		}
+
+		ShardManager tempManager;
 
 		// try to log in
 		int retries = 4; // how many times will it try to build
 		int cooldown = 8; // in seconds; cooldown amount, will doubles after each retry
 		while (true) {
 			try {
-				tempJda = mainBuilder.build();
+				tempManager = mainBuilder.build();
 				break;
 			} catch (IllegalArgumentException | InvalidTokenException ex) {
 				log.error("Login failed due to Token", ex);
@@ -298,9 +373,10 @@ public class App {
 			}
 		}
 
-		this.JDA = tempJda;
+		this.shardManager = tempManager;
 
 		createWebhookAppender();
+		startMetrics();
 
 		log.info("Creating user backgrounds...");
 		try {
@@ -316,6 +392,46 @@ public class App {
 		return instance;
 	}
 
+	public ShardManager getShardManager() {
+		return shardManager;
+	}
+
+	/**
+	 * Shards log in one after another, until then guilds of the remaining shards are not in cache.
+	 * Jobs, that treat missing guild as deleted, must wait for this.
+	 *
+	 * @return If all shards of this process are connected
+	 */
+	public boolean isReady() {
+		if (shardManager == null || shardManager.getShardsQueued() > 0) return false;
+		return shardManager.getShardCache().stream().allMatch(shard -> shard.getStatus() == JDA.Status.CONNECTED);
+	}
+
+	/**
+	 * @return If shard of the guild is connected, so guild missing in cache is really unavailable
+	 */
+	public boolean isShardReady(long guildId) {
+		if (shardManager == null) return false;
+		JDA shard = shardManager.getShardById(MiscUtil.getShardForGuild(guildId, shardManager.getShardsTotal()));
+		return shard != null && shard.getStatus() == JDA.Status.CONNECTED;
+	}
+
+	public MetricsRegistry getMetrics() {
+		return metrics;
+	}
+
+	public QueryStats getQueryStats() {
+		return queryStats;
+	}
+
+	public ClusterService getCluster() {
+		return cluster;
+	}
+
+	public ShardStats getShardStats() {
+		return shardStats;
+	}
+
 	public CommandClient getClient() {
 		return commandClient;
 	}
@@ -368,8 +484,84 @@ public class App {
 		return levelUtil;
 	}
 
+	public AvatarService getAvatarService() {
+		return avatarService;
+	}
+
+	public RenderService getRenderService() {
+		return renderService;
+	}
+
+	public ExpirationScheduler getExpirationScheduler() {
+		return expirationScheduler;
+	}
+
+	public BulkRoleService getBulkRoleService() {
+		return bulkRoleService;
+	}
+
+	public MemberService getMemberService() {
+		return memberService;
+	}
+
 	public void shutdownUtils() {
-		// ignore
+		fileManager.stopWatching();
+		if (metricsServer != null) metricsServer.stop();
+		expirationScheduler.shutdown();
+		groupHelper.shutdown();
+		renderService.shutdown();
+		waiter.shutdown();
+		commandClient.shutdown();
+		cluster.shutdown();
+		dbUtil.close();
+	}
+
+	private int configInt(String key, int defaultValue) {
+		String value = fileManager.getNullableString("config", key);
+		if (value == null) return defaultValue;
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException ex) {
+			log.warn("Config value '{}' is not a number, using {}", key, defaultValue);
+			return defaultValue;
+		}
+	}
+
+	private void startMetrics() {
+		metrics.gauge("fabi_guilds", "Guilds of this process", () -> shardManager.getGuildCache().size());
+		// Shards are still starting, so gauges are registered for the configured range and read shards lazily
+		final ShardScope scope = cluster.getScope();
+		final int firstShard = scope.isAll() ? 0 : scope.first();
+		final int lastShard = scope.isAll() ? shardManager.getShardsTotal()-1 : scope.last();
+		for (int id = firstShard; id <= lastShard; id++) {
+			final int shardId = id;
+			metrics.gauge("fabi_shard_gateway_ping_seconds", "Gateway heartbeat ping", () -> {
+				JDA jda = shardManager.getShardById(shardId);
+				return jda == null ? -1 : jda.getGatewayPing() / 1000.0;
+			}, "shard", String.valueOf(shardId));
+			metrics.gauge("fabi_shard_events_per_minute", "Gateway events during last full minute",
+				() -> shardStats.getEventsPerMinute(shardId), "shard", String.valueOf(shardId));
+		}
+		metrics.gauge("fabi_webhook_log_pending", "Log messages waiting to be sent by webhook", guildLogger::getPendingWebhooks);
+		metrics.gauge("fabi_expiration_queued", "Queued expiration deadlines", expirationScheduler::getQueuedCount);
+		metrics.gauge("fabi_group_sync_queued", "Queued group sync jobs", groupHelper::getQueuedCount);
+		metrics.gauge("fabi_bulk_role_active", "Running bulk role changes", bulkRoleService::getActiveCount);
+		metrics.gauge("fabi_render_queue_depth", "Image renders waiting in queue", renderService::getQueueDepth);
+		metrics.gauge("fabi_render_active", "Image renders in progress", renderService::getActiveCount);
+		metrics.gauge("fabi_db_slow_queries", "Statements slower than the slow query threshold", queryStats::getSlowCount);
+		metrics.gauge("fabi_jvm_memory_used_bytes", "Used heap memory", () -> Runtime.getRuntime().totalMemory()-Runtime.getRuntime().freeMemory());
+		metrics.gauge("fabi_jvm_memory_max_bytes", "Max heap memory", () -> Runtime.getRuntime().maxMemory());
+
+		final int port = configInt("metrics-port", 0);
+		if (port <= 0) return;
+		final String host = Optional.ofNullable(fileManager.getNullableString("config", "metrics-host")).orElse("127.0.0.1");
+		try {
+			metricsServer = new MetricsServer(metrics, host, port);
+			metricsServer.start();
+			log.info("Metrics are available at http://{}:{}/metrics", host, port);
+		} catch (IOException ex) {
+			log.error("Failed to start metrics server on {}:{}", host, port, ex);
+		}
 	}
 
 	private void createWebhookAppender() {
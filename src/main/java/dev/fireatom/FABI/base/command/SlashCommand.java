@@ -245,6 +245,7 @@ public abstract class SlashCommand extends Interaction
 		try {
 			execute(event);
 		} catch (Throwable t) {
+			recordResult(event, "failed", timeStart);
 			if (client.getListener() != null) {
 				client.getListener().onSlashCommandException(event, this, t);
 				return;
@@ -252,6 +253,7 @@ public abstract class SlashCommand extends Interaction
 			// otherwise we rethrow
 			throw t;
 		}
+		recordResult(event, "completed", timeStart);
 
 		if (client.getListener() != null)
 			client.getListener().onCompletedSlashCommand(event, this);
@@ -459,6 +461,7 @@ public abstract class SlashCommand extends Interaction
 	}
 
 	private void terminate(SlashCommandEvent event, MessageCreateData message, CommandClient client) {
+		recordResult(event, "terminated");
 		if (message != null)
 			event.reply(message).setEphemeral(true).queue(null, failure -> new ErrorHandler().ignore(ErrorResponse.UNKNOWN_INTERACTION));
 		if (client.getListener() != null)
@@ -466,10 +469,30 @@ public abstract class SlashCommand extends Interaction
 	}
 
 	private void terminate(SlashCommandEvent event, CommandClient client) {
+		recordResult(event, "terminated");
 		if (client.getListener() != null)
 			client.getListener().onTerminatedSlashCommand(event, this);
 	}
 
+	/**
+	 * Counts the command run.
+	 *
+	 * @param result completed, failed or terminated
+	 */
+	private void recordResult(SlashCommandEvent event, String result) {
+		bot.getMetrics().counter("fabi_commands_total", "Slash command runs by result", "command", event.getFullCommandName(), "result", result).inc();
+	}
+
+	/**
+	 * Counts the executed command and records its duration.
+	 * Commands usually reply asynchronously, so the duration covers checks and work on the event thread.
+	 */
+	private void recordResult(SlashCommandEvent event, String result, long timeStart) {
+		recordResult(event, result);
+		bot.getMetrics().histogram("fabi_command_duration_seconds", "Slash command checks and execution time", "command", event.getFullCommandName())
+			.record(System.nanoTime()-timeStart);
+	}
+
 	/**
 	 * Gets the proper cooldown key for this Command under the provided
 	 * {@link SlashCommandEvent SlashCommandEvent}.
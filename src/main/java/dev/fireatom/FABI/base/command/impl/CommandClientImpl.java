@@ -47,6 +47,7 @@ import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.events.session.ShutdownEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
+import net.dv8tion.jda.api.utils.MiscUtil;
 
 import net.dv8tion.jda.internal.utils.Checks;
 import org.jetbrains.annotations.NotNull;
@@ -323,6 +324,8 @@ public class CommandClientImpl implements CommandClient, EventListener {
 
 		// Upsert the commands
 		if (serverId != null) {
+			// Guild is upserted by its own shard
+			if (!isOwnShard(jda, serverId)) return;
 			// Attempt to retrieve the provided guild
 			Guild server = jda.getGuildById(serverId);
 			if (server == null) {
@@ -336,7 +339,7 @@ public class CommandClientImpl implements CommandClient, EventListener {
 					error -> LOG.error("Could not upsert commands! Does the bot have the applications.commands scope?", error)
 				);
 		}
-		else
+		else if (isFirstShard(jda))
 			jda.updateCommands().addCommands(data)
 				.queue(commands -> LOG.debug("Successfully added {} slash commands!", commands.size()));
 	}
@@ -361,20 +364,23 @@ public class CommandClientImpl implements CommandClient, EventListener {
 			data.add(menu.buildCommandData());
 		}
 
-		jda.updateCommands().addCommands(data)
-			.queue(commands -> LOG.debug("Successfully added {} slash commands globally!", commands.size()));
+		// Global commands are shared by all shards
+		if (isFirstShard(jda))
+			jda.updateCommands().addCommands(data)
+				.queue(commands -> LOG.debug("Successfully added {} slash commands globally!", commands.size()));
 
 		// Upsert the commands
 		for (String serverId : serverIds) {
 			// Attempt to retrieve the provided guild
 			if (serverId == null) {
 				LOG.error("One of the specified developer guild id is null! Check provided values.");
-				return;
+				continue;
 			}
+			if (!isOwnShard(jda, serverId)) continue;
 			Guild server = jda.getGuildById(serverId);
 			if (server == null) {
 				LOG.error("Specified dev guild is null! Slash Commands will NOT be added! Is the bot added?");
-				return;
+				continue;
 			}
 			// Upsert the commands + their privileges
 			server.updateCommands().addCommands(dataDev)
@@ -385,6 +391,15 @@ public class CommandClientImpl implements CommandClient, EventListener {
 		}
 	}
 
+	private boolean isFirstShard(JDA jda) {
+		return jda.getShardInfo().getShardId() == 0;
+	}
+
+	private boolean isOwnShard(JDA jda, String guildId) {
+		final JDA.ShardInfo info = jda.getShardInfo();
+		return MiscUtil.getShardForGuild(guildId, info.getShardTotal()) == info.getShardId();
+	}
+
 	private void onSlashCommand(SlashCommandInteractionEvent event) {
 		// this will be null if it's not a command
 		final SlashCommand command = findSlashCommand(event.getFullCommandName());
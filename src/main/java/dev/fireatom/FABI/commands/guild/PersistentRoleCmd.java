@@ -71,6 +71,10 @@ public class PersistentRoleCmd extends CommandBase {
 				editErrorDatabase(event, ex, "add persistent role");
 				return;
 			}
+			if (!event.getGuild().isLoaded()) {
+				// Lean member cache - load members, so ones with this role are kept in cache
+				event.getGuild().loadMembers();
+			}
 			editEmbed(event, bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
 				.setDescription(lu.getText(event, path+".done").formatted(role.getAsMention()))
 				.build());
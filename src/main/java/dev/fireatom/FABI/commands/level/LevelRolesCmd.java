@@ -9,6 +9,7 @@ import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
 import dev.fireatom.FABI.utils.database.managers.LevelRolesManager;
 import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.UserSnowflake;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
@@ -76,8 +77,18 @@ public class LevelRolesCmd extends CommandBase {
 				editErrorDatabase(event, ex, "level roles set");
 				return;
 			}
+			// Give role to members, that already reached this level
+			List<UserSnowflake> reached = bot.getDBUtil().levels.getPlayersWithExp(event.getGuild().getIdLong(), bot.getLevelUtil().getExperienceFromLevel(level), type)
+				.stream()
+				.map(UserSnowflake::fromId)
+				.toList();
+			StringBuilder text = new StringBuilder(lu.getText(event, path+".done").formatted(role.getAsMention(), level));
+			if (!reached.isEmpty()) {
+				text.append(lu.getText(event, path+".catch_up").formatted(reached.size()));
+				bot.getBulkRoleService().addRole(event.getGuild(), reached, role, "Reached level "+level, null);
+			}
 			editEmbed(event, bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
-				.setDescription(lu.getText(event, path+".done").formatted(role.getAsMention(), level))
+				.setDescription(text.toString())
 				.build()
 			);
 		}
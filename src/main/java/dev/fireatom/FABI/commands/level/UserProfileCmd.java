@@ -8,6 +8,7 @@ import dev.fireatom.FABI.objects.ExpType;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.utils.database.managers.LevelManager;
 import dev.fireatom.FABI.utils.encoding.EncodingUtil;
+import dev.fireatom.FABI.utils.exception.RenderQueueFullException;
 import dev.fireatom.FABI.utils.imagegen.UserBackground;
 import dev.fireatom.FABI.utils.imagegen.UserBackgroundHandler;
 import dev.fireatom.FABI.utils.imagegen.renders.UserProfileRender;
@@ -18,7 +19,6 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.utils.FileUpload;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.List;
 
 public class UserProfileCmd extends CommandBase {
@@ -113,14 +113,18 @@ public class UserProfileCmd extends CommandBase {
 			.setImage("attachment://" + attachmentName)
 			.setColor(bot.getDBUtil().getGuildSettings(event.getGuild()).getColor());
 
-		try {
-			event.getHook().editOriginalEmbeds(embed.build()).setFiles(FileUpload.fromData(
-				new ByteArrayInputStream(render.renderToBytes()),
-				attachmentName
-			)).queue();
-		} catch (IOException e) {
-			bot.getAppLogger().error("Failed to generate the rank background: {}", e.getMessage(), e);
-			editError(event, path+".failed", "Rendering exception");
-		}
+		bot.getRenderService().render(render).whenComplete((bytes, ex) -> {
+			if (ex instanceof RenderQueueFullException) {
+				editError(event, "errors.render_busy");
+			} else if (ex != null || bytes == null) {
+				bot.getAppLogger().error("Failed to generate the rank background: {}", ex==null ? "empty image" : ex.getMessage(), ex);
+				editError(event, path+".failed", "Rendering exception");
+			} else {
+				event.getHook().editOriginalEmbeds(embed.build()).setFiles(FileUpload.fromData(
+					new ByteArrayInputStream(bytes),
+					attachmentName
+				)).queue();
+			}
+		});
 	}
 }
@@ -79,7 +79,7 @@ public class GroupCmd extends CommandBase {
 					editErrorOther(event, ex.getMessage());
 					return;
 				}
-				if (appealGuildId != 0L && event.getJDA().getGuildById(appealGuildId) == null) {
+				if (appealGuildId != 0L && bot.getShardManager().getGuildById(appealGuildId) == null) {
 					editErrorOther(event, "Unknown appeal server ID.\nReceived: "+appealGuildId);
 					return;
 				}
@@ -210,7 +210,7 @@ public class GroupCmd extends CommandBase {
 				e -> e.getMessageId().equals(msg.getId()),
 				actionMenu -> {
 					long targetId = Long.parseLong(actionMenu.getSelectedOptions().getFirst().getValue());
-					Guild targetGuild = event.getJDA().getGuildById(targetId);
+					Guild targetGuild = bot.getShardManager().getGuildById(targetId);
 
 					try {
 						bot.getDBUtil().group.remove(groupId, targetId);
@@ -313,7 +313,7 @@ public class GroupCmd extends CommandBase {
 					editErrorOther(event, ex.getMessage());
 					return;
 				}
-				if (appealGuildId != 0L && event.getJDA().getGuildById(appealGuildId) == null) {
+				if (appealGuildId != 0L && bot.getShardManager().getGuildById(appealGuildId) == null) {
 					editErrorOther(event, "Unknown appeal server ID.\nReceived: "+appealGuildId);
 					return;
 				}
@@ -427,7 +427,7 @@ public class GroupCmd extends CommandBase {
 				e -> e.getMessageId().equals(msg.getId()),
 				actionMenu -> {
 					long targetId = Long.parseLong(actionMenu.getSelectedOptions().getFirst().getValue());
-					Guild targetGuild = event.getJDA().getGuildById(targetId);
+					Guild targetGuild = bot.getShardManager().getGuildById(targetId);
 
 					StringBuilder builder = new StringBuilder(lu.getText(event, path+".done")
 						.formatted(targetGuild.getName(), groupName));
@@ -587,7 +587,7 @@ public class GroupCmd extends CommandBase {
 					StringBuilder stringBuilder = new StringBuilder();
 					String format = "%s | %s | `%s`";
 					for (Long memberId : memberIds) {
-						Guild guild = event.getJDA().getGuildById(memberId);
+						Guild guild = bot.getShardManager().getGuildById(memberId);
 						if (guild == null) continue;
 	
 						String line = format.formatted(guild.getName(), guild.getMemberCount(), guild.getId());
@@ -613,7 +613,7 @@ public class GroupCmd extends CommandBase {
 				}
 				
 				String groupName = bot.getDBUtil().group.getName(groupId);
-				String masterName = event.getJDA().getGuildById(ownerId).getName();
+				String masterName = bot.getShardManager().getGuildById(ownerId).getName();
 				int groupSize = bot.getDBUtil().group.countMembers(groupId);
 
 				EmbedBuilder builder = bot.getEmbedUtil().getEmbed()
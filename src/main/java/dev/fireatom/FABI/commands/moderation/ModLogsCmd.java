@@ -9,15 +9,19 @@ import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.database.managers.CaseManager;
 import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
 import dev.fireatom.FABI.utils.message.TimeUtil;
 
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.emoji.Emoji;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.components.ActionRow;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.utils.TimeFormat;
 
 public class ModLogsCmd extends CommandBase {
@@ -54,16 +58,37 @@ public class ModLogsCmd extends CommandBase {
 		final long guildId = event.getGuild().getIdLong();
 		final long userId = tu.getIdLong();
 		final int page = event.optInteger("page", 1);
-		final List<CaseData> cases = event.optBoolean("only_active", false) ?
-			bot.getDBUtil().cases.getGuildUser(guildId, userId, page, true) :
-			bot.getDBUtil().cases.getGuildUser(guildId, userId, page);
+		final boolean onlyActive = event.optBoolean("only_active", false);
+		final List<CaseData> cases = bot.getDBUtil().cases.getGuildUser(guildId, userId, page, onlyActive);
 		if (cases.isEmpty()) {
 			editEmbed(event, bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".empty")).build());
 			return;
 		}
-		final int pages = (int) Math.ceil(bot.getDBUtil().cases.countCases(guildId, userId)/10.0);
+		final int pages = countPages(bot.getDBUtil().cases.countCases(guildId, userId, onlyActive));
 
-		editEmbed(event, buildEmbed(lu, event.getUserLocale(), tu, cases, page, pages).build());
+		event.getHook().editOriginalEmbeds(buildEmbed(lu, event.getUserLocale(), tu, cases, page, pages).build())
+			.setComponents(buildButtons(userId, onlyActive, cases, page, pages))
+			.queue();
+	}
+
+	public static int countPages(int count) {
+		return (int) Math.ceil(count/(double) CaseManager.PAGE_SIZE);
+	}
+
+	/**
+	 * Page buttons carry the cursor (first or last shown case rowId), next page is read after it.
+	 * Format: 'modlogs:[older|newer]:userId:onlyActive:rowId:page'
+	 *
+	 * @return Action row with page buttons, or empty list if there is only one page
+	 */
+	public static List<ActionRow> buildButtons(long userId, boolean onlyActive, List<CaseData> cases, int page, int pages) {
+		if (pages <= 1 && page <= 1) return List.of();
+		final int active = onlyActive ? 1 : 0;
+		Button newer = Button.secondary("modlogs:newer:%d:%d:%d:%d".formatted(userId, active, cases.getFirst().getRowId(), page-1), Emoji.fromUnicode("◀️"))
+			.withDisabled(page <= 1);
+		Button older = Button.secondary("modlogs:older:%d:%d:%d:%d".formatted(userId, active, cases.getLast().getRowId(), page+1), Emoji.fromUnicode("▶️"))
+			.withDisabled(page >= pages);
+		return List.of(ActionRow.of(newer, older));
 	}
 
 	public static EmbedBuilder buildEmbed(LocaleUtil lu, DiscordLocale locale, User tu, List<CaseData> cases, int page, int pages) {
@@ -1,12 +1,11 @@
 package dev.fireatom.FABI.commands.moderation;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 
@@ -18,8 +17,10 @@ import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.database.managers.ModActivityManager;
 
 import dev.fireatom.FABI.utils.encoding.EncodingUtil;
+import dev.fireatom.FABI.utils.exception.RenderQueueFullException;
 import dev.fireatom.FABI.utils.imagegen.renders.ModStatsRender;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.User;
@@ -67,10 +68,10 @@ public class ModStatsCmd extends CommandBase {
 		DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 		try {
 			beforeTime = beforeDate!=null
-				? LocalDateTime.parse(beforeDate, inputFormatter)
+				? LocalDate.parse(beforeDate, inputFormatter).atStartOfDay()
 				: LocalDateTime.now();
 			afterTime = afterDate!=null
-				? LocalDateTime.parse(afterDate, inputFormatter)
+				? LocalDate.parse(afterDate, inputFormatter).atStartOfDay()
 				: LocalDateTime.now().minusDays(7);
 		} catch (Exception ex) {
 			editError(event, path+".failed_parse", ex.getMessage());
@@ -81,8 +82,9 @@ public class ModStatsCmd extends CommandBase {
 			return;
 		}
 
-		int countRoles = bot.getDBUtil().tickets.countTicketsByMod(event.getGuild().getIdLong(), mod.getIdLong(), afterTime, beforeTime, true);
-		Map<Integer, Integer> countCases = bot.getDBUtil().cases.countCasesByMod(guildId, mod.getIdLong(), afterTime, beforeTime);
+		// Counted by whole days
+		Map<Integer, Integer> countCases = bot.getDBUtil().modActivity.countByMod(guildId, mod.getIdLong(), afterTime.toLocalDate(), beforeTime.toLocalDate());
+		int countRoles = getRoles(countCases);
 
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneOffset.UTC);
 		String intervalText = "%s\n`%s` - `%s`".formatted(lu.getText(event, path+".title"), formatter.format(afterTime), formatter.format(beforeTime));
@@ -111,20 +113,22 @@ public class ModStatsCmd extends CommandBase {
 		long guildId = event.getGuild().getIdLong();
 		long modId = mod.getIdLong();
 
-		Map<Integer, Integer> countTotal = bot.getDBUtil().cases.countCasesByMod(guildId, modId);
-		final int rolesTotal = bot.getDBUtil().tickets.countTicketsByMod(guildId, modId, true);
-		if (countTotal.isEmpty() && rolesTotal==0) {
+		Map<Integer, Integer> countTotal = bot.getDBUtil().modActivity.countByMod(guildId, modId);
+		final int rolesTotal = getRoles(countTotal);
+		if (ModActivityManager.sumCases(countTotal)==0 && rolesTotal==0) {
 			editError(event, path+".empty");
 			return;
 		}
 
 		Instant now = Instant.now();
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
 
-		Map<Integer, Integer> count30 = bot.getDBUtil().cases.countCasesByMod(guildId, modId, now.minus(30, ChronoUnit.DAYS));
-		final int roles30 = bot.getDBUtil().tickets.countTicketsByMod(guildId, modId, now.minus(30, ChronoUnit.DAYS), true);
+		// Counted by whole days, including today
+		Map<Integer, Integer> count30 = bot.getDBUtil().modActivity.countByMod(guildId, modId, today.minusDays(29));
+		final int roles30 = getRoles(count30);
 
-		Map<Integer, Integer> count7 = bot.getDBUtil().cases.countCasesByMod(guildId, modId, now.minus(7, ChronoUnit.DAYS));
-		final int roles7 = bot.getDBUtil().tickets.countTicketsByMod(guildId, modId, now.minus(7, ChronoUnit.DAYS), true);
+		Map<Integer, Integer> count7 = bot.getDBUtil().modActivity.countByMod(guildId, modId, today.minusDays(6));
+		final int roles7 = getRoles(count7);
 
 		if (event.optBoolean("as_text", false)) {
 			// As text
@@ -156,7 +160,7 @@ public class ModStatsCmd extends CommandBase {
 			editEmbed(event, embedBuilder.setDescription(builder.toString()).build());
 		} else {
 			// As image
-			ModStatsRender render = new ModStatsRender(event.getGuildLocale(), mod.getName(),
+			ModStatsRender render = new ModStatsRender(event.getGuildLocale(), bot.getLocaleUtil(), mod.getName(),
 				countTotal, count30, count7, rolesTotal, roles30, roles7);
 
 			final String attachmentName = EncodingUtil.encodeModstats(guildId, mod.getIdLong(), now.getEpochSecond());
@@ -167,15 +171,19 @@ public class ModStatsCmd extends CommandBase {
 				.setFooter("ID: "+mod.getId())
 				.setTimestamp(now);
 
-			try {
-				event.getHook().editOriginalEmbeds(embedBuilder.build()).setFiles(FileUpload.fromData(
-					new ByteArrayInputStream(render.renderToBytes()),
-					attachmentName
-				)).queue();
-			} catch (IOException e) {
-				bot.getAppLogger().error("Failed to generate the rank background: {}", e.getMessage(), e);
-				editError(event, path+".failed_image", "Rendering exception");
-			}
+			bot.getRenderService().render(render).whenComplete((bytes, ex) -> {
+				if (ex instanceof RenderQueueFullException) {
+					editError(event, "errors.render_busy");
+				} else if (ex != null || bytes == null) {
+					bot.getAppLogger().error("Failed to generate the modstats image: {}", ex==null ? "empty image" : ex.getMessage(), ex);
+					editError(event, path+".failed_image", "Rendering exception");
+				} else {
+					event.getHook().editOriginalEmbeds(embedBuilder.build()).setFiles(FileUpload.fromData(
+						new ByteArrayInputStream(bytes),
+						attachmentName
+					)).queue();
+				}
+			});
 		}
 	}
 
@@ -200,7 +208,11 @@ public class ModStatsCmd extends CommandBase {
 	}
 
 	private int getTotal(Map<Integer, Integer> data) {
-		return data.values().stream().reduce(0, Integer::sum);
+		return ModActivityManager.sumCases(data);
+	}
+
+	private int getRoles(Map<Integer, Integer> data) {
+		return data.getOrDefault(ModActivityManager.ROLE_TICKETS, 0);
 	}
 
 	private int getCount(Map<Integer, Integer> data, CaseType type) {
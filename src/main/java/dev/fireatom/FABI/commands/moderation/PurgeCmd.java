@@ -7,32 +7,28 @@ import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.message.PurgeTask;
+
 import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.entities.Message;
-import net.dv8tion.jda.api.entities.MessageHistory;
 import net.dv8tion.jda.api.entities.User;
-import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
-import net.dv8tion.jda.api.requests.RestAction;
-import net.dv8tion.jda.api.utils.TimeUtil;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 public class PurgeCmd extends CommandBase {
 
+	// Max messages to look through, when searching messages of user
+	private static final int SCAN_BUDGET = 5000;
+
 	public PurgeCmd() {
 		this.name = "purge";
 		this.path = "bot.moderation.purge";
 		this.options = List.of(
 			new OptionData(OptionType.USER, "user", lu.getText(path+".user.help")),
 			new OptionData(OptionType.INTEGER, "count", lu.getText(path+".count.help"))
-				.setRequiredRange(1, 50)
+				.setRequiredRange(1, 1000)
 		);
 		this.botPermissions = new Permission[]{Permission.MESSAGE_MANAGE};
 		this.category = CmdCategory.MODERATION;
@@ -49,44 +45,37 @@ public class PurgeCmd extends CommandBase {
 		int toDelete = event.optInteger("count", 5);
 		User target = event.optUser("user");
 
-		if (target == null) {
-			loadMessages(event.getChannel().getHistory(), toDelete, null, messages -> {
-				if (messages.isEmpty()) {
-					sendNoMessages(event, null);
-					return;
-				}
-
-				deleteMessages(event.getChannel().asGuildMessageChannel(), messages, event.getUser().getName()).queue(avoid -> {
-					// Log
-					bot.getLogger().mod.onMessagePurge(event.getUser(), null, toDelete, event.getGuildChannel());
-					// Reply
-					event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
-						.setDescription(lu.getText(event, path+".done").formatted(toDelete))
-						.build()
-					).queue(msg -> msg.delete().queueAfter(4, TimeUnit.SECONDS, null, ignoreRest));
-				}, ignoreRest);
-			});
-			return;
-		}
-
-		loadMessages(event.getChannel().getHistory(), toDelete, target.getIdLong(), messages -> {
-			if (messages.isEmpty()) {
+		// Without target almost every message matches, one extra page covers pinned messages and this reply
+		int scanBudget = target == null ? toDelete+PurgeTask.PAGE_SIZE : SCAN_BUDGET;
+		new PurgeTask(event.getChannel().asGuildMessageChannel(), event.getIdLong(), target == null ? null : target.getIdLong(),
+			toDelete, scanBudget, "By "+event.getUser().getName(), progress -> {
+				if (progress.scanned() < scanBudget && progress.matched() < toDelete) sendProgress(event, progress);
+			}
+		).start().thenAccept(result -> {
+			if (result.deleted() == 0) {
 				sendNoMessages(event, target);
 				return;
 			}
-
-			deleteMessages(event.getChannel().asGuildMessageChannel(), messages, event.getUser().getName()).queue(avoid -> {
-				// Log
-				bot.getLogger().mod.onMessagePurge(event.getUser(), target, toDelete, event.getGuildChannel());
-				// Reply
-				event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
-					.setDescription(lu.getText(event, path+".done_user").formatted(toDelete, target.getEffectiveName()))
-					.build()
-				).queue(msg -> msg.delete().queueAfter(4, TimeUnit.SECONDS, null, ignoreRest));
-			}, ignoreRest);
+			// Log
+			bot.getLogger().mod.onMessagePurge(event.getUser(), target, result.deleted(), event.getGuildChannel());
+			// Reply
+			String text = target == null ?
+				lu.getText(event, path+".done").formatted(result.deleted()) :
+				lu.getText(event, path+".done_user").formatted(result.deleted(), target.getEffectiveName());
+			event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
+				.setDescription(text)
+				.build()
+			).queue(msg -> msg.delete().queueAfter(4, TimeUnit.SECONDS, null, ignoreRest));
 		});
 	}
 
+	private void sendProgress(SlashCommandEvent event, PurgeTask.Progress progress) {
+		event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed()
+			.setDescription(lu.getText(event, path+".progress").formatted(progress.scanned(), progress.matched()))
+			.build()
+		).queue(null, ignoreRest);
+	}
+
 	private void sendNoMessages(SlashCommandEvent event, User target) {
 		String text = target==null ?
 			lu.getText(event, path+".empty") :
@@ -98,41 +87,4 @@ public class PurgeCmd extends CommandBase {
 		).queue(msg -> msg.delete().queueAfter(4, TimeUnit.SECONDS, null, ignoreRest));
 	}
 
-	private void loadMessages(MessageHistory history, int toDelete, Long targetId, Consumer<List<Message>> consumer) {
-		long maxMessageAge = TimeUtil.getDiscordTimestamp(Instant.now().minus(Duration.ofDays(7)).toEpochMilli());
-		List<Message> messages = new ArrayList<>();
-
-		history.retrievePast(toDelete).queue(historyMessage -> {
-			if (historyMessage.isEmpty()) {
-				consumer.accept(messages);
-				return;
-			}
-
-			for (Message message : historyMessage) {
-				if (message.isPinned() || message.getIdLong() < maxMessageAge) {
-					continue;
-				}
-
-				if (targetId != null && !targetId.equals(message.getAuthor().getIdLong())) {
-					continue;
-				}
-
-				if (messages.size() >= toDelete) {
-					consumer.accept(messages);
-					return;
-				}
-
-				messages.add(message);
-			}
-			consumer.accept(messages);
-		});
-	}
-
-	private RestAction<Void> deleteMessages(GuildMessageChannel channel, List<Message> messages, String modName) {
-		if (messages.size() == 1) {
-			return messages.getFirst().delete().reason("By "+modName);
-		}
-		return channel.deleteMessages(messages);
-	}
-
 }
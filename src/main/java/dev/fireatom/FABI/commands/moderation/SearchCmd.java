@@ -0,0 +1,92 @@
+package dev.fireatom.FABI.commands.moderation;
+
+import static dev.fireatom.FABI.utils.CastUtil.castLong;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import dev.fireatom.FABI.base.command.CooldownScope;
+import dev.fireatom.FABI.base.command.SlashCommandEvent;
+import dev.fireatom.FABI.commands.CommandBase;
+import dev.fireatom.FABI.objects.CmdAccessLevel;
+import dev.fireatom.FABI.objects.CmdModule;
+import dev.fireatom.FABI.objects.constants.CmdCategory;
+import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+import dev.fireatom.FABI.utils.message.MessageUtil;
+
+import net.dv8tion.jda.api.interactions.commands.Command;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.utils.TimeFormat;
+
+public class SearchCmd extends CommandBase {
+
+	private static final int LIMIT = 10;
+
+	public SearchCmd() {
+		this.name = "search";
+		this.path = "bot.moderation.search";
+		this.options = List.of(
+			new OptionData(OptionType.STRING, "query", lu.getText(path+".query.help"), true)
+				.setRequiredLength(2, 100),
+			new OptionData(OptionType.STRING, "target", lu.getText(path+".target.help"))
+				.addChoices(
+					new Command.Choice(lu.getText(path+".cases"), "cases"),
+					new Command.Choice(lu.getText(path+".tickets"), "tickets")
+				)
+		);
+		this.category = CmdCategory.MODERATION;
+		this.module = CmdModule.MODERATION;
+		this.accessLevel = CmdAccessLevel.MOD;
+		this.cooldown = 10;
+		this.cooldownScope = CooldownScope.USER;
+	}
+
+	@Override
+	protected void execute(SlashCommandEvent event) {
+		event.deferReply(true).queue();
+
+		final long guildId = event.getGuild().getIdLong();
+		final String query = event.optString("query");
+
+		StringBuilder builder = new StringBuilder();
+		if (event.optString("target", "cases").equals("tickets")) {
+			List<Map<String, Object>> tickets = bot.getDBUtil().tickets.searchClosed(guildId, query, LIMIT);
+			for (Map<String, Object> ticket : tickets) {
+				Long timeClosed = castLong(ticket.get("timeClosed"));
+				builder.append("`#%s` <#%s> | <@%s> | %s\n> %s\n".formatted(
+					ticket.get("ticketId"),
+					ticket.get("channelId"),
+					ticket.get("userId"),
+					timeClosed == null ? "-" : TimeFormat.DATE_SHORT.format(Instant.ofEpochSecond(timeClosed)),
+					MessageUtil.limitString(String.valueOf(ticket.get("reasonClosed")), 100)
+				));
+			}
+		} else {
+			List<CaseData> cases = bot.getDBUtil().cases.search(guildId, query, LIMIT);
+			for (CaseData caseData : cases) {
+				builder.append("`#%s` %s | %s | %s\n> %s\n".formatted(
+					caseData.getLocalId(),
+					lu.getText(event, caseData.getType().getPath()),
+					caseData.getTargetTag(),
+					TimeFormat.DATE_SHORT.format(caseData.getTimeStart()),
+					MessageUtil.limitString(caseData.getReason(), 100)
+				));
+			}
+		}
+
+		if (builder.isEmpty()) {
+			editEmbed(event, bot.getEmbedUtil().getEmbed()
+				.setDescription(lu.getText(event, path+".empty").formatted(MessageUtil.limitString(query, 100)))
+				.build());
+			return;
+		}
+
+		editEmbed(event, bot.getEmbedUtil().getEmbed()
+			.setTitle(lu.getText(event, path+".title").formatted(MessageUtil.limitString(query, 100)))
+			.setDescription(builder.toString())
+			.build());
+	}
+
+}
@@ -143,7 +143,7 @@ public class HelpCmd extends CommandBase {
 			builder.addField(fieldTitle, fieldValue.toString(), false);
 		}
 
-		User owner = event.getJDA().getUserById(event.getClient().getOwnerIdLong());
+		User owner = bot.getShardManager().getUserById(event.getClient().getOwnerIdLong());
 		if (owner != null) {
 			fieldTitle = lu.getLocalized(userLocale, "bot.help.command_menu.description.support_title");
 			fieldValue = new StringBuilder()
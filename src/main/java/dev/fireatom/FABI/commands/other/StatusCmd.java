@@ -1,5 +1,6 @@
 package dev.fireatom.FABI.commands.other;
 
+import java.util.Comparator;
 import java.util.List;
 
 import dev.fireatom.FABI.base.command.SlashCommandEvent;
@@ -9,6 +10,7 @@ import dev.fireatom.FABI.objects.constants.Constants;
 
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
@@ -16,6 +18,9 @@ import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
 public class StatusCmd extends CommandBase {
 
+	// Shard lines, that fit into embed field
+	private static final int MAX_SHARDS = 16;
+
 	public StatusCmd() {
 		this.name = "status";
 		this.path = "bot.other.status";
@@ -39,7 +44,7 @@ public class StatusCmd extends CommandBase {
 				String.join(
 					"\n",
 					lu.getLocalized(userLocale, "bot.other.status.embed.stats.guilds")
-						.formatted(event.getJDA().getGuilds().size()),
+						.formatted(bot.getShardManager().getGuildCache().size()),
 					lu.getLocalized(userLocale, "bot.other.status.embed.stats.shard")
 						.formatted(event.getJDA().getShardInfo().getShardId() + 1, event.getJDA().getShardInfo().getShardTotal()),
 					memoryUsage(lu, userLocale)
@@ -52,7 +57,9 @@ public class StatusCmd extends CommandBase {
 					lu.getLocalized(userLocale, "bot.other.status.embed.shard.users")
 						.formatted(event.getJDA().getUsers().size()),
 					lu.getLocalized(userLocale, "bot.other.status.embed.shard.guilds")
-						.formatted(event.getJDA().getGuilds().size())
+						.formatted(event.getJDA().getGuilds().size()),
+					lu.getLocalized(userLocale, "bot.other.status.embed.shard.members")
+						.formatted(bot.getMemberService().getCachedCount(event.getJDA().getGuilds()), bot.getMemberService().getMode().name().toLowerCase())
 				),
 				true
 			)
@@ -66,6 +73,7 @@ public class StatusCmd extends CommandBase {
 				),
 				true
 			)
+			.addField(lu.getLocalized(userLocale, "bot.other.status.embed.shards_title"), shardsInfo(lu, userLocale), false)
 			.setFooter(lu.getLocalized(userLocale, "bot.other.status.embed.last_restart"))
 			.setTimestamp(event.getClient().getStartTime())
 			.build();
@@ -73,6 +81,29 @@ public class StatusCmd extends CommandBase {
 		editEmbed(event, embed);
 	}
 
+	private String shardsInfo(LocaleUtil lu, DiscordLocale locale) {
+		final String line = lu.getLocalized(locale, "bot.other.status.embed.shards_line");
+		final List<JDA> shards = bot.getShardManager().getShardCache().stream()
+			.sorted(Comparator.comparingInt(jda -> jda.getShardInfo().getShardId()))
+			.toList();
+
+		StringBuilder builder = new StringBuilder();
+		for (JDA shard : shards.subList(0, Math.min(MAX_SHARDS, shards.size()))) {
+			final int shardId = shard.getShardInfo().getShardId();
+			builder.append(line.formatted(
+				shardId,
+				shard.getStatus().name().toLowerCase(),
+				shard.getGatewayPing(),
+				bot.getShardStats().getEventsPerMinute(shardId),
+				shard.getGuildCache().size()
+			)).append("\n");
+		}
+		if (shards.size() > MAX_SHARDS) {
+			builder.append("+").append(shards.size() - MAX_SHARDS);
+		}
+		return builder.toString();
+	}
+
 	private String memoryUsage(LocaleUtil lu, DiscordLocale locale) {
 		return lu.getLocalized(locale, "bot.other.status.embed.stats.memory").formatted(
 			(Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024),
@@ -26,7 +26,7 @@ public class CheckAccessCmd extends CommandBase {
 	@Override
 	protected void execute(SlashCommandEvent event) {
 		event.deferReply().queue();
-		Guild guild = event.getJDA().getGuildById(event.optString("server"));
+		Guild guild = bot.getShardManager().getGuildById(event.optString("server"));
 		if (guild == null) {
 			editError(event, path+".no_guild");
 			return;
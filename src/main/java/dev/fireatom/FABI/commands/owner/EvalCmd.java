@@ -54,6 +54,7 @@ public class EvalCmd extends CommandBase {
 			"bot", bot,
 			"event", event,
 			"jda", event.getJDA(),
+			"shards", bot.getShardManager(),
 			"guild", (event.isFromGuild() ? event.getGuild() : "null"),
 			"client", event.getClient()
 		);
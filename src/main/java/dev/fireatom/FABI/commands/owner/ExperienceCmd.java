@@ -51,7 +51,7 @@ public class ExperienceCmd extends CommandBase {
 					return;
 				}
 
-				Guild guild = event.getJDA().getGuildById(guildId);
+				Guild guild = bot.getShardManager().getGuildById(guildId);
 				if (guild == null) {
 					editErrorOther(event, "Guild not found");
 					return;
@@ -99,7 +99,7 @@ public class ExperienceCmd extends CommandBase {
 					return;
 				}
 
-				Guild guild = event.getJDA().getGuildById(guildId);
+				Guild guild = bot.getShardManager().getGuildById(guildId);
 				if (guild == null) {
 					editErrorOther(event, "Guild not found");
 					return;
@@ -0,0 +1,76 @@
+package dev.fireatom.FABI.commands.owner;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.base.command.SlashCommandEvent;
+import dev.fireatom.FABI.commands.CommandBase;
+import dev.fireatom.FABI.objects.constants.CmdCategory;
+import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.database.QueryStats;
+
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.utils.TimeFormat;
+
+public class QueryStatsCmd extends CommandBase {
+
+	private static final int LIMIT = 10;
+	// Fingerprint length, so all entries fit into embed description
+	private static final int MAX_QUERY_LENGTH = 250;
+
+	public QueryStatsCmd() {
+		this.name = "querystats";
+		this.path = "bot.owner.querystats";
+		this.options = List.of(
+			new OptionData(OptionType.STRING, "order", lu.getText(path+".order.help"))
+				.addChoice("Slowest", QueryStats.Order.SLOWEST.name())
+				.addChoice("Most frequent", QueryStats.Order.FREQUENT.name())
+				.addChoice("Total time", QueryStats.Order.TOTAL.name()),
+			new OptionData(OptionType.BOOLEAN, "reset", lu.getText(path+".reset.help"))
+		);
+		this.category = CmdCategory.OWNER;
+		this.ownerCommand = true;
+		this.guildOnly = false;
+	}
+
+	@Override
+	protected void execute(SlashCommandEvent event) {
+		QueryStats stats = bot.getQueryStats();
+		if (event.optBoolean("reset", false)) {
+			stats.reset();
+			editMsg(event, "Query statistics cleared.");
+			return;
+		}
+
+		QueryStats.Order order = QueryStats.Order.valueOf(event.optString("order", QueryStats.Order.SLOWEST.name()));
+		List<QueryStats.Snapshot> top = stats.getTop(order, LIMIT);
+		if (top.isEmpty()) {
+			editMsg(event, "No queries recorded.");
+			return;
+		}
+
+		StringBuilder builder = new StringBuilder();
+		for (QueryStats.Snapshot snapshot : top) {
+			String query = snapshot.fingerprint();
+			builder.append("`%s` max **%s** ms, avg %s ms, total %s ms, %s times\n```sql\n%s\n```".formatted(
+				snapshot.manager(),
+				TimeUnit.NANOSECONDS.toMillis(snapshot.maxNanos()),
+				TimeUnit.NANOSECONDS.toMillis(snapshot.avgNanos()),
+				TimeUnit.NANOSECONDS.toMillis(snapshot.totalNanos()),
+				snapshot.count(),
+				query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH)+"..." : query
+			));
+		}
+
+		editEmbed(event, new EmbedBuilder().setColor(Constants.COLOR_DEFAULT)
+			.setTitle("Queries: "+order.name().toLowerCase())
+			.setDescription(builder.toString())
+			.setFooter("Slow queries since start: "+stats.getSlowCount())
+			.addField("Window", "Current and previous hour, current started "+TimeFormat.RELATIVE.format(stats.getWindowStart().toEpochMilli()), false)
+			.build()
+		);
+	}
+
+}
@@ -22,11 +22,11 @@ public class ShutdownCmd extends CommandBase {
 		// Reply
 		event.reply("Shutting down...").queue();
 		// Update presence
-		event.getJDA().getPresence().setPresence(OnlineStatus.IDLE, Activity.competing("Shutting down..."));
+		bot.getShardManager().setPresence(OnlineStatus.IDLE, Activity.competing("Shutting down..."));
 		// Log
 		bot.getAppLogger().info("Shutting down, by '{}'", event.getUser().getName());
 		// Shutdown
 		bot.shutdownUtils();
-		event.getJDA().shutdown();
+		bot.getShardManager().shutdown();
 	}
 }
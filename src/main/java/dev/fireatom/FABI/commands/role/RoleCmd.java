@@ -6,6 +6,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import dev.fireatom.FABI.base.command.CooldownScope;
@@ -16,10 +17,13 @@ import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.services.BulkRoleService;
 
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -207,45 +211,80 @@ public class RoleCmd extends CommandBase {
 				return;
 			}
 
-			EmbedBuilder builder = bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".started"));
-			editEmbed(event, builder.build());
-
-			event.getGuild().findMembersWithRoles(role).setTimeout(4, TimeUnit.SECONDS).onSuccess(members -> {
-				int maxSize = members.size();
-				if (maxSize == 0) {
-					editError(event, path+".empty");
-					return;
+			final EmbedBuilder builder = bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".started"));
+			final LongReply reply = new LongReply(event);
+			reply.update(builder.build());
+
+			// Members are processed in chunks, while the rest is still loading
+			final String reason = "by "+event.getMember().getEffectiveName();
+			final AtomicInteger found = new AtomicInteger();
+			final AtomicInteger processed = new AtomicInteger();
+			final AtomicInteger removed = new AtomicInteger();
+			final List<CompletableFuture<BulkRoleService.Progress>> chunks = Collections.synchronizedList(new ArrayList<>());
+			bot.getMemberService().streamMembersWithRoles(guild, List.of(role), BulkRoleService.CHUNK_SIZE, members -> {
+				found.addAndGet(members.size());
+				chunks.add(bot.getBulkRoleService().removeRole(guild, members, role, reason, null).thenApply(result -> {
+					removed.addAndGet(result.success());
+					synchronized (builder) {
+						reply.update(new EmbedBuilder(builder.build())
+							.appendDescription(lu.getText(event, path+".progress").formatted(processed.addAndGet(result.total()), found.get()))
+							.build());
+					}
+					return result;
+				}));
+			}).thenCompose(total -> {
+				if (total == 0) return CompletableFuture.completedFuture(0);
+				// All members are found, estimate is known now
+				synchronized (builder) {
+					builder.appendDescription(lu.getText(event, path+".estimate").formatted(total - processed.get()));
 				}
-				if (maxSize > 400) {
-					editErrorOther(event, "Amount of members to be processed reached maximum limit of **400**! Manually clear the selected role.");
+				return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(v -> total);
+			}).thenAccept(total -> {
+				if (total == 0) {
+					editError(event, path+".empty");
 					return;
 				}
-				editEmbed(event, builder.appendDescription(lu.getText(event, path+".estimate").formatted(maxSize)).build());
+				// Log
+				bot.getLogger().role.onRoleRemovedAll(guild, event.getUser(), role);
+				// Send reply
+				reply.update(bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS).setDescription(lu.getText(event, path+".done")
+					.replace("{role}", role.getName()).replace("{count}", Integer.toString(removed.get())).replace("{max}", Integer.toString(total))
+				).build());
+				guild.pruneMemberCache();
+			}).exceptionally(ex -> {
+				reply.update(bot.getEmbedUtil().getError(event, "errors.error", ex.getMessage()));
+				return null;
+			});
+		}
+	}
 
-				String reason = "by "+event.getMember().getEffectiveName();
-				List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
-				for (Member member : members) {
-					completableFutures.add(guild.removeRoleFromMember(member, role).reason(reason).submit().exceptionally(ex -> null));
-				}
+	/**
+	 * Reply of operation, that may run longer than the interaction token is valid.
+	 * After that the message is sent to the channel and edited there.
+	 */
+	private static class LongReply {
+		// Interaction token is valid for 15 minutes
+		private static final long TOKEN_VALID = TimeUnit.MINUTES.toMillis(14);
+
+		private final SlashCommandEvent event;
+		private final long started = System.currentTimeMillis();
+		private CompletableFuture<Message> channelMessage;
+
+		LongReply(SlashCommandEvent event) {
+			this.event = event;
+		}
 
-				CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
-					.whenComplete((done, exception) -> {
-						if (exception != null) {
-							editErrorUnknown(event, exception.getMessage());
-						} else {
-							int removed = 0;
-							for (CompletableFuture<Void> future : completableFutures) {
-								if (!future.isCompletedExceptionally()) removed++;
-							}
-							// Log
-							bot.getLogger().role.onRoleRemovedAll(guild, event.getUser(), role);
-							// Send reply
-							editEmbed(event, builder.setColor(Constants.COLOR_SUCCESS).setDescription(lu.getText(event, path+".done")
-								.replace("{role}", role.getName()).replace("{count}", Integer.toString(removed)).replace("{max}", Integer.toString(maxSize))
-							).build());
-						}
-					}).thenRun(guild::pruneMemberCache); // Prune member cache
-			}).onError(failure -> editErrorOther(event, failure.getMessage()));
+		synchronized void update(MessageEmbed embed) {
+			if (System.currentTimeMillis() - started < TOKEN_VALID) {
+				event.getHook().editOriginalEmbeds(embed).queue(null, ignoreRest);
+				return;
+			}
+			if (channelMessage == null) {
+				channelMessage = event.getChannel().sendMessageEmbeds(embed).submit();
+				return;
+			}
+			// Edits are sent in order after the message is created
+			channelMessage = channelMessage.thenCompose(msg -> msg.editMessageEmbeds(embed).submit().handle((edited, ex) -> msg));
 		}
 	}
 
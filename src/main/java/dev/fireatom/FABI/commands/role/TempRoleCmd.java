@@ -284,7 +284,7 @@ public class TempRoleCmd extends CommandBase {
 		}
 
 		private String getLine(Map<String, Object> map) {
-			Instant time = Instant.ofEpochSecond((Integer) map.get("expireAfter"));
+			Instant time = Instant.ofEpochSecond((Integer) map.get("expiresAt"));
 			return "<@&%s> | <@%s> | %s\n".formatted(map.get("roleId"), map.get("userId"), TimeFormat.DATE_TIME_SHORT.format(time));
 		}
 	}
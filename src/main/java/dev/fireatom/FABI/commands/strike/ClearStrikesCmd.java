@@ -14,7 +14,6 @@ import dev.fireatom.FABI.objects.constants.Constants;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
-import net.dv8tion.jda.internal.utils.tuple.Pair;
 
 public class ClearStrikesCmd extends CommandBase {
 
@@ -46,17 +45,16 @@ public class ClearStrikesCmd extends CommandBase {
 		}
 
 		long guildId = event.getGuild().getIdLong();
-		Pair<Integer, String> strikeData = bot.getDBUtil().strikes.getData(guildId, tu.getIdLong());
-		if (strikeData == null) {
+		Integer activeCount = bot.getDBUtil().strikes.getStrikeCount(guildId, tu.getIdLong());
+		if (activeCount == null) {
 			editEmbed(event, bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".no_strikes")).build());
 			return;
 		}
-		int activeCount = strikeData.getLeft();
 		try {
 			// Clear strike DB
 			bot.getDBUtil().strikes.removeGuildUser(guildId, tu.getIdLong());
 			// Set all strikes cases inactive
-			bot.getDBUtil().cases.setInactiveStrikeCases(guildId, tu.getIdLong());
+			bot.getDBUtil().cases.setInactiveStrikeCases(tu.getIdLong(), guildId);
 		} catch (SQLException ex) {
 			editErrorDatabase(event, ex, "clear user strikes");
 			return;
@@ -4,7 +4,6 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -17,6 +16,7 @@ import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.objects.constants.Constants;
 import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+import dev.fireatom.FABI.utils.database.managers.StrikeManager.StrikeEntry;
 import dev.fireatom.FABI.utils.message.MessageUtil;
 
 import dev.fireatom.FABI.utils.message.TimeUtil;
@@ -34,7 +34,6 @@ import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.interactions.components.selections.SelectOption;
 import net.dv8tion.jda.api.interactions.components.selections.StringSelectMenu;
 import net.dv8tion.jda.api.requests.ErrorResponse;
-import net.dv8tion.jda.internal.utils.tuple.Pair;
 
 public class DeleteStrikeCmd extends CommandBase {
 
@@ -68,19 +67,13 @@ public class DeleteStrikeCmd extends CommandBase {
 			return;
 		}
 
-		Pair<Integer, String> strikeData = bot.getDBUtil().strikes.getData(event.getGuild().getIdLong(), tu.getIdLong());
-		if (strikeData == null) {
+		List<StrikeEntry> entries = bot.getDBUtil().strikes.getEntries(event.getGuild().getIdLong(), tu.getIdLong());
+		if (entries.isEmpty()) {
 			editEmbed(event, bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".no_strikes")).build());
 			return;
 		}
-		String[] cases = strikeData.getRight().split(";");
-		if (cases[0].isEmpty()) {
-			bot.getAppLogger().error("Strikes data is empty for user {} @ {}.\nStrike amount {}",
-				tu.toString(), event.getGuild().toString(), strikeData.getLeft());
-			editErrorUnknown(event, "Strikes data is empty");
-			return;
-		}
-		List<SelectOption> options = buildOptions(cases);
+		final int strikeCount = entries.stream().mapToInt(StrikeEntry::count).sum();
+		List<SelectOption> options = buildOptions(entries);
 		if (options.isEmpty()) {
 			bot.getAppLogger().error("Strikes options are empty for user {} @ {}.",
 				tu.toString(), event.getGuild().toString());
@@ -92,13 +85,13 @@ public class DeleteStrikeCmd extends CommandBase {
 			.addOptions(options)
 			.build();
 		event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed()
-			.setTitle(lu.getText(event, path+".select_title").formatted(tu.getName(), strikeData.getLeft()))
+			.setTitle(lu.getText(event, path+".select_title").formatted(tu.getName(), strikeCount))
 			.setFooter("User ID: "+tu.getId())
 			.build()
 		).setActionRow(caseSelectMenu).queue(msg -> waiter.waitForEvent(
 			StringSelectInteractionEvent.class,
 			e -> e.getMessageId().equals(msg.getId()) && e.getUser().equals(event.getUser()),
-			selectAction -> strikeSelected(selectAction, msg, cases, tu),
+			selectAction -> strikeSelected(selectAction, msg, tu),
 			60,
 			TimeUnit.SECONDS,
 			() -> msg.editMessageComponents(ActionRow.of(
@@ -107,10 +100,9 @@ public class DeleteStrikeCmd extends CommandBase {
 		));
 	}
 
-	private void strikeSelected(StringSelectInteractionEvent event, Message msg, String[] strikesInfoArray, User tu) {
+	private void strikeSelected(StringSelectInteractionEvent event, Message msg, User tu) {
 		event.deferEdit().queue();
 
-		final List<String> strikesInfo = new ArrayList<>(List.of(strikesInfoArray));
 		final String[] selected = event.getValues().getFirst().split("-");
 		final int caseRowId = Integer.parseInt(selected[0]);
 		
@@ -126,32 +118,20 @@ public class DeleteStrikeCmd extends CommandBase {
 		if (activeAmount == 1) {
 			final long guildId = event.getGuild().getIdLong();
 			// As only one strike remains - delete case from strikes data and set case inactive
-			
-			strikesInfo.remove(event.getValues().getFirst());
-
 			try {
 				bot.getDBUtil().cases.setInactive(caseRowId);
 			} catch (SQLException ex) {
 				editErrorDatabase(event, ex, "Failed to set case inactive.");
 				return;
 			}
-			if (strikesInfo.isEmpty())
-				try {
-					bot.getDBUtil().strikes.removeGuildUser(guildId, tu.getIdLong());
-				} catch (SQLException ex) {
-					editErrorDatabase(event, ex, "delete user strikes");
-					return;
-				}
-			else
-				try {
-					bot.getDBUtil().strikes.removeStrike(guildId, tu.getIdLong(),
-						Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS),
-						1, String.join(";", strikesInfo)
-					);
-				} catch (SQLException ex) {
-					editErrorDatabase(event, ex, "delete user strikes");
-					return;
-				}
+			try {
+				bot.getDBUtil().strikes.removeStrikes(guildId, tu.getIdLong(), caseRowId, 1,
+					Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS)
+				);
+			} catch (SQLException ex) {
+				editErrorDatabase(event, ex, "delete user strikes");
+				return;
+			}
 			
 			msg.editMessageEmbeds(bot.getEmbedUtil().getEmbed(Constants.COLOR_SUCCESS)
 				.setDescription(lu.getText(event, path+".done_one").formatted(caseData.getReason(), tu.getName()))
@@ -182,7 +162,7 @@ public class DeleteStrikeCmd extends CommandBase {
 			).setActionRow(buttons).queue(msgN -> waiter.waitForEvent(
 				ButtonInteractionEvent.class,
 				e -> e.getMessageId().equals(msg.getId()) && e.getUser().equals(event.getUser()),
-				buttonAction -> buttonPressed(buttonAction, msgN, strikesInfo, tu, activeAmount),
+				buttonAction -> buttonPressed(buttonAction, msgN, tu, activeAmount),
 				30,
 				TimeUnit.SECONDS,
 				() -> msg.editMessageEmbeds(new EmbedBuilder(msgN.getEmbeds().getFirst()).appendDescription("\n\n"+lu.getText(event, "errors.timed_out")).build())
@@ -191,7 +171,7 @@ public class DeleteStrikeCmd extends CommandBase {
 		}
 	}
 
-	private void buttonPressed(ButtonInteractionEvent event, Message msg, List<String> cases, User tu, int activeAmount) {
+	private void buttonPressed(ButtonInteractionEvent event, Message msg, User tu, int activeAmount) {
 		event.deferEdit().queue();
 		final String[] value = event.getComponentId().split("-");
 		final int caseRowId = Integer.parseInt(value[0]);
@@ -207,44 +187,22 @@ public class DeleteStrikeCmd extends CommandBase {
 		final long guildId = event.getGuild().getIdLong();
 		final int removeAmount = Integer.parseInt(value[1]);
 		if (removeAmount == activeAmount) {
-			
 			// Delete all strikes, set case inactive
-			cases.remove(event.getComponentId());
 			try {
 				bot.getDBUtil().cases.setInactive(caseRowId);
 			} catch (SQLException ex) {
 				editErrorDatabase(event, ex, "Failed to set case inactive.");
 				return;
 			}
-			if (cases.isEmpty())
-				try {
-					bot.getDBUtil().strikes.removeGuildUser(guildId, tu.getIdLong());
-				} catch (SQLException ex) {
-					editErrorDatabase(event, ex, "delete user strikes");
-					return;
-				}
-			else
-				try {
-					bot.getDBUtil().strikes.removeStrike(guildId, tu.getIdLong(),
-						Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS),
-						removeAmount, String.join(";", cases)
-					);
-				} catch (SQLException ex) {
-					editErrorDatabase(event, ex, "delete user strikes");
-					return;
-				}
-		} else {
-			// Delete selected amount of strikes (not all)
-			boolean ignored = Collections.replaceAll(cases, caseRowId+"-"+activeAmount, caseRowId+"-"+(activeAmount-removeAmount));
-			try {
-				bot.getDBUtil().strikes.removeStrike(guildId, tu.getIdLong(),
-					Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS),
-					removeAmount, String.join(";", cases)
-				);
-			} catch (SQLException ex) {
-				editErrorDatabase(event, ex, "delete user strikes");
-				return;
-			}
+		}
+		// Entry and user without strikes left are removed
+		try {
+			bot.getDBUtil().strikes.removeStrikes(guildId, tu.getIdLong(), caseRowId, removeAmount,
+				Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS)
+			);
+		} catch (SQLException ex) {
+			editErrorDatabase(event, ex, "delete user strikes");
+			return;
 		}
 		// Send dm
 		tu.openPrivateChannel().queue(pm -> {
@@ -261,12 +219,11 @@ public class DeleteStrikeCmd extends CommandBase {
 		).setComponents().queue();
 	}
 
-	private List<SelectOption> buildOptions(String[] cases) {
+	private List<SelectOption> buildOptions(List<StrikeEntry> entries) {
 		final List<SelectOption> options = new ArrayList<>();
-		for (String c : cases) {
-			final String[] args = c.split("-");
-			final int caseRowId = Integer.parseInt(args[0]);
-			final int strikeAmount = Integer.parseInt(args[1]);
+		for (StrikeEntry entry : entries) {
+			final int caseRowId = entry.caseRowId();
+			final int strikeAmount = entry.count();
 			final CaseData caseData = bot.getDBUtil().cases.getInfo(caseRowId);
 			options.add(SelectOption.of(
 				"%s | %s".formatted(getSquares(strikeAmount, caseData.getType().getValue()-20), MessageUtil.limitString(caseData.getReason(), 50)),
@@ -148,7 +148,7 @@ public class StrikeCmd extends CommandBase {
 		try {
 			bot.getDBUtil().strikes.addStrikes(guild.getIdLong(), target.getIdLong(),
 				Instant.now().plus(bot.getDBUtil().getGuildSettings(guild).getStrikeExpires(), ChronoUnit.DAYS),
-				addAmount, caseRowId+"-"+addAmount);
+				addAmount, caseRowId);
 		} catch (SQLException ex) {
 			throw new Exception("Case was created, but strike information was not added to the database (internal error)!");
 		}
@@ -269,7 +269,7 @@ public class StrikeCmd extends CommandBase {
 					guild.removeRoleFromMember(target, role).reason(lu.getLocalized(locale, path+".autopunish_reason").formatted(strikes))
 						.queueAfter(5, TimeUnit.SECONDS, done -> {
 						// log action
-						bot.getLogger().role.onRoleRemoved(guild, bot.JDA.getSelfUser(), target.getUser(), role);
+						bot.getLogger().role.onRoleRemoved(guild, guild.getJDA().getSelfUser(), target.getUser(), role);
 					},
 					failure -> bot.getAppLogger().error("Strike punishment execution, Remove role", failure));
 					builder.append(lu.getLocalized(locale, PunishAction.REMOVE_ROLE.getPath())).append(" ")
@@ -290,7 +290,7 @@ public class StrikeCmd extends CommandBase {
 					guild.addRoleToMember(target, role).reason(lu.getLocalized(locale, path+".autopunish_reason").formatted(strikes))
 						.queueAfter(5, TimeUnit.SECONDS, done -> {
 						// log action
-						bot.getLogger().role.onRoleAdded(guild, bot.JDA.getSelfUser(), target.getUser(), role);
+						bot.getLogger().role.onRoleAdded(guild, guild.getJDA().getSelfUser(), target.getUser(), role);
 					},
 					failure -> bot.getAppLogger().error("Strike punishment execution, Add role", failure));
 					builder.append(lu.getLocalized(locale, PunishAction.ADD_ROLE.getPath())).append(" ")
@@ -319,7 +319,7 @@ public class StrikeCmd extends CommandBase {
 							bot.getDBUtil().tempRoles.add(guild.getIdLong(), role.getIdLong(), target.getIdLong(), false, Instant.now().plus(durationCopy));
 						} catch (Exception ignored) {}
 						// log action
-						bot.getLogger().role.onTempRoleAdded(guild, bot.JDA.getSelfUser(), target.getUser(), role, durationCopy);
+						bot.getLogger().role.onTempRoleAdded(guild, guild.getJDA().getSelfUser(), target.getUser(), role, durationCopy);
 					}, failure -> bot.getAppLogger().error("Strike punishment execution, Add temp role", failure));
 					builder.append(lu.getLocalized(locale, PunishAction.TEMP_ROLE.getPath()))
 						.append(" ").append(role.getName())
@@ -9,13 +9,13 @@ import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
 import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+import dev.fireatom.FABI.utils.database.managers.StrikeManager.StrikeEntry;
 import dev.fireatom.FABI.utils.message.MessageUtil;
 
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.utils.TimeFormat;
-import net.dv8tion.jda.internal.utils.tuple.Pair;
 
 public class StrikesCmd extends CommandBase {
 	
@@ -47,22 +47,18 @@ public class StrikesCmd extends CommandBase {
 			tu = event.getUser();
 		}
 
-		Pair<Integer, String> strikeData = bot.getDBUtil().strikes.getData(event.getGuild().getIdLong(), tu.getIdLong());
-		if (strikeData == null) {
+		List<StrikeEntry> entries = bot.getDBUtil().strikes.getEntries(event.getGuild().getIdLong(), tu.getIdLong());
+		if (entries.isEmpty()) {
 			editEmbed(event, bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, path+".no_active")).build());
 			return;
 		}
-		String[] strikesInfoArray = strikeData.getRight().split(";");
-		if (strikesInfoArray[0].isEmpty()) {
-			editErrorOther(event, "Strikes data is empty.");
-			return;
-		}
 
+		int strikeCount = 0;
 		StringBuilder builder = new StringBuilder();
-		for (String c : strikesInfoArray) {
-			String[] args = c.split("-");
-			final int caseRowId = Integer.parseInt(args[0]);
-			int strikeAmount = Integer.parseInt(args[1]);
+		for (StrikeEntry entry : entries) {
+			final int caseRowId = entry.caseRowId();
+			int strikeAmount = entry.count();
+			strikeCount += strikeAmount;
 			CaseData caseData = bot.getDBUtil().cases.getInfo(caseRowId);
 			builder.append("`%4d` %s | %s - %s\nBy: %s\n".formatted(
 				caseData.getLocalIdInt(),
@@ -74,7 +70,7 @@ public class StrikesCmd extends CommandBase {
 		}
 
 		editEmbed(event, bot.getEmbedUtil().getEmbed()
-			.setTitle(lu.getText(event, path+".title").formatted(strikeData.getLeft(), tu.getName(), tu.getId()))
+			.setTitle(lu.getText(event, path+".title").formatted(strikeCount, tu.getName(), tu.getId()))
 			.setDescription(builder.toString())
 			.build()
 		);
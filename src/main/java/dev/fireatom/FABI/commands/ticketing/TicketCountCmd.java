@@ -1,15 +1,18 @@
 package dev.fireatom.FABI.commands.ticketing;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 import dev.fireatom.FABI.base.command.SlashCommandEvent;
 import dev.fireatom.FABI.commands.CommandBase;
 import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.constants.CmdCategory;
+import dev.fireatom.FABI.utils.database.managers.ModActivityManager;
 
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
@@ -39,8 +42,8 @@ public class TicketCountCmd extends CommandBase {
 
 		DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 		try {
-			if (afterDate != null) afterTime = LocalDateTime.parse(afterDate, inputFormatter);
-			if (beforeDate != null) beforeTime = LocalDateTime.parse(beforeDate, inputFormatter);
+			if (afterDate != null) afterTime = LocalDate.parse(afterDate, inputFormatter).atStartOfDay();
+			if (beforeDate != null) beforeTime = LocalDate.parse(beforeDate, inputFormatter).atStartOfDay();
 		} catch (Exception ex) {
 			editError(event, path+".failed_parse", ex.getMessage());
 			return;
@@ -54,8 +57,10 @@ public class TicketCountCmd extends CommandBase {
 		}
 
 		User user = event.optUser("user");
-		int countRoles = bot.getDBUtil().tickets.countTicketsByMod(event.getGuild().getIdLong(), user.getIdLong(), afterTime, beforeTime, true);
-		int countOther = bot.getDBUtil().tickets.countTicketsByMod(event.getGuild().getIdLong(), user.getIdLong(), afterTime, beforeTime, false);
+		Map<Integer, Integer> counts = bot.getDBUtil().modActivity.countByMod(event.getGuild().getIdLong(), user.getIdLong(),
+			afterTime.toLocalDate(), beforeTime.toLocalDate());
+		int countRoles = counts.getOrDefault(ModActivityManager.ROLE_TICKETS, 0);
+		int countOther = counts.getOrDefault(ModActivityManager.OTHER_TICKETS, 0);
 
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneOffset.UTC);
 		editEmbed(event, bot.getEmbedUtil().getEmbed()
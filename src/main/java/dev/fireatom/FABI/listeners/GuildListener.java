@@ -4,6 +4,7 @@ import ch.qos.logback.classic.Logger;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.guild.GuildJoinEvent;
 import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 
 import dev.fireatom.FABI.App;
@@ -25,6 +26,13 @@ public class GuildListener extends ListenerAdapter {
 		this.db = bot.getDBUtil();
 	}
 
+	@Override
+	public void onReady(@NotNull ReadyEvent event) {
+		// Continue group sync jobs, that were not finished before restart
+		// Each shard fires ready, jobs are resumed once all of them are connected
+		bot.getHelper().resume();
+	}
+
 	@Override
 	public void onGuildJoin(@NotNull GuildJoinEvent event) {
 		Guild guild = event.getGuild();
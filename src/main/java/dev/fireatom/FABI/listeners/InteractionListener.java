@@ -16,6 +16,7 @@ import ch.qos.logback.classic.Logger;
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.base.command.CooldownScope;
 import dev.fireatom.FABI.base.waiter.EventWaiter;
+import dev.fireatom.FABI.commands.moderation.ModLogsCmd;
 import dev.fireatom.FABI.objects.CaseType;
 import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.Emote;
@@ -197,6 +198,7 @@ public class InteractionListener extends ListenerAdapter {
 				case "sync_ban" -> runButtonInteraction(event, Cooldown.BUTTON_SYNC_ACTION, () -> buttonSyncBan(event));
 				case "sync_kick" -> runButtonInteraction(event, Cooldown.BUTTON_SYNC_ACTION, () -> buttonSyncKick(event));
 				case "strikes" -> runButtonInteraction(event, Cooldown.BUTTON_SHOW_STRIKES, () -> buttonShowStrikes(event));
+				case "modlogs" -> runButtonInteraction(event, Cooldown.BUTTON_MODLOGS_PAGE, () -> buttonModlogsPage(event));
 				case "manage-confirm" -> runButtonInteraction(event, Cooldown.BUTTON_MODIFY_CONFIRM, () -> buttonModifyConfirm(event));
 				default -> log.debug("Unknown button interaction: {}", event.getComponentId());
 			}
@@ -277,7 +279,7 @@ public class InteractionListener extends ListenerAdapter {
 			ThreadChannel channel = guild.getThreadChannelById(channelId);
 			if (channel != null) {
 				event.getHook().sendMessageEmbeds(new EmbedBuilder().setColor(Constants.COLOR_FAILURE)
-					.setDescription(lu.getText(event, "bot.ticketing.listener.ticket_exists").replace("{channel}", channel.getAsMention()))
+					.setDescription(lu.getLocalized(event.getUserLocale(), "bot.ticketing.listener.ticket_exists", Map.of("channel", channel.getAsMention())))
 					.build()
 				).setEphemeral(true).queue();
 				return;
@@ -494,7 +496,7 @@ public class InteractionListener extends ListenerAdapter {
 				bot.getLogger().ticket.onCreate(guild, channel, event.getUser());
 				// Send reply
 				event.getHook().editOriginalEmbeds(new EmbedBuilder().setColor(Constants.COLOR_SUCCESS)
-					.setDescription(lu.getText(event, "bot.ticketing.listener.created").replace("{channel}", channel.getAsMention()))
+					.setDescription(lu.getLocalized(event.getUserLocale(), "bot.ticketing.listener.created", Map.of("channel", channel.getAsMention())))
 					.build()
 				).setComponents().queue();
 			}, failure -> event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getError(event, "bot.ticketing.listener.cant_create", failure.getMessage())).setComponents().queue()
@@ -743,7 +745,7 @@ public class InteractionListener extends ListenerAdapter {
 			GuildChannel channel = event.getGuild().getGuildChannelById(channelId);
 			if (channel != null) {
 				event.getHook().sendMessageEmbeds(new EmbedBuilder().setColor(Constants.COLOR_FAILURE)
-					.setDescription(lu.getText(event, "bot.ticketing.listener.ticket_exists").replace("{channel}", channel.getAsMention()))
+					.setDescription(lu.getLocalized(event.getUserLocale(), "bot.ticketing.listener.ticket_exists", Map.of("channel", channel.getAsMention())))
 					.build()
 				).setEphemeral(true).queue();
 				return;
@@ -1267,7 +1269,7 @@ public class InteractionListener extends ListenerAdapter {
 	// Strikes
 	private void buttonShowStrikes(ButtonInteractionEvent event) {
 		long guildId = Long.parseLong(event.getComponentId().split(":")[1]);
-		Guild guild = event.getJDA().getGuildById(guildId);
+		Guild guild = bot.getShardManager().getGuildById(guildId);
 		if (guild == null) {
 			sendError(event, "errors.error", "Server not found.");
 			return;
@@ -1287,6 +1289,42 @@ public class InteractionListener extends ListenerAdapter {
 		).setEphemeral(true).queue();
 	}
 
+	// Modlogs pages
+	private void buttonModlogsPage(ButtonInteractionEvent event) {
+		final String[] args = event.getComponentId().split(":");
+		final long userId = Long.parseLong(args[2]);
+		final boolean onlyActive = args[3].equals("1");
+		final int cursor = Integer.parseInt(args[4]);
+		final int page = Integer.parseInt(args[5]);
+
+		// Cases of other users are only for moderators
+		if (event.getUser().getIdLong() != userId && !bot.getCheckUtil().hasAccess(event.getMember(), CmdAccessLevel.MOD)) {
+			sendError(event, "bot.moderation.modlogs.no_perms");
+			return;
+		}
+
+		final long guildId = event.getGuild().getIdLong();
+		final List<CaseData> cases = args[1].equals("older")
+			? db.cases.getGuildUserBefore(guildId, userId, cursor, onlyActive)
+			: db.cases.getGuildUserAfter(guildId, userId, cursor, onlyActive);
+		if (cases.isEmpty()) {
+			// Cases were changed since the page was shown
+			event.getHook().editOriginalComponents().queue();
+			return;
+		}
+		final int pages = ModLogsCmd.countPages(db.cases.countCases(guildId, userId, onlyActive));
+		// Keep description of the context menu reply
+		final String description = event.getMessage().getEmbeds().isEmpty() ? null : event.getMessage().getEmbeds().getFirst().getDescription();
+
+		event.getJDA().retrieveUserById(userId).queue(user -> event.getHook().editOriginalEmbeds(
+				ModLogsCmd.buildEmbed(lu, event.getUserLocale(), user, cases, page, pages)
+					.setDescription(description)
+					.build()
+			).setComponents(ModLogsCmd.buildButtons(userId, onlyActive, cases, page, pages)).queue(),
+			failure -> sendError(event, "errors.error", "User not found.")
+		);
+	}
+
 	// Roles modify
 	private void buttonModifyConfirm(ButtonInteractionEvent event) {
 		long guildId = event.getGuild().getIdLong();
@@ -1653,6 +1691,7 @@ public class InteractionListener extends ListenerAdapter {
 		BUTTON_TICKET_CREATE(30, CooldownScope.USER),
 		BUTTON_REPORT_DELETE(3, CooldownScope.GUILD),
 		BUTTON_SHOW_STRIKES(30, CooldownScope.USER),
+		BUTTON_MODLOGS_PAGE(2, CooldownScope.USER),
 		BUTTON_SYNC_ACTION(10, CooldownScope.CHANNEL),
 		BUTTON_MODIFY_CONFIRM(10, CooldownScope.USER);
 
@@ -11,6 +11,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.logs.LogType;
 import dev.fireatom.FABI.objects.logs.MessageData;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
 import dev.fireatom.FABI.utils.CastUtil;
 
 import net.dv8tion.jda.api.audit.ActionType;
@@ -32,12 +33,14 @@ public class MessageListener extends ListenerAdapter {
 	private final Cache<Long, MessageData> cache = Caffeine.newBuilder()
 		.expireAfterWrite(5, TimeUnit.DAYS)
 		.maximumSize(5000)
+		.recordStats()
 		.build();
 
 	private final App bot;
 	
 	public MessageListener(App bot) {
 		this.bot = bot;
+		CacheMetrics.register("messages", cache);
 	}
 
 	@Override
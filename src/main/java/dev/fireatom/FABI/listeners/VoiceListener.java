@@ -172,25 +172,30 @@ public class VoiceListener extends ListenerAdapter {
 	private void startRewardTask(ScheduledExecutorService executor) {
 		executor.scheduleAtFixedRate(() -> {
 			cache.asMap().forEach((player, joinTime) -> {
-				Member member = Optional.ofNullable(bot.JDA.getGuildById(player.guildId))
-					.map(g -> g.getMemberById(player.userId))
-					.orElse(null);
-
-				if (member == null) {
+				Guild guild = bot.getShardManager().getGuildById(player.guildId);
+				if (guild == null) {
 					handleUserLeave(player);
 					return;
 				}
 
-				GuildVoiceState state = member.getVoiceState();
-				if (inVoice(state)) {
-					// In voice - check if not muted/deafened/AFK
-					if (isEligibleForRewards(state)) {
-						bot.getLevelUtil().rewardVoicePlayer(member, state.getChannel());
+				// Members in voice are always cached, retrieved member is not in voice
+				bot.getMemberService().retrieveMember(guild, player.userId).whenComplete((member, ex) -> {
+					if (member == null) {
+						if (ex == null) handleUserLeave(player);
+						return;
 					}
-				} else {
-					// Not in voice
-					handleUserLeave(player);
-				}
+
+					GuildVoiceState state = member.getVoiceState();
+					if (inVoice(state)) {
+						// In voice - check if not muted/deafened/AFK
+						if (isEligibleForRewards(state)) {
+							bot.getLevelUtil().rewardVoicePlayer(member, state.getChannel());
+						}
+					} else {
+						// Not in voice
+						handleUserLeave(player);
+					}
+				});
 			});
 		}, 3, 2, TimeUnit.MINUTES);
 	}
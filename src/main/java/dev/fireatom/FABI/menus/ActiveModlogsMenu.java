@@ -35,13 +35,13 @@ public class ActiveModlogsMenu extends UserContextMenu {
 			event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, "bot.moderation.modlogs.empty")).build()).queue();
 			return;
 		}
-		int pages = (int) Math.ceil(bot.getDBUtil().cases.countCases(guildId, userId)/10.0);
+		int pages = ModLogsCmd.countPages(bot.getDBUtil().cases.countCases(guildId, userId, true));
 
 		event.getHook().editOriginalEmbeds(
 			ModLogsCmd.buildEmbed(lu, event.getUserLocale(), user, cases, 1, pages)
 				.setDescription(lu.getLocalized(event.getUserLocale(), path+".full"))
 				.build()
-		).queue();
+		).setComponents(ModLogsCmd.buildButtons(userId, true, cases, 1, pages)).queue();
 	}
 
 }
@@ -30,18 +30,18 @@ public class ModlogsMenu extends UserContextMenu {
 
 		long guildId = event.getGuild().getIdLong();
 		long userId = user.getIdLong();
-		final List<CaseManager.CaseData> cases = bot.getDBUtil().cases.getGuildUser(guildId, userId, 1);
+		final List<CaseManager.CaseData> cases = bot.getDBUtil().cases.getGuildUser(guildId, userId, 1, false);
 		if (cases.isEmpty()) {
 			event.getHook().editOriginalEmbeds(bot.getEmbedUtil().getEmbed().setDescription(lu.getText(event, "bot.moderation.modlogs.empty")).build()).queue();
 			return;
 		}
-		int pages = (int) Math.ceil(bot.getDBUtil().cases.countCases(guildId, userId)/10.0);
+		int pages = ModLogsCmd.countPages(bot.getDBUtil().cases.countCases(guildId, userId, false));
 
 		event.getHook().editOriginalEmbeds(
 			ModLogsCmd.buildEmbed(lu, event.getUserLocale(), user, cases, 1, pages)
 				.setDescription(lu.getLocalized(event.getUserLocale(), path+".full"))
 				.build()
-		).queue();
+		).setComponents(ModLogsCmd.buildButtons(userId, false, cases, 1, pages)).queue();
 	}
 
 }
@@ -7,12 +7,17 @@ import java.util.List;
 import java.util.Map;
 
 public class ReportData {
-	private final Member member;
+	private final String effectiveName, userName;
 	private final int countTotal;
 	private final List<String> countValues;
 
 	public ReportData(final Member member, final int countRoles, final Map<Integer, Integer> countMap) {
-		this.member = member;
+		this(member.getEffectiveName(), member.getUser().getName(), countRoles, countMap);
+	}
+
+	public ReportData(final String effectiveName, final String userName, final int countRoles, final Map<Integer, Integer> countMap) {
+		this.effectiveName = effectiveName;
+		this.userName = userName;
 		this.countValues = new ArrayList<>();
 		int sum = 0;
 		int v = countStrikes(countMap); sum+=v;
@@ -30,8 +35,12 @@ public class ReportData {
 		this.countTotal = sum;
 	}
 
-	public Member getMember() {
-		return member;
+	public String getEffectiveName() {
+		return effectiveName;
+	}
+
+	public String getUserName() {
+		return userName;
 	}
 
 	public String getCountTotal() {
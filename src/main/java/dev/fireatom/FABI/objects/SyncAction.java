@@ -0,0 +1,39 @@
+package dev.fireatom.FABI.objects;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum SyncAction {
+	BAN(1, "moderation.ban.sync"),
+	UNBAN(2, "moderation.unban.sync"),
+	KICK(3, "moderation.kick.sync");
+
+	private final int value;
+	private final String path;
+
+	private static final Map<Integer, SyncAction> BY_VALUE = new HashMap<>();
+
+	static {
+		for (SyncAction action : SyncAction.values()) {
+			BY_VALUE.put(action.getValue(), action);
+		}
+	}
+
+	SyncAction(int value, String path) {
+		this.value = value;
+		this.path = path;
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public static SyncAction byValue(Integer value) {
+		return BY_VALUE.get(value);
+	}
+
+}
@@ -0,0 +1,205 @@
+package dev.fireatom.FABI.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.requests.restaction.AuditableRestAction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Adds, removes or replaces roles of many members.
+ * <p>
+ * Role updates of one guild share its member rate limit bucket, so requests of an operation
+ * are sent one after another and operations of the same guild are run in order, instead of
+ * queueing all requests at once. Progress is reported after each chunk of members.
+ */
+public class BulkRoleService {
+
+	private final Logger log = (Logger) LoggerFactory.getLogger(BulkRoleService.class);
+
+	public static final int CHUNK_SIZE = 25;
+
+	// Last operation of each guild
+	private final Map<Long, CompletableFuture<Progress>> running = new ConcurrentHashMap<>();
+
+	public BulkRoleService() {}
+
+	@NotNull
+	public CompletableFuture<Progress> addRole(@NotNull Guild guild, @NotNull Collection<? extends UserSnowflake> targets, @NotNull Role role,
+											   @Nullable String reason, @Nullable Consumer<Progress> onProgress) {
+		return run(guild, targets, Set.of(role), Set.of(), reason, onProgress);
+	}
+
+	@NotNull
+	public CompletableFuture<Progress> removeRole(@NotNull Guild guild, @NotNull Collection<? extends UserSnowflake> targets, @NotNull Role role,
+												  @Nullable String reason, @Nullable Consumer<Progress> onProgress) {
+		return run(guild, targets, Set.of(), Set.of(role), reason, onProgress);
+	}
+
+	/**
+	 * Replaces role with other role in one request per member.
+	 * Only cached members can be processed, others are counted as failed.
+	 */
+	@NotNull
+	public CompletableFuture<Progress> replaceRole(@NotNull Guild guild, @NotNull Collection<? extends UserSnowflake> targets, @NotNull Role from, @NotNull Role to,
+												   @Nullable String reason, @Nullable Consumer<Progress> onProgress) {
+		return run(guild, targets, Set.of(to), Set.of(from), reason, onProgress);
+	}
+
+	/**
+	 * @param guild      Guild
+	 * @param targets    Members or user IDs
+	 * @param add        Roles to add
+	 * @param remove     Roles to remove
+	 * @param reason     Audit log reason
+	 * @param onProgress Called after each {@link #CHUNK_SIZE} processed members
+	 * @return Future with the final progress, never completes exceptionally
+	 */
+	@NotNull
+	public CompletableFuture<Progress> run(@NotNull Guild guild, @NotNull Collection<? extends UserSnowflake> targets, @NotNull Collection<Role> add, @NotNull Collection<Role> remove,
+										   @Nullable String reason, @Nullable Consumer<Progress> onProgress) {
+		final Operation operation = new Operation(guild, List.copyOf(targets), Set.copyOf(add), Set.copyOf(remove), reason, onProgress);
+		final long guildId = guild.getIdLong();
+		synchronized (running) {
+			CompletableFuture<Progress> previous = running.get(guildId);
+			CompletableFuture<Progress> result = previous == null
+				? operation.start()
+				: previous.handle((r, t) -> null).thenCompose(ignored -> operation.start());
+			running.put(guildId, result);
+			result.whenComplete((r, t) -> running.remove(guildId, result));
+			return result;
+		}
+	}
+
+	/**
+	 * @return Count of guilds with running operations
+	 */
+	public int getActiveCount() {
+		return running.size();
+	}
+
+	/**
+	 * @param processed Members processed, including skipped
+	 * @param success   Members updated or already having required roles
+	 * @param total     Total members in operation
+	 */
+	public record Progress(int processed, int success, int total) {
+		public int failed() {
+			return processed - success;
+		}
+	}
+
+	private class Operation {
+		private final Guild guild;
+		private final List<? extends UserSnowflake> targets;
+		private final Set<Role> add, remove;
+		private final String reason;
+		private final Consumer<Progress> onProgress;
+
+		private final CompletableFuture<Progress> result = new CompletableFuture<>();
+		// Changed only by the current request callback
+		private int index = 0;
+		private int success = 0;
+
+		Operation(Guild guild, List<? extends UserSnowflake> targets, Set<Role> add, Set<Role> remove, String reason, Consumer<Progress> onProgress) {
+			this.guild = guild;
+			this.targets = targets;
+			this.add = add;
+			this.remove = remove;
+			this.reason = reason;
+			this.onProgress = onProgress;
+		}
+
+		CompletableFuture<Progress> start() {
+			next();
+			return result;
+		}
+
+		private void next() {
+			// Loop over targets, that do not require request
+			while (index < targets.size()) {
+				final UserSnowflake target = targets.get(index++);
+				final AuditableRestAction<Void> action;
+				try {
+					action = createAction(target);
+				} catch (Exception ex) {
+					// Missing permissions or hierarchy
+					log.debug("Can't update roles of {} in {}", target.getId(), guild.getId(), ex);
+					if (processed()) return;
+					continue;
+				}
+				if (action == null) {
+					success++;
+					if (processed()) return;
+					continue;
+				}
+				action.reason(reason).queue(s -> {
+					success++;
+					if (!processed()) next();
+				}, f -> {
+					if (!processed()) next();
+				});
+				return;
+			}
+			complete();
+		}
+
+		/**
+		 * @return If operation was completed
+		 */
+		private boolean processed() {
+			if (index % CHUNK_SIZE == 0 && index < targets.size() && onProgress != null) {
+				try {
+					onProgress.accept(new Progress(index, success, targets.size()));
+				} catch (Exception ex) {
+					log.warn("Bulk role progress listener failed", ex);
+				}
+			}
+			if (index >= targets.size()) {
+				complete();
+				return true;
+			}
+			return false;
+		}
+
+		private void complete() {
+			result.complete(new Progress(targets.size(), success, targets.size()));
+		}
+
+		/**
+		 * @return Request, or null if member already has required roles
+		 */
+		@Nullable
+		private AuditableRestAction<Void> createAction(UserSnowflake target) {
+			final Member member = target instanceof Member m ? m : guild.getMemberById(target.getIdLong());
+			if (member != null) {
+				final List<Role> roles = member.getRoles();
+				if (roles.containsAll(add) && remove.stream().noneMatch(roles::contains)) return null;
+			}
+			if (add.size() == 1 && remove.isEmpty()) {
+				return guild.addRoleToMember(target, add.iterator().next());
+			}
+			if (remove.size() == 1 && add.isEmpty()) {
+				return guild.removeRoleFromMember(target, remove.iterator().next());
+			}
+			if (member == null) {
+				throw new IllegalStateException("Member is not cached");
+			}
+			return guild.modifyMemberRoles(member, add, remove);
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package dev.fireatom.FABI.services;
+
+import static dev.fireatom.FABI.objects.CaseType.BAN;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.fireatom.FABI.App;
+import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Processes all expired cases at once.
+ * <p>
+ * Due cases are read page by page, all except bans are set inactive in one transaction.
+ * Expired bans are put into a queue of their guild, each guild has at most one unban request in flight,
+ * so a mass expiration does not flood the rate limit bucket and other guilds are served in parallel.
+ * Ban case is set inactive only after the unban, so bans left in queue on restart are read again.
+ */
+public class CaseExpiryProcessor {
+
+	private final Logger log = (Logger) LoggerFactory.getLogger(CaseExpiryProcessor.class);
+
+	private static final int PAGE_SIZE = 500;
+
+	private final App bot;
+
+	private final Map<Long, Queue<CaseData>> unbanQueues = new ConcurrentHashMap<>();
+	private final Map<Long, Boolean> draining = new ConcurrentHashMap<>();
+	// Row IDs of queued and running unbans, their cases are still active
+	private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+	private final AtomicLong unbansDone = new AtomicLong();
+
+	// For drain rate report
+	private long lastReportTime = System.currentTimeMillis();
+	private long lastReportDone = 0;
+
+	public CaseExpiryProcessor(App bot) {
+		this.bot = bot;
+	}
+
+	/**
+	 * Sets expired cases inactive and queues unbans for expired bans.
+	 */
+	public synchronized void process() {
+		final Instant now = Instant.now();
+
+		List<CaseData> expired = new ArrayList<>();
+		int afterRow = 0;
+		while (true) {
+			List<CaseData> page = bot.getDBUtil().cases.getExpired(now, afterRow, PAGE_SIZE);
+			if (page.isEmpty()) break;
+			expired.addAll(page);
+			afterRow = page.getLast().getRowId();
+			if (page.size() < PAGE_SIZE) break;
+		}
+
+		if (!expired.isEmpty()) {
+			List<Integer> inactive = new ArrayList<>();
+			int queued = 0;
+			for (CaseData caseData : expired) {
+				if (!caseData.getType().equals(BAN)) {
+					inactive.add(caseData.getRowId());
+					continue;
+				}
+				// Already waiting for unban
+				if (!pending.add(caseData.getRowId())) continue;
+				unbanQueues.computeIfAbsent(caseData.getGuildId(), k -> new ConcurrentLinkedQueue<>()).add(caseData);
+				queued++;
+			}
+
+			try {
+				bot.getDBUtil().cases.setInactive(inactive);
+			} catch (SQLException ex) {
+				log.error("Failed to set {} expired cases inactive.", inactive.size(), ex);
+			}
+			unbanQueues.keySet().forEach(this::startDrain);
+
+			log.debug("Expired {} cases, queued {} unbans", inactive.size(), queued);
+		}
+
+		report();
+	}
+
+	public int getBacklogSize() {
+		return pending.size();
+	}
+
+	/**
+	 * @return Unbans per minute since the last report
+	 */
+	public synchronized double getDrainRate() {
+		long elapsed = System.currentTimeMillis() - lastReportTime;
+		if (elapsed <= 0) return 0;
+		return (unbansDone.get() - lastReportDone) * 60_000d / elapsed;
+	}
+
+	private void report() {
+		final int size = pending.size();
+		if (size > 0) {
+			log.info("Unban backlog: {} in {} guilds, drain rate {} per minute",
+				size, draining.size(), "%.1f".formatted(getDrainRate()));
+		}
+		lastReportTime = System.currentTimeMillis();
+		lastReportDone = unbansDone.get();
+	}
+
+	private void startDrain(long guildId) {
+		if (draining.putIfAbsent(guildId, Boolean.TRUE) != null) return;
+		drainNext(guildId);
+	}
+
+	private void drainNext(long guildId) {
+		Queue<CaseData> queue = unbanQueues.get(guildId);
+		if (queue == null) {
+			draining.remove(guildId);
+			return;
+		}
+		CaseData caseData = queue.poll();
+		if (caseData == null) {
+			finishDrain(guildId, queue);
+			return;
+		}
+
+		Guild guild = bot.getShardManager().getGuildById(guildId);
+		if (guild == null && !bot.isShardReady(guildId)) {
+			// Shard is not connected, cases stay active and are queued again by next run
+			synchronized (this) {
+				unbanQueues.remove(guildId, queue);
+				pending.remove(caseData.getRowId());
+				queue.forEach(c -> pending.remove(c.getRowId()));
+				draining.remove(guildId);
+			}
+			return;
+		}
+		if (guild == null || !guild.getSelfMember().hasPermission(Permission.BAN_MEMBERS)) {
+			// Bot is not in the guild anymore, or ban can only be lifted by moderators, otherwise it would be retried forever.
+			// No requests are needed, so the whole queue is finished at once
+			List<CaseData> skipped = new ArrayList<>();
+			skipped.add(caseData);
+			for (CaseData next; (next = queue.poll()) != null; ) {
+				skipped.add(next);
+			}
+			if (guild != null)
+				log.warn("Missing permission to lift {} expired bans in guild {}", skipped.size(), guildId);
+			setDone(skipped);
+			finishDrain(guildId, queue);
+			return;
+		}
+
+		guild.unban(User.fromId(caseData.getTargetId()))
+			.reason(bot.getLocaleUtil().getLocalized(guild.getLocale(), "misc.ban_expired"))
+			.queue(s -> {
+				bot.getLogger().mod.onAutoUnban(caseData, guild);
+				completed(guildId, caseData, true);
+			}, f -> {
+				if (ErrorResponse.UNKNOWN_BAN.test(f) || ErrorResponse.UNKNOWN_GUILD.test(f)) {
+					completed(guildId, caseData, true);
+				} else {
+					// Case stays active and is retried by next run
+					log.warn("Exception at unban attempt.", f);
+					completed(guildId, caseData, false);
+				}
+			});
+	}
+
+	/**
+	 * Called from the unban callback, so the next request does not grow the stack.
+	 *
+	 * @param done If ban is lifted or can not be lifted, then case is set inactive
+	 */
+	private void completed(long guildId, CaseData caseData, boolean done) {
+		if (done) {
+			setDone(List.of(caseData));
+		} else {
+			pending.remove(caseData.getRowId());
+		}
+		drainNext(guildId);
+	}
+
+	private void setDone(List<CaseData> cases) {
+		List<Integer> rowIds = cases.stream().map(CaseData::getRowId).toList();
+		try {
+			bot.getDBUtil().cases.setInactive(rowIds);
+		} catch (SQLException ex) {
+			log.error("Failed to set {} expired cases inactive.", rowIds.size(), ex);
+		}
+		unbansDone.addAndGet(rowIds.size());
+		rowIds.forEach(pending::remove);
+	}
+
+	private void finishDrain(long guildId, Queue<CaseData> queue) {
+		// Cases are queued by process() while holding the same lock
+		synchronized (this) {
+			draining.remove(guildId);
+			if (queue.isEmpty()) {
+				unbanQueues.remove(guildId, queue);
+				return;
+			}
+		}
+		// Cases were added after the last poll
+		startDrain(guildId);
+	}
+}
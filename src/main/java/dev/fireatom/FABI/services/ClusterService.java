@@ -0,0 +1,138 @@
+package dev.fireatom.FABI.services;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import dev.fireatom.FABI.utils.database.DBUtil;
+import dev.fireatom.FABI.utils.database.ShardScope;
+import dev.fireatom.FABI.utils.database.managers.ClusterManager.Node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Coordination of bot processes, each of them owning a range of shards.
+ * <p>
+ * Processes share the database and coordinate through it: heartbeats show which shards
+ * are currently handled, leases make sure that work spanning guilds is done by one process.
+ * With a single process (no shard range in config) all guilds are owned and nothing is written.
+ */
+public class ClusterService {
+
+	private final Logger log = (Logger) LoggerFactory.getLogger(ClusterService.class);
+
+	public static final long HEARTBEAT = 15; // seconds
+	// Cached settings may be changed by other processes, they are read again after this time
+	public static final long CACHE_MAX_AGE = 30; // seconds
+	// Node without heartbeat for this long is considered stopped
+	private static final long NODE_TIMEOUT = 4*HEARTBEAT;
+	// Stopped nodes are kept for status
+	private static final long NODE_KEEP = 3600;
+
+	private final DBUtil db;
+	private final ShardScope scope;
+	private final String nodeId;
+	private final long started = Instant.now().getEpochSecond();
+
+	public ClusterService(@NotNull DBUtil db, @NotNull ShardScope scope, @Nullable String nodeId) {
+		this.db = db;
+		this.scope = scope;
+		this.nodeId = nodeId==null || nodeId.isBlank() ? "shards-%s-%s".formatted(scope.first(), scope.last()) : nodeId;
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	public ShardScope getScope() {
+		return scope;
+	}
+
+	/**
+	 * @return If other processes may handle part of guilds
+	 */
+	public boolean isClustered() {
+		return !scope.isAll();
+	}
+
+	public boolean owns(long guildId) {
+		return scope.owns(guildId);
+	}
+
+	/**
+	 * @param alive Nodes from {@link #getAliveNodes()}, read once for many guilds
+	 * @return If guild is owned by this or other running process
+	 */
+	public boolean isHandled(long guildId, @NotNull List<Node> alive) {
+		if (owns(guildId)) return true;
+		return alive.stream().anyMatch(node -> node.getScope().owns(guildId));
+	}
+
+	@NotNull
+	public List<Node> getAliveNodes() {
+		if (!isClustered()) return List.of();
+		return db.cluster.getNodes(Instant.now().getEpochSecond()-NODE_TIMEOUT);
+	}
+
+	public void heartbeat() {
+		if (!isClustered()) return;
+		final long now = Instant.now().getEpochSecond();
+		try {
+			db.cluster.heartbeat(nodeId, scope, started, now);
+			db.cluster.removeStale(now-NODE_KEEP, now);
+		} catch (SQLException ex) {
+			log.warn("Failed to save heartbeat of node '{}'", nodeId, ex);
+		}
+		// Blacklist is read once, other processes may have changed it
+		try {
+			db.botBlacklist.reload();
+		} catch (SQLException ex) {
+			log.warn("Failed to reload bot blacklist, keeping current", ex);
+		}
+	}
+
+	/**
+	 * Takes or extends the lease. Without other processes lease is always held.
+	 *
+	 * @param name Lease name
+	 * @param ttl  Seconds, after which lease can be taken by other process
+	 * @return If this process holds the lease
+	 */
+	public boolean tryLease(@NotNull String name, long ttl) {
+		if (!isClustered()) return true;
+		final long now = Instant.now().getEpochSecond();
+		return db.cluster.acquireLease(name, nodeId, now, now+ttl);
+	}
+
+	/**
+	 * @return If the lease is currently held by other process
+	 */
+	public boolean isLeasedByOther(@NotNull String name) {
+		if (!isClustered()) return false;
+		String holder = db.cluster.getLeaseHolder(name, Instant.now().getEpochSecond());
+		return holder != null && !holder.equals(nodeId);
+	}
+
+	public void releaseLease(@NotNull String name) {
+		if (!isClustered()) return;
+		try {
+			db.cluster.releaseLease(name, nodeId);
+		} catch (SQLException ex) {
+			log.warn("Failed to release lease '{}'", name, ex);
+		}
+	}
+
+	public void shutdown() {
+		if (!isClustered()) return;
+		try {
+			db.cluster.removeNode(nodeId);
+		} catch (SQLException ex) {
+			log.warn("Failed to remove node '{}'", nodeId, ex);
+		}
+	}
+
+}
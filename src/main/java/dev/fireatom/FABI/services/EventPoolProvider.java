@@ -0,0 +1,53 @@
+package dev.fireatom.FABI.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import dev.fireatom.FABI.services.metrics.Histogram;
+import dev.fireatom.FABI.services.metrics.MetricsRegistry;
+import net.dv8tion.jda.api.sharding.ThreadPoolProvider;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Separate event thread pool for each shard, so a slow listener on one shard does not delay others.
+ * With one thread events of a shard are handled in order.
+ * <p>
+ * Time, that each event waits in the pool queue before listeners are called, is recorded as dispatch lag.
+ */
+public class EventPoolProvider implements ThreadPoolProvider<ExecutorService> {
+
+	private final int threads;
+	private final MetricsRegistry metrics;
+
+	public EventPoolProvider(int threads, MetricsRegistry metrics) {
+		this.threads = Math.max(1, threads);
+		this.metrics = metrics;
+	}
+
+	@NotNull
+	@Override
+	public ExecutorService provide(int shardId) {
+		final Histogram lag = metrics.histogram("fabi_event_dispatch_lag_seconds", "Time from receiving event to calling listeners",
+			"shard", String.valueOf(shardId));
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+			new CountingThreadFactory("VOTL", "Events-"+shardId)) {
+			@Override
+			public void execute(@NotNull Runnable command) {
+				final long queued = System.nanoTime();
+				super.execute(() -> {
+					lag.record(System.nanoTime()-queued);
+					command.run();
+				});
+			}
+		};
+	}
+
+	@Override
+	public boolean shouldShutdownAutomatically(int shardId) {
+		return true;
+	}
+
+}
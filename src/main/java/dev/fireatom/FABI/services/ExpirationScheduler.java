@@ -0,0 +1,174 @@
+package dev.fireatom.FABI.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import dev.fireatom.FABI.services.metrics.MetricsRegistry;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Runs expiration checks at the moment something expires, instead of polling the database.
+ * <p>
+ * Only the nearest deadline of each type is kept in a priority queue. When it is reached,
+ * the type handler processes everything that has expired and the next deadline is read from the database.
+ * New deadlines are received from the database managers through {@link DeadlineListener}.
+ */
+public class ExpirationScheduler implements DeadlineListener {
+
+	private final Logger log = (Logger) LoggerFactory.getLogger(ExpirationScheduler.class);
+
+	// Delay before running the handler again, if there is still expired data after it ran
+	// Some handlers finish their work asynchronously, so it must not be too short
+	private static final long RETRY_DELAY = 60; // seconds
+
+	private final ScheduledExecutorService executor;
+	private final MetricsRegistry metrics;
+	private final Map<Type, Handler> handlers = new EnumMap<>(Type.class);
+
+	// Guarded by this
+	private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparingLong(Deadline::epochSecond));
+	private final Map<Type, Deadline> queued = new EnumMap<>(Type.class);
+	private ScheduledFuture<?> timer;
+	private long timerAt = Long.MAX_VALUE;
+
+	public ExpirationScheduler(ScheduledExecutorService executor, MetricsRegistry metrics) {
+		this.executor = executor;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @param type         Deadline type
+	 * @param task         Processes all expired data of this type
+	 * @param nextDeadline Returns nearest stored deadline in epoch seconds, or null if there is none
+	 */
+	public void register(@NotNull Type type, @NotNull Runnable task, @NotNull Supplier<Long> nextDeadline) {
+		handlers.put(type, new Handler(metrics.timed("expire-"+type.name().toLowerCase(), task), nextDeadline));
+	}
+
+	@Override
+	public void onDeadline(Type type, long epochSecond) {
+		if (!handlers.containsKey(type)) return;
+		schedule(type, epochSecond);
+	}
+
+	/**
+	 * Reads nearest deadlines of all types from the database.
+	 * Used at startup and as periodic reconciliation, in case some change was not reported.
+	 */
+	public void reload() {
+		for (Map.Entry<Type, Handler> entry : handlers.entrySet()) {
+			try {
+				Long next = entry.getValue().nextDeadline().get();
+				if (next != null) schedule(entry.getKey(), next);
+			} catch (Throwable t) {
+				log.error("Failed to load next deadline for {}", entry.getKey(), t);
+			}
+		}
+		log.debug("Loaded deadlines, {} queued", getQueuedCount());
+	}
+
+	/**
+	 * Runs all handlers regardless of deadlines, then reloads deadlines.
+	 */
+	public void reconcile() {
+		handlers.forEach((type, handler) -> runHandler(type, handler));
+		reload();
+	}
+
+	public synchronized int getQueuedCount() {
+		return queue.size();
+	}
+
+	public synchronized void shutdown() {
+		if (timer != null) timer.cancel(false);
+		timer = null;
+		queue.clear();
+		queued.clear();
+	}
+
+	private synchronized void schedule(Type type, long epochSecond) {
+		Deadline current = queued.get(type);
+		// Earlier deadline is already queued, the later one will be read from database after it
+		if (current != null && current.epochSecond() <= epochSecond) return;
+		if (current != null) queue.remove(current);
+
+		Deadline deadline = new Deadline(type, epochSecond);
+		queue.add(deadline);
+		queued.put(type, deadline);
+		rearm();
+	}
+
+	private void rearm() {
+		Deadline head = queue.peek();
+		if (head == null) {
+			if (timer != null) timer.cancel(false);
+			timer = null;
+			timerAt = Long.MAX_VALUE;
+			return;
+		}
+		if (timer != null && !timer.isDone() && timerAt == head.epochSecond()) return;
+
+		if (timer != null) timer.cancel(false);
+		long delay = Math.max(0, head.epochSecond()*1000 - System.currentTimeMillis());
+		timerAt = head.epochSecond();
+		timer = executor.schedule(this::fire, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void fire() {
+		final long now = Instant.now().getEpochSecond();
+		List<Type> due = new ArrayList<>();
+		synchronized (this) {
+			while (!queue.isEmpty() && queue.peek().epochSecond() <= now) {
+				Deadline deadline = queue.poll();
+				queued.remove(deadline.type());
+				due.add(deadline.type());
+			}
+			timer = null;
+			timerAt = Long.MAX_VALUE;
+			rearm();
+		}
+
+		for (Type type : due) {
+			Handler handler = handlers.get(type);
+			runHandler(type, handler);
+			try {
+				Long next = handler.nextDeadline().get();
+				if (next != null) {
+					// Something is left expired (failed or not processed yet) - retry a bit later
+					schedule(type, Math.max(next, Instant.now().getEpochSecond()+RETRY_DELAY));
+				}
+			} catch (Throwable t) {
+				log.error("Failed to load next deadline for {}", type, t);
+			}
+		}
+	}
+
+	private void runHandler(Type type, Handler handler) {
+		// Same handler must not run in parallel (deadline and reconciliation)
+		synchronized (handler) {
+			try {
+				handler.task().run();
+			} catch (Throwable t) {
+				log.error("Exception caught during {} expiration.", type, t);
+			}
+		}
+	}
+
+	private record Handler(Runnable task, Supplier<Long> nextDeadline) {}
+
+	private record Deadline(Type type, long epochSecond) {}
+}
@@ -0,0 +1,183 @@
+package dev.fireatom.FABI.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
+import dev.fireatom.FABI.utils.database.DBUtil;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+import net.dv8tion.jda.api.utils.ChunkingFilter;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.concurrent.Task;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Member lookups, that work with any member cache mode.
+ * <p>
+ * In {@link Mode#ALL} every member is cached and lookups are served from JDA cache.
+ * In {@link Mode#LEAN} only members in voice, guild owners, pending members, members
+ * with persistent roles and recently active members are cached. Other members are then
+ * requested from the gateway and filtered while they are received, so only matching members are kept.
+ */
+public class MemberService {
+
+	public enum Mode {
+		ALL,
+		LEAN;
+
+		public static Mode of(String value) {
+			return "lean".equalsIgnoreCase(value) ? LEAN : ALL;
+		}
+	}
+
+	// Recently active members, kept in cache by lean policy
+	private static final int ACTIVE_MEMBERS = 10_000;
+	private static final long LOAD_TIMEOUT = 30; // seconds
+	// Streaming of large guilds is slower than loading of a list
+	private static final long STREAM_TIMEOUT = 10; // minutes
+
+	private final Mode mode;
+
+	private final Cache<String, Optional<Member>> memberCache = Caffeine.newBuilder()
+		.expireAfterWrite(1, TimeUnit.MINUTES)
+		.maximumSize(5_000)
+		.recordStats()
+		.build();
+
+	public MemberService(Mode mode) {
+		this.mode = mode;
+		CacheMetrics.register("members", memberCache);
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	@NotNull
+	public MemberCachePolicy getCachePolicy(@NotNull DBUtil db) {
+		if (mode == Mode.ALL) return MemberCachePolicy.ALL;
+		// Members with persistent roles must be cached, their roles are read when they leave
+		final MemberCachePolicy persistent = member -> {
+			List<Long> roleIds = db.persistent.getRoles(member.getGuild().getIdLong());
+			return !roleIds.isEmpty() && member.getRoles().stream().anyMatch(role -> roleIds.contains(role.getIdLong()));
+		};
+		final MemberCachePolicy required = MemberCachePolicy.VOICE
+			.or(MemberCachePolicy.OWNER)
+			.or(MemberCachePolicy.PENDING)
+			.or(persistent);
+		return required.or(MemberCachePolicy.lru(ACTIVE_MEMBERS).unloadUnless(required));
+	}
+
+	@NotNull
+	public ChunkingFilter getChunkingFilter(@NotNull DBUtil db) {
+		if (mode == Mode.ALL) return ChunkingFilter.ALL;
+		// Only guilds with persistent roles, other members are cached when they appear
+		return guildId -> !db.persistent.getRoles(guildId).isEmpty();
+	}
+
+	/**
+	 * Members are filtered while they are received, only matching members are kept.
+	 */
+	@NotNull
+	public CompletableFuture<List<Member>> findMembers(@NotNull Guild guild, @NotNull Predicate<Member> filter) {
+		return toFuture(guild.findMembers(filter));
+	}
+
+	@NotNull
+	public CompletableFuture<List<Member>> findMembersWithRoles(@NotNull Guild guild, @NotNull Collection<Role> roles) {
+		return toFuture(guild.findMembersWithRoles(roles));
+	}
+
+	/**
+	 * Passes members with all the roles to the consumer in chunks, while members are received.
+	 * Members are not collected, so processing starts before the whole guild is loaded.
+	 *
+	 * @param onChunk Called with each full chunk and the last one, on the gateway thread
+	 * @return Future with count of found members
+	 */
+	@NotNull
+	public CompletableFuture<Integer> streamMembersWithRoles(@NotNull Guild guild, @NotNull Collection<Role> roles, int chunkSize,
+															 @NotNull Consumer<List<Member>> onChunk) {
+		final List<Member> chunk = new ArrayList<>(chunkSize);
+		final AtomicInteger count = new AtomicInteger();
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		guild.loadMembers(member -> {
+				if (!member.getRoles().containsAll(roles)) return;
+				count.incrementAndGet();
+				synchronized (chunk) {
+					chunk.add(member);
+					if (chunk.size() < chunkSize) return;
+					onChunk.accept(List.copyOf(chunk));
+					chunk.clear();
+				}
+			})
+			.setTimeout(STREAM_TIMEOUT, TimeUnit.MINUTES)
+			.onSuccess(v -> {
+				synchronized (chunk) {
+					if (!chunk.isEmpty()) onChunk.accept(List.copyOf(chunk));
+					chunk.clear();
+				}
+				future.complete(count.get());
+			})
+			.onError(future::completeExceptionally);
+		return future;
+	}
+
+	/**
+	 * @return Member from cache or retrieved, completes with null if user is not a member.
+	 */
+	@NotNull
+	public CompletableFuture<Member> retrieveMember(@NotNull Guild guild, long userId) {
+		Member member = guild.getMemberById(userId);
+		if (member != null) return CompletableFuture.completedFuture(member);
+
+		final String key = guild.getId()+":"+userId;
+		Optional<Member> cached = memberCache.getIfPresent(key);
+		if (cached != null) return CompletableFuture.completedFuture(cached.orElse(null));
+
+		CompletableFuture<Member> future = new CompletableFuture<>();
+		guild.retrieveMemberById(userId).queue(retrieved -> {
+			memberCache.put(key, Optional.of(retrieved));
+			future.complete(retrieved);
+		}, failure -> {
+			if (ErrorResponse.UNKNOWN_MEMBER.test(failure) || ErrorResponse.UNKNOWN_USER.test(failure)) {
+				memberCache.put(key, Optional.empty());
+				future.complete(null);
+			} else {
+				future.completeExceptionally(failure);
+			}
+		});
+		return future;
+	}
+
+	private static <T> CompletableFuture<T> toFuture(Task<T> task) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		task.setTimeout(LOAD_TIMEOUT, TimeUnit.SECONDS)
+			.onSuccess(future::complete)
+			.onError(future::completeExceptionally);
+		return future;
+	}
+
+	/**
+	 * @return Count of members in JDA cache of all guilds
+	 */
+	public long getCachedCount(@NotNull Collection<Guild> guilds) {
+		return guilds.stream().mapToLong(guild -> guild.getMemberCache().size()).sum();
+	}
+
+}
@@ -1,29 +1,25 @@
 package dev.fireatom.FABI.services;
 
-import static dev.fireatom.FABI.objects.CaseType.BAN;
 import static dev.fireatom.FABI.utils.CastUtil.castLong;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.sql.SQLException;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.ReportData;
 import dev.fireatom.FABI.utils.database.DBUtil;
-import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 
 import dev.fireatom.FABI.utils.database.managers.LevelManager;
+import dev.fireatom.FABI.utils.database.managers.ModReportManager.ModActivity;
 import dev.fireatom.FABI.utils.encoding.EncodingUtil;
 import dev.fireatom.FABI.utils.imagegen.renders.ModReportRender;
 import dev.fireatom.FABI.utils.level.PlayerObject;
 import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
@@ -52,27 +48,57 @@ public class ScheduledCheck {
 
 	private final App bot;
 	private final DBUtil db;
+	private final CaseExpiryProcessor caseExpiry;
 
 	private final Integer CLOSE_AFTER_DELAY = 12; // hours
+	private static final String STRIKES_LEASE_NAME = "expire-strikes";
+	private static final long STRIKES_LEASE = 300; // seconds
 
 	public ScheduledCheck(App bot) {
 		this.bot = bot;
 		this.db = bot.getDBUtil();
+		this.caseExpiry = new CaseExpiryProcessor(bot);
+	}
+
+	public CaseExpiryProcessor getCaseExpiry() {
+		return caseExpiry;
+	}
+
+	/**
+	 * Registers expiration checks, that are run at the deadline by the scheduler.
+	 */
+	public void registerDeadlines(ExpirationScheduler scheduler) {
+		scheduler.register(DeadlineListener.Type.CASE, whenReady(this::checkExpiredCases), db.cases::getNextExpiration);
+		scheduler.register(DeadlineListener.Type.TEMP_ROLE, whenReady(this::checkExpiredTempRoles), db.tempRoles::getNextExpiration);
+		scheduler.register(DeadlineListener.Type.STRIKE, this::checkExpiredStrikes, this::getNextStrikeExpiration);
+		scheduler.register(DeadlineListener.Type.TICKET_CLOSE, whenReady(this::checkCloseMarkedTickets), db.tickets::getNextCloseRequest);
+		scheduler.register(DeadlineListener.Type.TICKET_REPLY, whenReady(this::checkReplyExpiredTickets), db.tickets::getNextReplyExpiration);
+		scheduler.register(DeadlineListener.Type.PERSISTENT_ROLE, this::checkExpiredPersistentRoles, db.persistent::getNextExpiration);
+	}
+
+	/**
+	 * Checks below remove data of guilds, channels and roles missing in cache.
+	 * While shards are logging in, their guilds are missing too, so the check is skipped.
+	 * Expiration scheduler runs it again shortly, as the data is still expired.
+	 */
+	private Runnable whenReady(Runnable task) {
+		return () -> {
+			if (bot.isReady()) task.run();
+			else log.debug("Shards are not connected, check is postponed");
+		};
 	}
 
 	// each 10-15 minutes
 	public void irregularChecks() {
-		CompletableFuture.runAsync(this::checkTicketStatus)
-			.thenRunAsync(this::checkExpiredTempRoles)
-			.thenRunAsync(this::checkExpiredStrikes)
-			.thenRunAsync(this::checkExpiredPersistentRoles)
-			.thenRunAsync(this::generateReport);
+		if (!bot.isReady()) return;
+		CompletableFuture.runAsync(bot.getMetrics().timed("ticket-inactivity", this::checkTicketInactivity))
+			.thenRunAsync(bot.getMetrics().timed("mod-report", this::generateReport));
 	}
 
-	private void checkTicketStatus() {
+	private void checkTicketInactivity() {
 		try {
 			db.tickets.getOpenedChannels().forEach(channelId -> {
-				GuildMessageChannel channel = bot.JDA.getChannelById(GuildMessageChannel.class, channelId);
+				GuildMessageChannel channel = bot.getShardManager().getChannelById(GuildMessageChannel.class, channelId);
 				if (channel == null) {
 					// Should be closed???
 					ignoreExc(() -> bot.getDBUtil().tickets.forceCloseTicket(channelId));
@@ -88,10 +114,10 @@ public class ScheduledCheck {
 
 					MessageEmbed embed = new EmbedBuilder()
 						.setColor(db.getGuildSettings(guild).getColor())
-						.setDescription(bot.getLocaleUtil().getLocalized(guild.getLocale(), "bot.ticketing.listener.close_auto")
-							.replace("{user}", user.getAsMention())
-							.replace("{time}", TimeFormat.RELATIVE.atInstant(closeTime).toString())
-						)
+						.setDescription(bot.getLocaleUtil().getLocalized(guild.getLocale(), "bot.ticketing.listener.close_auto", Map.of(
+							"user", user.getAsMention(),
+							"time", TimeFormat.RELATIVE.atInstant(closeTime).toString()
+						)))
 						.build();
 
 					Button close = Button.primary("ticket:close", bot.getLocaleUtil().getLocalized(guild.getLocale(), "ticket.close"));
@@ -101,9 +127,15 @@ public class ScheduledCheck {
 					channel.sendMessage("||%s||".formatted(user.getAsMention())).addEmbeds(embed).addActionRow(close, cancel).queue();
 				}
 			});
+		} catch (Throwable t) {
+			log.error("Exception caught during tickets checks.", t);
+		}
+	}
 
+	private void checkCloseMarkedTickets() {
+		try {
 			db.tickets.getCloseMarkedTickets().forEach(channelId -> {
-				GuildChannel channel = bot.JDA.getGuildChannelById(channelId);
+				GuildChannel channel = bot.getShardManager().getGuildChannelById(channelId);
 				if (channel == null) {
 					ignoreExc(() -> bot.getDBUtil().tickets.forceCloseTicket(channelId));
 					return;
@@ -114,9 +146,15 @@ public class ScheduledCheck {
 					log.error("Failed to delete ticket channel, either already deleted or unknown error", failure);
 				});
 			});
+		} catch (Throwable t) {
+			log.error("Exception caught during tickets checks.", t);
+		}
+	}
 
+	private void checkReplyExpiredTickets() {
+		try {
 			db.tickets.getReplyExpiredTickets().forEach(channelId -> {
-				GuildMessageChannel channel = bot.JDA.getChannelById(GuildMessageChannel.class, channelId);
+				GuildMessageChannel channel = bot.getShardManager().getChannelById(GuildMessageChannel.class, channelId);
 				if (channel == null) {
 					ignoreExc(() -> bot.getDBUtil().tickets.forceCloseTicket(channelId));
 					return;
@@ -148,9 +186,11 @@ public class ScheduledCheck {
 			List<Map<String, Object>> expired = db.tempRoles.expiredRoles();
 			if (expired.isEmpty()) return;
 
+			// Roles are removed in bulk per role
+			Map<Role, List<UserSnowflake>> removals = new HashMap<>();
 			expired.forEach(data -> {
 				long roleId = castLong(data.get("roleId"));
-				Role role = bot.JDA.getRoleById(roleId);
+				Role role = bot.getShardManager().getRoleById(roleId);
 				if (role == null) {
 					ignoreExc(() -> db.tempRoles.removeRole(roleId));
 					return;
@@ -165,14 +205,18 @@ public class ScheduledCheck {
 					}
 					ignoreExc(() -> db.tempRoles.removeRole(roleId));
 				} else {
-					role.getGuild().removeRoleFromMember(User.fromId(userId), role).reason("Role expired").queue(null, failure -> {
-						log.warn("Was unable to remove temporary role '{}' from '{}' during scheduled check.", roleId, userId, failure);
-					});
+					removals.computeIfAbsent(role, k -> new ArrayList<>()).add(User.fromId(userId));
 					ignoreExc(() -> db.tempRoles.remove(roleId, userId));
 				}
 				// Log
 				bot.getLogger().role.onTempRoleAutoRemoved(role.getGuild(), userId, role);
 			});
+			removals.forEach((role, users) ->
+				bot.getBulkRoleService().removeRole(role.getGuild(), users, role, "Role expired", null).thenAccept(result -> {
+					if (result.failed() > 0)
+						log.warn("Was unable to remove temporary role '{}' from {} members during scheduled check.", role.getId(), result.failed());
+				})
+			);
 		} catch (Throwable t) {
 			log.error("Exception caught during expired roles check.", t);
 		}
@@ -180,60 +224,23 @@ public class ScheduledCheck {
 
 	private void checkExpiredStrikes() {
 		try {
-			List<Map<String, Object>> expired = db.strikes.getExpired();
-			if (expired.isEmpty()) return;
-
-			for (Map<String, Object> data : expired) {
-				Long guildId = castLong(data.get("guildId"));
-				Long userId = castLong(data.get("userId"));
-				Integer strikes = (Integer) data.get("count");
-
-				if (strikes <= 0) {
-					// Should not happen...
-					db.strikes.removeGuildUser(guildId, userId);
-				} else if (strikes == 1) {
-					// One strike left, remove user
-					db.strikes.removeGuildUser(guildId, userId);
-					// set case inactive
-					db.cases.setInactiveStrikeCases(userId, guildId);
-				} else {
-					String[] cases = ((String) data.getOrDefault("data", "")).split(";");
-					// Update data
-					if (!cases[0].isEmpty()) {
-						String[] caseInfo = cases[0].split("-");
-						String caseRowId = caseInfo[0];
-						int newCount = Integer.parseInt(caseInfo[1]) - 1;
-
-						StringBuilder newData = new StringBuilder();
-						if (newCount > 0) {
-							newData.append(caseRowId).append("-").append(newCount);
-							if (cases.length > 1)
-								newData.append(";");
-						} else {
-							// Set case inactive
-							db.cases.setInactive(Integer.parseInt(caseRowId));
-						}
-						if (cases.length > 1) {
-							List<String> list = new ArrayList<>(List.of(cases));
-							list.removeFirst();
-							newData.append(String.join(";", list));
-						}
-						// Remove one strike and reset time
-						db.strikes.removeStrike(guildId, userId,
-							Instant.now().plus(bot.getDBUtil().getGuildSettings(guildId).getStrikeExpires(), ChronoUnit.DAYS),
-							1, newData.toString()
-						);
-					} else {
-						db.strikes.removeGuildUser(guildId, userId);
-						throw new Exception("Strike data is empty. Deleted data for gid '%s' and uid '%s'".formatted(guildId, userId));
-					}
-				}
-			}
+			// Strikes are expired in database only, one process does it for all guilds
+			if (!bot.getCluster().tryLease(STRIKES_LEASE_NAME, STRIKES_LEASE)) return;
+			db.strikes.expireStrikes(Instant.now());
 		} catch (Throwable t) {
 			log.error("Exception caught during expired warns check.", t);
 		}
 	}
 
+	/**
+	 * Other processes do not wait for strike deadlines, while the lease holder runs.
+	 * They try to take the lease over on reconciliation.
+	 */
+	private Long getNextStrikeExpiration() {
+		if (bot.getCluster().isLeasedByOther(STRIKES_LEASE_NAME)) return null;
+		return db.strikes.getNextExpiration();
+	}
+
 	private void checkExpiredPersistentRoles() {
 		try {
 			db.persistent.removeExpired();
@@ -249,7 +256,7 @@ public class ScheduledCheck {
 
 			expired.forEach(data -> {
 				long channelId = castLong(data.get("channelId"));
-				TextChannel channel = bot.JDA.getTextChannelById(channelId);
+				TextChannel channel = bot.getShardManager().getTextChannelById(channelId);
 				if (channel == null) {
 					long guildId = castLong(data.get("guildId"));
 					log.warn("Channel for modReport @ '{}' not found. Deleting.", guildId);
@@ -283,69 +290,75 @@ public class ScheduledCheck {
 					ignoreExc(() -> db.modReport.removeGuild(guild.getIdLong()));
 				}
 
-				// Search for members with any of required roles (Mod, Admin, ...)
-				guild.findMembers(m -> !Collections.disjoint(m.getRoles(), roles)).setTimeout(10, TimeUnit.SECONDS).onSuccess(members -> {
-					if (members.isEmpty() || members.size() > 20) return; // TODO normal reply - too much users
-					LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
-					LocalDateTime previous = (interval==30 ?
-						now.minusMonths(1) :
-						now.minusDays(interval)
-					);
-
-					List<ReportData> reportDataList = new ArrayList<>(members.size());
-					members.forEach(m -> {
-						if (m.getUser().isBot()) return;
-						int countRoles = bot.getDBUtil().tickets.countTicketsByMod(guild.getIdLong(), m.getIdLong(), previous, now, true);
-						Map<Integer, Integer> countCases = bot.getDBUtil().cases.countCasesByMod(guild.getIdLong(), m.getIdLong(), previous, now);
-						ReportData reportData = new ReportData(m, countRoles, countCases);
-						if (reportData.getCountTotalInt() > 0) {
-							reportDataList.add(reportData);
-						}
-					});
-
-					ModReportRender render = new ModReportRender(guild.getLocale(), bot.getLocaleUtil(),
-						previous, now, reportDataList);
-
-					final String attachmentName = EncodingUtil.encodeModreport(guild.getIdLong(), now.toEpochSecond(ZoneOffset.UTC));
+				LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+				LocalDateTime previous = (interval==30 ?
+					now.minusMonths(1) :
+					now.minusDays(interval)
+				);
+				// Cases and tickets of all moderators in one query
+				Map<Long, ModActivity> activity = db.modReport.countModActivity(guild.getIdLong(), previous, now);
+				if (activity.isEmpty()) {
+					sendReport(channel, previous, now, List.of());
+					return;
+				}
 
-					try {
-						channel.sendFiles(FileUpload.fromData(
-							new ByteArrayInputStream(render.renderToBytes()),
-							attachmentName
-						)).queue();
-					} catch (IOException e) {
-						log.error("Exception caught during rendering of modReport.", e);
-					}
-				});
+				// Search for active members with any of required roles (Mod, Admin, ...)
+				bot.getMemberService().findMembers(guild, m -> activity.containsKey(m.getIdLong()) && !Collections.disjoint(m.getRoles(), roles))
+					.thenAccept(members -> {
+						List<ReportData> reportDataList = members.stream()
+							.filter(m -> !m.getUser().isBot())
+							.map(m -> {
+								ModActivity modActivity = activity.get(m.getIdLong());
+								return new ReportData(m, modActivity.getRoleTickets(), modActivity.getCaseCounts());
+							})
+							.filter(reportData -> reportData.getCountTotalInt() > 0)
+							.sorted(Comparator.comparingInt(ReportData::getCountTotalInt).reversed())
+							.toList();
+						sendReport(channel, previous, now, reportDataList);
+					})
+					.exceptionally(ex -> {
+						log.warn("Failed to load members of {} for moderation report", guild.getId(), ex);
+						return null;
+					});
 			});
 		} catch (Throwable t) {
 			log.error("Exception caught during modReport schedule check.", t);
 		}
 	}
 
+	private void sendReport(TextChannel channel, LocalDateTime previous, LocalDateTime now, List<ReportData> reportDataList) {
+		final Guild guild = channel.getGuild();
+		final List<ModReportRender> renders = ModReportRender.paginate(guild.getLocale(), bot.getLocaleUtil(),
+			previous, now, reportDataList);
+
+		// Pages are rendered one by one, not to fill the render queue
+		final List<FileUpload> files = new ArrayList<>(renders.size());
+		CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+		for (int i = 0; i < renders.size(); i++) {
+			final ModReportRender render = renders.get(i);
+			final String attachmentName = EncodingUtil.encodeModreport(guild.getIdLong(), now.toEpochSecond(ZoneOffset.UTC), i+1);
+			chain = chain.thenCompose(v -> bot.getRenderService().render(render))
+				.thenAccept(bytes -> files.add(FileUpload.fromData(bytes, attachmentName)));
+		}
+
+		chain.whenComplete((v, ex) -> {
+			if (ex != null) {
+				log.error("Exception caught during rendering of modReport.", ex);
+				return;
+			}
+			for (int i = 0; i < files.size(); i += Message.MAX_FILE_AMOUNT) {
+				channel.sendFiles(files.subList(i, Math.min(files.size(), i+Message.MAX_FILE_AMOUNT))).queue();
+			}
+		});
+	}
+
 	// Each 2-5 minutes
 	public void regularChecks() {
-		CompletableFuture.runAsync(this::checkExpiredCases)
-			.thenRunAsync(this::updateDbQueue);
+		CompletableFuture.runAsync(bot.getMetrics().timed("db-queue", this::updateDbQueue));
 	}
 
 	private void checkExpiredCases() {
-		List<CaseData> expired = db.cases.getExpired();
-		if (expired.isEmpty()) return;
-		
-		expired.forEach(caseData -> {
-			try {
-				db.cases.setInactive(caseData.getRowId());
-				if (caseData.getType().equals(BAN)) {
-					Guild guild = bot.JDA.getGuildById(caseData.getGuildId());
-					if (guild == null || !guild.getSelfMember().hasPermission(Permission.BAN_MEMBERS)) return;
-					guild.unban(User.fromId(caseData.getTargetId())).reason(bot.getLocaleUtil().getLocalized(guild.getLocale(), "misc.ban_expired")).queue(
-						s -> bot.getLogger().mod.onAutoUnban(caseData, guild),
-						f -> log.warn("Exception at unban attempt.", f)
-					);
-				}
-			} catch (SQLException ignored) {}
-		});
+		caseExpiry.process();
 	}
 
 	private void updateDbQueue() {
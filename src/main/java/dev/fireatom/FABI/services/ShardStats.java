@@ -0,0 +1,39 @@
+package dev.fireatom.FABI.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts gateway events of each shard.
+ * <p>
+ * {@link #sample()} is called once a minute and stores event count since previous sample,
+ * so the rate does not depend on when it is read.
+ */
+public class ShardStats implements EventListener {
+
+	private final Map<Integer, LongAdder> counters = new ConcurrentHashMap<>();
+	private final Map<Integer, Long> lastMinute = new ConcurrentHashMap<>();
+
+	@Override
+	public void onEvent(@NotNull GenericEvent event) {
+		counters.computeIfAbsent(event.getJDA().getShardInfo().getShardId(), k -> new LongAdder()).increment();
+	}
+
+	public void sample() {
+		counters.forEach((shardId, counter) -> lastMinute.put(shardId, counter.sumThenReset()));
+	}
+
+	/**
+	 * @return Events received by shard during last full minute
+	 */
+	public long getEventsPerMinute(int shardId) {
+		return lastMinute.getOrDefault(shardId, 0L);
+	}
+
+}
@@ -0,0 +1,71 @@
+package dev.fireatom.FABI.services.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Caches, that are exported by {@link MetricsRegistry}.
+ * <p>
+ * Caches are created in many places (managers, listeners, static utils) before metrics are set up,
+ * so they register here by name and registry reads them on each scrape.
+ */
+public final class CacheMetrics {
+
+	private static final Map<String, Source> caches = new ConcurrentHashMap<>();
+
+	private CacheMetrics() {}
+
+	public interface Source {
+		long hitCount();
+
+		long missCount();
+
+		long size();
+	}
+
+	/**
+	 * Registers the cache, replaces previous one with the same name.
+	 */
+	public static void register(@NotNull String name, @NotNull Source source) {
+		caches.put(name, source);
+	}
+
+	/**
+	 * Registers Caffeine cache, it must be built with {@code recordStats()}.
+	 */
+	public static void register(@NotNull String name, @NotNull Cache<?, ?> cache) {
+		register(name, new Source() {
+			@Override
+			public long hitCount() {
+				return cache.stats().hitCount();
+			}
+
+			@Override
+			public long missCount() {
+				return cache.stats().missCount();
+			}
+
+			@Override
+			public long size() {
+				return cache.estimatedSize();
+			}
+		});
+	}
+
+	static Map<String, Source> getCaches() {
+		return caches;
+	}
+
+	/**
+	 * @return Ratio of hits to all requests, 0 if there were none
+	 */
+	public static double hitRatio(@NotNull Source source) {
+		long hits = source.hitCount();
+		long total = hits + source.missCount();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+}
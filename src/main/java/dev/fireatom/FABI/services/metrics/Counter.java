@@ -0,0 +1,24 @@
+package dev.fireatom.FABI.services.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing value.
+ */
+public class Counter {
+
+	private final LongAdder value = new LongAdder();
+
+	public void inc() {
+		value.increment();
+	}
+
+	public void add(long amount) {
+		value.add(amount);
+	}
+
+	public long get() {
+		return value.sum();
+	}
+
+}
@@ -0,0 +1,86 @@
+package dev.fireatom.FABI.services.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets (HDR style).
+ * <p>
+ * Values are stored in microseconds, each power of two is split into {@value SUB_BUCKETS} buckets,
+ * so bucket of any value is within 12.5% of it for the whole range from a microsecond to hours.
+ * Recording is lock-free and does not allocate.
+ */
+public class Histogram {
+
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS; // up to Long.MAX_VALUE
+
+	// Exported boundaries, seconds
+	static final double[] BOUNDS = {0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sumNanos = new LongAdder();
+
+	/**
+	 * @param nanos Duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		counts.incrementAndGet(index(nanos / 1000));
+		count.increment();
+		sumNanos.add(nanos);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return Sum of recorded values in seconds
+	 */
+	public double getSum() {
+		return sumNanos.sum() / 1e9;
+	}
+
+	/**
+	 * Internal bucket is counted for a boundary only if all its values are below it,
+	 * so counts may be slightly lower than exact ones.
+	 *
+	 * @return Cumulative count for each of {@link #BOUNDS}
+	 */
+	long[] getCumulative() {
+		long[] result = new long[BOUNDS.length];
+		long seen = 0;
+		int bound = 0;
+		for (int i = 0; i < BUCKETS && bound < BOUNDS.length; i++) {
+			while (bound < BOUNDS.length && upperMicros(i) > BOUNDS[bound] * 1e6) {
+				result[bound++] = seen;
+			}
+			seen += counts.get(i);
+		}
+		while (bound < BOUNDS.length) {
+			result[bound++] = seen;
+		}
+		return result;
+	}
+
+	private static int index(long micros) {
+		if (micros < SUB_BUCKETS) return (int) micros;
+		int exponent = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+		int sub = (int) (micros >>> exponent) - SUB_BUCKETS;
+		return (exponent + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return Highest value in microseconds, that falls into the bucket (exclusive)
+	 */
+	private static long upperMicros(int index) {
+		if (index < SUB_BUCKETS) return index + 1;
+		int exponent = index / SUB_BUCKETS - 1;
+		long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+		return (sub + 1) << exponent;
+	}
+
+}
@@ -0,0 +1,159 @@
+package dev.fireatom.FABI.services.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counters, gauges and latency histograms of the bot, exported in Prometheus text format.
+ * <p>
+ * Metric is identified by name and labels, given as key-value pairs:
+ * <pre>{@code metrics.histogram("fabi_command_duration_seconds", "...", "command", "ban").record(nanos)}</pre>
+ * Same name and labels always return the same metric, so it can be requested on each use
+ * or stored in a field.
+ */
+public class MetricsRegistry {
+
+	private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+	@NotNull
+	public Counter counter(@NotNull String name, @NotNull String help, String... labels) {
+		return (Counter) family(name, help, Type.COUNTER).children.computeIfAbsent(labels(labels), k -> new Counter());
+	}
+
+	@NotNull
+	public Histogram histogram(@NotNull String name, @NotNull String help, String... labels) {
+		return (Histogram) family(name, help, Type.HISTOGRAM).children.computeIfAbsent(labels(labels), k -> new Histogram());
+	}
+
+	/**
+	 * Registers gauge, value is read on each scrape. Replaces previous gauge with the same labels.
+	 */
+	public void gauge(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier value, String... labels) {
+		family(name, help, Type.GAUGE).children.put(labels(labels), value);
+	}
+
+	/**
+	 * Wraps scheduled job, so its duration is recorded.
+	 *
+	 * @param job  Job name
+	 * @param task Job
+	 */
+	@NotNull
+	public Runnable timed(@NotNull String job, @NotNull Runnable task) {
+		final Histogram histogram = histogram("fabi_scheduler_job_duration_seconds", "Duration of scheduled jobs", "job", job);
+		return () -> {
+			final long start = System.nanoTime();
+			try {
+				task.run();
+			} finally {
+				histogram.record(System.nanoTime()-start);
+			}
+		};
+	}
+
+	/**
+	 * @return All metrics in Prometheus text exposition format
+	 */
+	@NotNull
+	public String scrape() {
+		StringBuilder builder = new StringBuilder(8192);
+		new TreeMap<>(families).forEach((name, family) -> {
+			builder.append("# HELP ").append(name).append(' ').append(family.help).append('\n')
+				.append("# TYPE ").append(name).append(' ').append(family.type.name().toLowerCase()).append('\n');
+			new TreeMap<>(family.children).forEach((labels, metric) -> {
+				switch (metric) {
+					case Counter counter -> sample(builder, name, labels, counter.get());
+					case DoubleSupplier gauge -> sample(builder, name, labels, gauge.getAsDouble());
+					case Histogram histogram -> writeHistogram(builder, name, labels, histogram);
+					default -> {}
+				}
+			});
+		});
+		writeCaches(builder);
+		return builder.toString();
+	}
+
+	private void writeHistogram(StringBuilder builder, String name, String labels, Histogram histogram) {
+		long[] cumulative = histogram.getCumulative();
+		for (int i = 0; i < Histogram.BOUNDS.length; i++) {
+			sample(builder, name+"_bucket", withLabel(labels, "le", format(Histogram.BOUNDS[i])), cumulative[i]);
+		}
+		long count = histogram.getCount();
+		sample(builder, name+"_bucket", withLabel(labels, "le", "+Inf"), count);
+		sample(builder, name+"_sum", labels, histogram.getSum());
+		sample(builder, name+"_count", labels, count);
+	}
+
+	private void writeCaches(StringBuilder builder) {
+		Map<String, CacheMetrics.Source> caches = new TreeMap<>(CacheMetrics.getCaches());
+		if (caches.isEmpty()) return;
+		builder.append("# HELP fabi_cache_hits_total Cache lookups, that found the value\n# TYPE fabi_cache_hits_total counter\n");
+		caches.forEach((name, cache) -> sample(builder, "fabi_cache_hits_total", labels("cache", name), cache.hitCount()));
+		builder.append("# HELP fabi_cache_misses_total Cache lookups, that did not find the value\n# TYPE fabi_cache_misses_total counter\n");
+		caches.forEach((name, cache) -> sample(builder, "fabi_cache_misses_total", labels("cache", name), cache.missCount()));
+		builder.append("# HELP fabi_cache_hit_ratio Ratio of hits to all lookups since start\n# TYPE fabi_cache_hit_ratio gauge\n");
+		caches.forEach((name, cache) -> sample(builder, "fabi_cache_hit_ratio", labels("cache", name), CacheMetrics.hitRatio(cache)));
+		builder.append("# HELP fabi_cache_size Entries in cache\n# TYPE fabi_cache_size gauge\n");
+		caches.forEach((name, cache) -> sample(builder, "fabi_cache_size", labels("cache", name), cache.size()));
+	}
+
+	private Family family(String name, String help, Type type) {
+		Family family = families.computeIfAbsent(name, k -> new Family(type, help));
+		if (family.type != type)
+			throw new IllegalArgumentException("Metric '%s' is already registered as %s".formatted(name, family.type));
+		return family;
+	}
+
+	private static void sample(StringBuilder builder, String name, String labels, double value) {
+		builder.append(name).append(labels).append(' ').append(format(value)).append('\n');
+	}
+
+	private static String format(double value) {
+		if (value == Math.rint(value) && !Double.isInfinite(value)) return Long.toString((long) value);
+		return Double.toString(value);
+	}
+
+	private static String labels(String... labels) {
+		if (labels.length == 0) return "";
+		if (labels.length % 2 != 0)
+			throw new IllegalArgumentException("Labels must be key-value pairs");
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < labels.length; i += 2) {
+			if (i > 0) builder.append(',');
+			builder.append(labels[i]).append("=\"").append(escape(labels[i+1])).append('"');
+		}
+		return builder.append('}').toString();
+	}
+
+	private static String withLabel(String labels, String key, String value) {
+		String label = key+"=\""+value+"\"";
+		if (labels.isEmpty()) return "{"+label+"}";
+		return labels.substring(0, labels.length()-1)+","+label+"}";
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	private enum Type {
+		COUNTER,
+		GAUGE,
+		HISTOGRAM
+	}
+
+	private static class Family {
+		private final Type type;
+		private final String help;
+		private final Map<String, Object> children = new ConcurrentHashMap<>();
+
+		Family(Type type, String help) {
+			this.type = type;
+			this.help = help;
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package dev.fireatom.FABI.services.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.fireatom.FABI.services.CountingThreadFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * HTTP endpoint {@code /metrics} for Prometheus scraper.
+ * Binds to localhost by default, metrics are not meant to be public.
+ */
+public class MetricsServer {
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(new CountingThreadFactory("VOTL", "Metrics"));
+
+	public MetricsServer(@NotNull MetricsRegistry registry, @NotNull String host, int port) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		server.createContext("/metrics", exchange -> handle(exchange, registry));
+		server.setExecutor(executor);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange, MetricsRegistry registry) throws IOException {
+		try {
+			if (!exchange.getRequestMethod().equals("GET")) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+}
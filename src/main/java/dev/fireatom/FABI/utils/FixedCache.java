@@ -4,16 +4,32 @@ import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
 
 /**
+ * Cache with fixed count of items, oldest inserted item is replaced.
+ * <p>
+ * Hits and misses are counted by {@link #contains(Object)}, as managers check it before {@link #get(Object)}.
+ * <p>
+ * When several processes share the database, items changed by other process are not invalidated.
+ * Then {@link #setMaxAge(long)} limits how long items are kept, expired items count as missing.
  *
  * @param <K> key type
  * @param <V> cache item type
  */
-public class FixedCache<K, V> {
+public class FixedCache<K, V> implements CacheMetrics.Source {
 	private final ConcurrentMap<K, V> map;
 	private final K[] keys;
 	private final AtomicInteger currIndex = new AtomicInteger(0);
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	// Insert time of items, only used with max age
+	private final ConcurrentMap<K, Long> inserted = new ConcurrentHashMap<>();
+
+	// Milliseconds, 0 - items do not expire
+	private static volatile long maxAge = 0;
 
 	@SuppressWarnings("unchecked")
 	public FixedCache(int size) {
@@ -23,16 +39,36 @@ public class FixedCache<K, V> {
 		this.keys = (K[]) new Object[size];
 	}
 
+	/**
+	 * @param name Name, under which cache is exported to metrics
+	 * @param size Max items
+	 */
+	public FixedCache(String name, int size) {
+		this(size);
+		CacheMetrics.register(name, this);
+	}
+
+	/**
+	 * Applies to all caches.
+	 *
+	 * @param millis Max age of items, 0 to keep items until replaced
+	 */
+	public static void setMaxAge(long millis) {
+		maxAge = Math.max(0, millis);
+	}
+
 	/**
 	 * @param key key
 	 * @param value value
 	 * @return previously associated value with the key (or null if didn't exist).
 	 */
 	public V put(K key, V value) {
+		if (maxAge > 0) inserted.put(key, System.currentTimeMillis());
 		if (map.containsKey(key)) {
 			return map.put(key, value);
 		}
 		if (keys[currIndex.get()] != null) {
+			inserted.remove(keys[currIndex.get()]);
 			map.remove(keys[currIndex.get()]);
 		}
 		keys[currIndex.getAndUpdate(i -> (i + 1) % keys.length)] = key;
@@ -40,10 +76,12 @@ public class FixedCache<K, V> {
 	}
 
 	public V pull(K key) {
+		inserted.remove(key);
 		return map.remove(key);
 	}
 
 	public void purge() {
+		inserted.clear();
 		map.clear();
 	}
 	
@@ -52,11 +90,42 @@ public class FixedCache<K, V> {
 	}
 	
 	public boolean contains(K key) {
-		return map.containsKey(key);
+		if (map.containsKey(key) && !expired(key)) {
+			hits.increment();
+			return true;
+		}
+		misses.increment();
+		return false;
 	}
 	
+	private boolean expired(K key) {
+		final long age = maxAge;
+		if (age == 0) return false;
+		Long time = inserted.get(key);
+		if (time != null && System.currentTimeMillis() - time < age) return false;
+		// Loaded again by the manager
+		inserted.remove(key);
+		map.remove(key);
+		return true;
+	}
+
 	public Collection<V> getValues() {
 		return map.values();
 	}
 
+	@Override
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	@Override
+	public long missCount() {
+		return misses.sum();
+	}
+
+	@Override
+	public long size() {
+		return map.size();
+	}
+
 }
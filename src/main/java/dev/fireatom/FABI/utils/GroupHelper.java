@@ -1,147 +1,382 @@
 package dev.fireatom.FABI.utils;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.fireatom.FABI.App;
-import dev.fireatom.FABI.objects.CaseType;
+import dev.fireatom.FABI.objects.SyncAction;
+import dev.fireatom.FABI.services.ClusterService;
 import dev.fireatom.FABI.utils.database.DBUtil;
-import dev.fireatom.FABI.utils.logs.GuildLogger;
+import dev.fireatom.FABI.utils.database.managers.ClusterManager.Node;
+import dev.fireatom.FABI.utils.database.managers.SyncJobManager;
+import dev.fireatom.FABI.utils.database.managers.SyncJobManager.SyncJob;
 
-import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.requests.RestAction;
 
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Runs group sync actions (ban, unban, kick) as persistent jobs.
+ * <p>
+ * Target guilds of a job are resolved in the database once. Requests are dispatched
+ * one per tick and round-robin between jobs, at most one request per guild is in flight,
+ * so a large group does not hit the global rate limit or hold back other jobs.
+ * State of each guild is saved after its request, unfinished jobs are resumed after restart.
+ * <p>
+ * With several processes, each of them handles pending guilds of own shards and polls for jobs
+ * created by others. Process owning the master guild waits for others, skips guilds of shards
+ * not handled by any running process, and reports the result.
+ */
 public class GroupHelper {
 
-	private final JDA JDA;
-	private final GuildLogger logger;
+	private final Logger log = (Logger) LoggerFactory.getLogger(GroupHelper.class);
+
+	private static final long TICK = 100; // ms
+	private static final int MAX_IN_FLIGHT = 5;
+	// Progress is posted to log channel after every this much guilds
+	private static final int PROGRESS_STEP = 50;
+	// New jobs of other processes and waiting jobs are checked this often
+	private static final long POLL = 30; // seconds
+	private static final long FINISH_LEASE = 300; // seconds
+	private static final long RESUME_RETRY = 5; // seconds
+
+	private final App bot;
 	private final DBUtil db;
+	private final ClusterService cluster;
+	private final ScheduledExecutorService executor;
 
-	public GroupHelper(App bot) {
-		this.JDA = bot.JDA;
-		this.logger = bot.getLogger();
+	private final Queue<Job> jobs = new ConcurrentLinkedQueue<>();
+	private final Set<Long> busyGuilds = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	// Jobs with no pending guilds of this process, waiting for other processes
+	private final Set<Integer> awaiting = ConcurrentHashMap.newKeySet();
+
+	// Guarded by this
+	private ScheduledFuture<?> ticker;
+	private ScheduledFuture<?> poller;
+	private ScheduledFuture<?> resumeRetry;
+	private boolean resumed = false;
+
+	public GroupHelper(App bot, ScheduledExecutorService executor) {
+		this.bot = bot;
 		this.db = bot.getDBUtil();
+		this.cluster = bot.getCluster();
+		this.executor = executor;
+	}
+
+	public void runBan(int groupId, Guild executedGuild, User user, String reason, String modName) {
+		executor.execute(() -> submit(SyncAction.BAN, groupId, executedGuild, user, reason, modName));
+	}
+
+	public void runUnban(int groupId, Guild master, User user, String reason, String modName) {
+		executor.execute(() -> submit(SyncAction.UNBAN, groupId, master, user, reason, modName));
 	}
 
-	private void banUser(int groupId, Guild executedGuild, User target, String reason, String modName) {
-		final List<Long> guildIds = new ArrayList<>();
-		for (long guildId : db.group.getGroupManagers(groupId)) {
-			for (int subGroupId : db.group.getOwnedGroups(guildId)) {
-				guildIds.addAll(db.group.getGroupMembers(subGroupId));
+	public void runKick(int groupId, Guild master, User user, String reason, String modName) {
+		executor.execute(() -> submit(SyncAction.KICK, groupId, master, user, reason, modName));
+	}
+
+	/**
+	 * Loads unfinished jobs from database, once all shards are connected. Only first call has effect.
+	 */
+	public void resume() {
+		synchronized (this) {
+			if (resumed) return;
+			if (!bot.isReady()) {
+				// Guilds of shards, that are not connected yet, would be skipped
+				if (resumeRetry == null || resumeRetry.isDone())
+					resumeRetry = executor.schedule(this::resume, RESUME_RETRY, TimeUnit.SECONDS);
+				return;
 			}
+			resumed = true;
+			if (cluster.isClustered())
+				poller = executor.scheduleWithFixedDelay(this::poll, POLL, POLL, TimeUnit.SECONDS);
 		}
-		guildIds.addAll(db.group.getGroupMembers(groupId));
-		if (guildIds.isEmpty()) return;
-
-		final int maxCount = guildIds.size();
-		final List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
-		final String newReason = "Sync #%s by @%s: %s".formatted(groupId, modName, reason);
-		for (long guildId : guildIds) {
-			final Guild guild = JDA.getGuildById(guildId);
-			if (guild == null) continue;
-			// fail-safe check if the target has temporal ban (to prevent auto unban)
-			try {
-				db.cases.setInactiveByType(target.getIdLong(), guildId, CaseType.BAN);
-			} catch (SQLException ignored) {}
-
-			completableFutures.add(guild.ban(target, 0, TimeUnit.SECONDS).reason(newReason).submit());
+		loadJobs(true);
+	}
+
+	private void poll() {
+		try {
+			loadJobs(false);
+			for (Integer jobId : List.copyOf(awaiting)) {
+				SyncJob data = db.syncJobs.getJob(jobId);
+				if (data == null) awaiting.remove(jobId);
+				else tryFinish(data);
+			}
+		} catch (Throwable t) {
+			log.error("Exception caught during group sync poll", t);
 		}
+	}
 
-		CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
-			.whenComplete((done, exception) -> {
-				int banned = 0;
-				for (CompletableFuture<Void> future : completableFutures) {
-					if (!future.isCompletedExceptionally()) banned++;
+	/**
+	 * Adds jobs with pending guilds of this process.
+	 *
+	 * @param resumed Jobs are resumed after restart
+	 */
+	private void loadJobs(boolean resumed) {
+		for (SyncJob data : db.syncJobs.getJobs()) {
+			if (data.getAction() == null) continue;
+			if (awaiting.contains(data.getJobId())) continue;
+			if (jobs.stream().anyMatch(job -> job.data.getJobId() == data.getJobId())) continue;
+			List<Long> pending = db.syncJobs.getPending(data.getJobId());
+			if (pending.isEmpty()) {
+				// Only results of other processes are left
+				if (cluster.owns(data.getMasterId())) {
+					awaiting.add(data.getJobId());
+					tryFinish(data);
 				}
-				// Log in server where 
-				logger.mod.onHelperSyncBan(groupId, executedGuild, target, reason, banned, maxCount);
-			});
+				continue;
+			}
+			Map<Integer, Integer> states = db.syncJobs.countStates(data.getJobId());
+			int total = states.values().stream().mapToInt(Integer::intValue).sum();
+			Job job = new Job(data, total);
+			job.processed.set(total - states.getOrDefault(SyncJobManager.PENDING, 0));
+			job.success.set(states.getOrDefault(SyncJobManager.DONE, 0));
+			job.pending.addAll(pending);
+			jobs.add(job);
+			if (resumed) {
+				log.info("Resumed sync job #{} ({}), {}/{} guilds done", data.getJobId(), data.getAction(), job.processed.get(), total);
+				if (job.processed.get() > 0) reportProgress(job);
+			} else {
+				log.info("Picked up sync job #{} ({}), {} guilds of this process", data.getJobId(), data.getAction(), pending.size());
+			}
+		}
+		startTicker();
 	}
 
-	private void unbanUser(int groupId, Guild master, User target, String reason, String modName) {
-		final List<Long> guildIds = new ArrayList<>();
-		for (long guildId : db.group.getGroupManagers(groupId)) {
-			for (int subGroupId : db.group.getOwnedGroups(guildId)) {
-				guildIds.addAll(db.group.getGroupMembers(subGroupId));
-			}
+	public int getQueuedCount() {
+		return jobs.stream().mapToInt(job -> job.pending.size()).sum();
+	}
+
+	public synchronized void shutdown() {
+		if (ticker != null) ticker.cancel(false);
+		ticker = null;
+		if (poller != null) poller.cancel(false);
+		poller = null;
+		if (resumeRetry != null) resumeRetry.cancel(false);
+		resumeRetry = null;
+	}
+
+	private void submit(SyncAction action, int groupId, Guild master, User target, String reason, String modName) {
+		final String logReason = Optional.ofNullable(reason).orElse("none");
+		final int jobId;
+		try {
+			jobId = db.syncJobs.create(groupId, action, target.getIdLong(), master.getIdLong(), logReason, modName);
+		} catch (SQLException ex) {
+			log.error("Failed to create sync job for group #{}", groupId, ex);
+			return;
+		}
+		if (jobId == 0) return;
+
+		SyncJob data = db.syncJobs.getJob(jobId);
+		if (data == null) return;
+		Job job = new Job(data, 0);
+		job.pending.addAll(db.syncJobs.getPending(jobId));
+		job.total = db.syncJobs.countStates(jobId).values().stream().mapToInt(Integer::intValue).sum();
+		if (job.total == 0) {
+			deleteJob(jobId);
+			return;
 		}
-		guildIds.addAll(db.group.getGroupMembers(groupId));
-		if (guildIds.isEmpty()) return;
-
-		final int maxCount = guildIds.size();
-		final List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
-		final String newReason = "Sync #%s by @%s: %s".formatted(groupId, modName, reason);
-		for (long guildId : guildIds) {
-			final Guild guild = JDA.getGuildById(guildId);
-			if (guild == null) continue;
-			// Remove temporal ban case
-			try {
-				db.cases.setInactiveByType(target.getIdLong(), guildId, CaseType.BAN);
-			} catch (SQLException ignored) {}
-
-			completableFutures.add(guild.unban(target).reason(newReason).submit());
+		if (job.pending.isEmpty()) {
+			// All guilds belong to other processes
+			awaiting.add(jobId);
+			return;
 		}
+		jobs.add(job);
+		startTicker();
+	}
 
-		CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
-			.whenComplete((done, exception) -> {
-				int unbanned = 0;
-				for (CompletableFuture<Void> future : completableFutures) {
-					if (!future.isCompletedExceptionally()) unbanned++;
-				}
-				logger.mod.onHelperSyncUnban(groupId, master, target, reason, unbanned, maxCount);
-			});
+	private synchronized void startTicker() {
+		if (ticker != null || jobs.isEmpty()) return;
+		ticker = executor.scheduleWithFixedDelay(this::tick, 0, TICK, TimeUnit.MILLISECONDS);
+	}
+
+	private synchronized void stopTickerIfIdle() {
+		if (!jobs.isEmpty() || ticker == null) return;
+		ticker.cancel(false);
+		ticker = null;
+	}
+
+	private void tick() {
+		try {
+			if (inFlight.get() >= MAX_IN_FLIGHT) return;
+
+			Job job = jobs.poll();
+			if (job == null) {
+				stopTickerIfIdle();
+				return;
+			}
+
+			Long guildId = job.pending.peek();
+			if (guildId == null) {
+				// Job is finished, when its last requests complete
+				if (job.inFlight.get() == 0) completeLocal(job);
+				else jobs.add(job);
+				return;
+			}
+			// Same guild is handled by other job, its rate limit bucket is busy
+			if (!busyGuilds.add(guildId)) {
+				jobs.add(job);
+				return;
+			}
+			job.pending.poll();
+			jobs.add(job);
+			dispatch(job, guildId);
+		} catch (Throwable t) {
+			log.error("Exception caught during group sync", t);
+		}
 	}
 
-	private void kickUser(int groupId, Guild master, User target, String reason, String modName) {
-		final List<Long> guildIds = new ArrayList<>();
-		for (long guildId : db.group.getGroupManagers(groupId)) {
-			for (int subGroupId : db.group.getOwnedGroups(guildId)) {
-				guildIds.addAll(db.group.getGroupMembers(subGroupId));
+	private void dispatch(Job job, long guildId) {
+		final Guild guild = bot.getShardManager().getGuildById(guildId);
+		if (guild == null) {
+			if (!bot.isShardReady(guildId)) {
+				// Shard is reconnecting, try the guild again later
+				busyGuilds.remove(guildId);
+				job.pending.add(guildId);
+				return;
 			}
+			completed(job, guildId, SyncJobManager.SKIPPED);
+			return;
 		}
-		guildIds.addAll(db.group.getGroupMembers(groupId));
-		if (guildIds.isEmpty()) return;
 
-		final int maxCount = guildIds.size();
-		final List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
-		final String newReason = "Sync #%s by @%s: %s".formatted(groupId, modName, reason);
-		for (long guildId : guildIds) {
-			final Guild guild = JDA.getGuildById(guildId);
-			if (guild == null) continue;
+		final UserSnowflake target = UserSnowflake.fromId(job.data.getTargetId());
+		final String reason = "Sync #%s by @%s: %s".formatted(job.data.getGroupId(), job.data.getModName(), job.data.getReason());
+		final RestAction<Void> action = switch (job.data.getAction()) {
+			case BAN -> guild.ban(target, 0, TimeUnit.SECONDS).reason(reason);
+			case UNBAN -> guild.unban(target).reason(reason);
+			case KICK -> guild.kick(target).reason(reason);
+		};
+
+		inFlight.incrementAndGet();
+		job.inFlight.incrementAndGet();
+		action.queue(s -> {
+			// Counted as in flight until saved, so job is not finished before it
+			completed(job, guildId, SyncJobManager.DONE);
+			job.inFlight.decrementAndGet();
+			inFlight.decrementAndGet();
+		}, f -> {
+			completed(job, guildId, SyncJobManager.FAILED);
+			job.inFlight.decrementAndGet();
+			inFlight.decrementAndGet();
+		});
+	}
 
-			completableFutures.add(guild.kick(target).reason(newReason).submit());
+	private void completed(Job job, long guildId, int state) {
+		busyGuilds.remove(guildId);
+		try {
+			db.syncJobs.setState(job.data.getJobId(), guildId, state);
+		} catch (SQLException ex) {
+			log.warn("Failed to save sync job #{} progress", job.data.getJobId(), ex);
 		}
+		if (state == SyncJobManager.DONE) job.success.incrementAndGet();
+		int processed = job.processed.incrementAndGet();
+		if (processed % PROGRESS_STEP == 0 && processed < job.total) reportProgress(job);
+	}
 
-		CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
-			.whenComplete((done, exception) -> {
-				int kicked = 0;
-				for (CompletableFuture<Void> future : completableFutures) {
-					if (!future.isCompletedExceptionally()) kicked++;
-				}
-				logger.mod.onHelperSyncKick(groupId, master, target, reason, kicked, maxCount);
-			});
+	/**
+	 * All guilds of this process are processed.
+	 */
+	private void completeLocal(Job job) {
+		final SyncJob data = job.data;
+		if (!cluster.isClustered()) {
+			finish(data, job.success.get(), job.total);
+			return;
+		}
+		// Job is finished by the process of master guild
+		if (!cluster.owns(data.getMasterId())) return;
+		awaiting.add(data.getJobId());
+		tryFinish(data);
 	}
 
-	public void runBan(int groupId, Guild executedGuild, User user, String reason, String modName) {
-		CompletableFuture.runAsync(() -> {
-			banUser(groupId, executedGuild, user, Optional.ofNullable(reason).orElse("none"), modName);
-		});
+	/**
+	 * Finishes the job, if no pending guilds are left.
+	 * Guilds of shards, that are not handled by any running process, are skipped.
+	 */
+	private void tryFinish(SyncJob data) {
+		final int jobId = data.getJobId();
+		// This node saves heartbeats, so in cluster empty list means the read failed
+		final List<Node> alive = cluster.getAliveNodes();
+		if (cluster.isClustered() && alive.isEmpty()) return;
+		List<Long> unhandled = db.syncJobs.getAllPending(jobId).stream()
+			.filter(guildId -> !cluster.isHandled(guildId, alive))
+			.toList();
+		try {
+			db.syncJobs.setStates(jobId, unhandled, SyncJobManager.SKIPPED);
+		} catch (SQLException ex) {
+			log.warn("Failed to skip unhandled guilds of sync job #{}", jobId, ex);
+			return;
+		}
+
+		Map<Integer, Integer> states = db.syncJobs.countStates(jobId);
+		if (states.getOrDefault(SyncJobManager.PENDING, 0) > 0) return;
+		// Only one process reports the job
+		final String lease = "sync-job:"+jobId;
+		if (!cluster.tryLease(lease, FINISH_LEASE)) return;
+		awaiting.remove(jobId);
+		finish(data, states.getOrDefault(SyncJobManager.DONE, 0), states.values().stream().mapToInt(Integer::intValue).sum());
+		cluster.releaseLease(lease);
 	}
 
-	public void runUnban(int groupId, Guild master, User user, String reason, String modName) {
-		CompletableFuture.runAsync(() -> {
-			unbanUser(groupId, master, user, Optional.ofNullable(reason).orElse("none"), modName);
-		});
+	private void finish(SyncJob data, int success, int total) {
+		deleteJob(data.getJobId());
+
+		final Guild master = bot.getShardManager().getGuildById(data.getMasterId());
+		if (master == null) return;
+		bot.getShardManager().retrieveUserById(data.getTargetId()).queue(target -> {
+			switch (data.getAction()) {
+				case BAN -> bot.getLogger().mod.onHelperSyncBan(data.getGroupId(), master, target, data.getReason(), success, total);
+				case UNBAN -> bot.getLogger().mod.onHelperSyncUnban(data.getGroupId(), master, target, data.getReason(), success, total);
+				case KICK -> bot.getLogger().mod.onHelperSyncKick(data.getGroupId(), master, target, data.getReason(), success, total);
+			}
+		}, f -> log.warn("Failed to retrieve user {} for sync job #{} report", data.getTargetId(), data.getJobId()));
 	}
 
-	public void runKick(int groupId, Guild master, User user, String reason, String modName) {
-		CompletableFuture.runAsync(() -> {
-			kickUser(groupId, master, user, Optional.ofNullable(reason).orElse("none"), modName);
-		});
+	private void reportProgress(Job job) {
+		final SyncJob data = job.data;
+		final Guild master = bot.getShardManager().getGuildById(data.getMasterId());
+		if (master == null) return;
+		final int success = job.success.get(), processed = job.processed.get();
+		bot.getShardManager().retrieveUserById(data.getTargetId()).queue(target ->
+			bot.getLogger().mod.onHelperSyncProgress(data.getAction(), data.getGroupId(), master, target, data.getReason(), success, processed, job.total),
+			f -> {}
+		);
+	}
+
+	private void deleteJob(int jobId) {
+		try {
+			db.syncJobs.delete(jobId);
+		} catch (SQLException ex) {
+			log.warn("Failed to delete sync job #{}", jobId, ex);
+		}
+	}
+
+	private static class Job {
+		private final SyncJob data;
+		private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicInteger processed = new AtomicInteger();
+		private final AtomicInteger success = new AtomicInteger();
+		private int total;
+
+		Job(SyncJob data, int total) {
+			this.data = data;
+			this.total = total;
+		}
 	}
 }
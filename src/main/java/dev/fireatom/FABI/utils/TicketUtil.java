@@ -3,6 +3,7 @@ package dev.fireatom.FABI.utils;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -37,7 +38,7 @@ public class TicketUtil {
 	}
 
 	public void closeTicket(long channelId, @Nullable User userClosed, @Nullable String reasonClosed, @NotNull Consumer<? super Throwable> failureHandler) {
-		GuildMessageChannel channel = bot.JDA.getChannelById(GuildMessageChannel.class, channelId);
+		GuildMessageChannel channel = bot.getShardManager().getChannelById(GuildMessageChannel.class, channelId);
 		if (channel == null) return; // already gone :(
 
 		TicketSettingsManager.TranscriptsMode transcriptsMode = bot.getDBUtil().getTicketSettings(channel.getGuild()).getTranscriptsMode();
@@ -104,7 +105,7 @@ public class TicketUtil {
 
 			long authorId = db.tickets.getUserId(channel.getIdLong());
 
-			bot.JDA.retrieveUserById(authorId).queue(user -> {
+			bot.getShardManager().retrieveUserById(authorId).queue(user -> {
 				user.openPrivateChannel().queue(pm -> {
 					MessageEmbed embed = bot.getLogEmbedUtil().ticketClosedPmEmbed(guild.getLocale(), channel, now, userClosed, finalReason);
 					if (file == null) {
@@ -136,7 +137,7 @@ public class TicketUtil {
 
 		// Send reply
 		event.getHook().sendMessageEmbeds(new EmbedBuilder().setColor(Constants.COLOR_SUCCESS)
-			.setDescription(bot.getLocaleUtil().getText(event, "bot.ticketing.listener.created").replace("{channel}", channel.getAsMention()))
+			.setDescription(bot.getLocaleUtil().getLocalized(event.getUserLocale(), "bot.ticketing.listener.created", Map.of("channel", channel.getAsMention())))
 			.build()
 		).setEphemeral(true).queue();
 		// Log
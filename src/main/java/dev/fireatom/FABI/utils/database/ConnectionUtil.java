@@ -1,18 +1,60 @@
 package dev.fireatom.FABI.utils.database;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import dev.fireatom.FABI.utils.database.storage.Dialect;
+import dev.fireatom.FABI.utils.database.storage.StorageBackend;
+
 import ch.qos.logback.classic.Logger;
 
 public class ConnectionUtil {
-	private final String urlSQLite;
+	private final StorageBackend backend;
 
 	protected final Logger logger;
 
-	protected ConnectionUtil(String urlSQLite, Logger logger) {
-		this.urlSQLite = urlSQLite;
+	private volatile DeadlineListener deadlineListener;
+	private volatile QueryListener queryListener;
+	private volatile ShardScope shardScope = ShardScope.ALL;
+
+	protected ConnectionUtil(StorageBackend backend, Logger logger) {
+		this.backend = backend;
 		this.logger = logger;
 	}
 
-	protected String getUrlSQLite() {
-		return urlSQLite;
+	protected Connection getConnection() throws SQLException {
+		return backend.getConnection();
+	}
+
+	protected Dialect getDialect() {
+		return backend.getDialect();
+	}
+
+	protected StorageBackend getBackend() {
+		return backend;
+	}
+
+	protected DeadlineListener getDeadlineListener() {
+		return deadlineListener;
+	}
+
+	protected void setDeadlineListener(DeadlineListener deadlineListener) {
+		this.deadlineListener = deadlineListener;
+	}
+
+	protected QueryListener getQueryListener() {
+		return queryListener;
+	}
+
+	protected void setQueryListener(QueryListener queryListener) {
+		this.queryListener = queryListener;
+	}
+
+	protected ShardScope getShardScope() {
+		return shardScope;
+	}
+
+	protected void setShardScope(ShardScope shardScope) {
+		this.shardScope = shardScope;
 	}
 }
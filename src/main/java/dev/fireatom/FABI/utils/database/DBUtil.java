@@ -4,19 +4,22 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
+import java.nio.file.Path;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.utils.database.managers.*;
 import dev.fireatom.FABI.utils.database.managers.GuildSettingsManager.GuildSettings;
 import dev.fireatom.FABI.utils.database.managers.TicketSettingsManager.TicketSettings;
 import dev.fireatom.FABI.utils.database.managers.VerifySettingsManager.VerifySettings;
+import dev.fireatom.FABI.utils.database.storage.H2Backend;
+import dev.fireatom.FABI.utils.database.storage.MemoryBackend;
+import dev.fireatom.FABI.utils.database.storage.MigrationRunner;
+import dev.fireatom.FABI.utils.database.storage.SqliteBackend;
+import dev.fireatom.FABI.utils.database.storage.StorageBackend;
 import dev.fireatom.FABI.utils.database.managers.GuildLogsManager.LogSettings;
 import dev.fireatom.FABI.utils.database.managers.GuildVoiceManager.VoiceSettings;
 import dev.fireatom.FABI.utils.file.FileManager;
@@ -34,6 +37,8 @@ public class DBUtil {
 	
 	protected final Logger log = (Logger) LoggerFactory.getLogger(DBUtil.class);
 
+	private static final Pattern TRIGGER_START = Pattern.compile("^\\s*CREATE\\s+TRIGGER", Pattern.CASE_INSENSITIVE);
+
 	public final GuildSettingsManager guildSettings;
 	public final GuildVoiceManager guildVoice;
 	public final UserSettingsManager user;
@@ -58,15 +63,23 @@ public class DBUtil {
 	public final GameStrikeManager games;
 	public final PersistentManager persistent;
 	public final ModReportManager modReport;
+	public final ModActivityManager modActivity;
+	public final SyncJobManager syncJobs;
+	public final ClusterManager cluster;
 	public final LevelManager levels;
 	public final LevelRolesManager levelRoles;
 
 	public final BotBlacklistManager botBlacklist;
 
 	public DBUtil(FileManager fileManager) {
+		this(fileManager, createBackend(fileManager));
+	}
+
+	public DBUtil(FileManager fileManager, StorageBackend backend) {
 		this.fileManager = fileManager;
-		this.connectionUtil = new ConnectionUtil("jdbc:sqlite:"+fileManager.getFiles().get("database"), log);
+		this.connectionUtil = new ConnectionUtil(backend, log);
 
+		log.info("Using {} storage", backend.getName());
 		updateDB();
 		
 		guildSettings = new GuildSettingsManager(connectionUtil);
@@ -93,12 +106,66 @@ public class DBUtil {
 		games = new GameStrikeManager(connectionUtil);
 		persistent = new PersistentManager(connectionUtil);
 		modReport = new ModReportManager(connectionUtil);
+		modActivity = new ModActivityManager(connectionUtil);
+		syncJobs = new SyncJobManager(connectionUtil);
+		cluster = new ClusterManager(connectionUtil);
 		levels = new LevelManager(connectionUtil);
 		levelRoles = new LevelRolesManager(connectionUtil);
 
 		botBlacklist = new BotBlacklistManager(connectionUtil);
 	}
 
+	/**
+	 * @return Storage from config: {@code sqlite} (default) database file, or {@code memory}
+	 */
+	private static StorageBackend createBackend(FileManager fileManager) {
+		final String storage = fileManager.getNullableString("config", "storage");
+		if ("memory".equalsIgnoreCase(storage)) {
+			try {
+				MemoryBackend backend = new MemoryBackend("fabi");
+				// Starts from the database file, same as a new file storage
+				backend.load(fileManager.getFiles().get("database").toPath());
+				return backend;
+			} catch (SQLException ex) {
+				throw new IllegalStateException("Failed to create memory storage", ex);
+			}
+		}
+		if ("h2".equalsIgnoreCase(storage)) {
+			try {
+				// Next to the SQLite file, e.g. data/server.mv.db
+				Path database = fileManager.getFiles().get("database").toPath();
+				return new H2Backend(database.resolveSibling(database.getFileName().toString().replaceFirst("\\.db$", "")));
+			} catch (SQLException ex) {
+				throw new IllegalStateException("Failed to open H2 storage", ex);
+			}
+		}
+		return new SqliteBackend(fileManager.getFiles().get("database").toPath());
+	}
+
+	public StorageBackend getBackend() {
+		return connectionUtil.getBackend();
+	}
+
+	public void close() {
+		connectionUtil.getBackend().close();
+	}
+
+	public void setDeadlineListener(DeadlineListener listener) {
+		connectionUtil.setDeadlineListener(listener);
+	}
+
+	public void setQueryListener(QueryListener listener) {
+		connectionUtil.setQueryListener(listener);
+	}
+
+	public void setShardScope(ShardScope shardScope) {
+		connectionUtil.setShardScope(shardScope);
+	}
+
+	public ShardScope getShardScope() {
+		return connectionUtil.getShardScope();
+	}
+
 	public GuildSettings getGuildSettings(Guild guild) {
 		return guildSettings.getSettings(guild.getIdLong());
 	}
@@ -128,14 +195,7 @@ public class DBUtil {
 	// if version lower -> apply instruction for creating new tables, adding/removing columns
 	// in the end set active db version to resources
 	public int getActiveDBVersion() {
-		int version = 0;
-		try (Connection conn = DriverManager.getConnection(connectionUtil.getUrlSQLite());
-			PreparedStatement st = conn.prepareStatement("PRAGMA user_version")) {
-			version = st.executeQuery().getInt(1);
-		} catch(SQLException ex) {
-			log.warn("SQLite: Failed to get active database version", ex);
-		}
-		return version;
+		return new MigrationRunner(connectionUtil.getBackend(), log).getVersion();
 	}
 
 	public int getResourcesDBVersion() {
@@ -146,12 +206,8 @@ public class DBUtil {
 				log.error("Failed to write temp file {}!", tempFile.getName());
 				return version;
 			} else {
-				try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tempFile.getAbsolutePath());
-				PreparedStatement st = conn.prepareStatement("PRAGMA user_version")) {
-					version = st.executeQuery().getInt(1);
-				} catch(SQLException ex) {
-					log.warn("Failed to get resources database version", ex);
-				}
+				// Bundled database is always SQLite
+				version = new MigrationRunner(new SqliteBackend(tempFile.toPath()), log).getVersion();
 			}
 			boolean ignored = tempFile.delete();
 		} catch (IOException ioException) {
@@ -175,13 +231,33 @@ public class DBUtil {
 		lines = lines.subList(activeVersion - 1, lines.size());
 		List<List<String>> result = new ArrayList<>();
 		lines.forEach(line -> {
-			String[] points = line.split(";");
-			List<String> list = points.length == 0 ? List.of(line) : List.of(points);
-			result.add(list);
+			List<String> list = splitStatements(line);
+			result.add(list.isEmpty() ? List.of(line) : list);
 		});
 		return result;
 	}
 
+	// Splits line by ';', but keeps trigger body (BEGIN ... END) whole
+	private List<String> splitStatements(String line) {
+		List<String> result = new ArrayList<>();
+		StringBuilder trigger = null;
+		for (String point : line.split(";")) {
+			if (trigger != null) {
+				trigger.append(';').append(point);
+				if (point.strip().equalsIgnoreCase("END")) {
+					result.add(trigger.toString());
+					trigger = null;
+				}
+			} else if (TRIGGER_START.matcher(point).find()) {
+				trigger = new StringBuilder(point);
+			} else {
+				result.add(point);
+			}
+		}
+		if (trigger != null) result.add(trigger.toString());
+		return result;
+	}
+
 	private void updateDB() {
 		// 0 - skip
 		int newVersion = getResourcesDBVersion();
@@ -190,36 +266,7 @@ public class DBUtil {
 		if (activeVersion == 0) return;
 
 		if (newVersion > activeVersion) {
-			try (
-				Connection conn = DriverManager.getConnection(connectionUtil.getUrlSQLite());
-				Statement st = conn.createStatement()
-			) {
-				conn.setAutoCommit(false);
-				try {
-					for (List<String> version : loadInstructions(activeVersion)) {
-						for (String sql : version) {
-							log.debug(sql);
-							st.execute(sql);
-						}
-						conn.commit();
-					}
-				} catch (SQLException ex) {
-					conn.rollback();
-					throw ex; // rethrow
-				}
-			} catch(SQLException ex) {
-				log.error("SQLite: Failed to execute update!\nRollback performed. Continue database update manually.\n{}", ex.getMessage());
-				return;
-			}
-			
-			// Update version
-			try (Connection conn = DriverManager.getConnection(connectionUtil.getUrlSQLite());
-			Statement st = conn.createStatement()) {
-				st.execute("PRAGMA user_version = "+newVersion);
-				log.info("SQLite: Database version updated to {}", newVersion);
-			} catch(SQLException ex) {
-				log.error("SQLite: Failed to set active database version", ex);
-			}
+			new MigrationRunner(connectionUtil.getBackend(), log).migrate(activeVersion, loadInstructions(activeVersion));
 		}
 	}
 
@@ -0,0 +1,23 @@
+package dev.fireatom.FABI.utils.database;
+
+/**
+ * Receives deadlines of the stored data, that has to be processed once the time comes.
+ */
+@FunctionalInterface
+public interface DeadlineListener {
+
+	/**
+	 * @param type        What expires
+	 * @param epochSecond When it expires
+	 */
+	void onDeadline(Type type, long epochSecond);
+
+	enum Type {
+		CASE,
+		TEMP_ROLE,
+		STRIKE,
+		TICKET_CLOSE,
+		TICKET_REPLY,
+		PERSISTENT_ROLE
+	}
+}
@@ -3,21 +3,28 @@ package dev.fireatom.FABI.utils.database;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @SuppressWarnings("SqlSourceToSinkFlow")
 public class LiteBase {
 
+	// Same as word characters of FTS5 unicode61 tokenizer
+	private static final Pattern FTS_WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+	private static final int FTS_MAX_WORDS = 8;
+
 	private final ConnectionUtil util;
 	protected final String table;
 
@@ -26,30 +33,115 @@ public class LiteBase {
 		this.table = table;
 	}
 
+	/**
+	 * Notifies the listener (if any) about new deadline.
+	 *
+	 * @param type        What expires
+	 * @param epochSecond When it expires
+	 */
+	protected void notifyDeadline(DeadlineListener.Type type, long epochSecond) {
+		DeadlineListener listener = util.getDeadlineListener();
+		if (listener != null && epochSecond > 0) listener.onDeadline(type, epochSecond);
+	}
+
+	/**
+	 * Notifies the listener (if any) about executed statement.
+	 *
+	 * @param sql   Statement
+	 * @param start {@link System#nanoTime()} before execution
+	 */
+	private void onQuery(String sql, long start) {
+		QueryListener listener = util.getQueryListener();
+		if (listener != null) listener.onQuery(getClass().getSimpleName(), sql, System.nanoTime()-start);
+	}
+
+	/**
+	 * @param column Column with guild ID
+	 * @return SQL condition, that selects only rows of guilds handled by this process
+	 * @see ShardScope
+	 */
+	protected String ownedGuilds(String column) {
+		return util.getShardScope().sql(util.getDialect(), column);
+	}
+
+	/**
+	 * @param insert   Insert statement
+	 * @param conflict Unique columns
+	 * @param update   Assignments on conflict, or null to keep existing row
+	 * @return Insert or update statement of the storage dialect
+	 */
+	protected String upsert(String insert, String conflict, String update) {
+		return util.getDialect().upsert(insert, conflict, update);
+	}
+
+	/**
+	 * @return Clause, that limits result rows
+	 */
+	protected String page(int limit, int offset) {
+		return util.getDialect().page(limit, offset);
+	}
+
 	/**
 	 * @param sql SQL statement to execute
 	 * @throws SQLException rethrows error
 	 */
 	protected void execute(final String sql) throws SQLException {
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			st.executeUpdate();
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at statement execution\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at statement execution\nRequest: {}", sql, ex);
+			throw ex;
+		} finally {
+			onQuery(sql, start);
+		}
+	}
+
+	/**
+	 * @param sqls SQL statements to execute in one transaction
+	 * @throws SQLException rethrows error, after rollback
+	 */
+	protected void executeTransaction(final List<String> sqls) throws SQLException {
+		if (sqls.isEmpty()) return;
+		try (Connection conn = util.getConnection();
+			 Statement st = conn.createStatement()) {
+			conn.setAutoCommit(false);
+			try {
+				for (String sql : sqls) {
+					util.logger.debug(sql);
+					final long start = System.nanoTime();
+					try {
+						st.executeUpdate(sql);
+					} finally {
+						onQuery(sql, start);
+					}
+				}
+				conn.commit();
+			} catch (SQLException ex) {
+				conn.rollback();
+				throw ex;
+			}
+		} catch (SQLException ex) {
+			util.logger.warn("DB: Error at transaction execution, rollback performed\nRequests: {}", sqls.size(), ex);
 			throw ex;
 		}
 	}
 
 	protected int executeWithRow(final String sql) {
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
-			 PreparedStatement st = conn.prepareStatement(sql)) {
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
+			 PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 			st.executeUpdate();
-			return st.getGeneratedKeys().getInt(1);
+			ResultSet rs = st.getGeneratedKeys();
+			return rs.next() ? rs.getInt(1) : 0;
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at statement execution\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at statement execution\nRequest: {}", sql, ex);
 			return 0;
+		} finally {
+			onQuery(sql, start);
 		}
 	}
 
@@ -59,7 +151,8 @@ public class LiteBase {
 		T result = null;
 
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			ResultSet rs = st.executeQuery();
 
@@ -69,17 +162,33 @@ public class LiteBase {
 				if (!rs.wasNull()) throw ex;
 			}
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at SELECT\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at SELECT\nRequest: {}", sql, ex);
+		} finally {
+			onQuery(sql, start);
 		}
 		return result;
 	}
 
 	@NotNull
 	protected <T> List<T> select(final String sql, String selectKey, Class<T> selectClass) {
+		try {
+			return selectOrThrow(sql, selectKey, selectClass);
+		} catch (SQLException ex) {
+			util.logger.warn("DB: Error at SELECT\nRequest: {}", sql, ex);
+			return new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Same as {@link #select(String, String, Class)}, but failed read is not returned as empty result.
+	 */
+	@NotNull
+	protected <T> List<T> selectOrThrow(final String sql, String selectKey, Class<T> selectClass) throws SQLException {
 		List<T> results = new ArrayList<>();
 
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			ResultSet rs = st.executeQuery();
 
@@ -90,8 +199,8 @@ public class LiteBase {
 					if (!rs.wasNull()) throw ex;
 				}
 			}
-		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at SELECT\nRequest: {}", sql, ex);
+		} finally {
+			onQuery(sql, start);
 		}
 		return results;
 	}
@@ -101,16 +210,19 @@ public class LiteBase {
 		Map<String, Object> result = new HashMap<>();
 
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			ResultSet rs = st.executeQuery();
 
 			if (rs.next())
 				for (String key : selectKeys) {
-					result.put(key, rs.getObject(key));
+					result.put(key, getValue(rs, key));
 				}
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at SELECT\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at SELECT\nRequest: {}", sql, ex);
+		} finally {
+			onQuery(sql, start);
 		}
 		return result.isEmpty() ? null : result;
 	}
@@ -120,19 +232,22 @@ public class LiteBase {
 		List<Map<String, Object>> results = new ArrayList<>();
 
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			ResultSet rs = st.executeQuery();
 
 			while (rs.next()) {
 				Map<String, Object> data = new HashMap<>();
 				for (String key : selectKeys) {
-					data.put(key, rs.getObject(key));
+					data.put(key, getValue(rs, key));
 				}
 				results.add(data);
 			}
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at SELECT\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at SELECT\nRequest: {}", sql, ex);
+		} finally {
+			onQuery(sql, start);
 		}
 		return results;
 	}
@@ -141,7 +256,8 @@ public class LiteBase {
 		int result = 0;
 
 		util.logger.debug(sql);
-		try (Connection conn = DriverManager.getConnection(util.getUrlSQLite());
+		final long start = System.nanoTime();
+		try (Connection conn = util.getConnection();
 			 PreparedStatement st = conn.prepareStatement(sql)) {
 			ResultSet rs = st.executeQuery();
 
@@ -151,13 +267,26 @@ public class LiteBase {
 				if (!rs.wasNull()) throw ex;
 			}
 		} catch (SQLException ex) {
-			util.logger.warn("DB SQLite: Error at SELECT\nRequest: {}", sql, ex);
+			util.logger.warn("DB: Error at SELECT\nRequest: {}", sql, ex);
+		} finally {
+			onQuery(sql, start);
 		}
 		return result;
 	}
 
 
 	// UTILS
+	// SQLite returns integers as Integer, if they fit, managers cast to it
+	private Object getValue(ResultSet rs, String key) throws SQLException {
+		Object value = rs.getObject(key);
+		if (value instanceof Long || value instanceof BigDecimal decimal && decimal.scale() <= 0) {
+			long number = ((Number) value).longValue();
+			if (number == (int) number) return (int) number;
+			return number;
+		}
+		return value;
+	}
+
 	@NotNull
 	protected String quote(@Nullable final Object value) {
 		// Convert to string and replace '(single quote) with ''(2 single quotes) for sql
@@ -168,6 +297,30 @@ public class LiteBase {
 		return String.format("'%s'", String.valueOf(value).replaceAll("'", "''"));
 	}
 
+	/**
+	 * Builds text search query, limited to one guild.
+	 * Only words of the text are used, so the user can not inject query syntax.
+	 *
+	 * @param index   SQLite full-text table over the columns
+	 * @param key     Key column of this table
+	 * @param columns Searched columns
+	 * @param guildId Guild ID
+	 * @param text    User input
+	 * @param limit   Max results
+	 * @return Query of the matching rows of this table, or null if text has no words
+	 * @see dev.fireatom.FABI.utils.database.storage.Dialect#search
+	 */
+	@Nullable
+	protected String textSearch(String index, String key, List<String> columns, long guildId, @NotNull String text, int limit) {
+		List<String> words = new ArrayList<>();
+		Matcher matcher = FTS_WORD.matcher(text);
+		while (matcher.find() && words.size() < FTS_MAX_WORDS) {
+			words.add(matcher.group());
+		}
+		if (words.isEmpty()) return null;
+		return util.getDialect().search(table, key, index, columns, guildId, words, limit);
+	}
+
 	protected <T, V> T applyNonNull(V obj, @NotNull Function<V, T> function) {
 		return (obj != null) ? function.apply(obj) : null;
 	}
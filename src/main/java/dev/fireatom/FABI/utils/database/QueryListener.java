@@ -0,0 +1,17 @@
+package dev.fireatom.FABI.utils.database;
+
+/**
+ * Receives duration of each executed statement.
+ * Called on the thread, that executed the statement, so must be fast.
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+	/**
+	 * @param manager Simple class name of the manager
+	 * @param sql     Executed statement
+	 * @param nanos   Duration, including connection and reading of results
+	 */
+	void onQuery(String manager, String sql, long nanos);
+
+}
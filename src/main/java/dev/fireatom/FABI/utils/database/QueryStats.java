@@ -0,0 +1,213 @@
+package dev.fireatom.FABI.utils.database;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Statistics of executed statements, grouped by manager and query fingerprint.
+ * <p>
+ * Fingerprint is the statement with literals replaced by {@code ?}, so the same query
+ * with different IDs or text is counted together. Fingerprints of statements slower than the threshold are logged.
+ * Statistics are kept for current and previous window, {@link #rotate()} starts a new window.
+ */
+public class QueryStats implements QueryListener {
+
+	private final Logger log = (Logger) LoggerFactory.getLogger(QueryStats.class);
+
+	// New fingerprints are not tracked above this count in one window
+	private static final int MAX_FINGERPRINTS = 2000;
+	private static final int MAX_FINGERPRINT_LENGTH = 300;
+	private static final Pattern VALUE_LIST = Pattern.compile("\\?(?: ?, ?\\?)+");
+
+	private final long slowNanos;
+	private final LongAdder slowCount = new LongAdder();
+
+	private volatile Map<String, Entry> current = new ConcurrentHashMap<>();
+	private volatile Map<String, Entry> previous = Map.of();
+	private volatile Instant windowStart = Instant.now();
+
+	/**
+	 * @param slowMillis Statements running longer are logged, 0 to disable
+	 */
+	public QueryStats(long slowMillis) {
+		this.slowNanos = slowMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowMillis) : Long.MAX_VALUE;
+	}
+
+	@Override
+	public void onQuery(String manager, String sql, long nanos) {
+		final String fingerprint = fingerprint(sql);
+		final Map<String, Entry> window = current;
+		Entry entry = window.get(manager+" "+fingerprint);
+		if (entry == null) {
+			if (window.size() >= MAX_FINGERPRINTS) return;
+			entry = window.computeIfAbsent(manager+" "+fingerprint, k -> new Entry(manager, fingerprint));
+		}
+		entry.record(nanos);
+
+		if (nanos >= slowNanos) {
+			slowCount.increment();
+			// Fingerprint only, statements contain user IDs and message text
+			log.warn("Slow query in {} took {} ms: {}", manager, TimeUnit.NANOSECONDS.toMillis(nanos), fingerprint);
+		}
+	}
+
+	/**
+	 * Starts new window, current window becomes previous and the oldest is dropped.
+	 */
+	public void rotate() {
+		previous = current;
+		windowStart = Instant.now();
+		current = new ConcurrentHashMap<>();
+	}
+
+	public void reset() {
+		previous = Map.of();
+		windowStart = Instant.now();
+		current = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return Start of the current window
+	 */
+	public Instant getWindowStart() {
+		return windowStart;
+	}
+
+	/**
+	 * @return Slow statements since start
+	 */
+	public long getSlowCount() {
+		return slowCount.sum();
+	}
+
+	/**
+	 * @param order Sort order
+	 * @param limit Max entries
+	 * @return Statistics of current and previous window combined
+	 */
+	@NotNull
+	public List<Snapshot> getTop(@NotNull Order order, int limit) {
+		Map<String, Snapshot> combined = new HashMap<>();
+		for (Map<String, Entry> window : List.of(previous, current)) {
+			window.forEach((key, entry) -> combined.merge(key, entry.snapshot(), Snapshot::merge));
+		}
+		List<Snapshot> result = new ArrayList<>(combined.values());
+		result.sort(order.comparator);
+		return result.size() > limit ? result.subList(0, limit) : result;
+	}
+
+	/**
+	 * Replaces string and number literals with {@code ?} and lists of values with {@code ?+}.
+	 *
+	 * @param sql Statement
+	 * @return Normalized statement
+	 */
+	@NotNull
+	public static String fingerprint(@NotNull String sql) {
+		final int length = sql.length();
+		StringBuilder builder = new StringBuilder(Math.min(length, MAX_FINGERPRINT_LENGTH+16));
+		int i = 0;
+		while (i < length && builder.length() < MAX_FINGERPRINT_LENGTH) {
+			char c = sql.charAt(i);
+			if (c == '\'') {
+				// String literal, quotes are escaped by doubling
+				i++;
+				while (i < length) {
+					if (sql.charAt(i) == '\'') {
+						if (i+1 < length && sql.charAt(i+1) == '\'') i++;
+						else break;
+					}
+					i++;
+				}
+				i++;
+				builder.append('?');
+			} else if (Character.isDigit(c) && !isIdentifierEnd(builder)) {
+				while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) i++;
+				builder.append('?');
+			} else if (Character.isWhitespace(c)) {
+				while (i < length && Character.isWhitespace(sql.charAt(i))) i++;
+				if (!builder.isEmpty() && builder.charAt(builder.length()-1) != ' ') builder.append(' ');
+			} else {
+				builder.append(c);
+				i++;
+			}
+		}
+		String result = builder.toString().trim();
+		if (result.indexOf(',') >= 0 && result.indexOf('?') >= 0) {
+			result = VALUE_LIST.matcher(result).replaceAll("?+");
+		}
+		return i < length ? result+"..." : result;
+	}
+
+	private static boolean isIdentifierEnd(StringBuilder builder) {
+		if (builder.isEmpty()) return false;
+		char last = builder.charAt(builder.length()-1);
+		return Character.isLetterOrDigit(last) || last == '_';
+	}
+
+	public enum Order {
+		SLOWEST(Comparator.comparingLong(Snapshot::maxNanos).reversed()),
+		FREQUENT(Comparator.comparingLong(Snapshot::count).reversed()),
+		TOTAL(Comparator.comparingLong(Snapshot::totalNanos).reversed());
+
+		private final Comparator<Snapshot> comparator;
+
+		Order(Comparator<Snapshot> comparator) {
+			this.comparator = comparator;
+		}
+	}
+
+	/**
+	 * @param manager     Manager class name
+	 * @param fingerprint Normalized statement
+	 * @param count       Executions
+	 * @param totalNanos  Sum of durations
+	 * @param maxNanos    Longest duration
+	 */
+	public record Snapshot(String manager, String fingerprint, long count, long totalNanos, long maxNanos) {
+		public long avgNanos() {
+			return count == 0 ? 0 : totalNanos/count;
+		}
+
+		private Snapshot merge(Snapshot other) {
+			return new Snapshot(manager, fingerprint, count+other.count, totalNanos+other.totalNanos, Math.max(maxNanos, other.maxNanos));
+		}
+	}
+
+	private static class Entry {
+		private final String manager, fingerprint;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		Entry(String manager, String fingerprint) {
+			this.manager = manager;
+			this.fingerprint = fingerprint;
+		}
+
+		void record(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		Snapshot snapshot() {
+			return new Snapshot(manager, fingerprint, count.sum(), totalNanos.sum(), maxNanos.get());
+		}
+	}
+
+}
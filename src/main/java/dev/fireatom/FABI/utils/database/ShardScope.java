@@ -0,0 +1,80 @@
+package dev.fireatom.FABI.utils.database;
+
+import dev.fireatom.FABI.utils.database.storage.Dialect;
+
+import net.dv8tion.jda.api.utils.MiscUtil;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Range of shards, which guilds are handled by this process.
+ * <p>
+ * Guild belongs to shard {@code (guildId >> 22) % total}, same as Discord calculates it.
+ * Several processes with different ranges can share one database, each of them only handles
+ * stored data of own guilds.
+ *
+ * @param total Total shard count of all processes
+ * @param first First shard of this process
+ * @param last  Last shard of this process (inclusive)
+ */
+public record ShardScope(int total, int first, int last) {
+
+	/**
+	 * Single process, that handles all guilds.
+	 */
+	public static final ShardScope ALL = new ShardScope(1, 0, 0);
+
+	public ShardScope {
+		if (total < 1 || first < 0 || first > last || last >= total)
+			throw new IllegalArgumentException("Invalid shard range %s-%s of %s shards".formatted(first, last, total));
+	}
+
+	/**
+	 * @param range Range in format {@code first-last} or single shard ID, null for all shards
+	 * @param total Total shard count, must be set, if range is set
+	 */
+	@NotNull
+	public static ShardScope parse(@Nullable String range, int total) {
+		if (range == null || range.isBlank()) return ALL;
+		if (total < 1)
+			throw new IllegalArgumentException("Shard range requires total shard count to be set");
+		String[] parts = range.trim().split("-", 2);
+		try {
+			int first = Integer.parseInt(parts[0].trim());
+			int last = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : first;
+			return new ShardScope(total, first, last);
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid shard range '%s'".formatted(range));
+		}
+	}
+
+	public boolean isAll() {
+		return first == 0 && last == total-1;
+	}
+
+	public boolean containsShard(int shardId) {
+		return shardId >= first && shardId <= last;
+	}
+
+	public boolean owns(long guildId) {
+		return isAll() || containsShard(MiscUtil.getShardForGuild(guildId, total));
+	}
+
+	/**
+	 * @param dialect Storage dialect
+	 * @param column  Column with guild ID
+	 * @return SQL condition, that selects only rows of own guilds
+	 */
+	@NotNull
+	public String sql(@NotNull Dialect dialect, @NotNull String column) {
+		if (isAll()) return "1=1";
+		return "(%s BETWEEN %d AND %d)".formatted(dialect.shardOf(column, total), first, last);
+	}
+
+	@Override
+	public String toString() {
+		return "%s-%s/%s".formatted(first, last, total);
+	}
+
+}
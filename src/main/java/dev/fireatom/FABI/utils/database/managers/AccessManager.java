@@ -21,8 +21,8 @@ public class AccessManager extends LiteBase {
 	private final String table_user = "accessUser";
 
 	// Cache
-	private final FixedCache<Long, Map<Long, CmdAccessLevel>> roleCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
-	private final FixedCache<Long, List<Long>> operatorCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, Map<Long, CmdAccessLevel>> roleCache = new FixedCache<>("accessRoles", Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, List<Long>> operatorCache = new FixedCache<>("accessOperators", Constants.DEFAULT_CACHE_SIZE);
 	
 	public AccessManager(ConnectionUtil cu) {
 		super(cu, null);
@@ -34,7 +34,7 @@ public class BlacklistManager extends LiteBase {
 	}
 
 	public List<Map<String, Object>> getByPage(int groupId, int page) {
-		return select("SELECT * FROM %s WHERE (groupId=%d) ORDER BY userId DESC LIMIT 20 OFFSET %d".formatted(table, groupId, (page-1)*20), Set.of("guildId", "userId", "reason", "modId"));
+		return select("SELECT * FROM %s WHERE (groupId=%d) ORDER BY userId DESC %s".formatted(table, groupId, page(20, (page-1)*20)), Set.of("guildId", "userId", "reason", "modId"));
 	}
 
 	public Integer countEntries(int groupId) {
@@ -6,6 +6,7 @@ import dev.fireatom.FABI.utils.database.LiteBase;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class BotBlacklistManager extends LiteBase {
@@ -19,7 +20,7 @@ public class BotBlacklistManager extends LiteBase {
 
 	public void add(long id) throws SQLException {
 		cache.add(id);
-		execute("INSERT INTO %s(id) VALUES (%s) ON CONFLICT (id) DO NOTHING".formatted(table, id));
+		execute(upsert("INSERT INTO %s(id) VALUES (%s)".formatted(table, id), "id", null));
 	}
 
 	public void remove(long id) throws SQLException {
@@ -31,6 +32,19 @@ public class BotBlacklistManager extends LiteBase {
 		return cache.contains(id);
 	}
 
+	/**
+	 * Reads the blacklist again, it may be changed by other process.
+	 *
+	 * @throws SQLException If read failed, current blacklist is kept
+	 */
+	public void reload() throws SQLException {
+		List<Long> ids = selectOrThrow("SELECT id FROM %s".formatted(table), "id", Long.class);
+		synchronized (cache) {
+			cache.clear();
+			cache.addAll(ids);
+		}
+	}
+
 	private void loadCache() {
 		cache.addAll(select("SELECT id FROM %s".formatted(table), "id", Long.class));
 	}
@@ -6,8 +6,8 @@ import static dev.fireatom.FABI.utils.CastUtil.requireNonNull;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +15,10 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import dev.fireatom.FABI.objects.CaseType;
+import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.utils.FixedCache;
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 import dev.fireatom.FABI.utils.database.LiteBase;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,6 +30,11 @@ public class CaseManager extends LiteBase {
 		"duration", "active", "logUrl"
 	);
 	
+	public static final int PAGE_SIZE = 10;
+
+	// Cache
+	private final FixedCache<String, Integer> countCache = new FixedCache<>("caseCounts", Constants.DEFAULT_CACHE_SIZE); // GuildId:UserId - Case count
+
 	public CaseManager(ConnectionUtil cu) {
 		super(cu, "cases");
 	}
@@ -38,9 +46,18 @@ public class CaseManager extends LiteBase {
 			.formatted(table, type.getValue(), userId, quote(userName), modId, quote(modName), guildId, quote(reason),
 			timeStart.getEpochSecond(), duration == null ? -1 : duration.getSeconds(), type.isActiveInt()));
 		if (rowId == 0) throw new Exception("Failed to create new case");
-		execute("UPDATE %s SET localId=(SELECT IFNULL(MAX(localId), 0) + 1 FROM cases WHERE guildId=%s) WHERE rowId=%s;".formatted(table, guildId, rowId));
+		countCache.pull(guildId+":"+userId);
+		executeTransaction(List.of(
+			"UPDATE %s SET localId=(SELECT IFNULL(MAX(localId), 0) + 1 FROM cases WHERE guildId=%s) WHERE rowId=%s".formatted(table, guildId, rowId),
+			// Daily activity rollup
+			upsert("INSERT INTO modActivityDaily(guildId, modId, day, type, count) VALUES (%d, %d, %d, %d, 1)"
+				.formatted(guildId, modId, Math.floorDiv(timeStart.getEpochSecond(), 86400), type.getValue()),
+				"guildId, modId, day, type", "count=count+1")
+		));
 		CaseData data = getInfo(rowId);
 		if (data == null) throw new Exception("Failed to retrieve new case");
+		if (duration != null && !duration.isZero())
+			notifyDeadline(DeadlineListener.Type.CASE, timeStart.plus(duration).getEpochSecond());
 		return data;
 	}
 
@@ -52,6 +69,8 @@ public class CaseManager extends LiteBase {
 	// update case duration
 	public void updateDuration(int rowId, Duration duration) throws SQLException {
 		execute("UPDATE %s SET duration=%d WHERE (rowId=%d)".formatted(table, duration.getSeconds(), rowId));
+		Long next = getNextExpiration();
+		if (next != null) notifyDeadline(DeadlineListener.Type.CASE, next);
 	}
 
 	// set case inactive
@@ -81,16 +100,56 @@ public class CaseManager extends LiteBase {
 
 	// get 10 cases for guild's user sorted in pages
 	public List<CaseData> getGuildUser(long guildId, long userId, int page) {
-		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (guildId=%d AND targetId=%d) ORDER BY rowId DESC LIMIT 10 OFFSET %d"
-			.formatted(table, guildId, userId, (page-1)*10), fullCaseKeys);
+		return getGuildUser(guildId, userId, page, false);
+	}
+
+	// get 10 cases for guild's user sorted in pages, all or active only
+	public List<CaseData> getGuildUser(long guildId, long userId, int page, boolean onlyActive) {
+		if (page <= 1) return getGuildUserBefore(guildId, userId, 0, onlyActive);
+		// Only index is scanned to find where the page starts
+		Integer lastRow = selectOne("SELECT rowId FROM %s WHERE (guildId=%d AND targetId=%d%s) ORDER BY rowId DESC %s"
+			.formatted(table, guildId, userId, onlyActive?" AND active=1":"", page(1, (page-1)*PAGE_SIZE-1)), "rowId", Integer.class);
+		if (lastRow == null) return Collections.emptyList();
+		return getGuildUserBefore(guildId, userId, lastRow, onlyActive);
+	}
+
+	/**
+	 * Page of user cases older than the cursor, newest first.
+	 *
+	 * @param beforeRow  First rowId of the previous (newer) page, 0 for the first page
+	 * @param onlyActive Only active cases
+	 */
+	public List<CaseData> getGuildUserBefore(long guildId, long userId, int beforeRow, boolean onlyActive) {
+		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (guildId=%d AND targetId=%d%s AND rowId<%d) ORDER BY rowId DESC %s"
+			.formatted(table, guildId, userId, onlyActive?" AND active=1":"", beforeRow>0 ? beforeRow : Integer.MAX_VALUE, page(PAGE_SIZE, 0)), fullCaseKeys);
 		if (data.isEmpty()) return Collections.emptyList();
 		return data.stream().map(CaseData::new).toList();
 	}
 
-	// get 10 cases for guild's user sorted in pages, active or inactive only
-	public List<CaseData> getGuildUser(long guildId, long userId, int page, boolean active) {
-		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (guildId=%d AND targetId=%d AND active=%d) ORDER BY rowId DESC LIMIT 10 OFFSET %d"
-			.formatted(table, guildId, userId, active?1:0, (page-1)*10), fullCaseKeys);
+	/**
+	 * Page of user cases newer than the cursor, newest first.
+	 *
+	 * @param afterRow   Last rowId of the next (older) page
+	 * @param onlyActive Only active cases
+	 */
+	public List<CaseData> getGuildUserAfter(long guildId, long userId, int afterRow, boolean onlyActive) {
+		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (guildId=%d AND targetId=%d%s AND rowId>%d) ORDER BY rowId ASC %s"
+			.formatted(table, guildId, userId, onlyActive?" AND active=1":"", afterRow, page(PAGE_SIZE, 0)), fullCaseKeys);
+		if (data.isEmpty()) return Collections.emptyList();
+		return data.stream().map(CaseData::new).toList().reversed();
+	}
+
+	/**
+	 * Full-text search by reason, target and moderator names.
+	 *
+	 * @param text  Search text
+	 * @param limit Max results
+	 * @return Best matching cases first
+	 */
+	public List<CaseData> search(long guildId, String text, int limit) {
+		String query = textSearch("casesSearch", "rowId", List.of("reason", "targetTag", "modTag"), guildId, text, limit);
+		if (query == null) return Collections.emptyList();
+		List<Map<String, Object>> data = select(query, fullCaseKeys);
 		if (data.isEmpty()) return Collections.emptyList();
 		return data.stream().map(CaseData::new).toList();
 	}
@@ -114,44 +173,58 @@ public class CaseManager extends LiteBase {
 		execute("UPDATE %s SET active=0 WHERE (targetId=%d AND guildId=%d AND type=%d)".formatted(table, userId, guildId, type.getValue()));
 	}
 
-	// get case pages
+	// count all user cases, cached until new case for this user is added
 	public int countCases(long guildId, long userId) {
-		return count("SELECT COUNT(*) FROM %s WHERE (guildId=%d AND targetId=%d)".formatted(table, guildId, userId));
+		final String key = guildId+":"+userId;
+		Integer cached = countCache.get(key);
+		if (cached != null) return cached;
+		int count = count("SELECT COUNT(*) FROM %s WHERE (guildId=%d AND targetId=%d)".formatted(table, guildId, userId));
+		countCache.put(key, count);
+		return count;
 	}
 
-	// count cases by moderator after certain date
-	public Map<Integer, Integer> countCasesByMod(long guildId, long modId, Instant afterTime) {
-		List<Map<String, Object>> data = select("SELECT type, COUNT(*) AS cc FROM %s WHERE (guildId=%d AND modId=%d AND timeStart>%d) GROUP BY type"
-			.formatted(table, guildId, modId, afterTime.getEpochSecond()), Set.of("type", "cc"));
-		if (data.isEmpty()) return Collections.emptyMap();
-		return data.stream().collect(Collectors.toMap(s -> (Integer) s.get("type"), s -> (Integer) s.get("cc")));
-	}
-
-	// count all cases by moderator
-	public Map<Integer, Integer> countCasesByMod(long guildId, long modId) {
-		List<Map<String, Object>> data = select("SELECT type, COUNT(*) AS cc FROM %s WHERE (guildId=%d AND modId=%d) GROUP BY type"
-			.formatted(table, guildId, modId), Set.of("type", "cc"));
-		if (data.isEmpty()) return Collections.emptyMap();
-		return data.stream().collect(Collectors.toMap(s -> (Integer) s.get("type"), s -> (Integer) s.get("cc")));
-	}
-
-	// count cases by moderator after and before certain dates
-	public Map<Integer, Integer> countCasesByMod(long guildId, long modId, LocalDateTime afterTime, LocalDateTime beforeTime) {
-		List<Map<String, Object>> data = select("SELECT type, COUNT(*) AS cc FROM %s WHERE (guildId=%d AND modId=%d AND timeStart>%d AND timeStart<%d) GROUP BY type"
-			.formatted(table, guildId, modId, afterTime.toEpochSecond(ZoneOffset.UTC), beforeTime.toEpochSecond(ZoneOffset.UTC)), Set.of("type", "cc"));
-		if (data.isEmpty()) return Collections.emptyMap();
-		return data.stream().collect(Collectors.toMap(s -> (Integer) s.get("type"), s -> (Integer) s.get("cc")));
+	// count user cases, all or active only
+	public int countCases(long guildId, long userId, boolean onlyActive) {
+		if (!onlyActive) return countCases(guildId, userId);
+		// Cases are set inactive in many places, so active count is not cached
+		return count("SELECT COUNT(*) FROM %s WHERE (guildId=%d AND targetId=%d AND active=1)".formatted(table, guildId, userId));
 	}
 
 	//  BANS
 	// get all active expired bans
-	public List<CaseData> getExpired() {
-		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (active=1 AND type<20 AND duration>0 AND timeStart+duration<%d) ORDER BY rowId DESC LIMIT 10"
-			.formatted(table, Instant.now().getEpochSecond()), fullCaseKeys);
+	/**
+	 * Page of expired active cases, ordered by rowId.
+	 *
+	 * @param now       Current time
+	 * @param afterRow  Last rowId of the previous page, 0 for first page
+	 * @param limit     Page size
+	 */
+	public List<CaseData> getExpired(Instant now, int afterRow, int limit) {
+		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (active=1 AND type<20 AND duration>0 AND timeStart+duration<=%d AND rowId>%d AND %s) ORDER BY rowId ASC %s"
+			.formatted(table, now.getEpochSecond(), afterRow, ownedGuilds("guildId"), page(limit, 0)), fullCaseKeys);
 		if (data.isEmpty()) return Collections.emptyList();
 		return data.stream().map(CaseData::new).toList();
 	}
 
+	// set cases inactive in one transaction
+	public void setInactive(Collection<Integer> rowIds) throws SQLException {
+		if (rowIds.isEmpty()) return;
+		List<String> sqls = new ArrayList<>();
+		List<Integer> ids = List.copyOf(rowIds);
+		for (int i = 0; i < ids.size(); i += 500) {
+			String list = ids.subList(i, Math.min(i+500, ids.size())).stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+			sqls.add("UPDATE %s SET active=0 WHERE (rowId IN (%s))".formatted(table, list));
+		}
+		executeTransaction(sqls);
+	}
+
+	// get time of the nearest case expiration
+	public Long getNextExpiration() {
+		return selectOne("SELECT MIN(timeStart+duration) AS next FROM %s WHERE (active=1 AND type<20 AND duration>0 AND %s)"
+			.formatted(table, ownedGuilds("guildId")), "next", Long.class);
+	}
 
 	public static class CaseData {
 		private final int rowId, localId;
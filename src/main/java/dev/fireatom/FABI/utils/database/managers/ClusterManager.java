@@ -0,0 +1,129 @@
+package dev.fireatom.FABI.utils.database.managers;
+
+import static dev.fireatom.FABI.utils.CastUtil.castLong;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.LiteBase;
+import dev.fireatom.FABI.utils.database.ShardScope;
+
+/**
+ * Coordination of bot processes, that share one database.
+ * <p>
+ * Each process (node) regularly saves a heartbeat with its shard range. Work, that must be done
+ * by only one node at a time, is guarded by a lease - named lock with expiration time,
+ * so it is taken over by other node if the holder stops.
+ */
+public class ClusterManager extends LiteBase {
+
+	private final String leases = "leases";
+
+	public ClusterManager(ConnectionUtil cu) {
+		super(cu, "clusterNodes");
+	}
+
+	public void heartbeat(String nodeId, ShardScope scope, long started, long now) throws SQLException {
+		execute(upsert(
+			"INSERT INTO %s(nodeId, shardTotal, shardFirst, shardLast, started, heartbeat) VALUES (%s, %d, %d, %d, %d, %d)"
+				.formatted(table, quote(nodeId), scope.total(), scope.first(), scope.last(), started, now),
+			"nodeId",
+			"shardTotal=%d, shardFirst=%d, shardLast=%d, started=%d, heartbeat=%d"
+				.formatted(scope.total(), scope.first(), scope.last(), started, now)
+		));
+	}
+
+	public void removeNode(String nodeId) throws SQLException {
+		executeTransaction(List.of(
+			"DELETE FROM %s WHERE (nodeId=%s)".formatted(table, quote(nodeId)),
+			"DELETE FROM %s WHERE (nodeId=%s)".formatted(leases, quote(nodeId))
+		));
+	}
+
+	/**
+	 * @param aliveAfter Min heartbeat time
+	 * @return Nodes with recent heartbeat
+	 */
+	public List<Node> getNodes(long aliveAfter) {
+		List<Map<String, Object>> data = select("SELECT * FROM %s WHERE (heartbeat>=%d) ORDER BY shardFirst".formatted(table, aliveAfter),
+			Set.of("nodeId", "shardTotal", "shardFirst", "shardLast", "started", "heartbeat"));
+		if (data.isEmpty()) return Collections.emptyList();
+		return data.stream().map(Node::new).toList();
+	}
+
+	/**
+	 * Removes nodes without recent heartbeat and expired leases.
+	 */
+	public void removeStale(long nodesBefore, long now) throws SQLException {
+		executeTransaction(List.of(
+			"DELETE FROM %s WHERE (heartbeat<%d)".formatted(table, nodesBefore),
+			"DELETE FROM %s WHERE (expires<%d)".formatted(leases, now)
+		));
+	}
+
+	/**
+	 * Takes the lease, if it is free, expired or already held by this node.
+	 * Lease of this node is extended.
+	 *
+	 * @return If this node holds the lease
+	 */
+	public boolean acquireLease(String name, String nodeId, long now, long expires) {
+		try {
+			execute(upsert(
+				"INSERT INTO %s(name, nodeId, expires) VALUES (%s, %s, %d)".formatted(leases, quote(name), quote(nodeId), expires),
+				"name",
+				// Condition stays the same after nodeId is assigned
+				"nodeId=CASE WHEN (nodeId=%1$s OR expires<%3$d) THEN %1$s ELSE nodeId END, expires=CASE WHEN (nodeId=%1$s OR expires<%3$d) THEN %2$d ELSE expires END"
+					.formatted(quote(nodeId), expires, now)
+			));
+		} catch (SQLException ex) {
+			return false;
+		}
+		return nodeId.equals(selectOne("SELECT nodeId FROM %s WHERE (name=%s)".formatted(leases, quote(name)), "nodeId", String.class));
+	}
+
+	/**
+	 * @return Node, that holds not expired lease, or null
+	 */
+	public String getLeaseHolder(String name, long now) {
+		return selectOne("SELECT nodeId FROM %s WHERE (name=%s AND expires>=%d)".formatted(leases, quote(name), now), "nodeId", String.class);
+	}
+
+	public void releaseLease(String name, String nodeId) throws SQLException {
+		execute("DELETE FROM %s WHERE (name=%s AND nodeId=%s)".formatted(leases, quote(name), quote(nodeId)));
+	}
+
+	public static class Node {
+		private final String nodeId;
+		private final ShardScope scope;
+		private final long started, heartbeat;
+
+		public Node(Map<String, Object> map) {
+			this.nodeId = (String) map.get("nodeId");
+			this.scope = new ShardScope((Integer) map.get("shardTotal"), (Integer) map.get("shardFirst"), (Integer) map.get("shardLast"));
+			this.started = castLong(map.get("started"));
+			this.heartbeat = castLong(map.get("heartbeat"));
+		}
+
+		public String getNodeId() {
+			return nodeId;
+		}
+
+		public ShardScope getScope() {
+			return scope;
+		}
+
+		public long getStarted() {
+			return started;
+		}
+
+		public long getHeartbeat() {
+			return heartbeat;
+		}
+	}
+
+}
@@ -39,9 +39,10 @@ public class GameStrikeManager extends LiteBase {
 
 	// Strikes
 	public void addStrike(long guildId, long channelId, long userId) throws SQLException {
-		execute("INSERT INTO %s(guildId, channelId, userId, count, lastUpdate) VALUES (%s, %s, %s, 1, %s) ON CONFLICT(channelId, userId) DO UPDATE SET count=count+1, lastUpdate=%<s".formatted(
-			strikes, guildId, channelId, userId, Instant.now().getEpochSecond()
-		));
+		final long now = Instant.now().getEpochSecond();
+		execute(upsert("INSERT INTO %s(guildId, channelId, userId, count, lastUpdate) VALUES (%s, %s, %s, 1, %s)".formatted(
+			strikes, guildId, channelId, userId, now
+		), "channelId, userId", "count=count+1, lastUpdate=%s".formatted(now)));
 	}
 
 	public Instant getLastUpdate(long channelId, long userId) {
@@ -17,7 +17,7 @@ import org.jetbrains.annotations.NotNull;
 public class GuildLogsManager extends LiteBase {
 
 	// Cache
-	private final FixedCache<Long, LogSettings> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, LogSettings> cache = new FixedCache<>("logSettings", Constants.DEFAULT_CACHE_SIZE);
 	private final LogSettings blankSettings = new LogSettings();
 
 	private final Set<String> logColumns = LogType.getAllNames();
@@ -29,12 +29,13 @@ public class GuildLogsManager extends LiteBase {
 	public void setLogWebhook(@NotNull LogType type, long guildId, WebhookData webhookData) throws SQLException {
 		invalidateCache(guildId);
 		String data = webhookData==null ? "NULL" : webhookData.encodeData();
-		execute("INSERT INTO %s(guildId, %s) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET %2$s=%4$s".formatted(table, quote(type.getName()), guildId, quote(data)));
+		execute(upsert("INSERT INTO %s(guildId, \"%s\") VALUES (%d, %s)".formatted(table, type.getName(), guildId, quote(data)),
+			"guildId", "\"%s\"=%s".formatted(type.getName(), quote(data))));
 	}
 
 	public void removeLogWebhook(LogType type, long guildId) throws SQLException {
 		invalidateCache(guildId);
-		execute("UPDATE %s SET %s=NULL WHERE (guildId=%d)".formatted(table, type.getName(), guildId));
+		execute("UPDATE %s SET \"%s\"=NULL WHERE (guildId=%d)".formatted(table, type.getName(), guildId));
 	}
 
 	public void removeGuild(long guildId) throws SQLException {
@@ -29,7 +29,7 @@ public class GuildSettingsManager extends LiteBase {
 	);
 
 	// Cache
-	private final FixedCache<Long, GuildSettings> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, GuildSettings> cache = new FixedCache<>("guildSettings", Constants.DEFAULT_CACHE_SIZE);
 	private final GuildSettings blankSettings = new GuildSettings();
 	
 	public GuildSettingsManager(ConnectionUtil cu) {
@@ -57,67 +57,68 @@ public class GuildSettingsManager extends LiteBase {
 	
 	public void setColor(long guildId, int color) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, color) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET color=%<d".formatted(table, guildId, color));
+		execute(upsert("INSERT INTO %s(guildId, color) VALUES (%s, %d)".formatted(table, guildId, color), "guildId", "color=%d".formatted(color)));
 	}
 
 	public void setLastWebhookId(long guildId, long webhookId) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, lastWebhookId) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET lastWebhookId=%<d".formatted(table, guildId, webhookId));
+		execute(upsert("INSERT INTO %s(guildId, lastWebhookId) VALUES (%s, %d)".formatted(table, guildId, webhookId), "guildId", "lastWebhookId=%d".formatted(webhookId)));
 	}
 
 	public void setAppealLink(long guildId, String link) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, appealLink) VALUES (%s, %s) ON CONFLICT(guildId) DO UPDATE SET appealLink=%<s".formatted(table, guildId, quote(link)));
+		execute(upsert("INSERT INTO %s(guildId, appealLink) VALUES (%s, %s)".formatted(table, guildId, quote(link)), "guildId", "appealLink=%s".formatted(quote(link))));
 	}
 
 	public void setReportChannelId(long guildId, @Nullable Long channelId) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, reportChannelId) VALUES (%s, %s) ON CONFLICT(guildId) DO UPDATE SET reportChannelId=%<s".formatted(table, guildId, channelId==null ? "NULL" : channelId));
+		final String value = channelId==null ? "NULL" : channelId.toString();
+		execute(upsert("INSERT INTO %s(guildId, reportChannelId) VALUES (%s, %s)".formatted(table, guildId, value), "guildId", "reportChannelId=%s".formatted(value)));
 	}
 
 	public void setStrikeExpiresAfter(long guildId, int expiresAfter) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, strikeExpire) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET strikeExpire=%<d".formatted(table, guildId, expiresAfter));
+		execute(upsert("INSERT INTO %s(guildId, strikeExpire) VALUES (%s, %d)".formatted(table, guildId, expiresAfter), "guildId", "strikeExpire=%d".formatted(expiresAfter)));
 	}
 
 	public void setStrikeCooldown(long guildId, int cooldown) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, strikeCooldown) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET strikeCooldown=%<d".formatted(table, guildId, cooldown));
+		execute(upsert("INSERT INTO %s(guildId, strikeCooldown) VALUES (%s, %d)".formatted(table, guildId, cooldown), "guildId", "strikeCooldown=%d".formatted(cooldown)));
 	}
 
 	public void setModuleDisabled(long guildId, int modulesOff) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, modulesOff) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET modulesOff=%<d".formatted(table, guildId, modulesOff));
+		execute(upsert("INSERT INTO %s(guildId, modulesOff) VALUES (%s, %d)".formatted(table, guildId, modulesOff), "guildId", "modulesOff=%d".formatted(modulesOff)));
 	}
 
 	public void setInformBanLevel(long guildId, ModerationInformLevel informLevel) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, informBan) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET informBan=%<d".formatted(table, guildId, informLevel.getLevel()));
+		execute(upsert("INSERT INTO %s(guildId, informBan) VALUES (%s, %d)".formatted(table, guildId, informLevel.getLevel()), "guildId", "informBan=%d".formatted(informLevel.getLevel())));
 	}
 
 	public void setInformKickLevel(long guildId, ModerationInformLevel informLevel) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, informKick) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET informKick=%<d".formatted(table, guildId, informLevel.getLevel()));
+		execute(upsert("INSERT INTO %s(guildId, informKick) VALUES (%s, %d)".formatted(table, guildId, informLevel.getLevel()), "guildId", "informKick=%d".formatted(informLevel.getLevel())));
 	}
 
 	public void setInformMuteLevel(long guildId, ModerationInformLevel informLevel) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, informMute) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET informMute=%<d".formatted(table, guildId, informLevel.getLevel()));
+		execute(upsert("INSERT INTO %s(guildId, informMute) VALUES (%s, %d)".formatted(table, guildId, informLevel.getLevel()), "guildId", "informMute=%d".formatted(informLevel.getLevel())));
 	}
 
 	public void setInformStrikeLevel(long guildId, ModerationInformLevel informLevel) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, informStrike) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET informStrike=%<d".formatted(table, guildId, informLevel.getLevel()));
+		execute(upsert("INSERT INTO %s(guildId, informStrike) VALUES (%s, %d)".formatted(table, guildId, informLevel.getLevel()), "guildId", "informStrike=%d".formatted(informLevel.getLevel())));
 	}
 
 	public void setInformDelstrikeLevel(long guildId, ModerationInformLevel informLevel) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, informDelstrike) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET informDelstrike=%<d".formatted(table, guildId, informLevel.getLevel()));
+		execute(upsert("INSERT INTO %s(guildId, informDelstrike) VALUES (%s, %d)".formatted(table, guildId, informLevel.getLevel()), "guildId", "informDelstrike=%d".formatted(informLevel.getLevel())));
 	}
 
 	public void setRoleWhitelist(long guildId, boolean roleWhitelist) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, roleWhitelist) VALUES (%s, %d) ON CONFLICT(guildId) DO UPDATE SET roleWhitelist=%<d".formatted(table, guildId, roleWhitelist?1:0));
+		execute(upsert("INSERT INTO %s(guildId, roleWhitelist) VALUES (%s, %d)".formatted(table, guildId, roleWhitelist?1:0), "guildId", "roleWhitelist=%d".formatted(roleWhitelist?1:0)));
 	}
 
 
@@ -17,7 +17,7 @@ public class GuildVoiceManager extends LiteBase {
 		"categoryId", "channelId", "defaultName", "defaultLimit"
 	);
 	// Cache
-	private final FixedCache<Long, VoiceSettings> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, VoiceSettings> cache = new FixedCache<>("voiceSettings", Constants.DEFAULT_CACHE_SIZE);
 	private final VoiceSettings blankSettings = new VoiceSettings();
 
 	public GuildVoiceManager(ConnectionUtil cu) {
@@ -26,8 +26,8 @@ public class GuildVoiceManager extends LiteBase {
 
 	public void setup(long guildId, long categoryId, long channelId) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, categoryId, channelId) VALUES (%d, %d, %d) ON CONFLICT(guildId) DO UPDATE SET categoryId=%3$d, channelId=%4$d"
-			.formatted(table, guildId, categoryId, channelId));
+		execute(upsert("INSERT INTO %s(guildId, categoryId, channelId) VALUES (%d, %d, %d)".formatted(table, guildId, categoryId, channelId),
+			"guildId", "categoryId=%d, channelId=%d".formatted(categoryId, channelId)));
 	}
 
 	public void remove(long guildId) throws SQLException {
@@ -37,14 +37,14 @@ public class GuildVoiceManager extends LiteBase {
 
 	public void setName(long guildId, String defaultName) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, defaultName) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET defaultName=%<s"
-			.formatted(table, guildId, quote(defaultName)));
+		execute(upsert("INSERT INTO %s(guildId, defaultName) VALUES (%d, %s)".formatted(table, guildId, quote(defaultName)),
+			"guildId", "defaultName=%s".formatted(quote(defaultName))));
 	}
 
 	public void setLimit(long guildId, int defaultLimit) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, defaultLimit) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET defaultLimit=%<d"
-			.formatted(table, guildId, defaultLimit));
+		execute(upsert("INSERT INTO %s(guildId, defaultLimit) VALUES (%d, %d)".formatted(table, guildId, defaultLimit),
+			"guildId", "defaultLimit=%d".formatted(defaultLimit)));
 	}
 
 	public VoiceSettings getSettings(long guildId) {
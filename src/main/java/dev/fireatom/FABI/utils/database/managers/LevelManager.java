@@ -4,6 +4,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.fireatom.FABI.objects.ExpType;
 import dev.fireatom.FABI.objects.constants.Constants;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
 import dev.fireatom.FABI.utils.FixedCache;
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
 import dev.fireatom.FABI.utils.database.LiteBase;
@@ -30,12 +31,14 @@ public class LevelManager extends LiteBase {
 	// cache
 	private final Cache<String, PlayerData> playersCache = Caffeine.newBuilder()
 		.expireAfterAccess(5, TimeUnit.MINUTES)
+		.recordStats()
 		.build();
-	private final FixedCache<Long, LevelSettings> settingsCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, LevelSettings> settingsCache = new FixedCache<>("levelSettings", Constants.DEFAULT_CACHE_SIZE);
 	private final LevelSettings blankSettings = new LevelSettings();
 
 	public LevelManager(ConnectionUtil cu) {
 		super(cu, null);
+		CacheMetrics.register("levelPlayers", playersCache);
 	}
 
 	// Settings
@@ -65,17 +68,17 @@ public class LevelManager extends LiteBase {
 
 	public void setEnabled(long guildId, boolean enabled) throws SQLException {
 		invalidateSettings(guildId);
-		execute("INSERT INTO %s(guildId, enabled) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET enabled=%<d".formatted(TABLE_SETTINGS, guildId, enabled?1:0));
+		execute(upsert("INSERT INTO %s(guildId, enabled) VALUES (%d, %d)".formatted(TABLE_SETTINGS, guildId, enabled?1:0), "guildId", "enabled=%d".formatted(enabled?1:0)));
 	}
 
 	public void setExemptChannels(long guildId, @Nullable String channelIds) throws SQLException {
 		invalidateSettings(guildId);
-		execute("INSERT INTO %s(guildId, exemptChannels) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET exemptChannels=%<s".formatted(TABLE_SETTINGS, guildId, quote(channelIds)));
+		execute(upsert("INSERT INTO %s(guildId, exemptChannels) VALUES (%d, %s)".formatted(TABLE_SETTINGS, guildId, quote(channelIds)), "guildId", "exemptChannels=%s".formatted(quote(channelIds))));
 	}
 
 	public void setVoiceEnabled(long guildId, boolean enabled) throws SQLException {
 		invalidateSettings(guildId);
-		execute("INSERT INTO %s(guildId, voiceEnabled) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET voiceEnabled=%<d".formatted(TABLE_SETTINGS, guildId, enabled?1:0));
+		execute(upsert("INSERT INTO %s(guildId, voiceEnabled) VALUES (%d, %d)".formatted(TABLE_SETTINGS, guildId, enabled?1:0), "guildId", "voiceEnabled=%d".formatted(enabled?1:0)));
 	}
 
 	public void invalidateSettings(long guildId) {
@@ -99,18 +102,23 @@ public class LevelManager extends LiteBase {
 	}
 
 	public void updatePlayer(PlayerObject player, PlayerData playerData) throws SQLException {
-		execute("INSERT INTO %s(guildId, userId, textExp, voiceExp, globalExp, lastUpdate) VALUES (%d, %d, %d, %d, %d, %d) ON CONFLICT(guildId, userId) DO UPDATE SET textExp=%4$d, voiceExp=%5$d, globalExp=globalExp+%6$d, lastUpdate=%7$d;"
+		final long textExp = playerData.getExperience(ExpType.TEXT);
+		final long voiceExp = playerData.getExperience(ExpType.VOICE);
+		execute(upsert("INSERT INTO %s(guildId, userId, textExp, voiceExp, globalExp, lastUpdate) VALUES (%d, %d, %d, %d, %d, %d)"
 			.formatted(
 				TABLE_PLAYERS, player.guildId, player.userId,
-				playerData.getExperience(ExpType.TEXT), playerData.getExperience(ExpType.VOICE), playerData.getAddedGlobalExperience(), playerData.getLastUpdate()
-			)
-		);
+				textExp, voiceExp, playerData.getAddedGlobalExperience(), playerData.getLastUpdate()
+			),
+			"guildId, userId",
+			"textExp=%d, voiceExp=%d, globalExp=globalExp+%d, lastUpdate=%d"
+				.formatted(textExp, voiceExp, playerData.getAddedGlobalExperience(), playerData.getLastUpdate())
+		));
 	}
 
 	public void addVoiceTime(PlayerObject player, long duration) throws SQLException {
-		execute("INSERT INTO %s(guildId, userId, voiceTime) VALUES (%d, %d, %d) ON CONFLICT(guildId, userId) DO UPDATE SET voiceTime=voiceTime+%<d;"
-			.formatted(TABLE_PLAYERS, player.guildId, player.userId, duration)
-		);
+		execute(upsert("INSERT INTO %s(guildId, userId, voiceTime) VALUES (%d, %d, %d)".formatted(TABLE_PLAYERS, player.guildId, player.userId, duration),
+			"guildId, userId", "voiceTime=voiceTime+%d".formatted(duration)
+		));
 	}
 
 	public long getSumGlobalExp(long userId) {
@@ -180,6 +188,16 @@ public class LevelManager extends LiteBase {
 		return new TopInfo(select(query.toString(), keys), limit);
 	}
 
+	// users, that have at least this amount of experience
+	public List<Long> getPlayersWithExp(long guildId, long minExp, ExpType expType) {
+		final String condition = switch (expType) {
+			case TEXT -> "textExp>=%d".formatted(minExp);
+			case VOICE -> "voiceExp>=%d".formatted(minExp);
+			default -> "(textExp>=%d OR voiceExp>=%<d)".formatted(minExp);
+		};
+		return select("SELECT userId FROM %s WHERE (guildId=%d AND %s)".formatted(TABLE_PLAYERS, guildId, condition), "userId", Long.class);
+	}
+
 	public void deleteUser(long guildId, long userId) throws SQLException {
 		playersCache.invalidate(PlayerObject.asKey(guildId, userId));
 		execute("DELETE FROM %s WHERE (guildId=%d AND userId=%d)".formatted(TABLE_PLAYERS, guildId, userId));
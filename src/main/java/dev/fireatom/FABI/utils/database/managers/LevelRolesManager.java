@@ -19,7 +19,7 @@ import static dev.fireatom.FABI.utils.CastUtil.requireNonNull;
 
 public class LevelRolesManager extends LiteBase {
 	// cache
-	private final FixedCache<Long, LevelRoleData> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, LevelRoleData> cache = new FixedCache<>("levelRoles", Constants.DEFAULT_CACHE_SIZE);
 
 	public LevelRolesManager(ConnectionUtil cu) {
 		super(cu, "levelRoles");
@@ -27,7 +27,8 @@ public class LevelRolesManager extends LiteBase {
 
 	public void add(long guildId, int level, String roleIds, boolean exact, ExpType type) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, level, roles, exact, type) VALUES (%d, %d, %s, %d, %d) ON CONFLICT(guildId, level, type) DO UPDATE SET roles=%4$s, exact=%5$d, type=%6$d".formatted(table, guildId, level, quote(roleIds), exact?1:0, type.ordinal()));
+		execute(upsert("INSERT INTO %s(guildId, level, roles, exact, type) VALUES (%d, %d, %s, %d, %d)".formatted(table, guildId, level, quote(roleIds), exact?1:0, type.ordinal()),
+			"guildId, level, type", "roles=%s, exact=%d, type=%d".formatted(quote(roleIds), exact?1:0, type.ordinal())));
 	}
 
 	public void removeGuild(long guildId) throws SQLException {
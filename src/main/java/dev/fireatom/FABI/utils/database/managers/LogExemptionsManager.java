@@ -13,7 +13,7 @@ import dev.fireatom.FABI.utils.database.LiteBase;
 public class LogExemptionsManager extends LiteBase {
 
 	// Cache
-	private final FixedCache<Long, Set<Long>> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, Set<Long>> cache = new FixedCache<>("logExemptions", Constants.DEFAULT_CACHE_SIZE);
 	
 	public LogExemptionsManager(ConnectionUtil cu) {
 		super(cu, "logExceptions");
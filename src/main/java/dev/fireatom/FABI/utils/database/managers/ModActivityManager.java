@@ -0,0 +1,64 @@
+package dev.fireatom.FABI.utils.database.managers;
+
+import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.LiteBase;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Daily moderation activity of each moderator.
+ * <p>
+ * Rows are counts of cases by case type and closed tickets by {@link #ROLE_TICKETS}/{@link #OTHER_TICKETS}
+ * for one UTC day (epoch day). They are updated together with new cases and closed tickets,
+ * so stats for any period are read from a few rows instead of counting cases and tickets.
+ */
+public class ModActivityManager extends LiteBase {
+	// Ticket types, case types are positive
+	public static final int ROLE_TICKETS = -1;
+	public static final int OTHER_TICKETS = -2;
+
+	public ModActivityManager(ConnectionUtil cu) {
+		super(cu, "modActivityDaily");
+	}
+
+	// count all activity by moderator
+	public Map<Integer, Integer> countByMod(long guildId, long modId) {
+		return sumByType("SELECT type, SUM(count) AS cc FROM %s WHERE (guildId=%d AND modId=%d) GROUP BY type"
+			.formatted(table, guildId, modId));
+	}
+
+	// count activity by moderator from certain day (including)
+	public Map<Integer, Integer> countByMod(long guildId, long modId, LocalDate fromDay) {
+		return sumByType("SELECT type, SUM(count) AS cc FROM %s WHERE (guildId=%d AND modId=%d AND day>=%d) GROUP BY type"
+			.formatted(table, guildId, modId, fromDay.toEpochDay()));
+	}
+
+	// count activity by moderator between days (including both)
+	public Map<Integer, Integer> countByMod(long guildId, long modId, LocalDate fromDay, LocalDate toDay) {
+		return sumByType("SELECT type, SUM(count) AS cc FROM %s WHERE (guildId=%d AND modId=%d AND day>=%d AND day<=%d) GROUP BY type"
+			.formatted(table, guildId, modId, fromDay.toEpochDay(), toDay.toEpochDay()));
+	}
+
+	private Map<Integer, Integer> sumByType(String sql) {
+		List<Map<String, Object>> data = select(sql, Set.of("type", "cc"));
+		if (data.isEmpty()) return Collections.emptyMap();
+		return data.stream().collect(Collectors.toMap(s -> (Integer) s.get("type"), s -> (Integer) s.get("cc")));
+	}
+
+	/**
+	 * @param counts Activity counts by type
+	 * @return Sum of case counts, without tickets
+	 */
+	public static int sumCases(Map<Integer, Integer> counts) {
+		int sum = 0;
+		for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+			if (entry.getKey() > 0) sum += entry.getValue();
+		}
+		return sum;
+	}
+}
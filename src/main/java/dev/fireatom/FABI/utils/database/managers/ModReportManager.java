@@ -6,19 +6,28 @@ import dev.fireatom.FABI.utils.database.LiteBase;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static dev.fireatom.FABI.utils.CastUtil.castLong;
+
 public class ModReportManager extends LiteBase {
+	// Type of role tickets in activity query, case types are positive
+	private static final int TICKET_TYPE = -1;
+
 	public ModReportManager(ConnectionUtil cu) {
 		super(cu, "modreport");
 	}
 
 	public void setup(long guildId, long channelId, String roleIds, LocalDateTime nextReport, int interval) throws SQLException {
-		execute(("INSERT INTO %s(guildId, channelId, roleIds, nextReport, interval) VALUES (%d, %d, %s, %d, %d)"+
-			"ON CONFLICT(guildId) DO UPDATE SET channelId=%3$d, roleIds=%4$s, nextReport=%5$d, interval=%6$d"
-		).formatted(table, guildId, channelId, quote(roleIds), nextReport.toEpochSecond(ZoneOffset.UTC), interval));
+		final long next = nextReport.toEpochSecond(ZoneOffset.UTC);
+		execute(upsert("INSERT INTO %s(guildId, channelId, roleIds, nextReport, interval) VALUES (%d, %d, %s, %d, %d)"
+				.formatted(table, guildId, channelId, quote(roleIds), next, interval),
+			"guildId",
+			"channelId=%d, roleIds=%s, nextReport=%d, interval=%d".formatted(channelId, quote(roleIds), next, interval)
+		));
 	}
 
 	public void removeGuild(long guildId) throws SQLException {
@@ -31,11 +40,57 @@ public class ModReportManager extends LiteBase {
 	}
 
 	public List<Map<String, Object>> getExpired(LocalDateTime now) {
-		List<Map<String, Object>> list = select("SELECT * FROM %s WHERE (nextReport<=%d)"
-				.formatted(table, now.toEpochSecond(ZoneOffset.UTC)),
+		List<Map<String, Object>> list = select("SELECT * FROM %s WHERE (nextReport<=%d AND %s)"
+				.formatted(table, now.toEpochSecond(ZoneOffset.UTC), ownedGuilds("guildId")),
 			Set.of("guildId", "channelId", "roleIds", "nextReport", "interval")
 		);
 		if (list.isEmpty()) return List.of();
 		return list;
 	}
+
+	/**
+	 * Counts cases by type and closed role tickets of every moderator in one pass.
+	 *
+	 * @param guildId    Guild ID
+	 * @param afterTime  Start of the period
+	 * @param beforeTime End of the period
+	 * @return Activity by moderator ID, moderators without activity are not included.
+	 */
+	public Map<Long, ModActivity> countModActivity(long guildId, LocalDateTime afterTime, LocalDateTime beforeTime) {
+		final long after = afterTime.toEpochSecond(ZoneOffset.UTC);
+		final long before = beforeTime.toEpochSecond(ZoneOffset.UTC);
+		List<Map<String, Object>> data = select(("SELECT modId, type, COUNT(*) AS cc FROM cases WHERE (guildId=%d AND timeStart>%d AND timeStart<%d) GROUP BY modId, type "+
+			"UNION ALL SELECT modId, %d AS type, COUNT(*) AS cc FROM ticket WHERE (guildId=%1$d AND modId IS NOT NULL AND tagId=0 AND timeClosed>=%2$d AND timeClosed<=%3$d) GROUP BY modId"
+		).formatted(guildId, after, before, TICKET_TYPE), Set.of("modId", "type", "cc"));
+		if (data.isEmpty()) return Map.of();
+
+		Map<Long, ModActivity> result = new HashMap<>();
+		for (Map<String, Object> row : data) {
+			ModActivity activity = result.computeIfAbsent(castLong(row.get("modId")), k -> new ModActivity());
+			int type = (Integer) row.get("type");
+			int count = (Integer) row.get("cc");
+			if (type == TICKET_TYPE) {
+				activity.roleTickets += count;
+			} else {
+				activity.caseCounts.merge(type, count, Integer::sum);
+			}
+		}
+		return result;
+	}
+
+	public static class ModActivity {
+		private int roleTickets = 0;
+		private final Map<Integer, Integer> caseCounts = new HashMap<>();
+
+		public int getRoleTickets() {
+			return roleTickets;
+		}
+
+		/**
+		 * @return Case count by case type
+		 */
+		public Map<Integer, Integer> getCaseCounts() {
+			return caseCounts;
+		}
+	}
 }
@@ -14,8 +14,10 @@ public class ModifyRoleManager extends LiteBase {
 	}
 
 	public void create(long guildId, long userId, long targetId, Instant expiresAfter) throws SQLException {
-		execute("INSERT INTO %s(guildId, userId, targetId, expiresAfter, roles) VALUES (%s, %s, %s, %s, \":::\") ON CONFLICT(guildId, userId, targetId) DO UPDATE SET expiresAfter = %<s, roles = \":::\""
-			.formatted(table, guildId, userId, targetId, expiresAfter.getEpochSecond()));
+		execute(upsert("INSERT INTO %s(guildId, userId, targetId, expiresAfter, roles) VALUES (%s, %s, %s, %s, ':::')"
+				.formatted(table, guildId, userId, targetId, expiresAfter.getEpochSecond()),
+			"guildId, userId, targetId", "expiresAfter = %s, roles = ':::'".formatted(expiresAfter.getEpochSecond())
+		));
 	}
 
 	public void update(long guildId, long userId, long targetId, String newRoles, Instant expiresAfter) throws SQLException {
@@ -4,6 +4,7 @@ import dev.fireatom.FABI.objects.constants.Constants;
 import dev.fireatom.FABI.utils.CastUtil;
 import dev.fireatom.FABI.utils.FixedCache;
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 import dev.fireatom.FABI.utils.database.LiteBase;
 
 import java.sql.SQLException;
@@ -22,8 +23,8 @@ public class PersistentManager extends LiteBase {
 	private final String table_return = "returnRole";
 
 	// Cache
-	private final FixedCache<Long, List<Long>> roleCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE); // GuildId - Role Ids
-	private final FixedCache<Long, Map<Long, List<Long>>> returnCache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE); // GuildId - UserId and Role Ids //
+	private final FixedCache<Long, List<Long>> roleCache = new FixedCache<>("persistentRoles", Constants.DEFAULT_CACHE_SIZE); // GuildId - Role Ids
+	private final FixedCache<Long, Map<Long, List<Long>>> returnCache = new FixedCache<>("persistentReturn", Constants.DEFAULT_CACHE_SIZE); // GuildId - UserId and Role Ids //
 
 	public PersistentManager(ConnectionUtil cu) {
 		super(cu, null);
@@ -56,11 +57,13 @@ public class PersistentManager extends LiteBase {
 	public void addUser(long guildId, long userId, List<Long> roleIds) throws SQLException {
 		// Add to cache
 		Map<Long, List<Long>> data = getUsers(guildId);
-		data.put(guildId, roleIds);
+		data.put(userId, roleIds);
 		// Add to db
 		final String text = roleIds.stream().map(String::valueOf).collect(Collectors.joining(";"));
-		execute("INSERT INTO %s(guildId, userId, roleIds, expiresAfter) VALUES (%d, %d, %s, %d) ON CONFLICT(guildId, userId) DO UPDATE SET roleIds=%4$s, expiresAfter=%5$d"
-			.formatted(table_return, guildId, userId, quote(text), Instant.now().plus(Duration.ofDays(30)).getEpochSecond()));
+		final long expiresAfter = Instant.now().plus(Duration.ofDays(30)).getEpochSecond();
+		execute(upsert("INSERT INTO %s(guildId, userId, roleIds, expiresAfter) VALUES (%d, %d, %s, %d)".formatted(table_return, guildId, userId, quote(text), expiresAfter),
+			"guildId, userId", "roleIds=%s, expiresAfter=%d".formatted(quote(text), expiresAfter)));
+		notifyDeadline(DeadlineListener.Type.PERSISTENT_ROLE, expiresAfter);
 	}
 
 	public List<Long> getUserRoles(long guildId, long userId) throws SQLException {
@@ -77,9 +80,13 @@ public class PersistentManager extends LiteBase {
 		return Collections.unmodifiableList(roleIds);
 	}
 
+	public Long getNextExpiration() {
+		return selectOne("SELECT MIN(expiresAfter) AS next FROM %s WHERE (%s)".formatted(table_return, ownedGuilds("guildId")), "next", Long.class);
+	}
+
 	public void removeExpired() {
-		List<Map<String, Object>> data = select("SELECT guildId, userId FROM %s WHERE (expiresAfter<=%d)"
-			.formatted(table_return, Instant.now().getEpochSecond()), Set.of("guildId", "userId"));
+		List<Map<String, Object>> data = select("SELECT guildId, userId FROM %s WHERE (expiresAfter<=%d AND %s)"
+			.formatted(table_return, Instant.now().getEpochSecond(), ownedGuilds("guildId")), Set.of("guildId", "userId"));
 		if (data.isEmpty()) return;
 		for (Map<String, Object> row : data) {
 			long guildId = CastUtil.castLong(row.get("guildId"));
@@ -7,55 +7,115 @@ import java.util.Map;
 import java.util.Set;
 
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 import dev.fireatom.FABI.utils.database.LiteBase;
 
 import net.dv8tion.jda.internal.utils.tuple.Pair;
 
 public class StrikeManager extends LiteBase {
 
+	private final String table_entries = "strikeEntries";
+
 	public StrikeManager(ConnectionUtil cu) {
 		super(cu, "strikeExpire");
 	}
 
-	public void addStrikes(long guildId, long userId, Instant expiresAt, int count, String caseInfo) throws SQLException {
-		execute("INSERT INTO %s(guildId, userId, expiresAt, count, data, lastAddition) VALUES (%d, %d, %d, %d, %s, %s) ON CONFLICT(guildId, userId) DO UPDATE SET count=count+%5$d, data=data || ';' || %6$s, lastAddition=%7$s"
-			.formatted(table, guildId, userId, expiresAt.getEpochSecond(), count, quote(caseInfo), Instant.now().getEpochSecond()));
+	public void addStrikes(long guildId, long userId, Instant expiresAt, int count, int caseRowId) throws SQLException {
+		final long now = Instant.now().getEpochSecond();
+		executeTransaction(List.of(
+			upsert("INSERT INTO %s(guildId, userId, expiresAt, lastAddition) VALUES (%d, %d, %d, %d)"
+				.formatted(table, guildId, userId, expiresAt.getEpochSecond(), now),
+				"guildId, userId", "lastAddition=%d".formatted(now)),
+			"INSERT INTO %s(guildId, userId, caseRowId, count) VALUES (%d, %d, %d, %d)"
+				.formatted(table_entries, guildId, userId, caseRowId, count)
+		));
+		notifyDeadline(DeadlineListener.Type.STRIKE, expiresAt.getEpochSecond());
 	}
 
 	public Integer getStrikeCount(long guildId, long userId) {
-		return selectOne("SELECT count FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId), "count", Integer.class);
+		return selectOne("SELECT SUM(count) AS total FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table_entries, guildId, userId), "total", Integer.class);
 	}
 
-	public List<Map<String, Object>> getExpired() {
-		return select("SELECT * FROM %s WHERE (expiresAt<%d)".formatted(table, Instant.now().getEpochSecond()), Set.of("guildId", "userId", "count", "data"));
+	/**
+	 * Removes one strike from the oldest case of every user, whose strikes have expired.
+	 * Cases without strikes left are set inactive, expiration time of users with strikes left is reset.
+	 * Everything is done in one transaction.
+	 *
+	 * @param now Current time
+	 */
+	public void expireStrikes(Instant now) throws SQLException {
+		final long time = now.getEpochSecond();
+		// Oldest case of each expired user
+		final String oldest = "SELECT MIN(e.caseRowId) FROM %s e INNER JOIN %s s ON e.guildId=s.guildId AND e.userId=s.userId WHERE s.expiresAt<=%d GROUP BY e.guildId, e.userId"
+			.formatted(table_entries, table, time);
+		executeTransaction(List.of(
+			"UPDATE %s SET count=count-1 WHERE caseRowId IN (%s)".formatted(table_entries, oldest),
+			"UPDATE cases SET active=0 WHERE rowId IN (SELECT caseRowId FROM %s WHERE (count<=0 AND caseRowId IN (%s)))".formatted(table_entries, oldest),
+			"DELETE FROM %s WHERE (count<=0 AND caseRowId IN (%s))".formatted(table_entries, oldest),
+			"DELETE FROM %1$s WHERE (expiresAt<=%2$d AND NOT EXISTS (SELECT 1 FROM %3$s e WHERE e.guildId=%1$s.guildId AND e.userId=%1$s.userId))"
+				.formatted(table, time, table_entries),
+			"UPDATE %1$s SET expiresAt=%2$d+86400*IFNULL((SELECT g.strikeExpire FROM guild g WHERE g.guildId=%1$s.guildId), 7) WHERE (expiresAt<=%2$d)"
+				.formatted(table, time)
+		));
+		Long next = getNextExpiration();
+		if (next != null) notifyDeadline(DeadlineListener.Type.STRIKE, next);
 	}
 
-	public Pair<Integer, String> getData(long guildId, long userId) {
-		Map<String, Object> data = selectOne("SELECT count, data FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId), Set.of("count", "data"));
-		if (data == null || data.isEmpty()) return null;
-		return Pair.of((Integer) data.get("count"), String.valueOf(data.getOrDefault("data", "")));
+	public Long getNextExpiration() {
+		return selectOne("SELECT MIN(expiresAt) AS next FROM %s".formatted(table), "next", Long.class);
+	}
+
+	/**
+	 * @return Active strike entries of the user, oldest first.
+	 */
+	public List<StrikeEntry> getEntries(long guildId, long userId) {
+		return select("SELECT caseRowId, count FROM %s WHERE (guildId=%d AND userId=%d) ORDER BY caseRowId"
+			.formatted(table_entries, guildId, userId), Set.of("caseRowId", "count"))
+			.stream()
+			.map(data -> new StrikeEntry((Integer) data.get("caseRowId"), (Integer) data.get("count")))
+			.toList();
 	}
 
 	public Pair<Integer, Integer> getDataCountAndDate(long guildId, long userId) {
-		Map<String, Object> data = selectOne("SELECT count, expiresAt FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId), Set.of("count", "expiresAt"));
+		Map<String, Object> data = selectOne("SELECT SUM(e.count) AS count, s.expiresAt FROM %s s INNER JOIN %s e ON e.guildId=s.guildId AND e.userId=s.userId WHERE (s.guildId=%d AND s.userId=%d) GROUP BY s.guildId, s.userId, s.expiresAt"
+			.formatted(table, table_entries, guildId, userId), Set.of("count", "expiresAt"));
 		if (data == null || data.isEmpty()) return null;
 		return Pair.of((Integer) data.get("count"), (Integer) data.get("expiresAt"));
 	}
 
-	public void removeStrike(long guildId, long userId, Instant expiresAt, int amount, String newData) throws SQLException {
-		execute("UPDATE %s SET expiresAt=%d, count=count-%d, data=%s WHERE (guildId=%d AND userId=%d)".formatted(table, expiresAt.getEpochSecond(), amount, quote(newData), guildId, userId));
+	/**
+	 * Removes strikes of one case and resets expiration time.
+	 * Entry without strikes left is deleted, as well as user without entries.
+	 */
+	public void removeStrikes(long guildId, long userId, int caseRowId, int amount, Instant expiresAt) throws SQLException {
+		executeTransaction(List.of(
+			"UPDATE %s SET count=count-%d WHERE (caseRowId=%d)".formatted(table_entries, amount, caseRowId),
+			"DELETE FROM %s WHERE (caseRowId=%d AND count<=0)".formatted(table_entries, caseRowId),
+			"UPDATE %s SET expiresAt=%d WHERE (guildId=%d AND userId=%d)".formatted(table, expiresAt.getEpochSecond(), guildId, userId),
+			"DELETE FROM %1$s WHERE (guildId=%2$d AND userId=%3$d AND NOT EXISTS (SELECT 1 FROM %4$s e WHERE e.guildId=%2$d AND e.userId=%3$d))"
+				.formatted(table, guildId, userId, table_entries)
+		));
+		notifyDeadline(DeadlineListener.Type.STRIKE, expiresAt.getEpochSecond());
 	}
 
 	public void removeGuildUser(long guildId, long userId) throws SQLException {
-		execute("DELETE FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId));
+		executeTransaction(List.of(
+			"DELETE FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table_entries, guildId, userId),
+			"DELETE FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId)
+		));
 	}
 
 	public void removeGuild(long guildId) throws SQLException {
-		execute("DELETE FROM %s WHERE (guildId=%d)".formatted(table, guildId));
+		executeTransaction(List.of(
+			"DELETE FROM %s WHERE (guildId=%d)".formatted(table_entries, guildId),
+			"DELETE FROM %s WHERE (guildId=%d)".formatted(table, guildId)
+		));
 	}
 	
 	public Instant getLastAddition(long guildId, long userId) {
 		Long data = selectOne("SELECT lastAddition FROM %s WHERE (guildId=%d AND userId=%d)".formatted(table, guildId, userId), "lastAddition", Long.class);
 		return data==null ? null : Instant.ofEpochSecond(data);
 	}
+
+	public record StrikeEntry(int caseRowId, int count) {}
 }
@@ -0,0 +1,170 @@
+package dev.fireatom.FABI.utils.database.managers;
+
+import static dev.fireatom.FABI.utils.CastUtil.castLong;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import dev.fireatom.FABI.objects.CaseType;
+import dev.fireatom.FABI.objects.SyncAction;
+import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.LiteBase;
+
+/**
+ * Group sync jobs (ban, unban or kick in all guilds of a group).
+ * <p>
+ * Job target guilds are stored with their state, each finished request is saved,
+ * so unfinished jobs continue after restart from where they stopped.
+ * With several processes, each of them handles pending guilds of own shards.
+ */
+public class SyncJobManager extends LiteBase {
+	// Guild states
+	public static final int PENDING = 0;
+	public static final int DONE = 1;
+	public static final int FAILED = 2;
+	public static final int SKIPPED = 3;
+
+	private final String guilds = "syncJobGuilds";
+
+	public SyncJobManager(ConnectionUtil cu) {
+		super(cu, "syncJobs");
+	}
+
+	/**
+	 * Creates job and resolves its target guilds: members of the group
+	 * and members of all groups owned by guilds, that can manage this group.
+	 *
+	 * @return Job ID, or 0 on failure
+	 */
+	public int create(int groupId, SyncAction action, long targetId, long masterId, String reason, String modName) throws SQLException {
+		int jobId = executeWithRow("INSERT INTO %s(groupId, action, targetId, masterId, reason, modName, created) VALUES (%d, %d, %d, %d, %s, %s, %d)"
+			.formatted(table, groupId, action.getValue(), targetId, masterId, quote(reason), quote(modName), Instant.now().getEpochSecond()));
+		if (jobId == 0) return 0;
+
+		List<String> sqls = new ArrayList<>();
+		sqls.add(("INSERT INTO %s(jobId, guildId) SELECT %d, guildId FROM (SELECT guildId FROM groupMembers WHERE (groupId=%d)"
+			+" UNION SELECT m.guildId FROM groups AS g INNER JOIN groupMembers AS m ON m.groupId=g.groupId"
+			+" WHERE g.ownerId IN (SELECT guildId FROM groupMembers WHERE (groupId=%d AND canManage=1)))")
+			.formatted(guilds, jobId, groupId, groupId));
+		if (!action.equals(SyncAction.KICK)) {
+			// Remove temporal bans, so they are not lifted or left active by expiration
+			sqls.add("UPDATE cases SET active=0 WHERE (targetId=%d AND type=%d AND active=1 AND guildId IN (SELECT guildId FROM %s WHERE (jobId=%d)))"
+				.formatted(targetId, CaseType.BAN.getValue(), guilds, jobId));
+		}
+		try {
+			executeTransaction(sqls);
+		} catch (SQLException ex) {
+			delete(jobId);
+			throw ex;
+		}
+		return jobId;
+	}
+
+	public void delete(int jobId) throws SQLException {
+		executeTransaction(List.of(
+			"DELETE FROM %s WHERE (jobId=%d)".formatted(guilds, jobId),
+			"DELETE FROM %s WHERE (jobId=%d)".formatted(table, jobId)
+		));
+	}
+
+	public List<SyncJob> getJobs() {
+		List<Map<String, Object>> data = select("SELECT * FROM %s ORDER BY jobId".formatted(table),
+			Set.of("jobId", "groupId", "action", "targetId", "masterId", "reason", "modName"));
+		if (data.isEmpty()) return Collections.emptyList();
+		return data.stream().map(SyncJob::new).toList();
+	}
+
+	public SyncJob getJob(int jobId) {
+		Map<String, Object> data = selectOne("SELECT * FROM %s WHERE (jobId=%d)".formatted(table, jobId),
+			Set.of("jobId", "groupId", "action", "targetId", "masterId", "reason", "modName"));
+		if (data == null) return null;
+		return new SyncJob(data);
+	}
+
+	/**
+	 * @return Pending guilds of the job, handled by this process
+	 */
+	public List<Long> getPending(int jobId) {
+		return select("SELECT guildId FROM %s WHERE (jobId=%d AND state=%d AND %s)".formatted(guilds, jobId, PENDING, ownedGuilds("guildId")), "guildId", Long.class);
+	}
+
+	/**
+	 * @return Pending guilds of the job, handled by any process
+	 */
+	public List<Long> getAllPending(int jobId) {
+		return select("SELECT guildId FROM %s WHERE (jobId=%d AND state=%d)".formatted(guilds, jobId, PENDING), "guildId", Long.class);
+	}
+
+	/**
+	 * @return Guild count by state
+	 */
+	public Map<Integer, Integer> countStates(int jobId) {
+		List<Map<String, Object>> data = select("SELECT state, COUNT(*) AS cc FROM %s WHERE (jobId=%d) GROUP BY state"
+			.formatted(guilds, jobId), Set.of("state", "cc"));
+		if (data.isEmpty()) return Collections.emptyMap();
+		return data.stream().collect(Collectors.toMap(s -> (Integer) s.get("state"), s -> (Integer) s.get("cc")));
+	}
+
+	public void setState(int jobId, long guildId, int state) throws SQLException {
+		execute("UPDATE %s SET state=%d WHERE (jobId=%d AND guildId=%d)".formatted(guilds, state, jobId, guildId));
+	}
+
+	public void setStates(int jobId, Collection<Long> guildIds, int state) throws SQLException {
+		if (guildIds.isEmpty()) return;
+		execute("UPDATE %s SET state=%d WHERE (jobId=%d AND guildId IN (%s))".formatted(guilds, state, jobId,
+			guildIds.stream().map(String::valueOf).collect(Collectors.joining(","))));
+	}
+
+	public static class SyncJob {
+		private final int jobId, groupId;
+		private final SyncAction action;
+		private final long targetId, masterId;
+		private final String reason, modName;
+
+		public SyncJob(Map<String, Object> map) {
+			this.jobId = (Integer) map.get("jobId");
+			this.groupId = (Integer) map.get("groupId");
+			this.action = SyncAction.byValue((Integer) map.get("action"));
+			this.targetId = castLong(map.get("targetId"));
+			this.masterId = castLong(map.get("masterId"));
+			this.reason = (String) map.get("reason");
+			this.modName = (String) map.get("modName");
+		}
+
+		public int getJobId() {
+			return jobId;
+		}
+
+		public int getGroupId() {
+			return groupId;
+		}
+
+		public SyncAction getAction() {
+			return action;
+		}
+
+		public long getTargetId() {
+			return targetId;
+		}
+
+		public long getMasterId() {
+			return masterId;
+		}
+
+		public String getReason() {
+			return reason;
+		}
+
+		public String getModName() {
+			return modName;
+		}
+	}
+
+}
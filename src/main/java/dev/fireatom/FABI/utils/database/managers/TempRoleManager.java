@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Set;
 
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 import dev.fireatom.FABI.utils.database.LiteBase;
 
 public class TempRoleManager extends LiteBase {
@@ -16,8 +17,11 @@ public class TempRoleManager extends LiteBase {
 	}
 
 	public void add(long guildId, long roleId, long userId, boolean deleteAfter, Instant expiresAt) throws SQLException {
-		execute("INSERT INTO %s(guildId, roleId, userId, deleteAfter, expiresAt) VALUES (%s, %s, %s, %d, %d) ON CONFLICT(roleId, userId) DO UPDATE SET expiresAt=%<d;"
-			.formatted(table, guildId, roleId, userId, (deleteAfter ? 1 : 0), expiresAt.getEpochSecond()));
+		execute(upsert("INSERT INTO %s(guildId, roleId, userId, deleteAfter, expiresAt) VALUES (%s, %s, %s, %d, %d)"
+				.formatted(table, guildId, roleId, userId, (deleteAfter ? 1 : 0), expiresAt.getEpochSecond()),
+			"roleId, userId", "expiresAt=%d".formatted(expiresAt.getEpochSecond())
+		));
+		notifyDeadline(DeadlineListener.Type.TEMP_ROLE, expiresAt.getEpochSecond());
 	}
 
 	public void remove(long roleId, long userId) throws SQLException {
@@ -34,6 +38,7 @@ public class TempRoleManager extends LiteBase {
 
 	public void updateTime(long roleId, long userId, Instant expiresAt) throws SQLException {
 		execute("UPDATE %s SET expiresAt=%s WHERE (roleId=%s AND userId=%s)".formatted(table, expiresAt.getEpochSecond(), roleId, userId));
+		notifyDeadline(DeadlineListener.Type.TEMP_ROLE, expiresAt.getEpochSecond());
 	}
 
 	public Instant expireAt(long roleId, long userId) {
@@ -43,11 +48,15 @@ public class TempRoleManager extends LiteBase {
 	}
 
 	public List<Map<String, Object>> expiredRoles() {
-		return select("SELECT roleId, userId FROM %s WHERE (expiresAt<=%d)".formatted(table, Instant.now().getEpochSecond()), Set.of("roleId", "userId"));
+		return select("SELECT roleId, userId FROM %s WHERE (expiresAt<=%d AND %s)".formatted(table, Instant.now().getEpochSecond(), ownedGuilds("guildId")), Set.of("roleId", "userId"));
+	}
+
+	public Long getNextExpiration() {
+		return selectOne("SELECT MIN(expiresAt) AS next FROM %s WHERE (%s)".formatted(table, ownedGuilds("guildId")), "next", Long.class);
 	}
 
 	public List<Map<String, Object>> getAll(long guildId) {
-		return select("SELECT * FROM %s WHERE (guildId=%s)".formatted(table, guildId), Set.of("roleId", "userId", "expireAfter"));
+		return select("SELECT * FROM %s WHERE (guildId=%s)".formatted(table, guildId), Set.of("roleId", "userId", "expiresAt"));
 	}
 
 	public boolean shouldDelete(long roleId) {
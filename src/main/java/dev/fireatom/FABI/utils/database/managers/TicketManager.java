@@ -2,14 +2,15 @@ package dev.fireatom.FABI.utils.database.managers;
 
 import java.sql.SQLException;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import dev.fireatom.FABI.utils.database.ConnectionUtil;
+import dev.fireatom.FABI.utils.database.DeadlineListener;
 import dev.fireatom.FABI.utils.database.LiteBase;
 
 public class TicketManager extends LiteBase {
@@ -25,13 +26,17 @@ public class TicketManager extends LiteBase {
 
 	// add new ticket
 	public void addRoleTicket(int ticketId, long userId, long guildId, long channelId, String roleIds, int replyTime) throws SQLException {
+		final long replyWait = replyTime>0 ? Instant.now().plus(replyTime, ChronoUnit.HOURS).getEpochSecond() : 0;
 		execute("INSERT INTO %s(ticketId, userId, guildId, channelId, tagId, roleIds, replyWait) VALUES (%d, %s, %s, %s, 0, %s, %d)"
-			.formatted(table, ticketId, userId, guildId, channelId, quote(roleIds), replyTime>0 ? Instant.now().plus(replyTime, ChronoUnit.HOURS).getEpochSecond() : 0));
+			.formatted(table, ticketId, userId, guildId, channelId, quote(roleIds), replyWait));
+		notifyDeadline(DeadlineListener.Type.TICKET_REPLY, replyWait);
 	}
 
 	public void addTicket(int ticketId, long userId, long guildId, long channelId, int tagId, int replyTime) throws SQLException {
+		final long replyWait = replyTime>0 ? Instant.now().plus(replyTime, ChronoUnit.HOURS).getEpochSecond() : 0;
 		execute("INSERT INTO %s(ticketId, userId, guildId, channelId, tagId, replyWait) VALUES (%d, %s, %s, %s, %d, %d)"
-			.formatted(table, ticketId, userId, guildId, channelId, tagId, replyTime>0 ? Instant.now().plus(replyTime, ChronoUnit.HOURS).getEpochSecond() : 0));
+			.formatted(table, ticketId, userId, guildId, channelId, tagId, replyWait));
+		notifyDeadline(DeadlineListener.Type.TICKET_REPLY, replyWait);
 	}
 
 	// get last ticket's ID
@@ -56,7 +61,13 @@ public class TicketManager extends LiteBase {
 
 	// set status
 	public void closeTicket(Instant timeClosed, long channelId, String reason) throws SQLException {
-		execute("UPDATE %s SET closed=1, timeClosed=%d, reasonClosed=%s WHERE (channelId=%s)".formatted(table, timeClosed.getEpochSecond(), quote(reason), channelId));
+		executeTransaction(List.of(
+			// Daily activity rollup, only for claimed and not yet closed ticket
+			upsert("INSERT INTO modActivityDaily(guildId, modId, day, type, count) SELECT guildId, modId, %d, CASE WHEN tagId=0 THEN %d ELSE %d END, 1 FROM %s WHERE (channelId=%d AND closed=0 AND modId IS NOT NULL)"
+				.formatted(Math.floorDiv(timeClosed.getEpochSecond(), 86400), ModActivityManager.ROLE_TICKETS, ModActivityManager.OTHER_TICKETS, table, channelId),
+				"guildId, modId, day, type", "count=count+1"),
+			"UPDATE %s SET closed=1, timeClosed=%d, reasonClosed=%s WHERE (channelId=%s)".formatted(table, timeClosed.getEpochSecond(), quote(reason), channelId)
+		));
 	}
 
 	public void forceCloseTicket(long channelId) throws SQLException {
@@ -80,16 +91,16 @@ public class TicketManager extends LiteBase {
 	}
 
 	public List<Long> getOpenedChannels() {
-		return select("SELECT channelId FROM %s WHERE (closed=0 AND closeRequested=0)".formatted(table), "channelId", Long.class);
+		return select("SELECT channelId FROM %s WHERE (closed=0 AND closeRequested=0 AND %s)".formatted(table, ownedGuilds("guildId")), "channelId", Long.class);
 	}
 
 	public List<Long> getCloseMarkedTickets() {
-		return select("SELECT channelId FROM %s WHERE (closed=0 AND closeRequested>0 AND closeRequested<=%d)".formatted(table, Instant.now().getEpochSecond()),
+		return select("SELECT channelId FROM %s WHERE (closed=0 AND closeRequested>0 AND closeRequested<=%d AND %s)".formatted(table, Instant.now().getEpochSecond(), ownedGuilds("guildId")),
 			"channelId", Long.class);
 	}
 
 	public List<Long> getReplyExpiredTickets() {
-		return select("SELECT channelId FROM %s WHERE (closed=0 AND replyWait>0 AND replyWait<=%d)".formatted(table, Instant.now().getEpochSecond()),
+		return select("SELECT channelId FROM %s WHERE (closed=0 AND replyWait>0 AND replyWait<=%d AND %s)".formatted(table, Instant.now().getEpochSecond(), ownedGuilds("guildId")),
 			"channelId", Long.class);
 	}
 
@@ -116,22 +127,17 @@ public class TicketManager extends LiteBase {
 		return selectOne("SELECT tagId FROM %s WHERE (channelId=%s)".formatted(table, channelId), "tagId", Integer.class);
 	}
 
-	public int countTicketsByMod(long guildId, long modId, LocalDateTime afterTime, LocalDateTime beforeTime, boolean roleTag) {
-		String tagType = roleTag ? "tagId=0" : "tagId>=1";
-		return count("SELECT COUNT(*) FROM %s WHERE (guildId=%s AND modId=%s AND timeClosed>=%d AND timeClosed<=%d AND %s)"
-			.formatted(table, guildId, modId, afterTime.toEpochSecond(ZoneOffset.UTC), beforeTime.toEpochSecond(ZoneOffset.UTC), tagType));
-	}
-
-	public int countTicketsByMod(long guildId, long modId, Instant afterTime, boolean roleTag) {
-		String tagType = roleTag ? "tagId=0" : "tagId>=1";
-		return count("SELECT COUNT(*) FROM %s WHERE (guildId=%s AND modId=%s AND timeClosed>=%d AND %s)"
-			.formatted(table, guildId, modId, afterTime.getEpochSecond(), tagType));
-	}
-
-	public int countTicketsByMod(long guildId, long modId, boolean roleTag) {
-		String tagType = roleTag ? "tagId=0" : "tagId>=1";
-		return count("SELECT COUNT(*) FROM %s WHERE (guildId=%s AND modId=%s AND %s)"
-				.formatted(table, guildId, modId, tagType));
+	/**
+	 * Full-text search by close reason.
+	 *
+	 * @param text  Search text
+	 * @param limit Max results
+	 * @return Best matching closed tickets first
+	 */
+	public List<Map<String, Object>> searchClosed(long guildId, String text, int limit) {
+		String query = textSearch("ticketSearch", "channelId", List.of("reasonClosed"), guildId, text, limit);
+		if (query == null) return Collections.emptyList();
+		return select(query, Set.of("ticketId", "tagId", "userId", "modId", "channelId", "timeClosed", "reasonClosed"));
 	}
 
 	/**
@@ -144,10 +150,12 @@ public class TicketManager extends LiteBase {
 	 */
 	public void setRequestStatus(long channelId, long closeRequested) throws SQLException {
 		execute("UPDATE %s SET closeRequested=%d WHERE (channelId=%s)".formatted(table, closeRequested, channelId));
+		notifyDeadline(DeadlineListener.Type.TICKET_CLOSE, closeRequested);
 	}
 
 	public void setRequestStatus(long channelId, long closeRequested, String reason) throws SQLException {
 		execute("UPDATE %s SET closeRequested=%d, reasonClosed=%s WHERE (channelId=%s)".formatted(table, closeRequested, quote(reason), channelId));
+		notifyDeadline(DeadlineListener.Type.TICKET_CLOSE, closeRequested);
 	}
 
 	public long getTimeClosing(long channelId) {
@@ -157,6 +165,15 @@ public class TicketManager extends LiteBase {
 
 	public void setWaitTime(long channelId, long time) throws SQLException {
 		execute("UPDATE %s SET replyWait=%d WHERE (channelId=%s)".formatted(table, time, channelId));
+		notifyDeadline(DeadlineListener.Type.TICKET_REPLY, time);
+	}
+
+	public Long getNextCloseRequest() {
+		return selectOne("SELECT MIN(closeRequested) AS next FROM %s WHERE (closed=0 AND closeRequested>0 AND %s)".formatted(table, ownedGuilds("guildId")), "next", Long.class);
+	}
+
+	public Long getNextReplyExpiration() {
+		return selectOne("SELECT MIN(replyWait) AS next FROM %s WHERE (closed=0 AND replyWait>0 AND %s)".formatted(table, ownedGuilds("guildId")), "next", Long.class);
 	}
 
 }
@@ -25,7 +25,7 @@ public class TicketSettingsManager extends LiteBase {
 	);
 
 	// Cache
-	private final FixedCache<Long, TicketSettings> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, TicketSettings> cache = new FixedCache<>("ticketSettings", Constants.DEFAULT_CACHE_SIZE);
 	private final TicketSettings defaultSettings = new TicketSettings();
 
 	public TicketSettingsManager(ConnectionUtil cu) {
@@ -55,48 +55,49 @@ public class TicketSettingsManager extends LiteBase {
 		if (row < 1 || row > 3)
 			throw new IndexOutOfBoundsException(row);
 		invalidateCache(guildId);
-		execute("INSERT INTO %1$s(guildId, rowName%2$d) VALUES (%3$d, %4$s) ON CONFLICT(guildId) DO UPDATE SET rowName%2$d=%4$s".formatted(table, row, guildId, quote(text)));
+		execute(upsert("INSERT INTO %1$s(guildId, rowName%2$d) VALUES (%3$d, %4$s)".formatted(table, row, guildId, quote(text)),
+			"guildId", "rowName%d=%s".formatted(row, quote(text))));
 	}
 
 	public void setAutocloseTime(long guildId, int hours) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, autocloseTime) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET autocloseTime=%<d".formatted(table, guildId, hours));
+		execute(upsert("INSERT INTO %s(guildId, autocloseTime) VALUES (%d, %d)".formatted(table, guildId, hours), "guildId", "autocloseTime=%d".formatted(hours)));
 	}
 
 	public void setAutocloseLeft(long guildId, boolean close) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, autocloseLeft) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET autocloseLeft=%<d".formatted(table, guildId, close ? 1 : 0));
+		execute(upsert("INSERT INTO %s(guildId, autocloseLeft) VALUES (%d, %d)".formatted(table, guildId, close ? 1 : 0), "guildId", "autocloseLeft=%d".formatted(close ? 1 : 0)));
 	}
 
 	public void setTimeToReply(long guildId, int hours) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, timeToReply) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET timeToReply=%<d".formatted(table, guildId, hours));
+		execute(upsert("INSERT INTO %s(guildId, timeToReply) VALUES (%d, %d)".formatted(table, guildId, hours), "guildId", "timeToReply=%d".formatted(hours)));
 	}
 
 	public void setOtherRoles(long guildId, boolean otherRoles) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, otherRole) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET otherRole=%<d".formatted(table, guildId, otherRoles ? 1 : 0));
+		execute(upsert("INSERT INTO %s(guildId, otherRole) VALUES (%d, %d)".formatted(table, guildId, otherRoles ? 1 : 0), "guildId", "otherRole=%d".formatted(otherRoles ? 1 : 0)));
 	}
 
 	public void setSupportRoles(long guildId, @NotNull List<Long> roleIds) throws SQLException {
 		invalidateCache(guildId);
 		final String text = roleIds.stream().map(String::valueOf).collect(Collectors.joining(";"));
-		execute("INSERT INTO %s(guildId, roleSupport) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET roleSupport=%<s".formatted(table, guildId, quote(text)));
+		execute(upsert("INSERT INTO %s(guildId, roleSupport) VALUES (%d, %s)".formatted(table, guildId, quote(text)), "guildId", "roleSupport=%s".formatted(quote(text))));
 	}
 
 	public void setDeletePings(long guildId, boolean deletePing) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, deletePing) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET deletePing=%<d".formatted(table, guildId, deletePing ? 1 : 0));
+		execute(upsert("INSERT INTO %s(guildId, deletePing) VALUES (%d, %d)".formatted(table, guildId, deletePing ? 1 : 0), "guildId", "deletePing=%d".formatted(deletePing ? 1 : 0)));
 	}
 
 	public void setAllowClose(long guildId, AllowClose value) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, allowClose) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET allowClose=%<d".formatted(table, guildId, value.getValue()));
+		execute(upsert("INSERT INTO %s(guildId, allowClose) VALUES (%d, %d)".formatted(table, guildId, value.getValue()), "guildId", "allowClose=%d".formatted(value.getValue())));
 	}
 
 	public void setTranscript(long guildId, TranscriptsMode value) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, transcripts) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET transcripts=%<d".formatted(table, guildId, value.getValue()));
+		execute(upsert("INSERT INTO %s(guildId, transcripts) VALUES (%d, %d)".formatted(table, guildId, value.getValue()), "guildId", "transcripts=%d".formatted(value.getValue())));
 	}
 
 
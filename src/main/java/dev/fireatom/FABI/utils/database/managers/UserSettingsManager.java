@@ -16,11 +16,11 @@ public class UserSettingsManager extends LiteBase {
 	}
 
 	public void setName(long userId, String channelName) throws SQLException {
-		execute("INSERT INTO %s(userId, voiceName) VALUES (%d, %s) ON CONFLICT(userId) DO UPDATE SET voiceName=%<s".formatted(table, userId, quote(channelName)));
+		execute(upsert("INSERT INTO %s(userId, voiceName) VALUES (%d, %s)".formatted(table, userId, quote(channelName)), "userId", "voiceName=%s".formatted(quote(channelName))));
 	}
 
 	public void setLimit(long userId, int channelLimit) throws SQLException {
-		execute("INSERT INTO %s(userId, voiceLimit) VALUES (%d, %d) ON CONFLICT(userId) DO UPDATE SET voiceLimit=%<d".formatted(table, userId, channelLimit));
+		execute(upsert("INSERT INTO %s(userId, voiceLimit) VALUES (%d, %d)".formatted(table, userId, channelLimit), "userId", "voiceLimit=%d".formatted(channelLimit)));
 	}
 
 	public String getName(long userId) {
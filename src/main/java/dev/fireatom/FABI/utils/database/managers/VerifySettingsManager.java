@@ -20,7 +20,7 @@ public class VerifySettingsManager extends LiteBase {
 	private final Set<String> columns = Set.of("roleId", "panelText", "panelImage", "additionalRoles");
 
 	// Cache
-	private final FixedCache<Long, VerifySettings> cache = new FixedCache<>(Constants.DEFAULT_CACHE_SIZE);
+	private final FixedCache<Long, VerifySettings> cache = new FixedCache<>("verifySettings", Constants.DEFAULT_CACHE_SIZE);
 	private final VerifySettings blankSettings = new VerifySettings();
 
 	public VerifySettingsManager(ConnectionUtil cu) {
@@ -48,23 +48,23 @@ public class VerifySettingsManager extends LiteBase {
 
 	public void setVerifyRole(long guildId, long roleId) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, roleId) VALUES (%d, %d) ON CONFLICT(guildId) DO UPDATE SET roleId=%<d".formatted(table, guildId, roleId));
+		execute(upsert("INSERT INTO %s(guildId, roleId) VALUES (%d, %d)".formatted(table, guildId, roleId), "guildId", "roleId=%d".formatted(roleId)));
 	}
 
 	public void setPanelText(long guildId, String text) throws SQLException {
 		invalidateCache(guildId);
 		final String textParsed = quote(text.replace("\\n", "<br>"));
-		execute("INSERT INTO %s(guildId, panelText) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET panelText=%<s".formatted(table, guildId, textParsed));
+		execute(upsert("INSERT INTO %s(guildId, panelText) VALUES (%d, %s)".formatted(table, guildId, textParsed), "guildId", "panelText=%s".formatted(textParsed)));
 	}
 
 	public void setPanelImage(long guildId, String imageUrl) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, panelImage) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET panelImage=%<s".formatted(table, guildId, quote(imageUrl)));
+		execute(upsert("INSERT INTO %s(guildId, panelImage) VALUES (%d, %s)".formatted(table, guildId, quote(imageUrl)), "guildId", "panelImage=%s".formatted(quote(imageUrl))));
 	}
 
 	public void setAdditionalRoles(long guildId, @Nullable String roleIds) throws SQLException {
 		invalidateCache(guildId);
-		execute("INSERT INTO %s(guildId, additionalRoles) VALUES (%d, %s) ON CONFLICT(guildId) DO UPDATE SET additionalRoles=%<s".formatted(table, guildId, quote(roleIds)));
+		execute(upsert("INSERT INTO %s(guildId, additionalRoles) VALUES (%d, %s)".formatted(table, guildId, quote(roleIds)), "guildId", "additionalRoles=%s".formatted(quote(roleIds))));
 	}
 
 	private void invalidateCache(long guildId) {
@@ -19,7 +19,7 @@ public class VoiceChannelManager extends LiteBase {
 
 	public void add(long userId, long channelId) throws SQLException {
 		cache.put(userId, channelId);
-		execute("INSERT INTO %s(userId, channelId) VALUES (%d, %d) ON CONFLICT(channelId) DO UPDATE SET channelId=%<d".formatted(table, userId, channelId));
+		execute(upsert("INSERT INTO %s(userId, channelId) VALUES (%d, %d)".formatted(table, userId, channelId), "channelId", "channelId=%d".formatted(channelId)));
 	}
 
 	public void remove(long channelId) throws SQLException {
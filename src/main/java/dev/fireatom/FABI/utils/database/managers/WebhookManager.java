@@ -14,8 +14,8 @@ public class WebhookManager extends LiteBase {
 	}
 
 	public void add(long webhookId, long guildId, String token) throws SQLException {
-		execute("INSERT INTO %s(webhookId, guildId, token) VALUES (%s, %s, %s) ON CONFLICT(webhookId) DO NOTHING"
-			.formatted(table, webhookId, guildId, quote(token)));
+		execute(upsert("INSERT INTO %s(webhookId, guildId, token) VALUES (%s, %s, %s)".formatted(table, webhookId, guildId, quote(token)),
+			"webhookId", null));
 	}
 
 	public void remove(long webhookId) throws SQLException {
@@ -0,0 +1,70 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * SQL, that differs between database engines.
+ * <p>
+ * Managers build upserts, paging and text search only through it, so they run unchanged on each storage.
+ */
+public interface Dialect {
+
+	/**
+	 * @param insert   Insert statement, e.g. {@code INSERT INTO t(a, b) VALUES (1, 2)}
+	 * @param conflict Unique columns, e.g. {@code a}
+	 * @param update   Assignments on conflict, e.g. {@code b=2}, or null to keep existing row
+	 * @return Insert or update statement
+	 */
+	@NotNull
+	String upsert(@NotNull String insert, @NotNull String conflict, String update);
+
+	/**
+	 * @return Clause, that limits result rows
+	 */
+	@NotNull
+	String page(int limit, int offset);
+
+	/**
+	 * @param column Column with guild ID
+	 * @param total  Total shard count
+	 * @return Expression with shard ID of the guild
+	 */
+	@NotNull
+	String shardOf(@NotNull String column, int total);
+
+	/**
+	 * Text search in rows of one guild.
+	 *
+	 * @param table   Searched table, must have guildId column
+	 * @param key     Key column of the table
+	 * @param index   SQLite full-text table over the columns, its rowid is the key
+	 * @param columns Searched columns
+	 * @param words   Words to match, only letters and digits, last word also as prefix
+	 * @param limit   Max results
+	 * @return Query of the matching rows of the table, best matching first
+	 */
+	@NotNull
+	String search(@NotNull String table, @NotNull String key, @NotNull String index, @NotNull List<String> columns,
+				  long guildId, @NotNull List<String> words, int limit);
+
+	/**
+	 * @return Statement, that starts a transaction holding the write lock from the start
+	 */
+	@NotNull
+	String beginExclusive();
+
+	/**
+	 * @return Query with schema version in the first column
+	 */
+	@NotNull
+	String getVersion();
+
+	/**
+	 * @return Statement, that saves schema version
+	 */
+	@NotNull
+	String setVersion(int version);
+
+}
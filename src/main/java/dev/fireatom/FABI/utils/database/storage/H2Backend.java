@@ -0,0 +1,98 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * H2 database file in server mode.
+ * <p>
+ * First process, that opens the file, serves it to others, so processes with shard ranges share it.
+ * Rows are locked instead of the whole file, writers of different rows do not wait for each other.
+ * New storage is created from {@code /h2/schema.sql} at its version, then updated like other storages.
+ */
+public class H2Backend implements StorageBackend {
+
+	// Identifiers are matched ignoring case, as in SQLite.
+	// MySQL mode allows upsert of any insert statement.
+	private static final String OPTIONS = ";AUTO_SERVER=TRUE;MODE=MySQL;DATABASE_TO_UPPER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE"
+		+";NON_KEYWORDS=DAY,GROUPS,INTERVAL,ROW;LOCK_TIMEOUT=5000";
+	// Process, that opens the file at the same time, holds its lock for a moment
+	private static final int OPEN_ATTEMPTS = 5;
+	private static final long OPEN_RETRY_DELAY = 1000; // ms
+
+	private final String url;
+	// Database and its server are closed with the last connection
+	private final Connection anchor;
+
+	/**
+	 * @param file Database file without {@code .mv.db} extension
+	 */
+	public H2Backend(@NotNull Path file) throws SQLException {
+		this.url = "jdbc:h2:file:"+file.toAbsolutePath()+OPTIONS;
+		this.anchor = open();
+		createSchema();
+	}
+
+	private Connection open() throws SQLException {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return getConnection();
+			} catch (SQLException ex) {
+				if (attempt == OPEN_ATTEMPTS) throw ex;
+			}
+			try {
+				Thread.sleep(OPEN_RETRY_DELAY);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while opening database", ex);
+			}
+		}
+	}
+
+	private void createSchema() throws SQLException {
+		try (Connection conn = getConnection();
+			 Statement st = conn.createStatement()) {
+			try (ResultSet rs = conn.getMetaData().getTables(null, null, "schemaVersion", null)) {
+				if (rs.next()) return;
+			}
+			st.execute("RUNSCRIPT FROM 'classpath:/h2/schema.sql'");
+		}
+	}
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "h2";
+	}
+
+	@NotNull
+	@Override
+	public Connection getConnection() throws SQLException {
+		return DriverManager.getConnection(url);
+	}
+
+	@NotNull
+	@Override
+	public Dialect getDialect() {
+		return H2Dialect.INSTANCE;
+	}
+
+	@Override
+	public boolean isPersistent() {
+		return true;
+	}
+
+	@Override
+	public void close() {
+		try {
+			anchor.close();
+		} catch (SQLException ignored) {}
+	}
+
+}
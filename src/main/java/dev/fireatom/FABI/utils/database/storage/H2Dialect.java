@@ -0,0 +1,75 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * H2 in MySQL compatibility mode.
+ */
+public class H2Dialect implements Dialect {
+
+	public static final H2Dialect INSTANCE = new H2Dialect();
+
+	private H2Dialect() {}
+
+	@NotNull
+	@Override
+	public String upsert(@NotNull String insert, @NotNull String conflict, String update) {
+		if (update == null) {
+			// Assigning the key to itself keeps existing row
+			final String column = conflict.split(",")[0].strip();
+			update = "%s=%<s".formatted(column);
+		}
+		return "%s ON DUPLICATE KEY UPDATE %s".formatted(insert, update);
+	}
+
+	@NotNull
+	@Override
+	public String page(int limit, int offset) {
+		return offset > 0 ? "LIMIT %d OFFSET %d".formatted(limit, offset) : "LIMIT %d".formatted(limit);
+	}
+
+	@NotNull
+	@Override
+	public String shardOf(@NotNull String column, int total) {
+		// Same as shift by 22 bits for positive IDs
+		return "MOD(%s / 4194304, %d)".formatted(column, total);
+	}
+
+	@NotNull
+	@Override
+	public String search(@NotNull String table, @NotNull String key, @NotNull String index, @NotNull List<String> columns,
+						 long guildId, @NotNull List<String> words, int limit) {
+		// No full-text index, each word must be part of any column, newest rows first
+		String condition = words.stream()
+			.map(word -> columns.stream()
+				.map(column -> "LOWER(t.%s) LIKE '%%%s%%'".formatted(column, word.toLowerCase(Locale.ROOT)))
+				.collect(Collectors.joining(" OR ", "(", ")")))
+			.collect(Collectors.joining(" AND "));
+		return "SELECT t.* FROM %s t WHERE (t.guildId=%d AND %s) ORDER BY t.%s DESC LIMIT %d"
+			.formatted(table, guildId, condition, key, limit);
+	}
+
+	@NotNull
+	@Override
+	public String beginExclusive() {
+		// Row lock is held until commit, other processes wait on it
+		return "SET AUTOCOMMIT FALSE; SELECT \"version\" FROM \"schemaVersion\" FOR UPDATE";
+	}
+
+	@NotNull
+	@Override
+	public String getVersion() {
+		return "SELECT \"version\" FROM \"schemaVersion\"";
+	}
+
+	@NotNull
+	@Override
+	public String setVersion(int version) {
+		return "UPDATE \"schemaVersion\" SET \"version\"="+version;
+	}
+
+}
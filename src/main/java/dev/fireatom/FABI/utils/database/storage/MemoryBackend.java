@@ -0,0 +1,56 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * In-process database, that is lost on shutdown.
+ * <p>
+ * Uses SQLite in-memory VFS, so schema, migrations and managers are the same as with the file,
+ * including full-text search and triggers. All connections of the process share one database,
+ * writers wait for each other like with the file. Used for local runs and benchmarks.
+ */
+public class MemoryBackend extends SqliteBackend {
+
+	// Database exists while at least one connection is open
+	private final Connection anchor;
+
+	public MemoryBackend(@NotNull String name) throws SQLException {
+		super("jdbc:sqlite:file:/%s?vfs=memdb".formatted(name));
+		this.anchor = getConnection();
+	}
+
+	/**
+	 * Replaces content with a copy of the database file.
+	 *
+	 * @param file SQLite database file
+	 */
+	public void load(@NotNull Path file) throws SQLException {
+		try (Statement st = anchor.createStatement()) {
+			st.executeUpdate("restore from '%s'".formatted(file.toAbsolutePath()));
+		}
+	}
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "memory";
+	}
+
+	@Override
+	public boolean isPersistent() {
+		return false;
+	}
+
+	@Override
+	public void close() {
+		try {
+			anchor.close();
+		} catch (SQLException ignored) {}
+	}
+
+}
@@ -0,0 +1,91 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Applies schema updates to the storage.
+ * <p>
+ * Each version is applied in its own transaction together with the new version number,
+ * so failed update leaves the storage at the last fully applied version.
+ */
+public class MigrationRunner {
+
+	private final StorageBackend backend;
+	private final Logger log;
+
+	public MigrationRunner(@NotNull StorageBackend backend, @NotNull Logger log) {
+		this.backend = backend;
+		this.log = log;
+	}
+
+	/**
+	 * @return Schema version, 0 if not set or on error
+	 */
+	public int getVersion() {
+		try (Connection conn = backend.getConnection();
+			 Statement st = conn.createStatement();
+			 ResultSet rs = st.executeQuery(backend.getDialect().getVersion())) {
+			return rs.next() ? rs.getInt(1) : 0;
+		} catch (SQLException ex) {
+			log.warn("{}: Failed to get database version", backend.getName(), ex);
+			return 0;
+		}
+	}
+
+	/**
+	 * Each version is applied under the write lock, after the version is read again.
+	 * Processes sharing the storage may start at the same time, then each version is applied once.
+	 *
+	 * @param fromVersion Current version
+	 * @param versions    Statements of each next version
+	 * @return Version after update
+	 */
+	public int migrate(int fromVersion, @NotNull List<List<String>> versions) {
+		final Dialect dialect = backend.getDialect();
+		int version = fromVersion;
+		try (Connection conn = backend.getConnection();
+			 Statement st = conn.createStatement()) {
+			for (int i = 0; i < versions.size(); i++) {
+				final int target = fromVersion+i+1;
+				st.execute(dialect.beginExclusive());
+				try {
+					final int current;
+					try (ResultSet rs = st.executeQuery(dialect.getVersion())) {
+						current = rs.next() ? rs.getInt(1) : 0;
+					}
+					if (current >= target) {
+						// Applied by other process
+						st.execute("COMMIT");
+						version = target;
+						continue;
+					}
+					for (String sql : versions.get(i)) {
+						log.debug(sql);
+						st.execute(sql);
+					}
+					st.execute(dialect.setVersion(target));
+					st.execute("COMMIT");
+				} catch (SQLException ex) {
+					st.execute("ROLLBACK");
+					throw ex;
+				}
+				version = target;
+			}
+		} catch (SQLException ex) {
+			log.error("{}: Failed to update database to version {}!\nRollback performed. Continue database update manually.\n{}",
+				backend.getName(), version+1, ex.getMessage());
+			return version;
+		}
+		log.info("{}: Database version updated to {}", backend.getName(), version);
+		return version;
+	}
+
+}
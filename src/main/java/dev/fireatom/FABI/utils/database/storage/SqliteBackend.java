@@ -0,0 +1,54 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * SQLite database file.
+ */
+public class SqliteBackend implements StorageBackend {
+
+	// Writer waits for the lock of other connection, instead of failing at once
+	private static final int BUSY_TIMEOUT = 5000; // ms
+
+	private final String url;
+	private final Properties properties = new Properties();
+
+	public SqliteBackend(@NotNull Path file) {
+		this("jdbc:sqlite:"+file);
+	}
+
+	protected SqliteBackend(@NotNull String url) {
+		this.url = url;
+		properties.setProperty("busy_timeout", String.valueOf(BUSY_TIMEOUT));
+	}
+
+	@NotNull
+	@Override
+	public String getName() {
+		return "sqlite";
+	}
+
+	@NotNull
+	@Override
+	public Connection getConnection() throws SQLException {
+		return DriverManager.getConnection(url, properties);
+	}
+
+	@NotNull
+	@Override
+	public Dialect getDialect() {
+		return SqliteDialect.INSTANCE;
+	}
+
+	@Override
+	public boolean isPersistent() {
+		return true;
+	}
+
+}
@@ -0,0 +1,65 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.NotNull;
+
+public class SqliteDialect implements Dialect {
+
+	public static final SqliteDialect INSTANCE = new SqliteDialect();
+
+	private SqliteDialect() {}
+
+	@NotNull
+	@Override
+	public String upsert(@NotNull String insert, @NotNull String conflict, String update) {
+		return update == null
+			? "%s ON CONFLICT(%s) DO NOTHING".formatted(insert, conflict)
+			: "%s ON CONFLICT(%s) DO UPDATE SET %s".formatted(insert, conflict, update);
+	}
+
+	@NotNull
+	@Override
+	public String page(int limit, int offset) {
+		return offset > 0 ? "LIMIT %d OFFSET %d".formatted(limit, offset) : "LIMIT %d".formatted(limit);
+	}
+
+	@NotNull
+	@Override
+	public String shardOf(@NotNull String column, int total) {
+		// Bit shift has lower precedence than modulo
+		return "((%s >> 22) %% %d)".formatted(column, total);
+	}
+
+	@NotNull
+	@Override
+	public String search(@NotNull String table, @NotNull String key, @NotNull String index, @NotNull List<String> columns,
+						 long guildId, @NotNull List<String> words, int limit) {
+		// Words are matched as phrases, so the user can not inject query syntax
+		String phrases = words.stream()
+			.map("\"%s\""::formatted)
+			.collect(Collectors.joining(" "));
+		return "SELECT t.* FROM %2$s s INNER JOIN %1$s t ON t.%3$s=s.rowid WHERE (%2$s MATCH 'guildId:%4$d AND (%5$s*)') ORDER BY s.rank LIMIT %6$d"
+			.formatted(table, index, key, guildId, phrases, limit);
+	}
+
+	@NotNull
+	@Override
+	public String beginExclusive() {
+		return "BEGIN IMMEDIATE";
+	}
+
+	@NotNull
+	@Override
+	public String getVersion() {
+		return "PRAGMA user_version";
+	}
+
+	@NotNull
+	@Override
+	public String setVersion(int version) {
+		return "PRAGMA user_version = "+version;
+	}
+
+}
@@ -0,0 +1,41 @@
+package dev.fireatom.FABI.utils.database.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Storage, on which database managers run.
+ * <p>
+ * Managers obtain a new connection for each statement or transaction and close it after.
+ * SQL, that differs between engines, is built through the {@link Dialect}.
+ */
+public interface StorageBackend {
+
+	/**
+	 * @return Name for logs and config
+	 */
+	@NotNull
+	String getName();
+
+	/**
+	 * @return New connection, must be closed by caller
+	 */
+	@NotNull
+	Connection getConnection() throws SQLException;
+
+	@NotNull
+	Dialect getDialect();
+
+	/**
+	 * @return If storage is kept between restarts
+	 */
+	boolean isPersistent();
+
+	/**
+	 * Releases resources, storage can not be used after.
+	 */
+	default void close() {}
+
+}
@@ -29,6 +29,17 @@ public class EncodingUtil {
 		return "modreport-%s.png".formatted(encode(guildId, epochSeconds));
 	}
 
+	/**
+	 * @param guildId Guild ID
+	 * @param epochSeconds Epoch seconds (now)
+	 * @param page Report page, starting from 1
+	 * @return Filename 'modreport-[encoded guildId-seconds]-[page].png', first page has no suffix
+	 */
+	public static String encodeModreport(final long guildId, final long epochSeconds, final int page) {
+		if (page <= 1) return encodeModreport(guildId, epochSeconds);
+		return "modreport-%s-%d.png".formatted(encode(guildId, epochSeconds), page);
+	}
+
 	/**
 	 * @param id Message or Channel ID
 	 * @param epochSeconds Epoch seconds (now)
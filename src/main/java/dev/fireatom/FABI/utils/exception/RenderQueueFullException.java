@@ -0,0 +1,18 @@
+package dev.fireatom.FABI.utils.exception;
+
+import java.io.IOException;
+
+public class RenderQueueFullException extends IOException {
+
+	/**
+	 * Constructs a new exception with the specified detail message.
+	 * Thrown when the render queue has reached its limit and
+	 * the render request can not be accepted.
+	 *
+	 * @param message the detail message. The detail message is saved for
+	 *                later retrieval by the {@link #getMessage()} method.
+	 */
+	public RenderQueueFullException(String message) {
+		super(message);
+	}
+}
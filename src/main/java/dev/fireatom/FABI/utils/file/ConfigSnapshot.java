@@ -0,0 +1,109 @@
+package dev.fireatom.FABI.utils.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONObject;
+
+/**
+ * Immutable content of a json file, read once from disk.
+ * <p>
+ * Nested keys are flattened to "path.to.key", scalar values are kept as strings
+ * and arrays as string lists. Blank strings are treated as missing.
+ */
+public final class ConfigSnapshot {
+
+	private final String name;
+	private final long lastModified;
+	private final String source;
+	private final Map<String, String> strings;
+	private final Map<String, List<String>> lists;
+
+	private ConfigSnapshot(String name, long lastModified, String source, Map<String, String> strings, Map<String, List<String>> lists) {
+		this.name = name;
+		this.lastModified = lastModified;
+		this.source = source;
+		this.strings = Map.copyOf(strings);
+		this.lists = Map.copyOf(lists);
+	}
+
+	/**
+	 * @param name File name
+	 * @param file Json file
+	 * @return Loaded snapshot
+	 * @throws IOException If file could not be read or is not valid json.
+	 */
+	@NotNull
+	public static ConfigSnapshot load(@NotNull String name, @NotNull File file) throws IOException {
+		final long lastModified = file.lastModified();
+		final String source = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+
+		Map<String, String> strings = new HashMap<>();
+		Map<String, List<String>> lists = new HashMap<>();
+		try {
+			flatten("", JsonPath.using(FileManager.CONF).parse(source).json(), strings, lists);
+		} catch (InvalidJsonException ex) {
+			throw new IOException("Invalid json in file %s.json: %s".formatted(name, ex.getMessage()), ex);
+		}
+
+		return new ConfigSnapshot(name, lastModified, source, strings, lists);
+	}
+
+	private static void flatten(String prefix, Object node, Map<String, String> strings, Map<String, List<String>> lists) {
+		if (node instanceof Map<?, ?> map) {
+			map.forEach((key, value) -> flatten(prefix.isEmpty() ? String.valueOf(key) : prefix+"."+key, value, strings, lists));
+		} else if (node instanceof List<?> list) {
+			lists.put(prefix, list.stream().map(String::valueOf).toList());
+		} else if (node != null) {
+			String text = String.valueOf(node);
+			if (!text.isBlank()) strings.put(prefix, text);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	@Nullable
+	public String getString(String path) {
+		return strings.get(path);
+	}
+
+	@Nullable
+	public List<String> getStringList(String path) {
+		return lists.get(path);
+	}
+
+	/**
+	 * @return All string and list paths.
+	 */
+	@NotNull
+	public Set<String> getKeys() {
+		Set<String> keys = new HashSet<>(strings.keySet());
+		keys.addAll(lists.keySet());
+		return keys;
+	}
+
+	/**
+	 * @return New mutable json object, parsed from the in-memory file content.
+	 */
+	@NotNull
+	public JSONObject toJsonObject() {
+		return new JSONObject(source);
+	}
+}
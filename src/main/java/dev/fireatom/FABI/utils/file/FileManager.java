@@ -4,14 +4,22 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
-import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.constants.Constants;
 
@@ -23,7 +31,6 @@ import org.json.JSONObject;
 import org.slf4j.LoggerFactory;
 
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 
 import ch.qos.logback.classic.Logger;
@@ -32,10 +39,18 @@ public class FileManager {
 
 	private final Logger log = (Logger) LoggerFactory.getLogger(FileManager.class);
 
+	private static final long RELOAD_DELAY = 200;
+
 	public static final Configuration CONF = Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL, Option.SUPPRESS_EXCEPTIONS);
 	
 	private final Map<String, File> files = new HashMap<>();
 	private final List<DiscordLocale> locales = new ArrayList<>();
+	// Parsed json files, replaced as a whole on reload
+	private final Map<String, ConfigSnapshot> snapshots = new ConcurrentHashMap<>();
+	private final List<Consumer<String>> reloadListeners = new CopyOnWriteArrayList<>();
+
+	private WatchService watchService;
+	private Thread watcherThread;
 
 	public FileManager() {}
 
@@ -110,7 +125,7 @@ public class FileManager {
 						log.error("Failed to write {}!", name);
 					} else {
 						log.info("Successfully created {}!", name);
-						files.put(name, file);
+						register(name, file);
 					}
 				}
 				return;
@@ -123,7 +138,7 @@ public class FileManager {
 					if (Files.mismatch(file.toPath(), tempFile.toPath()) != -1) {
 						if (export(App.class.getResourceAsStream(internal), Paths.get(external))) {
 							log.info("Successfully updated {}!", name);
-							files.put(name, file);
+							register(name, file);
 							return;
 						} else {
 							log.error("Failed to overwrite {}!", name);
@@ -132,13 +147,132 @@ public class FileManager {
 				}
 				boolean ignored = tempFile.delete();
 			}
-			files.put(name, file);
+			register(name, file);
 			log.info("Successfully loaded {}!", name);
 		} catch (IOException ex) {
 			log.error("Couldn't locate nor create {}", file.getAbsolutePath(), ex);
 		}
 	}
 
+	private void register(String name, File file) {
+		files.put(name, file);
+		if (!file.getName().endsWith(".json")) return;
+		try {
+			snapshots.put(name, ConfigSnapshot.load(name, file));
+		} catch (IOException ex) {
+			log.error("Couldn't process file {}.json\n{}", name, ex.getMessage());
+		}
+	}
+
+	/**
+	 * @param name - json file name
+	 * @return Returns current snapshot of the file, or null if file is not loaded.
+	 */
+	@Nullable
+	public ConfigSnapshot getSnapshot(String name) {
+		return snapshots.get(name);
+	}
+
+	/**
+	 * Listener is called with the file name after its snapshot was replaced.
+	 */
+	public void addReloadListener(@NotNull Consumer<String> listener) {
+		reloadListeners.add(listener);
+	}
+
+	/**
+	 * Reads the file again and replaces its snapshot.
+	 * On failure the previous snapshot is kept.
+	 *
+	 * @param name - json file name
+	 * @return If snapshot was replaced
+	 */
+	public boolean reload(String name) {
+		File file = files.get(name);
+		if (file == null || !snapshots.containsKey(name)) return false;
+		try {
+			snapshots.put(name, ConfigSnapshot.load(name, file));
+		} catch (IOException ex) {
+			log.warn("Failed to reload {}.json, keeping previous version\n{}", name, ex.getMessage());
+			return false;
+		}
+		log.info("Reloaded {}.json", name);
+		for (Consumer<String> listener : reloadListeners) {
+			try {
+				listener.accept(name);
+			} catch (Exception ex) {
+				log.warn("Reload listener failed for {}.json", name, ex);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Starts watching directories of loaded json files, changed files are reloaded.
+	 */
+	public synchronized void startWatching() {
+		if (watchService != null) return;
+
+		Map<Path, Map<Path, String>> watched = new HashMap<>();
+		snapshots.keySet().forEach(name -> {
+			Path path = files.get(name).toPath().toAbsolutePath();
+			watched.computeIfAbsent(path.getParent(), k -> new HashMap<>()).put(path.getFileName(), name);
+		});
+
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			for (Path dir : watched.keySet()) {
+				dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+			}
+		} catch (IOException ex) {
+			log.error("Failed to start file watcher", ex);
+			return;
+		}
+
+		watcherThread = new Thread(() -> watchLoop(watched), "VOTL FileWatcher");
+		watcherThread.setDaemon(true);
+		watcherThread.start();
+		log.info("Watching {} files for changes", snapshots.size());
+	}
+
+	public synchronized void stopWatching() {
+		if (watchService == null) return;
+		try {
+			watchService.close();
+		} catch (IOException ignored) {}
+		watcherThread.interrupt();
+		watchService = null;
+		watcherThread = null;
+	}
+
+	private void watchLoop(Map<Path, Map<Path, String>> watched) {
+		final WatchService service = watchService;
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				WatchKey key = service.take();
+				// Let the writer finish, editors often produce several events per save
+				Thread.sleep(RELOAD_DELAY);
+
+				Set<String> changed = new HashSet<>();
+				Map<Path, String> dirFiles = watched.getOrDefault((Path) key.watchable(), Map.of());
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.context() instanceof Path path && dirFiles.containsKey(path)) {
+						changed.add(dirFiles.get(path));
+					}
+				}
+				key.reset();
+
+				for (String name : changed) {
+					ConfigSnapshot current = snapshots.get(name);
+					if (current != null && current.getLastModified() == files.get(name).lastModified()) continue;
+					reload(name);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException ignored) {
+			// Stopped
+		}
+	}
+
 	/**
 	 * @param name - json file to be searched
 	 * @param path - string's json path
@@ -161,76 +295,43 @@ public class FileManager {
 	 */
 	@Nullable
 	public String getNullableString(String name, String path) {
-		File file = files.get(name);
-
-		String text;
-		try {
-			if (file == null)
-				throw new FileNotFoundException();
-
-			text = JsonPath.using(CONF).parse(file).read("$." + path);
-
-			if (text != null && text.isBlank()) text = null;
-		
-		} catch (FileNotFoundException ex) {
+		ConfigSnapshot snapshot = snapshots.get(name);
+		if (snapshot == null) {
 			log.error("Couldn't find file {}.json", name);
-			text = "bad_file";
-		} catch (IOException ex) {
-			log.error("Couldn't process file {}.json\n{}", name, ex.getMessage());
-			text = "error_file";
+			return "bad_file";
 		}
-
-		return text;
+		return snapshot.getString(path);
 	}
 
 	@NotNull
 	public List<String> getStringList(String name, String path){
-		File file = files.get(name);
-		
-		if (file == null) {
+		ConfigSnapshot snapshot = snapshots.get(name);
+		if (snapshot == null) {
 			log.error("Couldn't find file {}.json", name);
 			return Collections.emptyList();
 		}
 
-		try {
-			List<String> array = JsonPath.using(CONF).parse(file).read("$." + path);	
-			
-			if (array == null || array.isEmpty())
-				throw new KeyIsNull(path);
-				
-			return array;
-		} catch (FileNotFoundException ex) {
-			log.error("Couldn't find file {}.json", name);
-		} catch (KeyIsNull ex) {
+		List<String> array = snapshot.getStringList(path);
+		if (array == null || array.isEmpty()) {
 			log.warn("Couldn't find \"{}\" in file {}.json", path, name);
-		} catch (IOException ex) {
-			log.warn("Couldn't process file {}.json", name, ex);
+			return Collections.emptyList();
 		}
-		return Collections.emptyList();
+		return array;
 	}
 
-	@NotNull
+	@Nullable
 	public JSONObject getJsonObject(String name){
-		File file = files.get(name);
-
-		if (file == null) {
+		ConfigSnapshot snapshot = snapshots.get(name);
+		if (snapshot == null) {
 			log.error("Couldn't find file {}.json", name);
 			return null;
 		}
 
-		try {
-			JSONObject object = JsonPath.using(CONF.jsonProvider(new JsonOrgJsonProvider())).parse(file).json();
-
-			if (object == null || object.isEmpty())
-				return null;
+		JSONObject object = snapshot.toJsonObject();
+		if (object.isEmpty())
+			return null;
 
-			return object;
-		} catch (FileNotFoundException ex) {
-			log.error("Couldn't find file {}.json", name);
-		} catch (IOException ex) {
-			log.warn("Couldn't process file {}.json", name, ex);
-		}
-		return null;
+		return object;
 	}
 
 	public boolean export(InputStream inputStream, Path destination){
@@ -244,10 +345,4 @@ public class FileManager {
 
 		return success;
 	}
-
-	private static class KeyIsNull extends Exception {
-		public KeyIsNull(String str) {
-			super(str);
-		}
-	}
 }
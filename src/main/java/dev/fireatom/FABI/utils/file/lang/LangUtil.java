@@ -1,14 +1,12 @@
 package dev.fireatom.FABI.utils.file.lang;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import ch.qos.logback.classic.Logger;
-import com.jayway.jsonpath.JsonPath;
 import dev.fireatom.FABI.utils.RandomUtil;
+import dev.fireatom.FABI.utils.file.ConfigSnapshot;
 import dev.fireatom.FABI.utils.file.FileManager;
 
 import net.dv8tion.jda.api.interactions.DiscordLocale;
@@ -21,20 +19,44 @@ public final class LangUtil {
 
 	private final Logger log = (Logger) LoggerFactory.getLogger(LangUtil.class);
 
+	private static final String DEFAULT_LANG = "en-GB";
+
 	private final FileManager fileManager;
-	private final Map<String, Object> languages = new HashMap<>();
 
 	public LangUtil(FileManager fileManager) {
+		this.fileManager = fileManager;
+
+		checkMissingKeys();
+		fileManager.addReloadListener(name -> {
+			if (isLanguage(name)) checkMissingKeys();
+		});
+	}
+
+	private boolean isLanguage(String name) {
+		return fileManager.getLanguages().stream().anyMatch(locale -> locale.getLocale().equals(name));
+	}
+
+	// Compare keys of every language with the default language
+	private void checkMissingKeys() {
+		ConfigSnapshot defaultSnapshot = fileManager.getSnapshot(DEFAULT_LANG);
+		if (defaultSnapshot == null) return;
+		Set<String> defaultKeys = defaultSnapshot.getKeys();
+
 		for (DiscordLocale locale : fileManager.getLanguages()) {
-			try {
-				File file = fileManager.getFile(locale.getLocale());
-				if (file==null) continue;
-				languages.put(locale.getLocale(), JsonPath.parse(file).json());
-			} catch (IOException e) {
-				log.warn(e.getMessage(), e);
+			String lang = locale.getLocale();
+			if (lang.equals(DEFAULT_LANG)) continue;
+			ConfigSnapshot snapshot = fileManager.getSnapshot(lang);
+			if (snapshot == null) continue;
+
+			Set<String> missing = new HashSet<>(defaultKeys);
+			missing.removeAll(snapshot.getKeys());
+			if (missing.isEmpty()) {
+				log.debug("Language {} has all {} keys", lang, defaultKeys.size());
+			} else {
+				log.warn("Language {} is missing {} of {} keys: {}", lang, missing.size(), defaultKeys.size(),
+					missing.stream().sorted().limit(20).toList());
 			}
 		}
-		this.fileManager = fileManager;
 	}
 
 	@NotNull
@@ -47,6 +69,11 @@ public final class LangUtil {
 		return getNullableString(languageSelector(locale), path);
 	}
 
+	@NotNull
+	public List<String> getStringList(DiscordLocale locale, String path) {
+		return getStringList(languageSelector(locale), path);
+	}
+
 	@NotNull
 	public String getRandomString(DiscordLocale locale, String path) {
 		return (String) RandomUtil.pickRandom(getStringList(languageSelector(locale), path));
@@ -55,7 +82,7 @@ public final class LangUtil {
 	private String languageSelector(@NotNull DiscordLocale locale) {
 		return switch (locale) {
 			case RUSSIAN -> locale.getLocale();
-			default -> "en-GB";
+			default -> DEFAULT_LANG;
 		};
 	}
 
@@ -81,14 +108,9 @@ public final class LangUtil {
 	 */
 	@Nullable
 	private String getNullableString(String lang, String path) {
-		final String text;
-
-		if (languages.containsKey(lang)) {
-			text = JsonPath.using(FileManager.CONF)
-				.parse(languages.get(lang))
-				.read("$." + path);
-			if (text == null || text.isBlank()) return null;
-			return text;
+		ConfigSnapshot snapshot = fileManager.getSnapshot(lang);
+		if (snapshot != null) {
+			return snapshot.getString(path);
 		} else {
 			return fileManager.getNullableString(lang, path);
 		}
@@ -103,10 +125,9 @@ public final class LangUtil {
 	public List<String> getStringList(String lang, String path) {
 		List<String> result;
 
-		if (languages.containsKey(lang)) {
-			result = JsonPath.using(FileManager.CONF)
-				.parse(languages.get(lang))
-				.read("$." + path);
+		ConfigSnapshot snapshot = fileManager.getSnapshot(lang);
+		if (snapshot != null) {
+			result = snapshot.getStringList(path);
 		} else {
 			result = fileManager.getStringList(lang, path);
 		}
@@ -4,11 +4,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
-import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.Emote;
 
+import dev.fireatom.FABI.utils.RandomUtil;
+import dev.fireatom.FABI.utils.file.FileManager;
 import dev.fireatom.FABI.utils.message.MessageUtil;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
@@ -18,20 +19,58 @@ import org.jetbrains.annotations.Nullable;
 @SuppressWarnings("unused")
 public class LocaleUtil {
 
-	private final App bot;
+	private final FileManager fileManager;
 	private final LangUtil langUtil;
 
 	private final DiscordLocale defaultLocale;
 
-	public LocaleUtil(App bot, DiscordLocale defaultLocale) {
-		this.bot = bot;
-		this.langUtil = new LangUtil(bot.getFileManager());
+	// Compiled templates with emotes already inserted
+	private final Map<DiscordLocale, Map<String, MessageTemplate>> templates = new ConcurrentHashMap<>();
+	private final Map<DiscordLocale, Map<String, List<MessageTemplate>>> templateLists = new ConcurrentHashMap<>();
+
+	public LocaleUtil(FileManager fileManager, DiscordLocale defaultLocale) {
+		this.fileManager = fileManager;
+		this.langUtil = new LangUtil(fileManager);
 		this.defaultLocale = defaultLocale;
+
+		// Compiled templates are outdated after language file change
+		fileManager.addReloadListener(name -> {
+			templates.clear();
+			templateLists.clear();
+		});
 	}
 
 	@NotNull
 	public String getLocalized(DiscordLocale locale, String path) {
-		return Emote.getWithEmotes(langUtil.getString(locale, path));
+		return getTemplate(locale, path).toString();
+	}
+
+	/**
+	 * Localized string with replaced placeholders, rendered in one pass.
+	 *
+	 * @param locale Locale
+	 * @param path   String path
+	 * @param args   Placeholder name (without brackets) and its value
+	 * @return Rendered text
+	 */
+	@NotNull
+	public String getLocalized(DiscordLocale locale, String path, Map<String, ? extends CharSequence> args) {
+		return getTemplate(locale, path).render(args);
+	}
+
+	@NotNull
+	public MessageTemplate getTemplate(DiscordLocale locale, String path) {
+		return templates.computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+			.computeIfAbsent(path, k -> MessageTemplate.compile(Emote.getWithEmotes(langUtil.getString(locale, path))));
+	}
+
+	@NotNull
+	private List<MessageTemplate> getTemplateList(DiscordLocale locale, String path) {
+		return templateLists.computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+			.computeIfAbsent(path, k -> langUtil.getStringList(locale, path).stream()
+				.map(text -> MessageTemplate.compile(Emote.getWithEmotes(text)))
+				.toList()
+			);
 	}
 
 	@NotNull
@@ -44,7 +83,7 @@ public class LocaleUtil {
 		if (format)
 			user = MessageUtil.getFormattedMembers(this, user);
 
-		return Objects.requireNonNull(getLocalized(locale, path).replace("{user}", user));
+		return getLocalized(locale, path, Map.of("user", user));
 	}
 
 	@NotNull
@@ -62,11 +101,14 @@ public class LocaleUtil {
 	@NotNull
 	public String getLocalized(DiscordLocale locale, String path, String user, List<String> targets, boolean format) {
 		String targetReplacement = targets.isEmpty() ? "null" : MessageUtil.getFormattedMembers(this, targets.toArray(new String[0]));
+		if (format)
+			user = MessageUtil.getFormattedMembers(this, user);
 
-		return Objects.requireNonNull(getLocalized(locale, path, user, format)
-			.replace("{target}", targetReplacement)
-			.replace("{targets}", targetReplacement)
-		);
+		return getLocalized(locale, path, Map.of(
+			"user", user,
+			"target", targetReplacement,
+			"targets", targetReplacement
+		));
 	}
 
 	@Nullable
@@ -76,13 +118,18 @@ public class LocaleUtil {
 
 	@NotNull
 	public String getLocalizedRandom(DiscordLocale locale, String path) {
-		return Emote.getWithEmotes(langUtil.getRandomString(locale, path));
+		return getLocalizedRandom(locale, path, Map.of());
+	}
+
+	@NotNull
+	public String getLocalizedRandom(DiscordLocale locale, String path, Map<String, ? extends CharSequence> args) {
+		return ((MessageTemplate) RandomUtil.pickRandom(getTemplateList(locale, path))).render(args);
 	}
 
 	@NotNull
 	public Map<DiscordLocale, String> getFullLocaleMap(String path, String defaultText) {
 		Map<DiscordLocale, String> localeMap = new HashMap<>();
-		for (DiscordLocale locale : bot.getFileManager().getLanguages()) {
+		for (DiscordLocale locale : fileManager.getLanguages()) {
 			// Ignores UK/US change
 			if (locale.equals(DiscordLocale.ENGLISH_UK) || locale.equals(DiscordLocale.ENGLISH_US)) continue;
 			localeMap.put(locale, getLocalized(locale, path));
@@ -95,7 +142,7 @@ public class LocaleUtil {
 	@NotNull
 	public Map<DiscordLocale, String> getLocaleMap(String path) {
 		Map<DiscordLocale, String> localeMap = new HashMap<>();
-		for (DiscordLocale locale : bot.getFileManager().getLanguages()) {
+		for (DiscordLocale locale : fileManager.getLanguages()) {
 			// Ignores UK/US change
 			if (locale.equals(DiscordLocale.ENGLISH_UK) || locale.equals(DiscordLocale.ENGLISH_US)) continue;
 			localeMap.put(locale, getLocalized(locale, path));
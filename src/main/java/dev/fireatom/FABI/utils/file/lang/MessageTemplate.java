@@ -0,0 +1,124 @@
+package dev.fireatom.FABI.utils.file.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Localized string split once into literal and placeholder segments.
+ * <p>
+ * Placeholders have form {@code {name}}, where name consists of lowercase letters, digits and underscores.
+ * Rendering writes all segments into the builder of the current thread in one pass,
+ * placeholders without provided value are kept as is.
+ */
+public final class MessageTemplate {
+
+	// Builders larger than this are not kept for reuse
+	private static final int MAX_KEPT_BUILDER = 8*1024;
+
+	private static final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+	private final String text;
+	// Literal text or placeholder name, placeholders are on odd positions
+	private final String[] segments;
+	private final int literalLength;
+
+	private MessageTemplate(String text, String[] segments) {
+		this.text = text;
+		this.segments = segments;
+		int length = 0;
+		for (int i = 0; i < segments.length; i += 2) {
+			length += segments[i].length();
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * @param text Text with placeholders
+	 * @return Compiled template
+	 */
+	@NotNull
+	public static MessageTemplate compile(@NotNull String text) {
+		List<String> segments = new ArrayList<>();
+		int literalStart = 0;
+		int i = 0;
+		while (i < text.length()) {
+			int open = text.indexOf('{', i);
+			if (open == -1) break;
+			int close = findClose(text, open);
+			if (close == -1) {
+				i = open+1;
+				continue;
+			}
+			segments.add(text.substring(literalStart, open));
+			segments.add(text.substring(open+1, close));
+			literalStart = close+1;
+			i = literalStart;
+		}
+		segments.add(text.substring(literalStart));
+		return new MessageTemplate(text, segments.toArray(String[]::new));
+	}
+
+	// Returns index of the closing bracket, or -1 if this is not a placeholder
+	private static int findClose(String text, int open) {
+		for (int i = open+1; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '}') return i == open+1 ? -1 : i;
+			if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_')) return -1;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param args Placeholder name and its value
+	 * @return Text with placeholders replaced
+	 */
+	@NotNull
+	public String render(@NotNull Map<String, ? extends CharSequence> args) {
+		if (segments.length == 1 || args.isEmpty()) return text;
+
+		StringBuilder builder = builders.get();
+		builder.setLength(0);
+		builder.ensureCapacity(literalLength + args.size()*32);
+
+		builder.append(segments[0]);
+		for (int i = 1; i < segments.length; i += 2) {
+			CharSequence value = args.get(segments[i]);
+			if (value == null) {
+				builder.append('{').append(segments[i]).append('}');
+			} else {
+				builder.append(value);
+			}
+			builder.append(segments[i+1]);
+		}
+
+		String result = builder.toString();
+		if (builder.capacity() > MAX_KEPT_BUILDER) {
+			// Do not keep huge builder
+			builders.remove();
+		}
+		return result;
+	}
+
+	/**
+	 * @param name Placeholder name
+	 * @return If template contains this placeholder
+	 */
+	public boolean hasPlaceholder(@NotNull String name) {
+		for (int i = 1; i < segments.length; i += 2) {
+			if (segments[i].equals(name)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return Source text, without replaced placeholders.
+	 */
+	@NotNull
+	@Override
+	public String toString() {
+		return text;
+	}
+}
@@ -0,0 +1,137 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fireatom.FABI.services.CountingThreadFactory;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches user avatars through a shared HTTP client and keeps
+ * decoded, circle-cropped copies for the renders.
+ * <p>
+ * Avatar URL contains the avatar hash, so a changed avatar results in a new key.
+ * Concurrent requests for the same key share one download.
+ */
+public class AvatarService {
+	private final Logger log = (Logger) LoggerFactory.getLogger(AvatarService.class);
+
+	private static final String USER_AGENT = "VOTL-Discord-Bot";
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+		.connectTimeout(TIMEOUT)
+		.followRedirects(HttpClient.Redirect.NORMAL)
+		.executor(Executors.newCachedThreadPool(new CountingThreadFactory("VOTL", "Avatar")))
+		.build();
+
+	private final AsyncCache<Key, BufferedImage> cache = Caffeine.newBuilder()
+		.expireAfterAccess(30, TimeUnit.MINUTES)
+		.maximumSize(300)
+		.recordStats()
+		.buildAsync();
+
+	public AvatarService() {
+		CacheMetrics.register("avatars", cache.synchronous());
+	}
+
+	/**
+	 * Starts loading the avatar, or returns the already loaded or loading one.
+	 *
+	 * @param avatarUrl Avatar URL (with hash)
+	 * @param size      Diameter of the resulting circle image
+	 * @return Future with the circle-cropped avatar.
+	 */
+	@NotNull
+	public CompletableFuture<BufferedImage> getAvatar(@NotNull String avatarUrl, int size) {
+		return cache.get(new Key(avatarUrl, size), (key, executor) -> fetch(key));
+	}
+
+	/**
+	 * Waits for the avatar to load, used by the renders.
+	 *
+	 * @param future Future returned by {@link #getAvatar(String, int)}
+	 * @return Circle-cropped avatar
+	 * @throws IOException If download or decoding failed, or timeout was reached.
+	 */
+	@NotNull
+	public static BufferedImage await(@NotNull CompletableFuture<BufferedImage> future) throws IOException {
+		try {
+			return future.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for avatar", ex);
+		} catch (Exception ex) {
+			Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+			if (cause instanceof UncheckedIOException unchecked) {
+				throw unchecked.getCause();
+			}
+			throw new IOException("Failed to load avatar: "+cause.getMessage(), cause);
+		}
+	}
+
+	public long size() {
+		return cache.synchronous().estimatedSize();
+	}
+
+	private CompletableFuture<BufferedImage> fetch(Key key) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(key.url()))
+			.header("User-Agent", USER_AGENT)
+			.timeout(TIMEOUT)
+			.GET()
+			.build();
+
+		log.debug("Fetching avatar {}", key.url());
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+			.thenApply(response -> {
+				if (response.statusCode() != 200) {
+					throw new UncheckedIOException(new IOException("Avatar request returned status "+response.statusCode()));
+				}
+				try {
+					BufferedImage image = ImageIO.read(new ByteArrayInputStream(response.body()));
+					if (image == null) {
+						throw new IOException("Unsupported avatar image format");
+					}
+					return circleCrop(image, key.size());
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+	}
+
+	private static BufferedImage circleCrop(BufferedImage image, int size) {
+		Image scaledInstance = image.getScaledInstance(size, size, Image.SCALE_SMOOTH);
+
+		BufferedImage rounded = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2d = rounded.createGraphics();
+
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+		g2d.setClip(new Ellipse2D.Float(0, 0, size, size));
+		g2d.drawImage(scaledInstance, 0, 0, null);
+		g2d.dispose();
+
+		return rounded;
+	}
+
+	private record Key(String url, int size) {}
+}
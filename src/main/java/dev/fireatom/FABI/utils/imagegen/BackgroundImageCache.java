@@ -0,0 +1,143 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * Holds decoded and pre-scaled background images, so the renders
+ * only have to draw them instead of reading and scaling the file each time.
+ * <p>
+ * Entries are weighted by their pixel size and evicted once the memory budget is reached.
+ * Each lookup compares the file modification time with the cached one,
+ * so replaced background files are picked up without a restart.
+ */
+public class BackgroundImageCache {
+	// Created on class load, render workers request it concurrently
+	private static final BackgroundImageCache INSTANCE = new BackgroundImageCache();
+	private final Logger log = (Logger) LoggerFactory.getLogger(BackgroundImageCache.class);
+
+	// Memory budget for decoded images, in bytes
+	private static final long MAX_WEIGHT = 32L*1024*1024;
+
+	private final Cache<Key, Entry> cache = Caffeine.newBuilder()
+		.maximumWeight(MAX_WEIGHT)
+		.weigher((Key k, Entry e) -> e.weight())
+		.recordStats()
+		.build();
+
+	private BackgroundImageCache() {
+		CacheMetrics.register("backgrounds", cache);
+	}
+
+	public static BackgroundImageCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the background image, scaled to the given size.
+	 *
+	 * @param background User background, must have background file
+	 * @param width      Target width
+	 * @param height     Target height
+	 * @return Decoded and scaled image, shared between renders - do not draw on it.
+	 * @throws IOException If the image file could not be read.
+	 */
+	@NotNull
+	public BufferedImage get(@NotNull UserBackground background, int width, int height) throws IOException {
+		final Key key = new Key(background.getId(), width, height);
+		final File file = new File(background.getBackgroundPath());
+
+		Entry entry = cache.getIfPresent(key);
+		if (entry != null && entry.lastModified() != file.lastModified()) {
+			log.debug("Background file '{}' was modified, reloading", background.getBackgroundFile());
+			cache.invalidate(key);
+		}
+
+		try {
+			return cache.get(key, k -> {
+				try {
+					return load(file, width, height);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}).image();
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	/**
+	 * Decodes all backgrounds with image ahead of time.
+	 *
+	 * @param backgrounds Backgrounds to load
+	 * @param width       Target width
+	 * @param height      Target height
+	 */
+	public void warmUp(@NotNull Collection<UserBackground> backgrounds, int width, int height) {
+		for (UserBackground background : backgrounds) {
+			if (background.getBackgroundFile() == null) continue;
+			try {
+				get(background, width, height);
+			} catch (IOException ex) {
+				log.warn("Failed to pre-load background '{}': {}", background.getName(), ex.getMessage());
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	private Entry load(File file, int width, int height) throws IOException {
+		final long lastModified = file.lastModified();
+		BufferedImage source = ImageIO.read(file);
+		if (source == null) {
+			throw new IOException("Unsupported image format: "+file.getName());
+		}
+
+		Image scaledInstance = source.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+		BufferedImage image = createCompatibleImage(width, height, source.getColorModel().getTransparency());
+
+		Graphics2D g = image.createGraphics();
+		g.drawImage(scaledInstance, 0, 0, null);
+		g.dispose();
+
+		log.debug("Loaded background image '{}' ({}x{})", file.getName(), width, height);
+		return new Entry(image, lastModified);
+	}
+
+	private static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height,
+				transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment()
+			.getDefaultScreenDevice()
+			.getDefaultConfiguration()
+			.createCompatibleImage(width, height, transparency);
+	}
+
+	private record Key(int backgroundId, int width, int height) {}
+
+	private record Entry(BufferedImage image, long lastModified) {
+		int weight() {
+			return image.getWidth()*image.getHeight()*4;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps derived fonts, so renders do not derive the same font on every draw call.
+ * Amount of entries is limited by the fonts and sizes used in renders.
+ */
+public final class FontCache {
+	private FontCache() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	private static final Map<Key, Font> fonts = new ConcurrentHashMap<>();
+
+	/**
+	 * @param base  Base font from {@link Fonts}
+	 * @param style Font style, e.g. {@link Font#PLAIN}
+	 * @param size  Font size
+	 * @return Derived font
+	 */
+	@NotNull
+	public static Font get(@NotNull Font base, int style, float size) {
+		return fonts.computeIfAbsent(new Key(base, style, size), k -> base.deriveFont(style, size));
+	}
+
+	public static int size() {
+		return fonts.size();
+	}
+
+	private record Key(Font base, int style, float size) {}
+}
@@ -0,0 +1,173 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Encodes images to PNG, reusing the image writer and output buffer of the current thread.
+ */
+public final class PngEncoder {
+	private PngEncoder() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	// Buffers larger than this are not kept for reuse
+	private static final int MAX_KEPT_BUFFER = 4*1024*1024;
+
+	private static final ThreadLocal<ImageWriter> writers = ThreadLocal.withInitial(() -> {
+		var iterator = ImageIO.getImageWritersByFormatName("png");
+		if (!iterator.hasNext()) {
+			throw new IllegalStateException("No PNG image writer available");
+		}
+		return iterator.next();
+	});
+	private static final ThreadLocal<ByteArrayOutputStream> buffers = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(256*1024));
+
+	public enum Compression {
+		// Low deflate level - fastest encoding, bigger files
+		SPEED(0.75f),
+		// Default level of the image writer
+		BALANCED(-1f),
+		// Maximal deflate level - slowest encoding, smallest files
+		SIZE(0f);
+
+		private final float quality;
+
+		Compression(float quality) {
+			this.quality = quality;
+		}
+	}
+
+	/**
+	 * @param image       Image to encode
+	 * @param compression Speed against size setting
+	 * @param indexed     Reduce image to 256 color palette before encoding, alpha is dropped
+	 * @return PNG file bytes
+	 * @throws IOException If writer failed
+	 */
+	@NotNull
+	public static byte[] encode(@NotNull BufferedImage image, @NotNull Compression compression, boolean indexed) throws IOException {
+		final BufferedImage target = indexed ? toIndexed(image) : image;
+
+		final ImageWriter writer = writers.get();
+		final ImageWriteParam param = writer.getDefaultWriteParam();
+		if (compression.quality >= 0 && param.canWriteCompressed()) {
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(compression.quality);
+		}
+
+		ByteArrayOutputStream buffer = buffers.get();
+		buffer.reset();
+		try (ImageOutputStream output = new MemoryCacheImageOutputStream(buffer)) {
+			writer.setOutput(output);
+			writer.write(null, new IIOImage(target, null, null), param);
+		} finally {
+			writer.setOutput(null);
+		}
+
+		byte[] bytes = buffer.toByteArray();
+		if (bytes.length > MAX_KEPT_BUFFER) {
+			// Do not keep huge buffer
+			buffers.remove();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Reduces opaque image to an indexed 256 color palette.
+	 * Colors are grouped by 5 bits per channel and the most used groups form the palette,
+	 * which keeps flat colored images (tables, reports) exact.
+	 *
+	 * @param image Source image
+	 * @return Image with indexed color model
+	 */
+	@NotNull
+	public static BufferedImage toIndexed(@NotNull BufferedImage image) {
+		final int width = image.getWidth();
+		final int height = image.getHeight();
+		final int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+		// Count colors
+		Map<Integer, Integer> exact = new HashMap<>();
+		for (int pixel : pixels) {
+			exact.merge(pixel & 0xFFFFFF, 1, Integer::sum);
+			if (exact.size() > 256) break;
+		}
+
+		int[] palette;
+		if (exact.size() <= 256) {
+			palette = exact.keySet().stream().mapToInt(Integer::intValue).toArray();
+		} else {
+			// Popularity of 15-bit color buckets, palette entry is the average color of the bucket
+			long[] sumR = new long[1<<15], sumG = new long[1<<15], sumB = new long[1<<15];
+			int[] count = new int[1<<15];
+			for (int pixel : pixels) {
+				int r = (pixel >> 16) & 0xFF, g = (pixel >> 8) & 0xFF, b = pixel & 0xFF;
+				int bucket = ((r >> 3) << 10) | ((g >> 3) << 5) | (b >> 3);
+				sumR[bucket] += r; sumG[bucket] += g; sumB[bucket] += b;
+				count[bucket]++;
+			}
+			palette = IntStream.range(0, count.length)
+				.filter(i -> count[i] > 0)
+				.boxed()
+				.sorted((a, b) -> Integer.compare(count[b], count[a]))
+				.limit(256)
+				.mapToInt(i -> (int) (sumR[i]/count[i]) << 16 | (int) (sumG[i]/count[i]) << 8 | (int) (sumB[i]/count[i]))
+				.toArray();
+		}
+
+		byte[] r = new byte[palette.length], g = new byte[palette.length], b = new byte[palette.length];
+		for (int i = 0; i < palette.length; i++) {
+			r[i] = (byte) (palette[i] >> 16);
+			g[i] = (byte) (palette[i] >> 8);
+			b[i] = (byte) palette[i];
+		}
+		final int bits = palette.length <= 2 ? 1 : palette.length <= 4 ? 2 : palette.length <= 16 ? 4 : 8;
+		IndexColorModel colorModel = new IndexColorModel(bits, palette.length, r, g, b);
+
+		BufferedImage indexed = new BufferedImage(width, height,
+			bits == 8 ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_BYTE_BINARY, colorModel);
+		// Map every pixel to the nearest palette color, remembering already mapped colors
+		Map<Integer, Integer> nearest = new HashMap<>();
+		var raster = indexed.getRaster();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int rgb = pixels[y*width + x] & 0xFFFFFF;
+				int index = nearest.computeIfAbsent(rgb, c -> findNearest(palette, c));
+				raster.setSample(x, y, 0, index);
+			}
+		}
+		return indexed;
+	}
+
+	private static int findNearest(int[] palette, int rgb) {
+		int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+		int best = 0;
+		int bestDistance = Integer.MAX_VALUE;
+		for (int i = 0; i < palette.length; i++) {
+			int dr = r - ((palette[i] >> 16) & 0xFF);
+			int dg = g - ((palette[i] >> 8) & 0xFF);
+			int db = b - (palette[i] & 0xFF);
+			int distance = dr*dr + dg*dg + db*db;
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = i;
+				if (distance == 0) break;
+			}
+		}
+		return best;
+	}
+}
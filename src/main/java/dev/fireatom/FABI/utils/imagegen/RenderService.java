@@ -0,0 +1,105 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fireatom.FABI.services.CountingThreadFactory;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
+import dev.fireatom.FABI.utils.exception.RenderQueueFullException;
+import dev.fireatom.FABI.utils.imagegen.renders.Renderer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs renders on a dedicated bounded worker pool, away from JDA event threads.
+ * <p>
+ * When all workers are busy and the queue is full, new requests are
+ * rejected with {@link RenderQueueFullException}.
+ * Results of renders, that provide {@link Renderer#getCacheKey() cache key}, are kept for a short time.
+ */
+public class RenderService {
+	private final Logger log = (Logger) LoggerFactory.getLogger(RenderService.class);
+
+	private static final int WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()/2));
+	private static final int QUEUE_LIMIT = 16;
+	// Memory budget for rendered images, in bytes
+	private static final long MAX_CACHE_WEIGHT = 16L*1024*1024;
+
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+		WORKERS, WORKERS,
+		60, TimeUnit.SECONDS,
+		new ArrayBlockingQueue<>(QUEUE_LIMIT),
+		new CountingThreadFactory("VOTL", "Render")
+	);
+
+	private final Cache<String, byte[]> cache = Caffeine.newBuilder()
+		.expireAfterWrite(10, TimeUnit.MINUTES)
+		.maximumWeight(MAX_CACHE_WEIGHT)
+		.weigher((String k, byte[] v) -> v.length)
+		.recordStats()
+		.build();
+
+	public RenderService() {
+		executor.allowCoreThreadTimeOut(true);
+		CacheMetrics.register("renders", cache);
+	}
+
+	/**
+	 * Queues the render.
+	 *
+	 * @param renderer Render to execute
+	 * @return Future with the PNG image bytes, completes exceptionally with
+	 * {@link RenderQueueFullException} if queue is full, or with the render exception.
+	 */
+	@NotNull
+	public CompletableFuture<byte[]> render(@NotNull Renderer renderer) {
+		final String key = renderer.getCacheKey();
+		if (key != null) {
+			byte[] cached = cache.getIfPresent(key);
+			if (cached != null) {
+				return CompletableFuture.completedFuture(cached);
+			}
+		}
+
+		CompletableFuture<byte[]> future = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					byte[] bytes = renderer.renderToBytes();
+					if (key != null && bytes != null) {
+						cache.put(key, bytes);
+					}
+					future.complete(bytes);
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			log.warn("Render queue is full ({} queued), rejected {}", executor.getQueue().size(), renderer.getClass().getSimpleName());
+			future.completeExceptionally(new RenderQueueFullException("Render queue is full, try again later."));
+		}
+		return future;
+	}
+
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	public long getCacheSize() {
+		return cache.estimatedSize();
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,103 @@
+package dev.fireatom.FABI.utils.imagegen;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.fireatom.FABI.services.metrics.CacheMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures text for the renders, remembering font metrics and string widths.
+ * Metrics are taken from anti-aliased graphics without fractional metrics, same as renders use.
+ */
+public final class TextMetrics {
+	private TextMetrics() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	private static final String ELLIPSIS = "...";
+
+	private static final Graphics2D scratch;
+	static {
+		scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+		scratch.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		scratch.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+	}
+
+	private static final Map<Font, FontMetrics> metrics = new ConcurrentHashMap<>();
+	private static final Cache<WidthKey, Integer> widths = Caffeine.newBuilder()
+		.maximumSize(10_000)
+		.recordStats()
+		.build();
+	static {
+		CacheMetrics.register("textWidths", widths);
+	}
+
+	@NotNull
+	public static FontMetrics getMetrics(@NotNull Font font) {
+		return metrics.computeIfAbsent(font, f -> {
+			synchronized (scratch) {
+				return scratch.getFontMetrics(f);
+			}
+		});
+	}
+
+	public static int stringWidth(@NotNull Font font, @NotNull String text) {
+		return widths.get(new WidthKey(font, text), k -> getMetrics(font).stringWidth(text));
+	}
+
+	/**
+	 * Finds the largest font size, with which the text fits into the width.
+	 *
+	 * @param base     Base font
+	 * @param style    Font style
+	 * @param text     Text to fit
+	 * @param maxWidth Available width
+	 * @param minSize  Minimal font size
+	 * @param maxSize  Maximal font size
+	 * @return Fitting font, or font of minimal size if text does not fit at all.
+	 */
+	@NotNull
+	public static Font fitFont(@NotNull Font base, int style, @NotNull String text, int maxWidth, int minSize, int maxSize) {
+		for (int size = maxSize; size > minSize; size--) {
+			Font font = FontCache.get(base, style, size);
+			if (stringWidth(font, text) <= maxWidth) {
+				return font;
+			}
+		}
+		return FontCache.get(base, style, minSize);
+	}
+
+	/**
+	 * Cuts the text and appends ellipsis, if it is wider than given width.
+	 *
+	 * @param font     Font used to draw
+	 * @param text     Text
+	 * @param maxWidth Available width
+	 * @return Same text if it fits, or shortened text with ellipsis.
+	 */
+	@NotNull
+	public static String truncate(@NotNull Font font, @NotNull String text, int maxWidth) {
+		if (stringWidth(font, text) <= maxWidth) {
+			return text;
+		}
+		final int maxTextWidth = maxWidth - stringWidth(font, ELLIPSIS);
+		// Longest prefix that fits
+		int low = 0, high = text.length();
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (getMetrics(font).stringWidth(text.substring(0, mid)) <= maxTextWidth) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return text.substring(0, low) + ELLIPSIS;
+	}
+
+	private record WidthKey(Font font, String text) {}
+}
@@ -4,6 +4,7 @@ import ch.qos.logback.classic.Logger;
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.constants.Constants;
 import dev.fireatom.FABI.utils.file.ResourceLoaderUtil;
+import dev.fireatom.FABI.utils.imagegen.renders.UserProfileRender;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.json.JSONArray;
@@ -69,6 +70,9 @@ public class UserBackgroundHandler {
 		try {
 			List<UserBackground> userBackgrounds = getIndexFile();
 			backgrounds.addAll(userBackgrounds);
+			// Decode images ahead of first render
+			BackgroundImageCache.getInstance()
+				.warmUp(backgrounds, UserProfileRender.BACKGROUND_WIDTH, UserProfileRender.BACKGROUND_HEIGHT);
 		} catch (IOException e) {
 			log.error("Failed to load backgrounds: {}", e.getMessage(), e);
 			System.exit(101);
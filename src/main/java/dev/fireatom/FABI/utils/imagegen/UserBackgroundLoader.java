@@ -11,7 +11,7 @@ public class UserBackgroundLoader {
 	private final JSONObject colorData;
 	private final UserBackground background;
 
-	UserBackgroundLoader(JSONObject jsonObject) {
+	public UserBackgroundLoader(JSONObject jsonObject) {
 		int id = requireNonNull(jsonObject.getInt("id"));
 
 		String name = requireNonNull(jsonObject.getString("name"));
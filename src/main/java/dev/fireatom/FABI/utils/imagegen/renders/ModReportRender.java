@@ -3,7 +3,9 @@ package dev.fireatom.FABI.utils.imagegen.renders;
 import dev.fireatom.FABI.objects.ReportData;
 import dev.fireatom.FABI.utils.ColorUtil;
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+import dev.fireatom.FABI.utils.imagegen.FontCache;
 import dev.fireatom.FABI.utils.imagegen.Fonts;
+import dev.fireatom.FABI.utils.imagegen.PngEncoder;
 import dev.fireatom.FABI.utils.message.MessageUtil;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 
@@ -13,16 +15,25 @@ import java.awt.image.BufferedImage;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 public class ModReportRender extends Renderer {
 
+	// Moderators on one image, larger teams are split into pages
+	public static final int ROWS_PER_PAGE = 25;
+
 	DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneOffset.UTC);
 
+	// Rotated font for column labels
+	private static final Font labelFont = FontCache.get(Fonts.Roboto.regular, Font.BOLD, 20F)
+		.deriveFont(AffineTransform.getRotateInstance(Math.toRadians(-35)));
+
 	private final DiscordLocale locale;
 	private final LocaleUtil lu;
 	private final LocalDateTime previous, now;
 	private final List<ReportData> reportData;
+	private final int page, pages;
 
 	public ModReportRender(
 		DiscordLocale locale,
@@ -30,12 +41,47 @@ public class ModReportRender extends Renderer {
 		LocalDateTime previous,
 		LocalDateTime now,
 		List<ReportData> reportData
+	) {
+		this(locale, lu, previous, now, reportData, 1, 1);
+	}
+
+	public ModReportRender(
+		DiscordLocale locale,
+		LocaleUtil lu,
+		LocalDateTime previous,
+		LocalDateTime now,
+		List<ReportData> reportData,
+		int page,
+		int pages
 	) {
 		this.locale = locale;
 		this.lu = lu;
 		this.previous = previous;
 		this.now = now;
 		this.reportData = reportData;
+		this.page = page;
+		this.pages = pages;
+	}
+
+	/**
+	 * Splits report into pages of {@link #ROWS_PER_PAGE} moderators.
+	 *
+	 * @return Render for each page, at least one.
+	 */
+	public static List<ModReportRender> paginate(
+		DiscordLocale locale,
+		LocaleUtil lu,
+		LocalDateTime previous,
+		LocalDateTime now,
+		List<ReportData> reportData
+	) {
+		final int pages = Math.max(1, (reportData.size()+ROWS_PER_PAGE-1)/ROWS_PER_PAGE);
+		List<ModReportRender> renders = new ArrayList<>(pages);
+		for (int i = 0; i < pages; i++) {
+			List<ReportData> pageData = reportData.subList(i*ROWS_PER_PAGE, Math.min(reportData.size(), (i+1)*ROWS_PER_PAGE));
+			renders.add(new ModReportRender(locale, lu, previous, now, pageData, i+1, pages));
+		}
+		return renders;
 	}
 
 	@Override
@@ -43,6 +89,17 @@ public class ModReportRender extends Renderer {
 		return true;
 	}
 
+	@Override
+	protected PngEncoder.Compression getCompression() {
+		// Not interactive, prefer smaller file
+		return PngEncoder.Compression.SIZE;
+	}
+
+	@Override
+	protected boolean useIndexedPalette() {
+		return true;
+	}
+
 	@Override
 	protected BufferedImage handleRender() {
 		final int dataSize = reportData.size();
@@ -64,22 +121,18 @@ public class ModReportRender extends Renderer {
 
 		// Add title
 		final Color mainTextColor = ColorUtil.decode("#e5e5e9");
-		g.setFont(Fonts.Roboto.medium.deriveFont(Font.BOLD, 26F));
+		g.setFont(FontCache.get(Fonts.Roboto.medium, Font.BOLD, 26F));
 		g.setColor(mainTextColor);
 
 		String title = getText("title_report");
+		if (pages > 1) title += " (%d/%d)".formatted(page, pages);
 		g.drawString(title, startingX, startingY);
 
 		// Add date
-		g.setFont(Fonts.Roboto.medium.deriveFont(Font.PLAIN, 22F));
+		g.setFont(FontCache.get(Fonts.Roboto.medium, Font.PLAIN, 22F));
 		g.drawString("%s - %s".formatted(formatter.format(previous), formatter.format(now)), startingX, startingY+36);
 
 		// Add labels
-		AffineTransform affineTransform = new AffineTransform();
-		affineTransform.rotate(Math.toRadians(-35), 0, 0);
-		Font labelFont = Fonts.Roboto.regular
-			.deriveFont(Font.BOLD, 20F)
-			.deriveFont(affineTransform);
 		g.setFont(labelFont);
 		g.setColor(ColorUtil.decode("#c6c6c6"));
 
@@ -99,16 +152,16 @@ public class ModReportRender extends Renderer {
 
 		// List users
 		y += 40;
-		Font username = Fonts.Roboto.regular.deriveFont(Font.BOLD, 20F);
-		Font name = Fonts.Roboto.regular.deriveFont(Font.PLAIN, 16F);
-		Font plain = Fonts.Roboto.regular.deriveFont(Font.PLAIN, 20F);
+		Font username = FontCache.get(Fonts.Roboto.regular, Font.BOLD, 20F);
+		Font name = FontCache.get(Fonts.Roboto.regular, Font.PLAIN, 16F);
+		Font plain = FontCache.get(Fonts.Roboto.regular, Font.PLAIN, 20F);
 
 		for (ReportData data : reportData) {
 			x = startingX;
 			g.setFont(username);
-			g.drawString(MessageUtil.limitString(data.getMember().getEffectiveName(), 32), x, y-6); // Username
+			g.drawString(MessageUtil.limitString(data.getEffectiveName(), 32), x, y-6); // Username
 			g.setFont(name);
-			g.drawString("@"+data.getMember().getUser().getName(), x, y+12); // Name
+			g.drawString("@"+data.getUserName(), x, y+12); // Name
 			x += 400;
 			g.setFont(plain);
 			for (String v : data.getCountValues()) {
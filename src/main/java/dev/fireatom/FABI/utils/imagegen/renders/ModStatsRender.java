@@ -1,10 +1,11 @@
 package dev.fireatom.FABI.utils.imagegen.renders;
 
-import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.CaseType;
 import dev.fireatom.FABI.utils.ColorUtil;
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+import dev.fireatom.FABI.utils.imagegen.FontCache;
 import dev.fireatom.FABI.utils.imagegen.Fonts;
+import dev.fireatom.FABI.utils.imagegen.TextMetrics;
 import net.dv8tion.jda.api.interactions.DiscordLocale;
 
 import java.awt.*;
@@ -26,6 +27,7 @@ public class ModStatsRender extends Renderer {
 
 	public ModStatsRender(
 		DiscordLocale locale,
+		LocaleUtil lu,
 		String username,
 		Map<Integer, Integer> countTotal,
 		Map<Integer, Integer> count30,
@@ -35,7 +37,7 @@ public class ModStatsRender extends Renderer {
 		int role7
 	) {
 		this.locale = locale;
-		this.lu = App.getInstance().getLocaleUtil();
+		this.lu = lu;
 		this.username = username;
 		this.countTotal = countTotal;
 		this.count30 = count30;
@@ -70,26 +72,26 @@ public class ModStatsRender extends Renderer {
 
 		// Add title
 		final Color mainTextColor = ColorUtil.decode("#e5e5e9");
-		g.setFont(Fonts.Roboto.medium.deriveFont(Font.BOLD, 26F));
+		g.setFont(FontCache.get(Fonts.Roboto.medium, Font.BOLD, 26F));
 		g.setColor(mainTextColor);
 
 		String title = getText("title");
 		g.drawString(title, startingX, startingY);
 
 		// Add user
-		g.setFont(Fonts.Roboto.medium.deriveFont(Font.PLAIN, 22F));
+		g.setFont(FontCache.get(Fonts.Roboto.medium, Font.PLAIN, 22F));
 		g.drawString("> @%s - %s".formatted(username, timeCreated.format(formatter)), startingX, startingY+36);
 
 		// Add text
-		g.setFont(Fonts.Roboto.regular.deriveFont(Font.PLAIN, 20F));
+		Font tableFont = FontCache.get(Fonts.Roboto.regular, Font.PLAIN, 20F);
+		g.setFont(tableFont);
 		g.setColor(ColorUtil.decode("#c6c6c6"));
 
 		String[][] data = generateTableText();
 
-		FontMetrics fontMetrics = g.getFontMetrics();
-		final int maxLabelX = fontMetrics.stringWidth(data[2][0])+10;
-		final int maxHeaderX = fontMetrics.stringWidth(data[0][2])+16;
-		final int nextRowStep = fontMetrics.getHeight()+6;
+		final int maxLabelX = TextMetrics.stringWidth(tableFont, data[2][0])+10;
+		final int maxHeaderX = TextMetrics.stringWidth(tableFont, data[0][2])+16;
+		final int nextRowStep = TextMetrics.getMetrics(tableFont).getHeight()+6;
 
 		int y = startingY+80;
 		for (int row=0;row<9;row++) {
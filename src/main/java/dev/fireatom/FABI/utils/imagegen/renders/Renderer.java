@@ -1,14 +1,17 @@
 package dev.fireatom.FABI.utils.imagegen.renders;
 
 import dev.fireatom.FABI.utils.exception.RenderNotReadyYetException;
+import dev.fireatom.FABI.utils.imagegen.PngEncoder;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 public abstract class Renderer {
 
@@ -22,6 +25,37 @@ public abstract class Renderer {
 	 */
 	public abstract boolean canRender();
 
+	/**
+	 * Key, that identifies the result of this render, used to serve
+	 * repeated renders with the same inputs from cache.
+	 *
+	 * @return Hash of all render inputs, or <code>NULL</code> if
+	 * the result should not be cached.
+	 */
+	@Nullable
+	public String getCacheKey() {
+		return null;
+	}
+
+	/**
+	 * Speed against size setting used when encoding the image.
+	 *
+	 * @return Compression level for the PNG encoder.
+	 */
+	protected PngEncoder.Compression getCompression() {
+		return PngEncoder.Compression.BALANCED;
+	}
+
+	/**
+	 * Whether the image should be reduced to an indexed palette before encoding,
+	 * suits flat colored images without transparency.
+	 *
+	 * @return <code>True</code> to use indexed palette, <code>False</code> otherwise.
+	 */
+	protected boolean useIndexedPalette() {
+		return false;
+	}
+
 	/**
 	 * Handles the rendering process.
 	 *
@@ -50,15 +84,27 @@ public abstract class Renderer {
 			return null;
 		}
 
-		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-
-		ImageIO.write(bufferedImage, "png", byteStream);
-		byteStream.flush();
-
-		byte[] bytes = byteStream.toByteArray();
-		byteStream.close();
+		return PngEncoder.encode(bufferedImage, getCompression(), useIndexedPalette());
+	}
 
-		return bytes;
+	/**
+	 * Creates hash from the given render inputs.
+	 *
+	 * @param inputs Values, that change the resulting image.
+	 * @return Hex string of SHA-256 hash.
+	 */
+	protected final String hashInputs(Object... inputs) {
+		StringBuilder builder = new StringBuilder(getClass().getSimpleName());
+		for (Object input : inputs) {
+			builder.append('\u0000').append(input);
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			// SHA-256 is required to be present in every JVM
+			throw new IllegalStateException(ex);
+		}
 	}
 
 	protected final BufferedImage resizedCircle(BufferedImage image, int size) {
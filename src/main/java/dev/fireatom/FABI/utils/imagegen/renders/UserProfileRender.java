@@ -1,8 +1,13 @@
 package dev.fireatom.FABI.utils.imagegen.renders;
 
-import dev.fireatom.FABI.utils.RandomUtil;
+import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.utils.file.lang.LocaleUtil;
+import dev.fireatom.FABI.utils.imagegen.AvatarService;
+import dev.fireatom.FABI.utils.imagegen.BackgroundImageCache;
+import dev.fireatom.FABI.utils.imagegen.FontCache;
 import dev.fireatom.FABI.utils.imagegen.Fonts;
+import dev.fireatom.FABI.utils.imagegen.PngEncoder;
+import dev.fireatom.FABI.utils.imagegen.TextMetrics;
 import dev.fireatom.FABI.utils.imagegen.UserBackground;
 import dev.fireatom.FABI.utils.message.MessageUtil;
 import net.dv8tion.jda.api.entities.Member;
@@ -10,22 +15,24 @@ import net.dv8tion.jda.api.interactions.DiscordLocale;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URLConnection;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 public class UserProfileRender extends Renderer {
 	private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
+	public static final int BACKGROUND_WIDTH = 900;
+	public static final int BACKGROUND_HEIGHT = 360;
+	private static final int AVATAR_SIZE = 140;
+
 	private final String globalName, userName, avatarUrl;
 	private final OffsetDateTime timeCreated, timeJoined;
+	private final CompletableFuture<BufferedImage> avatar;
 
 	private long textLevel = -1;
 	private long textExperience = -1;
@@ -50,11 +57,38 @@ public class UserProfileRender extends Renderer {
 	private UserBackground background = null;
 
 	public UserProfileRender(@NotNull Member member) {
-		this.globalName = member.getEffectiveName().replaceAll("[\\p{So}\\p{Cn}]", "").strip(); // Remove emojis
-		this.userName = member.getUser().getName();
-		this.avatarUrl = member.getEffectiveAvatarUrl();
-		this.timeCreated = member.getUser().getTimeCreated();
-		this.timeJoined = member.getTimeJoined();
+		this(
+			member.getEffectiveName(),
+			member.getUser().getName(),
+			member.getUser().getTimeCreated(),
+			member.getTimeJoined(),
+			member.getEffectiveAvatar().getUrl(256),
+			// Start loading avatar, while the rest of data is collected
+			App.getInstance().getAvatarService().getAvatar(member.getEffectiveAvatar().getUrl(256), AVATAR_SIZE-8)
+		);
+	}
+
+	/**
+	 * @param avatar Avatar image of {@link #getAvatarSize()} size
+	 */
+	public UserProfileRender(
+		@NotNull String effectiveName,
+		@NotNull String userName,
+		@NotNull OffsetDateTime timeCreated,
+		@NotNull OffsetDateTime timeJoined,
+		@NotNull String avatarUrl,
+		@NotNull CompletableFuture<BufferedImage> avatar
+	) {
+		this.globalName = effectiveName.replaceAll("[\\p{So}\\p{Cn}]", "").strip(); // Remove emojis
+		this.userName = userName;
+		this.timeCreated = timeCreated;
+		this.timeJoined = timeJoined;
+		this.avatarUrl = avatarUrl;
+		this.avatar = avatar;
+	}
+
+	public static int getAvatarSize() {
+		return AVATAR_SIZE-8;
 	}
 
 	public UserProfileRender setBackground(@Nullable UserBackground background) {
@@ -118,10 +152,24 @@ public class UserProfileRender extends Renderer {
 	}
 
 	@Override
-	protected BufferedImage handleRender() throws IOException {
-		URLConnection connection = URI.create(avatarUrl).toURL().openConnection();
-		connection.setRequestProperty("user-Agent", "VOTL-Discord-Bot");
+	public String getCacheKey() {
+		if (!canRender()) return null;
+		return hashInputs(
+			globalName, userName, avatarUrl, timeCreated, timeJoined,
+			textLevel, textExperience, textLevelXp, textXpDiff, textPercentage, textRank,
+			voiceLevel, voiceExperience, voiceLevelXp, voiceXpDiff, voicePercentage, voiceRank,
+			globalExperience, minimized, locale, background.getId()
+		);
+	}
 
+	@Override
+	protected PngEncoder.Compression getCompression() {
+		// Reply to user is waiting
+		return PngEncoder.Compression.SPEED;
+	}
+
+	@Override
+	protected BufferedImage handleRender() throws IOException {
 		BufferedImage backgroundImage = loadAndBuildBackground();
 
 		// Creates our graphics and prepares it for use.
@@ -129,7 +177,7 @@ public class UserProfileRender extends Renderer {
 		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
 
-		createAvatar(g, ImageIO.read(connection.getInputStream()));
+		createAvatar(g, AvatarService.await(avatar));
 		createUserInfo(g);
 
 		createXpBar(g);
@@ -142,9 +190,9 @@ public class UserProfileRender extends Renderer {
 	}
 
 	private BufferedImage loadAndBuildBackground() throws IOException {
-		final int MAX_WIDTH = 900;
-		final int WIDTH = minimized ? 420 : 900;
-		final int HEIGHT = 360;
+		final int MAX_WIDTH = BACKGROUND_WIDTH;
+		final int WIDTH = minimized ? 420 : BACKGROUND_WIDTH;
+		final int HEIGHT = BACKGROUND_HEIGHT;
 		BufferedImage backgroundImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
 
 		// Create graphics for background
@@ -157,9 +205,9 @@ public class UserProfileRender extends Renderer {
 		g.setClip(roundRectangle);
 
 		if (background.getBackgroundFile() != null) {
-			Image scaledInstance = ImageIO.read(new File(background.getBackgroundPath()))
-				.getScaledInstance(MAX_WIDTH, HEIGHT, Image.SCALE_SMOOTH);
-			int x = minimized ? -RandomUtil.getInteger(MAX_WIDTH-WIDTH) : WIDTH; // Move image left to random amount
+			BufferedImage scaledInstance = BackgroundImageCache.getInstance().get(background, MAX_WIDTH, HEIGHT);
+			// Move image left by amount picked from the username, so cached image stays the same for the user
+			int x = minimized ? -Math.floorMod(userName.hashCode(), MAX_WIDTH-WIDTH) : WIDTH;
 			g.drawImage(scaledInstance, x, 0, null);
 		} else {
 			g.setColor(background.getColors().getBackgroundColor());
@@ -180,12 +228,12 @@ public class UserProfileRender extends Renderer {
 	private void createAvatar(Graphics2D g, BufferedImage image) {
 		int x = 20;
 		int y = 20;
-		int size = 140;
+		int size = AVATAR_SIZE;
 		// Draw avatar shadow
 		g.setColor(background.getColors().getCardColor());
 		g.drawOval(x, y, size, size);
-		// Draws the avatar image on top of the background.
-		g.drawImage(resizedCircle(image, size-8), x+4, y+4, null);
+		// Draws the avatar image (already cropped) on top of the background.
+		g.drawImage(image, x+4, y+4, null);
 		// Draw circle
 		g.setColor(new Color(50, 50, 50));
 		g.setStroke(new BasicStroke(4));
@@ -205,7 +253,7 @@ public class UserProfileRender extends Renderer {
 		);
 
 		y += 30;
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 16F));
+		g.setFont(FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 16F));
 		text = "@"+ MessageUtil.limitString(userName, 22);
 
 		g.setColor(background.getColors().getShadowColor());
@@ -214,13 +262,14 @@ public class UserProfileRender extends Renderer {
 		g.drawString(text, x+10, y);
 
 		y += 15;
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 20F));
+		Font dateFont = FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 20F);
+		g.setFont(dateFont);
 		String formattedTime = "     "+timeCreated.format(formatter);
 		g.setColor(background.getColors().getCardColor());
-		FontMetrics fontMetrics = g.getFontMetrics();
+		final int dateHeight = TextMetrics.getMetrics(dateFont).getHeight();
 		g.fillRoundRect(
 			x+10, y,
-			fontMetrics.stringWidth(formattedTime)+22, fontMetrics.getHeight()+6,
+			TextMetrics.stringWidth(dateFont, formattedTime)+22, dateHeight+6,
 			30, 30
 		);
 
@@ -233,10 +282,9 @@ public class UserProfileRender extends Renderer {
 
 		formattedTime = "     "+timeJoined.format(formatter);
 		g.setColor(background.getColors().getCardColor());
-		fontMetrics = g.getFontMetrics();
 		g.fillRoundRect(
 			x, y,
-			fontMetrics.stringWidth(formattedTime)+22, fontMetrics.getHeight()+6,
+			TextMetrics.stringWidth(dateFont, formattedTime)+22, dateHeight+6,
 			30, 30
 		);
 
@@ -246,7 +294,7 @@ public class UserProfileRender extends Renderer {
 		g.drawString(formattedTime, x+10, y+23);
 
 		// Draw emojis
-		g.setFont(Fonts.NotoEmoji.monochrome.deriveFont(Font.PLAIN, 14F));
+		g.setFont(FontCache.get(Fonts.NotoEmoji.monochrome, Font.PLAIN, 14F));
 		g.setColor(background.getColors().getShadowColor());
 		g.drawString("\uD83D\uDC64", x+22, y-13);
 		g.drawString("\uD83D\uDC4B", x+12, y+22);
@@ -281,12 +329,11 @@ public class UserProfileRender extends Renderer {
 		// Create the text that should be displayed in the middle of the XP bar
 		g.setColor(background.getColors().getExperienceTextColor());
 
-		Font smallText = Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 19F);
+		Font smallText = FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 19F);
 		g.setFont(smallText);
 
-		FontMetrics fontMetrics = g.getFontMetrics(smallText);
-		g.drawString(textXpBarText, startX+15+ ((xpBarLength - fontMetrics.stringWidth(textXpBarText)) / 2), startY+42);
-		g.drawString(voiceXpBarText, startX+15+ ((xpBarLength - fontMetrics.stringWidth(voiceXpBarText)) / 2), startY+42+heightDiff);
+		g.drawString(textXpBarText, startX+15+ ((xpBarLength - TextMetrics.stringWidth(smallText, textXpBarText)) / 2), startY+42);
+		g.drawString(voiceXpBarText, startX+15+ ((xpBarLength - TextMetrics.stringWidth(smallText, voiceXpBarText)) / 2), startY+42+heightDiff);
 	}
 
 	private void createLevelAndRank(Graphics2D g) {
@@ -295,7 +342,7 @@ public class UserProfileRender extends Renderer {
 		int startY = 190;
 
 		// Create bar titles
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 20));
+		g.setFont(FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 20));
 
 		String text = lu.getLocalized(locale, "imagegen.profile.text");
 		g.setColor(background.getColors().getShadowColor());
@@ -311,25 +358,25 @@ public class UserProfileRender extends Renderer {
 
 		g.setColor(background.getColors().getExperienceTextColor()); // On bar
 		// Level text
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 16));
+		g.setFont(FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 16));
 
 		g.drawString("lvl", startX+96, startY+40);
 		g.drawString("lvl", startX+96, startY+40+heightDiff);
 
 		// Level number
-		g.setFont(Fonts.Montserrat.extraBold.deriveFont(Font.PLAIN, 28));
+		Font boldFont = FontCache.get(Fonts.Montserrat.extraBold, Font.PLAIN, 28);
+		g.setFont(boldFont);
 
-		FontMetrics infoTextGraphicsFontMetricsBold = g.getFontMetrics();
 		text = String.valueOf(textLevel);
-		g.drawString(text, startX+90-infoTextGraphicsFontMetricsBold.stringWidth(text), startY+40);
+		g.drawString(text, startX+90-TextMetrics.stringWidth(boldFont, text), startY+40);
 		text = String.valueOf(voiceLevel);
-		g.drawString(text, startX+90-infoTextGraphicsFontMetricsBold.stringWidth(text), startY+40+heightDiff);
+		g.drawString(text, startX+90-TextMetrics.stringWidth(boldFont, text), startY+40+heightDiff);
 
 		// Create Score Text
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 16));
+		g.setFont(FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 16));
 		g.drawString("#", startX+290, startY+40);
 		g.drawString("#", startX+290, startY+40+heightDiff);
-		g.setFont(Fonts.Montserrat.extraBold.deriveFont(Font.PLAIN, 28));
+		g.setFont(boldFont);
 		g.drawString(textRank, startX+305, startY+40);
 		g.drawString(voiceRank, startX+305, startY+40+heightDiff);
 	}
@@ -364,16 +411,18 @@ public class UserProfileRender extends Renderer {
 	}
 
 	private void drawXpText(Graphics2D g, int xRight, int y, String text, String number, int fontSize) {
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, fontSize));
-		int numberWidth = g.getFontMetrics(g.getFont()).stringWidth(number);
+		Font numberFont = FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, fontSize);
+		g.setFont(numberFont);
+		int numberWidth = TextMetrics.stringWidth(numberFont, number);
 
 		g.setColor(background.getColors().getShadowColor());
 		g.drawString(number, xRight-numberWidth+2, y+2);
 		g.setColor(background.getColors().getSecondaryTextColor());
 		g.drawString(number, xRight-numberWidth, y);
 
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, fontSize-4));
-		int textWidth = g.getFontMetrics(g.getFont()).stringWidth(text);
+		Font textFont = FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, fontSize-4);
+		g.setFont(textFont);
+		int textWidth = TextMetrics.stringWidth(textFont, text);
 
 		g.setColor(background.getColors().getShadowColor());
 		g.drawString(text, xRight-textWidth-numberWidth-8, y+2);
@@ -385,7 +434,7 @@ public class UserProfileRender extends Renderer {
 		int x = 20;
 		int y = 340;
 
-		g.setFont(Fonts.Montserrat.medium.deriveFont(Font.PLAIN, 20F));
+		g.setFont(FontCache.get(Fonts.Montserrat.medium, Font.PLAIN, 20F));
 		String text = "BETA v2502";
 
 		g.setColor(background.getColors().getShadowColor());
@@ -406,43 +455,12 @@ public class UserProfileRender extends Renderer {
 	private void drawFittingText(Graphics2D g, Font baseFont, String text, int x, int y, int w1, int w2, int minFontSize, int maxFontSize) {
 		int maxWidth = minimized ? w1 : w2; // Adjust width based on 'minimized' flag
 
-		Font font = baseFont.deriveFont(Font.PLAIN, maxFontSize);
-
 		// Reduce font size until it fits or reaches the minimum size
-		int fontSize = maxFontSize;
-		while (fontSize >= minFontSize) {
-			g.setFont(font);
-			FontMetrics fm = g.getFontMetrics();
-			int textWidth = fm.stringWidth(text);
-
-			if (textWidth <= maxWidth) {
-				break;
-			}
-
-			fontSize--; // Reduce font size
-			font = baseFont.deriveFont(Font.PLAIN, fontSize);
-		}
-
-		// Final font set
+		Font font = TextMetrics.fitFont(baseFont, Font.PLAIN, text, maxWidth, minFontSize, maxFontSize);
 		g.setFont(font);
-		FontMetrics fm = g.getFontMetrics();
 
 		// If text is still too wide at minimum font size, truncate it
-		if (fm.stringWidth(text) > maxWidth) {
-			String dots = "...";
-			int dotWidth = fm.stringWidth(dots);
-			int maxTextWidth = maxWidth - dotWidth;
-			StringBuilder resultText = new StringBuilder();
-
-			for (char c : text.toCharArray()) {
-				if (fm.stringWidth(resultText.toString() + c) > maxTextWidth) {
-					break;
-				}
-				resultText.append(c);
-			}
-			resultText.append(dots);
-			text = resultText.toString();
-		}
+		text = TextMetrics.truncate(font, text, maxWidth);
 
 		// Draw
 		g.setColor(background.getColors().getShadowColor());
@@ -18,6 +18,7 @@ import dev.fireatom.FABI.base.command.SlashCommandEvent;
 import dev.fireatom.FABI.objects.CmdAccessLevel;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.ExpType;
+import dev.fireatom.FABI.objects.SyncAction;
 import dev.fireatom.FABI.objects.logs.LogType;
 import dev.fireatom.FABI.objects.logs.MessageData;
 import dev.fireatom.FABI.utils.CaseProofUtil;
@@ -25,7 +26,6 @@ import dev.fireatom.FABI.utils.database.DBUtil;
 import dev.fireatom.FABI.utils.database.managers.CaseManager.CaseData;
 
 import dev.fireatom.FABI.utils.encoding.EncodingUtil;
-import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.audit.AuditLogEntry;
 import net.dv8tion.jda.api.audit.AuditLogKey;
 import net.dv8tion.jda.api.entities.Guild;
@@ -48,7 +48,7 @@ public class GuildLogger {
 
 	private final Logger log = (Logger) LoggerFactory.getLogger(GuildLogger.class);
 
-	private final JDA JDA;
+	private final App bot;
 	private final DBUtil db;
 	private final LogEmbedUtil logUtil;
 	private final WebhookLogUtil webhookUtil;
@@ -66,12 +66,19 @@ public class GuildLogger {
 	public final BotLogs botLogs =		new BotLogs();
 
 	public GuildLogger(App bot, LogEmbedUtil logEmbedUtil) {
-		this.JDA = bot.JDA;
+		this.bot = bot;
 		this.db = bot.getDBUtil();
 		this.logUtil = logEmbedUtil;
 		this.webhookUtil = new WebhookLogUtil(db);
 	}
 
+	/**
+	 * @return Log messages, that are not sent yet
+	 */
+	public int getPendingWebhooks() {
+		return webhookUtil.getPendingCount();
+	}
+
 	private IncomingWebhookClientImpl getWebhookClient(LogType type, Guild guild) {
 		return webhookUtil.getWebhookClient(guild, type);
 	}
@@ -81,14 +88,14 @@ public class GuildLogger {
 	}
 
 	private CompletableFuture<String> submitLog(@NotNull IncomingWebhookClientImpl webhookClient, MessageEmbed embed) {
-		return webhookClient.sendMessageEmbeds(embed).submit()
+		return webhookUtil.submit(webhookClient.sendMessageEmbeds(embed))
 			.exceptionally(ex -> null)
 			.thenApply(msg -> msg==null ? null : msg.getJumpUrl());
 	}
 
 	private CompletableFuture<String> submitLog(@NotNull IncomingWebhookClientImpl webhookClient, MessageEmbed embed, CaseProofUtil.ProofData proofData) {
 		try (final InputStream is = new AttachmentProxy(proofData.proxyUrl).download().join()) {
-			return webhookClient.sendMessageEmbeds(embed).addFiles(FileUpload.fromData(is.readAllBytes(), proofData.fileName)).submit()
+			return webhookUtil.submit(webhookClient.sendMessageEmbeds(embed).addFiles(FileUpload.fromData(is.readAllBytes(), proofData.fileName)))
 				.exceptionally(ex -> null)
 				.thenApply(msg -> msg==null ? null : msg.getJumpUrl());
 		} catch (IOException e) {
@@ -182,17 +189,21 @@ public class GuildLogger {
 			sendLog(guild, type, () -> logUtil.helperKickEmbed(guild.getLocale(), groupId, target, reason, success, max));
 		}
 
+		public void onHelperSyncProgress(SyncAction action, int groupId, Guild guild, User target, String reason, int success, int processed, int max) {
+			sendLog(guild, type, () -> logUtil.helperProgressEmbed(guild.getLocale(), action, groupId, target, reason, success, processed, max));
+		}
+
 		public void onBlacklistAdded(User mod, User target, List<Integer> groupIds) {
 			for (int groupId : groupIds) {
 				final String groupInfo = "%s (#%d)".formatted(db.group.getName(groupId), groupId);
-				Guild master = JDA.getGuildById(db.group.getOwner(groupId));
+				Guild master = bot.getShardManager().getGuildById(db.group.getOwner(groupId));
 				sendLog(master, type, () -> logUtil.blacklistAddedEmbed(master.getLocale(), mod, target, groupInfo));
 			}
 		}
 
 		public void onBlacklistRemoved(User mod, User target, int groupId) {
 			final String groupInfo = "%s (#%d)".formatted(db.group.getName(groupId), groupId);
-			Guild master = JDA.getGuildById(db.group.getOwner(groupId));
+			Guild master = bot.getShardManager().getGuildById(db.group.getOwner(groupId));
 			sendLog(master, type, () -> logUtil.blacklistRemovedEmbed(master.getLocale(), mod, target, groupInfo));
 		}
 
@@ -308,7 +319,7 @@ public class GuildLogger {
 				try {
 					db.group.remove(groupId, memberId);
 				} catch (SQLException ignored) {}
-				Guild member = JDA.getGuildById(memberId);
+				Guild member = bot.getShardManager().getGuildById(memberId);
 
 				sendLog(member, type, () -> logUtil.groupMemberDeletedEmbed(member.getLocale(), ownerId, ownerIcon, groupId, name));
 			}
@@ -323,7 +334,7 @@ public class GuildLogger {
 			// For each group guild (except master) remove if from group DB and send log to log channel
 			List<Long> memberIds = db.group.getGroupMembers(groupId);
 			for (Long memberId : memberIds) {
-				Guild member = JDA.getGuildById(memberId);
+				Guild member = bot.getShardManager().getGuildById(memberId);
 
 				sendLog(member, type, () -> logUtil.groupMemberDeletedEmbed(member.getLocale(), ownerId, ownerIcon, groupId, groupName));
 			}
@@ -331,7 +342,7 @@ public class GuildLogger {
 
 		public void onGuildJoined(SlashCommandEvent event, Integer groupId, String name) {
 			long ownerId = db.group.getOwner(groupId);
-			Guild owner = JDA.getGuildById(ownerId);
+			Guild owner = bot.getShardManager().getGuildById(ownerId);
 			String ownerIcon = owner.getIconUrl();
 
 			// Send log to added server
@@ -343,7 +354,7 @@ public class GuildLogger {
 
 		public void onGuildLeft(SlashCommandEvent event, Integer groupId, String name) {
 			long ownerId = db.group.getOwner(groupId);
-			Guild owner = JDA.getGuildById(ownerId);
+			Guild owner = bot.getShardManager().getGuildById(ownerId);
 			String ownerIcon = owner.getIconUrl();
 
 			// Send log to removed server
@@ -355,7 +366,7 @@ public class GuildLogger {
 
 		public void onGuildLeft(Guild target, int groupId) {
 			long ownerId = db.group.getOwner(groupId);
-			Guild owner = JDA.getGuildById(ownerId);
+			Guild owner = bot.getShardManager().getGuildById(ownerId);
 			String ownerIcon = owner.getIconUrl();
 
 			String groupName = db.group.getName(groupId);
@@ -385,7 +396,7 @@ public class GuildLogger {
 				try {
 					db.group.remove(groupId, memberId);
 				} catch (SQLException ignored) {}
-				Guild member = JDA.getGuildById(memberId);
+				Guild member = bot.getShardManager().getGuildById(memberId);
 
 				sendLog(member, type, () -> logUtil.groupMemberRenamedEmbed(member.getLocale(), ownerId, ownerIcon, groupId, oldName, newName));
 			}
@@ -412,9 +423,9 @@ public class GuildLogger {
 			IncomingWebhookClientImpl client = getWebhookClient(type, guild);
 			if (client == null) return;
 			try {
-				client.sendMessageEmbeds(
+				webhookUtil.queue(client.sendMessageEmbeds(
 					logUtil.ticketClosedEmbed(guild.getLocale(), messageChannel, userClosed, authorId, db.tickets.getClaimer(messageChannel.getIdLong()))
-				).addFiles(file).queue();
+				).addFiles(file));
 			} catch (Exception ex) {
 				log.warn("Failed to send ticket close log: {}", ex.getMessage(), ex);
 			}
@@ -617,11 +628,10 @@ public class GuildLogger {
 			// Create changes file only if there are significant changes
 			FileUpload fileUpload = (diff!=null && diff.manyChanges()) ? uploadContentUpdate(oldData, newData, messageId) : null;
 			if (fileUpload != null) {
-				client.sendMessageEmbeds(embed)
-					.addFiles(fileUpload)
-					.queue();
+				webhookUtil.queue(client.sendMessageEmbeds(embed)
+					.addFiles(fileUpload));
 			} else {
-				client.sendMessageEmbeds(embed).queue();
+				webhookUtil.queue(client.sendMessageEmbeds(embed));
 			}
 		}
 
@@ -634,11 +644,10 @@ public class GuildLogger {
 
 			FileUpload fileUpload = uploadContent(data, messageId);
 			if (fileUpload != null) {
-				client.sendMessageEmbeds(logUtil.messageDelete(guild.getLocale(), channel.getIdLong(), messageId, data, modId))
-					.addFiles(fileUpload)
-					.queue();
+				webhookUtil.queue(client.sendMessageEmbeds(logUtil.messageDelete(guild.getLocale(), channel.getIdLong(), messageId, data, modId))
+					.addFiles(fileUpload));
 			} else {
-				client.sendMessageEmbeds(logUtil.messageDelete(guild.getLocale(), channel.getIdLong(), messageId, data, modId)).queue();
+				webhookUtil.queue(client.sendMessageEmbeds(logUtil.messageDelete(guild.getLocale(), channel.getIdLong(), messageId, data, modId)));
 			}
 		}
 
@@ -650,13 +659,12 @@ public class GuildLogger {
 			if (!messages.isEmpty()) {
 				FileUpload fileUpload = uploadContentBulk(messages, channel.getIdLong());
 				if (fileUpload != null) {
-					client.sendMessageEmbeds(logUtil.messageBulkDelete(guild.getLocale(), channel.getIdLong(), count, modId))
-						.addFiles(fileUpload)
-						.queue();
+					webhookUtil.queue(client.sendMessageEmbeds(logUtil.messageBulkDelete(guild.getLocale(), channel.getIdLong(), count, modId))
+						.addFiles(fileUpload));
 					return;
 				}
 			}
-			client.sendMessageEmbeds(logUtil.messageBulkDelete(guild.getLocale(), channel.getIdLong(), count, modId)).queue();			
+			webhookUtil.queue(client.sendMessageEmbeds(logUtil.messageBulkDelete(guild.getLocale(), channel.getIdLong(), count, modId)));			
 		}
 
 		private FileUpload uploadContentUpdate(MessageData oldData, MessageData newData, long messageId) {
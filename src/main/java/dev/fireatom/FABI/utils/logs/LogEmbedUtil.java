@@ -10,12 +10,14 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import dev.fireatom.FABI.App;
 import dev.fireatom.FABI.objects.CmdModule;
 import dev.fireatom.FABI.objects.ExpType;
+import dev.fireatom.FABI.objects.SyncAction;
 import dev.fireatom.FABI.objects.constants.Constants;
 import dev.fireatom.FABI.objects.logs.LogEvent;
 import dev.fireatom.FABI.objects.logs.MessageData;
@@ -67,6 +69,10 @@ public class LogEmbedUtil {
 		return lu.getLocalized(locale, "logger."+pathFooter);
 	}
 
+	private String localized(DiscordLocale locale, String pathFooter, Map<String, String> args) {
+		return lu.getLocalized(locale, "logger."+pathFooter, args);
+	}
+
 	private class LogEmbedBuilder {
 
 		private final DiscordLocale locale;
@@ -256,6 +262,18 @@ public class LogEmbedUtil {
 			.build();
 	}
 
+	@NotNull
+	public MessageEmbed helperProgressEmbed(DiscordLocale locale, SyncAction action, int groupId, User target, String reason, int success, int processed, int max) {
+		return new LogEmbedBuilder(locale, WHITE)
+			.setHeaderIcon(action.getPath(), target.getEffectiveAvatarUrl(), target.getName())
+			.setUser(target.getIdLong())
+			.setReason(reason)
+			.addField("moderation.progress", processed+"/"+max)
+			.addField("moderation.success", success+"/"+processed)
+			.setFooter("Group ID: "+groupId)
+			.build();
+	}
+
 	@NotNull
 	public MessageEmbed userBanEmbed(DiscordLocale locale, User target, String reason, long modId) {
 		return new LogEmbedBuilder(locale, RED_DARK)
@@ -726,12 +744,12 @@ public class LogEmbedUtil {
 	public MessageEmbed ticketClosedEmbed(DiscordLocale locale, GuildChannel channel, User userClosed, Long authorId, Long claimerId) {
 		return new LogEmbedBuilder(locale, RED_LIGHT)
 			.setHeader("ticket.closed_title")
-			.setDescription(localized(locale, "ticket.closed_value")
-				.replace("{name}", channel.getName())
-				.replace("{closed}", Optional.ofNullable(userClosed).map(User::getAsMention).orElse("Auto"))
-				.replace("{created}", User.fromId(authorId).getAsMention())
-				.replace("{claimed}", Optional.ofNullable(claimerId).map("<@%s>"::formatted).orElse(localized(locale, "ticket.unclaimed")))
-			)
+			.setDescription(localized(locale, "ticket.closed_value", Map.of(
+				"name", channel.getName(),
+				"closed", userClosed == null ? "Auto" : userClosed.getAsMention(),
+				"created", User.fromId(authorId).getAsMention(),
+				"claimed", claimerId == null ? localized(locale, "ticket.unclaimed") : "<@"+claimerId+">"
+			)))
 			.setFooter("Channel ID: "+channel.getId())
 			.build();
 	}
@@ -739,12 +757,12 @@ public class LogEmbedUtil {
 	@NotNull
 	public MessageEmbed ticketClosedPmEmbed(DiscordLocale locale, GuildChannel channel, Instant timeClosed, User userClosed, String reasonClosed) {
 		return new LogEmbedBuilder(locale, WHITE)
-			.setDescription(localized(locale, "ticket.closed_pm")
-				.replace("{guild}", channel.getGuild().getName())
-				.replace("{closed}", Optional.ofNullable(userClosed).map(User::getEffectiveName).orElse("Auto"))
-				.replace("{time}", formatTime(timeClosed, false))
-				.replace("{reason}", reasonClosed)
-			)
+			.setDescription(localized(locale, "ticket.closed_pm", Map.of(
+				"guild", channel.getGuild().getName(),
+				"closed", userClosed == null ? "Auto" : userClosed.getEffectiveName(),
+				"time", formatTime(timeClosed, false),
+				"reason", reasonClosed
+			)))
 			.setFooter(channel.getName())
 			.build();
 	}
@@ -1115,11 +1133,11 @@ public class LogEmbedUtil {
 	public MessageEmbed levelUp(DiscordLocale locale, Member member, int level, ExpType expType) {
 		return new LogEmbedBuilder(locale, GREEN_DARK)
 			.setHeaderIcon(LogEvent.LEVEL_UP, member.getEffectiveAvatarUrl(), member.getUser().getName())
-			.setDescription(lu.getLocalizedRandom(locale, "logger.level.msg_random")
-				.replace("{user}", "<@!%s>".formatted(member.getIdLong()))
-				.replace("{level}", String.valueOf(level))
-				.replace("{type}", expType.equals(ExpType.TEXT) ? "\uD83D\uDCAC" : "\uD83C\uDF99️")
-			)
+			.setDescription(lu.getLocalizedRandom(locale, "logger.level.msg_random", Map.of(
+				"user", "<@!"+member.getIdLong()+">",
+				"level", String.valueOf(level),
+				"type", expType.equals(ExpType.TEXT) ? "\uD83D\uDCAC" : "\uD83C\uDF99️"
+			)))
 			.build();
 	}
 
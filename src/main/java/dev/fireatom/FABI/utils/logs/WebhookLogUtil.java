@@ -1,5 +1,7 @@
 package dev.fireatom.FABI.utils.logs;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import dev.fireatom.FABI.objects.logs.LogType;
@@ -9,6 +11,7 @@ import dev.fireatom.FABI.utils.database.managers.GuildLogsManager.WebhookData;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.requests.RestAction;
 import net.dv8tion.jda.internal.requests.IncomingWebhookClientImpl;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,6 +19,8 @@ import org.jetbrains.annotations.Nullable;
 public class WebhookLogUtil {
 
 	private final DBUtil db;
+	// Log messages queued, but not yet answered by Discord
+	private final AtomicInteger pending = new AtomicInteger();
 
 	public WebhookLogUtil(DBUtil dbUtil) {
 		this.db = dbUtil;
@@ -24,15 +29,15 @@ public class WebhookLogUtil {
 	public void sendMessageEmbed(JDA client, long guildId, LogType type, @NotNull MessageEmbed embed) {
 		WebhookData data = db.logs.getLogWebhook(type, guildId);
 		if (data != null)
-			new IncomingWebhookClientImpl(data.getWebhookId(), data.getToken(), client)
-				.sendMessageEmbeds(embed).queue();
+			queue(new IncomingWebhookClientImpl(data.getWebhookId(), data.getToken(), client)
+				.sendMessageEmbeds(embed));
 	}
 
 	public void sendMessageEmbed(JDA client, long guildId, LogType type, @NotNull Supplier<MessageEmbed> embedSupplier) {
 		WebhookData data = db.logs.getLogWebhook(type, guildId);
 		if (data != null)
-			new IncomingWebhookClientImpl(data.getWebhookId(), data.getToken(), client)
-				.sendMessageEmbeds(embedSupplier.get()).queue();
+			queue(new IncomingWebhookClientImpl(data.getWebhookId(), data.getToken(), client)
+				.sendMessageEmbeds(embedSupplier.get()));
 	}
 
 	public void sendMessageEmbed(@Nullable Guild guild, LogType type, @NotNull Supplier<MessageEmbed> embedSupplier) {
@@ -47,4 +52,27 @@ public class WebhookLogUtil {
 		
 		return new IncomingWebhookClientImpl(data.getWebhookId(), data.getToken(), guild.getJDA());
 	}
+
+	/**
+	 * Queues the webhook request, it is counted as pending until Discord responds.
+	 */
+	public <T> void queue(@NotNull RestAction<T> action) {
+		pending.incrementAndGet();
+		action.queue(result -> pending.decrementAndGet(), failure -> pending.decrementAndGet());
+	}
+
+	/**
+	 * Submits the webhook request, it is counted as pending until Discord responds.
+	 */
+	public <T> CompletableFuture<T> submit(@NotNull RestAction<T> action) {
+		pending.incrementAndGet();
+		return action.submit().whenComplete((result, failure) -> pending.decrementAndGet());
+	}
+
+	/**
+	 * @return Log messages, that wait in JDA rate limit queue or for response
+	 */
+	public int getPendingCount() {
+		return pending.get();
+	}
 }
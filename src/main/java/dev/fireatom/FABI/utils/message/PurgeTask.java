@@ -0,0 +1,145 @@
+package dev.fireatom.FABI.utils.message;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageHistory;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
+import net.dv8tion.jda.api.utils.TimeUtil;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Deletes messages from channel history.
+ * <p>
+ * History is read page by page, until enough matching messages are found or scan budget is used.
+ * Matching messages are deleted in chunks of {@link #PAGE_SIZE} while the next page is fetched.
+ * Bulk delete does not accept messages older than 14 days, as history is ordered from newest,
+ * scanning stops at the first such message.
+ */
+public class PurgeTask {
+
+	// Max messages per history request and per bulk delete
+	public static final int PAGE_SIZE = 100;
+	// Small margin, so message does not become too old while waiting for deletion
+	private static final Duration MAX_AGE = Duration.ofDays(14).minusMinutes(5);
+
+	private final GuildMessageChannel channel;
+	private final MessageHistory history;
+	private final long beforeId;
+	private final Long targetId;
+	private final int limit;
+	private final int scanBudget;
+	private final String reason;
+	private final Consumer<Progress> onProgress;
+
+	private final long minId;
+	private final List<Message> chunk = new ArrayList<>(PAGE_SIZE);
+	private final CompletableFuture<Progress> result = new CompletableFuture<>();
+	// Deletions run one after another, next page is fetched in parallel
+	private CompletableFuture<Void> deletion = CompletableFuture.completedFuture(null);
+
+	// Changed only by the history callback, deleted count - by deletions
+	private int scanned = 0;
+	private int matched = 0;
+	private volatile int deleted = 0;
+
+	/**
+	 * @param channel    Channel
+	 * @param beforeId   Only messages older than this ID are deleted (command interaction ID)
+	 * @param targetId   Only messages of this author are deleted, or all if null
+	 * @param limit      Max messages to delete
+	 * @param scanBudget Max messages to read from history
+	 * @param reason     Audit log reason
+	 * @param onProgress Called after each history page
+	 */
+	public PurgeTask(@NotNull GuildMessageChannel channel, long beforeId, @Nullable Long targetId, int limit, int scanBudget,
+					 @NotNull String reason, @Nullable Consumer<Progress> onProgress) {
+		this.channel = channel;
+		this.history = channel.getHistory();
+		this.beforeId = beforeId;
+		this.targetId = targetId;
+		this.limit = limit;
+		this.scanBudget = scanBudget;
+		this.reason = reason;
+		this.onProgress = onProgress;
+		this.minId = TimeUtil.getDiscordTimestamp(Instant.now().minus(MAX_AGE).toEpochMilli());
+	}
+
+	/**
+	 * @return Future with final progress, completes after all deletions
+	 */
+	@NotNull
+	public CompletableFuture<Progress> start() {
+		fetchNext();
+		return result;
+	}
+
+	/**
+	 * @param scanned Messages read from history
+	 * @param matched Messages selected for deletion
+	 * @param deleted Messages deleted
+	 */
+	public record Progress(int scanned, int matched, int deleted) {}
+
+	private void fetchNext() {
+		final int amount = Math.min(PAGE_SIZE, scanBudget - scanned);
+		history.retrievePast(amount).queue(this::onPage, failure -> finish());
+	}
+
+	private void onPage(List<Message> page) {
+		boolean reachedEnd = page.size() < PAGE_SIZE;
+		for (Message message : page) {
+			scanned++;
+			if (message.getIdLong() < minId) {
+				// Remaining history is older
+				reachedEnd = true;
+				break;
+			}
+			if (message.getIdLong() >= beforeId || message.isPinned()) continue;
+			if (targetId != null && targetId != message.getAuthor().getIdLong()) continue;
+
+			chunk.add(message);
+			matched++;
+			if (chunk.size() >= PAGE_SIZE) flushChunk();
+			if (matched >= limit) break;
+		}
+
+		if (onProgress != null) onProgress.accept(new Progress(scanned, matched, deleted));
+
+		if (reachedEnd || matched >= limit || scanned >= scanBudget) {
+			finish();
+		} else {
+			fetchNext();
+		}
+	}
+
+	private void flushChunk() {
+		if (chunk.isEmpty()) return;
+		final List<Message> messages = List.copyOf(chunk);
+		chunk.clear();
+		deletion = deletion.thenCompose(v -> delete(messages));
+	}
+
+	private CompletableFuture<Void> delete(List<Message> messages) {
+		final CompletableFuture<Void> future = messages.size() == 1
+			? messages.getFirst().delete().reason(reason).submit()
+			: channel.deleteMessages(messages).submit();
+		return future.handle((v, t) -> {
+			if (t == null) deleted += messages.size();
+			return null;
+		});
+	}
+
+	private void finish() {
+		flushChunk();
+		deletion.whenComplete((v, t) -> result.complete(new Progress(scanned, matched, deleted)));
+	}
+
+}
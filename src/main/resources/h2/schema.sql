@@ -0,0 +1,59 @@
+-- Schema of H2 storage, same tables as the bundled server.db
+-- Full-text tables and triggers of SQLite are not used, search is done on the tables
+-- Processes, that open new storage at the same time, may both run it
+CREATE TABLE IF NOT EXISTS "schemaVersion" ("id" INT PRIMARY KEY, "version" INT NOT NULL);
+INSERT IGNORE INTO "schemaVersion"("id", "version") VALUES (1, 26);
+
+CREATE TABLE IF NOT EXISTS "accessRole" ("guildId" BIGINT NOT NULL, "roleId" BIGINT NOT NULL UNIQUE, "level" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "accessUser" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "level" BIGINT NOT NULL, UNIQUE("guildId", "userId"));
+CREATE TABLE IF NOT EXISTS "groupMembers" ("groupId" BIGINT NOT NULL, "guildId" BIGINT NOT NULL, "canManage" BIGINT DEFAULT 0, UNIQUE("groupId", "guildId"));
+CREATE TABLE IF NOT EXISTS "guildVoice" ("guildId" BIGINT NOT NULL UNIQUE, "categoryId" BIGINT, "channelId" BIGINT, "defaultName" VARCHAR, "defaultLimit" BIGINT DEFAULT 0);
+CREATE TABLE IF NOT EXISTS "voiceChannels" ("channelId" BIGINT NOT NULL UNIQUE, "userId" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "users" ("userId" BIGINT NOT NULL UNIQUE, "voiceName" VARCHAR, "voiceLimit" BIGINT);
+CREATE TABLE IF NOT EXISTS "webhooks" ("webhookId" BIGINT NOT NULL UNIQUE, "guildId" BIGINT NOT NULL, "token" VARCHAR);
+CREATE TABLE IF NOT EXISTS "logExceptions" ("guildId" BIGINT NOT NULL, "targetId" BIGINT NOT NULL, UNIQUE("guildId", "targetId"));
+CREATE TABLE IF NOT EXISTS "ticketPanel" ("panelId" BIGINT AUTO_INCREMENT PRIMARY KEY, "guildId" BIGINT NOT NULL, "title" VARCHAR NOT NULL, "description" VARCHAR, "image" VARCHAR, "footer" VARCHAR);
+CREATE TABLE IF NOT EXISTS "ticketTag" ("tagId" BIGINT AUTO_INCREMENT PRIMARY KEY, "guildId" BIGINT NOT NULL, "panelId" BIGINT NOT NULL, "tagType" BIGINT NOT NULL DEFAULT 1, "buttonText" VARCHAR, "emoji" VARCHAR, "location" VARCHAR, "message" VARCHAR, "supportRoles" VARCHAR, "ticketName" VARCHAR NOT NULL, "buttonStyle" BIGINT);
+CREATE TABLE IF NOT EXISTS "roles" ("roleId" BIGINT NOT NULL UNIQUE, "guildId" BIGINT NOT NULL, "description" VARCHAR, "type" BIGINT NOT NULL DEFAULT 0, "row" BIGINT, "timed" BIGINT NOT NULL DEFAULT 0);
+CREATE TABLE IF NOT EXISTS "ticket" ("ticketId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "guildId" BIGINT NOT NULL, "tagId" BIGINT NOT NULL, "channelId" BIGINT NOT NULL, "modId" BIGINT, "closed" BIGINT NOT NULL DEFAULT 0, "timeClosed" BIGINT, "reasonClosed" VARCHAR, "closeRequested" BIGINT DEFAULT 0, "roleIds" VARCHAR, "replyWait" BIGINT DEFAULT 0);
+CREATE TABLE IF NOT EXISTS "tempRoles" ("roleId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "guildId" BIGINT NOT NULL, "deleteAfter" BIGINT DEFAULT 0, "expiresAt" BIGINT NOT NULL, UNIQUE("roleId", "userId"));
+CREATE TABLE IF NOT EXISTS "blacklist" ("groupId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "guildId" BIGINT NOT NULL, "reason" VARCHAR, "modId" BIGINT, UNIQUE("groupId", "userId"));
+CREATE TABLE IF NOT EXISTS "menuSelectRoles" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "targetId" BIGINT NOT NULL, "expiresAfter" BIGINT NOT NULL, "roles" VARCHAR, UNIQUE("guildId", "userId", "targetId"));
+CREATE TABLE IF NOT EXISTS "gameStrikes" ("guildId" BIGINT NOT NULL, "channelId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "count" BIGINT NOT NULL, "lastUpdate" BIGINT, UNIQUE("channelId", "userId"));
+CREATE TABLE IF NOT EXISTS "gameChannels" ("guildId" BIGINT NOT NULL, "channelId" BIGINT NOT NULL, "maxStrikes" BIGINT NOT NULL DEFAULT 3, UNIQUE("guildId", "channelId"));
+CREATE TABLE IF NOT EXISTS "cases" ("rowId" BIGINT AUTO_INCREMENT PRIMARY KEY, "localId" BIGINT, "type" BIGINT NOT NULL, "targetId" BIGINT NOT NULL, "targetTag" VARCHAR, "modId" BIGINT NOT NULL, "modTag" VARCHAR, "guildId" BIGINT NOT NULL, "reason" VARCHAR, "timeStart" BIGINT NOT NULL, "duration" BIGINT DEFAULT 0, "active" BIGINT NOT NULL DEFAULT 1, "logUrl" VARCHAR);
+CREATE TABLE IF NOT EXISTS "persistentRole" ("roleId" BIGINT NOT NULL UNIQUE, "guildId" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "returnRole" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "roleIds" VARCHAR NOT NULL, "expiresAfter" BIGINT, UNIQUE("guildId", "userId"));
+CREATE TABLE IF NOT EXISTS "guild" ("guildId" BIGINT NOT NULL UNIQUE, "color" BIGINT DEFAULT 1125969, "lastWebhookId" BIGINT, "appealLink" VARCHAR, "reportChannelId" BIGINT, "strikeExpire" BIGINT DEFAULT 7, "modulesOff" BIGINT DEFAULT 0, "informBan" BIGINT NOT NULL DEFAULT 1, "informKick" BIGINT NOT NULL DEFAULT 1, "informMute" BIGINT NOT NULL DEFAULT 1, "informStrike" BIGINT NOT NULL DEFAULT 1, "informDelstrike" BIGINT NOT NULL DEFAULT 0, "strikeCooldown" BIGINT DEFAULT 0, "roleWhitelist" BIGINT DEFAULT 0);
+CREATE TABLE IF NOT EXISTS "ticketSettings" ("guildId" BIGINT NOT NULL UNIQUE, "autocloseTime" BIGINT NOT NULL DEFAULT 0, "autocloseLeft" BIGINT NOT NULL DEFAULT 0, "otherRole" BIGINT NOT NULL DEFAULT 1, "rowName1" VARCHAR, "rowName2" VARCHAR, "rowName3" VARCHAR, "timeToReply" BIGINT NOT NULL DEFAULT 0, "roleSupport" VARCHAR, "deletePing" BIGINT DEFAULT 1, "allowClose" BIGINT DEFAULT 0, "transcripts" BIGINT DEFAULT 1);
+-- Role IDs are stored as text
+CREATE TABLE IF NOT EXISTS "modReport" ("guildId" BIGINT NOT NULL UNIQUE, "channelId" BIGINT NOT NULL, "roleIds" VARCHAR NOT NULL, "nextReport" BIGINT NOT NULL, "interval" BIGINT NOT NULL DEFAULT 7);
+CREATE TABLE IF NOT EXISTS "botBlacklist" ("id" BIGINT NOT NULL UNIQUE);
+CREATE TABLE IF NOT EXISTS "verifySettings" ("guildId" BIGINT NOT NULL UNIQUE, "roleId" BIGINT, "panelText" VARCHAR, "panelImage" VARCHAR, "additionalRoles" VARCHAR);
+CREATE TABLE IF NOT EXISTS "groups" ("groupId" BIGINT AUTO_INCREMENT PRIMARY KEY, "name" VARCHAR NOT NULL, "description" VARCHAR, "ownerId" BIGINT NOT NULL, "invite" BIGINT, "appealGuildId" BIGINT);
+CREATE TABLE IF NOT EXISTS "levelSettings" ("guildId" BIGINT NOT NULL UNIQUE, "enabled" BIGINT NOT NULL DEFAULT 0, "voiceEnabled" BIGINT NOT NULL DEFAULT 1, "exemptChannels" VARCHAR);
+CREATE TABLE IF NOT EXISTS "levelPlayers" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "textExp" BIGINT DEFAULT 0, "voiceExp" BIGINT DEFAULT 0, "globalExp" BIGINT DEFAULT 0, "voiceTime" BIGINT DEFAULT 0, "lastUpdate" BIGINT DEFAULT 0, UNIQUE("guildId", "userId"));
+CREATE TABLE IF NOT EXISTS "levelRoles" ("guildId" BIGINT NOT NULL, "level" BIGINT NOT NULL, "roles" VARCHAR NOT NULL, "exact" BIGINT DEFAULT 1, "type" BIGINT DEFAULT 0, UNIQUE("guildId", "level", "type"));
+CREATE TABLE IF NOT EXISTS "logWebhooks" ("guildId" BIGINT NOT NULL UNIQUE, "moderation" VARCHAR, "group" VARCHAR, "ticket" VARCHAR, "role" VARCHAR, "guild" VARCHAR, "message" VARCHAR, "voice" VARCHAR, "channel" VARCHAR, "member" VARCHAR, "level" VARCHAR, "bot" VARCHAR);
+CREATE TABLE IF NOT EXISTS "autopunish" ("guildId" BIGINT NOT NULL, "strike" BIGINT NOT NULL, "actions" BIGINT NOT NULL, "data" VARCHAR, UNIQUE("guildId", "strike"));
+CREATE TABLE IF NOT EXISTS "strikeEntries" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "caseRowId" BIGINT NOT NULL UNIQUE, "count" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "strikeExpire" ("guildId" BIGINT NOT NULL, "userId" BIGINT NOT NULL, "expiresAt" BIGINT NOT NULL, "lastAddition" BIGINT, UNIQUE("guildId", "userId"));
+CREATE TABLE IF NOT EXISTS "modActivityDaily" ("guildId" BIGINT NOT NULL, "modId" BIGINT NOT NULL, "day" BIGINT NOT NULL, "type" BIGINT NOT NULL, "count" BIGINT NOT NULL DEFAULT 0, PRIMARY KEY("guildId", "modId", "day", "type"));
+CREATE TABLE IF NOT EXISTS "syncJobs" ("jobId" BIGINT AUTO_INCREMENT PRIMARY KEY, "groupId" BIGINT NOT NULL, "action" BIGINT NOT NULL, "targetId" BIGINT NOT NULL, "masterId" BIGINT NOT NULL, "reason" VARCHAR, "modName" VARCHAR, "created" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "syncJobGuilds" ("jobId" BIGINT NOT NULL, "guildId" BIGINT NOT NULL, "state" BIGINT NOT NULL DEFAULT 0, PRIMARY KEY("jobId", "guildId"));
+CREATE TABLE IF NOT EXISTS "clusterNodes" ("nodeId" VARCHAR NOT NULL PRIMARY KEY, "shardTotal" BIGINT NOT NULL, "shardFirst" BIGINT NOT NULL, "shardLast" BIGINT NOT NULL, "started" BIGINT NOT NULL, "heartbeat" BIGINT NOT NULL);
+CREATE TABLE IF NOT EXISTS "leases" ("name" VARCHAR NOT NULL PRIMARY KEY, "nodeId" VARCHAR NOT NULL, "expires" BIGINT NOT NULL);
+
+-- Partial and expression indexes of SQLite are plain indexes here
+CREATE INDEX IF NOT EXISTS "idx_cases_expire" ON "cases"("active", "type");
+CREATE INDEX IF NOT EXISTS "idx_cases_guild_time" ON "cases"("guildId", "timeStart", "modId", "type");
+CREATE INDEX IF NOT EXISTS "idx_cases_target" ON "cases"("guildId", "targetId");
+CREATE INDEX IF NOT EXISTS "idx_tempRoles_expire" ON "tempRoles"("expiresAt");
+CREATE INDEX IF NOT EXISTS "idx_ticket_close" ON "ticket"("closed", "closeRequested");
+CREATE INDEX IF NOT EXISTS "idx_ticket_reply" ON "ticket"("closed", "replyWait");
+CREATE INDEX IF NOT EXISTS "idx_ticket_guild_closed" ON "ticket"("guildId", "tagId", "timeClosed", "modId");
+CREATE INDEX IF NOT EXISTS "idx_ticket_channel" ON "ticket"("channelId");
+CREATE INDEX IF NOT EXISTS "idx_returnRole_expire" ON "returnRole"("expiresAfter");
+CREATE INDEX IF NOT EXISTS "idx_strikeEntries_user" ON "strikeEntries"("guildId", "userId", "count");
+CREATE INDEX IF NOT EXISTS "idx_strikeExpire_expire" ON "strikeExpire"("expiresAt");
+CREATE INDEX IF NOT EXISTS "idx_groups_owner" ON "groups"("ownerId");